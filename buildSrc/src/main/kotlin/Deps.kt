@@ -79,4 +79,10 @@ object Deps {
     }
 
     val clikt = "com.github.ajalt.clikt:clikt:${Versions.clikt}"
+
+    object Jmh {
+
+        val core = "org.openjdk.jmh:jmh-core:${Versions.jmh}"
+        val annprocess = "org.openjdk.jmh:jmh-generator-annprocess:${Versions.jmh}"
+    }
 }
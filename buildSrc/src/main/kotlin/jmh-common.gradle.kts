@@ -0,0 +1,141 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+import groovy.json.JsonSlurper
+
+plugins {
+    id("java-common")
+}
+
+open class JmhExtension {
+
+    var includes: List<String> = listOf()
+    var forks: Int = 1
+    var warmupIterations: Int = 3
+    var iterations: Int = 5
+    var maxRegression: Double = 10.0
+}
+
+data class JmhScore(val mode: String, val value: Double, val unit: String) {
+
+    // Positive if this score is better than the baseline, negative if it is worse (in percent)
+    fun improvementOver(baseline: JmhScore): Double {
+        val change = (value - baseline.value) / baseline.value * 100.0
+        return if (mode == "thrpt") change else -change
+    }
+}
+
+fun readJmhScores(file: File): Map<String, JmhScore> {
+    @Suppress("UNCHECKED_CAST")
+    val results = JsonSlurper().parse(file) as List<Map<String, Any?>>
+    return results.associate { result ->
+        @Suppress("UNCHECKED_CAST")
+        val params = (result["params"] as Map<String, Any?>?)?.toSortedMap()
+            ?.entries?.joinToString(",", "(", ")") ?: ""
+        @Suppress("UNCHECKED_CAST")
+        val metric = result["primaryMetric"] as Map<String, Any?>
+        "${result["benchmark"]}$params" to JmhScore(
+            result["mode"].toString(), metric["score"].toString().toDouble(), metric["scoreUnit"].toString()
+        )
+    }
+}
+
+val jmhConfig = extensions.create<JmhExtension>("jmh")
+
+val javaSourceSets = the<SourceSetContainer>()
+val jmhSourceSet = javaSourceSets.create("jmh") {
+    val main = javaSourceSets.getByName("main")
+    compileClasspath += main.output
+    runtimeClasspath += main.output
+}
+
+configurations.getByName(jmhSourceSet.implementationConfigurationName)
+    .extendsFrom(configurations.getByName("implementation"))
+configurations.getByName(jmhSourceSet.runtimeOnlyConfigurationName)
+    .extendsFrom(configurations.getByName("runtimeOnly"))
+
+dependencies {
+    add(jmhSourceSet.implementationConfigurationName, Deps.Jmh.core)
+    add(jmhSourceSet.annotationProcessorConfigurationName, Deps.Jmh.annprocess)
+}
+
+tasks {
+    val libPath: String by rootProject.extra
+    val execPath: String by rootProject.extra
+    val resultsFile = layout.buildDirectory.file("results/jmh/results.json")
+
+    // Selected benchmarks can be run with -PjmhInclude=<regex>, profilers can be added with -PjmhProfilers=gc,stack
+    val jmh by registering(JavaExec::class) {
+        group = "benchmark"
+        description = "Runs the JMH benchmarks and writes the results to build/results/jmh/results.json."
+        classpath = jmhSourceSet.runtimeClasspath
+        mainClass.set("org.openjdk.jmh.Main")
+        environment["PATH"] = execPath
+        environment["LD_LIBRARY_PATH"] = libPath
+        jvmArgs("-Xss5m", "-Xms512m", "-Xmx2g")
+        outputs.file(resultsFile)
+        outputs.upToDateWhen { false }
+        argumentProviders.add(CommandLineArgumentProvider {
+            val includes = project.findProperty("jmhInclude")?.toString()?.let(::listOf) ?: jmhConfig.includes
+            val profilers = project.findProperty("jmhProfilers")?.toString()?.split(',')
+                ?.filter { it.isNotBlank() }?.flatMap { listOf("-prof", it.trim()) } ?: emptyList()
+            includes + profilers + listOf(
+                "-f", jmhConfig.forks.toString(),
+                "-wi", jmhConfig.warmupIterations.toString(),
+                "-i", jmhConfig.iterations.toString(),
+                "-rf", "json",
+                "-rff", resultsFile.get().asFile.absolutePath,
+            )
+        })
+        doFirst {
+            resultsFile.get().asFile.parentFile.mkdirs()
+        }
+    }
+
+    // Fails if any benchmark got slower than -PjmhBaseline=<results.json> by more than -PjmhMaxRegression=<percent>
+    register("jmhCompare") {
+        group = "benchmark"
+        description = "Compares the JMH results with a baseline and fails on regressions."
+        mustRunAfter(jmh)
+        doLast {
+            val baselinePath = project.findProperty("jmhBaseline")?.toString()
+                ?: throw GradleException("No baseline given, use -PjmhBaseline=<results.json>")
+            val maxRegression = project.findProperty("jmhMaxRegression")?.toString()?.toDouble()
+                ?: jmhConfig.maxRegression
+            val baseline = readJmhScores(file(baselinePath))
+            val current = readJmhScores(resultsFile.get().asFile)
+
+            val regressions = mutableListOf<String>()
+            for ((benchmark, score) in current.toSortedMap()) {
+                val baselineScore = baseline[benchmark]
+                if (baselineScore == null) {
+                    logger.lifecycle("$benchmark: ${score.value} ${score.unit} (no baseline)")
+                    continue
+                }
+                val improvement = score.improvementOver(baselineScore)
+                logger.lifecycle(String.format("%s: %.3f -> %.3f %s (%+.1f%%)", benchmark,
+                    baselineScore.value, score.value, score.unit, improvement))
+                if (improvement < -maxRegression) {
+                    regressions.add(benchmark)
+                }
+            }
+
+            if (regressions.isNotEmpty()) {
+                throw GradleException("Benchmarks regressed by more than $maxRegression%: " +
+                    regressions.joinToString(", "))
+            }
+        }
+    }
+}
@@ -21,6 +21,7 @@ import hu.bme.mit.theta.analysis.algorithm.arg.ArgBuilder;
 import hu.bme.mit.theta.analysis.algorithm.arg.ArgNodeComparators;
 import hu.bme.mit.theta.analysis.algorithm.arg.ArgNodeComparators.ArgNodeComparator;
 import hu.bme.mit.theta.analysis.algorithm.SafetyChecker;
+import hu.bme.mit.theta.analysis.algorithm.Statistics;
 import hu.bme.mit.theta.analysis.algorithm.cegar.Abstractor;
 import hu.bme.mit.theta.analysis.algorithm.cegar.BasicAbstractor;
 import hu.bme.mit.theta.analysis.algorithm.cegar.CegarChecker;
@@ -53,6 +54,9 @@ import hu.bme.mit.theta.common.logging.NullLogger;
 import hu.bme.mit.theta.solver.Solver;
 import hu.bme.mit.theta.solver.SolverFactory;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -137,7 +141,7 @@ public class CfaConfigBuilder {
             return (new ExplStrategy(cfa)).buildConfig(errLoc);
         }
         if (domain == Domain.PRED_BOOL || domain == Domain.PRED_CART
-                || domain == Domain.PRED_SPLIT) {
+                || domain == Domain.PRED_SPLIT || domain == Domain.PRED_CUBE) {
             return (new PredStrategy(cfa)).buildConfig(errLoc);
         }
         throw new UnsupportedOperationException(domain + " domain is not supported.");
@@ -147,14 +151,16 @@ public class CfaConfigBuilder {
         CEGAR,
         BMC,
         KINDUCTION,
-        IMC
+        IMC,
+        PDR
     }
 
     public enum Domain {
         EXPL(null),
         PRED_BOOL(PredAbstractors::booleanAbstractor),
         PRED_CART(PredAbstractors::cartesianAbstractor),
-        PRED_SPLIT(PredAbstractors::booleanSplitAbstractor);
+        PRED_SPLIT(PredAbstractors::booleanSplitAbstractor),
+        PRED_CUBE(PredAbstractors::booleanCubeAbstractor);
 
         public final Function<Solver, PredAbstractor> predAbstractorFunction;
 
@@ -386,6 +392,13 @@ public class CfaConfigBuilder {
             return CfaAnalysis.create(cfa.getInitLoc(), getDataAnalysis());
         }
 
+        /**
+         * Statistics of the components created by this strategy, reported along with the CEGAR statistics.
+         */
+        public Collection<? extends Statistics> getComponentStatistics() {
+            return List.of();
+        }
+
         public abstract RefutationToPrec<P, ItpRefutation> getItpRefToPrec();
 
         public RefutationToPrec<P, VarsRefutation> getVarsRefToPrec() {
@@ -432,7 +445,7 @@ public class CfaConfigBuilder {
             final Refiner<CfaState<S>, CfaAction, CfaPrec<P>> refiner = refinement.getRefiner(this);
             final SafetyChecker<ARG<CfaState<S>, CfaAction>, Trace<CfaState<S>, CfaAction>, CfaPrec<P>> checker = CegarChecker.create(
                     abstractor, refiner,
-                    logger);
+                    logger, getComponentStatistics());
             return CfaConfig.create(checker, createInitPrec());
         }
 
@@ -496,13 +509,15 @@ public class CfaConfigBuilder {
 
     public final class PredStrategy extends BuilderStrategy<PredState, PredPrec> {
 
+        private final List<Statistics> abstractorStatistics = new ArrayList<>();
+
         public PredStrategy(CFA cfa) {
             super(cfa);
         }
 
         @Override
         public Set<Domain> getSupportedDomains() {
-            return Set.of(Domain.PRED_BOOL, Domain.PRED_CART, Domain.PRED_SPLIT);
+            return Set.of(Domain.PRED_BOOL, Domain.PRED_CART, Domain.PRED_SPLIT, Domain.PRED_CUBE);
         }
 
         @Override
@@ -532,7 +547,14 @@ public class CfaConfigBuilder {
         @Override
         public Analysis<PredState, StmtAction, ? super PredPrec> getDataAnalysis() {
             Solver solver = abstractionSolverFactory.createSolver();
-            return PredAnalysis.create(solver, domain.predAbstractorFunction.apply(solver), True());
+            final PredAbstractor predAbstractor = domain.predAbstractorFunction.apply(solver);
+            predAbstractor.getStatistics().ifPresent(abstractorStatistics::add);
+            return PredAnalysis.create(solver, predAbstractor, True());
+        }
+
+        @Override
+        public Collection<? extends Statistics> getComponentStatistics() {
+            return abstractorStatistics;
         }
 
         @Override
@@ -15,11 +15,25 @@
  */
 package hu.bme.mit.theta.cfa.analysis.impact;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableList;
+
 import hu.bme.mit.theta.analysis.Action;
 import hu.bme.mit.theta.analysis.Prec;
 import hu.bme.mit.theta.analysis.State;
@@ -30,28 +44,50 @@ import hu.bme.mit.theta.analysis.algorithm.arg.ArgBuilder;
 import hu.bme.mit.theta.analysis.algorithm.arg.ArgNode;
 import hu.bme.mit.theta.analysis.algorithm.arg.ArgTrace;
 import hu.bme.mit.theta.analysis.algorithm.SafetyChecker;
-import hu.bme.mit.theta.analysis.reachedset.ReachedSet;
 import hu.bme.mit.theta.analysis.waitlist.FifoWaitlist;
 import hu.bme.mit.theta.analysis.waitlist.Waitlist;
 
+/**
+ * Lazy abstraction with interpolants (IMPACT). Optionally, nodes are covered by forced covering (strengthening the
+ * path to a node so that an earlier node of the same partition covers it) before being expanded, and unsafe paths
+ * discovered in the same search are refined concurrently, each worker thread using its own refiner. The first
+ * refiner belongs to the checker's own thread (refinement, forced covering and strengthening), the others to the
+ * worker threads, so no refiner is ever used by two threads at once.
+ */
 public final class ImpactChecker<S extends State, A extends Action, P extends Prec> implements
         SafetyChecker<ARG<S, A>, Trace<S, A>, P> {
 
     private final ArgBuilder<S, A, P> argBuilder;
-    private final ImpactRefiner<S, A> refiner;
+    private final ImpactRefiner<S, A> mainRefiner;
+    private final List<ImpactRefiner<S, A>> workerRefiners;
     private final Function<? super S, ?> partitioning;
+    private final boolean forcedCovering;
 
-    private ImpactChecker(final ArgBuilder<S, A, P> argBuilder, final ImpactRefiner<S, A> refiner,
-                          final Function<? super S, ?> partitioning) {
+    private ImpactChecker(final ArgBuilder<S, A, P> argBuilder, final Collection<? extends ImpactRefiner<S, A>> refiners,
+                          final Function<? super S, ?> partitioning, final boolean forcedCovering) {
+        checkArgument(!refiners.isEmpty(), "At least one refiner is required");
         this.argBuilder = checkNotNull(argBuilder);
-        this.refiner = checkNotNull(refiner);
+        final List<ImpactRefiner<S, A>> allRefiners = ImmutableList.copyOf(refiners);
+        this.mainRefiner = allRefiners.get(0);
+        this.workerRefiners = allRefiners.subList(1, allRefiners.size());
         this.partitioning = checkNotNull(partitioning);
+        this.forcedCovering = forcedCovering;
     }
 
     public static <S extends State, A extends Action, P extends Prec> ImpactChecker<S, A, P> create(
             final ArgBuilder<S, A, P> argBuilder, final ImpactRefiner<S, A> refiner,
             final Function<? super S, ?> partitioning) {
-        return new ImpactChecker<>(argBuilder, refiner, partitioning);
+        return new ImpactChecker<>(argBuilder, ImmutableList.of(refiner), partitioning, false);
+    }
+
+    /**
+     * Creates a checker that refines up to as many unsafe paths concurrently as there are refiners. The first refiner
+     * is used by the calling thread, the others by worker threads, so the refiners must not share solvers.
+     */
+    public static <S extends State, A extends Action, P extends Prec> ImpactChecker<S, A, P> create(
+            final ArgBuilder<S, A, P> argBuilder, final Collection<? extends ImpactRefiner<S, A>> refiners,
+            final Function<? super S, ?> partitioning, final boolean forcedCovering) {
+        return new ImpactChecker<>(argBuilder, refiners, partitioning, forcedCovering);
     }
 
     ////
@@ -68,21 +104,57 @@ public final class ImpactChecker<S extends State, A extends Action, P extends Pr
         private final P prec;
 
         private final ARG<S, A> arg;
-        private final ReachedSet<S, A> reachedSet;
+        private final ImpactReachedSet<S, A, ?> reachedSet;
+        private final BlockingQueue<ImpactRefiner<S, A>> availableRefiners;
+        private final ExecutorService executor;
+
+        private final Stopwatch stopwatch;
+        private long expandTimeMs = 0;
+        private long coverTimeMs = 0;
+        private long forcedCoverTimeMs = 0;
+        private long refinementTimeMs = 0;
+        private int expandedNodes = 0;
+        private int coverAttempts = 0;
+        private int forcedCoverAttempts = 0;
+        private int forcedCovers = 0;
+        private int refinements = 0;
+        private int refinementBatches = 0;
 
         private CheckMethod(final P prec) {
             this.prec = checkNotNull(prec);
             arg = argBuilder.createArg();
             reachedSet = ImpactReachedSet.create(partitioning);
+            if (workerRefiners.isEmpty()) {
+                availableRefiners = null;
+                executor = null;
+            } else {
+                availableRefiners = new ArrayBlockingQueue<>(workerRefiners.size(), false, workerRefiners);
+                executor = Executors.newFixedThreadPool(workerRefiners.size());
+            }
+            stopwatch = Stopwatch.createUnstarted();
         }
 
         private SafetyResult<ARG<S, A>, Trace<S, A>> run() {
-            final Optional<ArgNode<S, A>> unsafeNode = unwind();
+            stopwatch.start();
+            final Optional<ArgNode<S, A>> unsafeNode;
+            try {
+                unsafeNode = unwind();
+            } finally {
+                if (executor != null) {
+                    executor.shutdownNow();
+                    awaitTermination();
+                }
+            }
+            stopwatch.stop();
+
+            final ImpactStatistics stats = new ImpactStatistics(stopwatch.elapsed(TimeUnit.MILLISECONDS),
+                    expandTimeMs, coverTimeMs, forcedCoverTimeMs, refinementTimeMs, expandedNodes, coverAttempts,
+                    forcedCoverAttempts, forcedCovers, refinements, refinementBatches);
 
             if (unsafeNode.isPresent()) {
-                return SafetyResult.unsafe(ArgTrace.to(unsafeNode.get()).toTrace(), arg);
+                return SafetyResult.unsafe(ArgTrace.to(unsafeNode.get()).toTrace(), arg, stats);
             } else {
-                return SafetyResult.safe(arg);
+                return SafetyResult.safe(arg, stats);
             }
         }
 
@@ -90,20 +162,25 @@ public final class ImpactChecker<S extends State, A extends Action, P extends Pr
 
         private Optional<ArgNode<S, A>> searchForUnsafeNode(final ArgNode<S, A> node) {
             final Waitlist<ArgNode<S, A>> waitlist = FifoWaitlist.create();
+            final List<ArgNode<S, A>> targets = new ArrayList<>();
             waitlist.add(node);
 
-            while (!waitlist.isEmpty()) {
+            while (!waitlist.isEmpty() || !targets.isEmpty()) {
+                if (waitlist.isEmpty() || targets.size() > workerRefiners.size()) {
+                    final Optional<ArgNode<S, A>> unsafeNode = refine(targets);
+                    targets.clear();
+                    if (unsafeNode.isPresent()) {
+                        return unsafeNode;
+                    }
+                    continue;
+                }
+
                 final ArgNode<S, A> v = waitlist.remove();
                 close(v);
                 if (!v.isExcluded()) {
                     if (v.isTarget()) {
-                        refine(v);
-                        if (v.isFeasible()) {
-                            return Optional.of(v);
-                        } else {
-                            closeProperAncestorsOf(v);
-                        }
-                    } else {
+                        targets.add(v);
+                    } else if (!forceCover(v)) {
                         expand(v);
                         reachedSet.addAll(v.getSuccNodes());
                         waitlist.addAll(v.getSuccNodes());
@@ -142,7 +219,10 @@ public final class ImpactChecker<S extends State, A extends Action, P extends Pr
         ////
 
         private void close(final ArgNode<S, A> node) {
+            final long startTime = stopwatch.elapsed(TimeUnit.MILLISECONDS);
+            coverAttempts++;
             reachedSet.tryToCover(node);
+            coverTimeMs += stopwatch.elapsed(TimeUnit.MILLISECONDS) - startTime;
         }
 
         private void closeProperAncestorsOf(final ArgNode<S, A> v) {
@@ -150,23 +230,145 @@ public final class ImpactChecker<S extends State, A extends Action, P extends Pr
         }
 
         private void expand(final ArgNode<S, A> v) {
+            final long startTime = stopwatch.elapsed(TimeUnit.MILLISECONDS);
+            expandedNodes++;
             argBuilder.expand(v, prec);
+            expandTimeMs += stopwatch.elapsed(TimeUnit.MILLISECONDS) - startTime;
         }
 
-        private void refine(final ArgNode<S, A> v) {
-            final ArgTrace<S, A> argTrace = ArgTrace.to(v);
+        private boolean forceCover(final ArgNode<S, A> v) {
+            if (!forcedCovering) {
+                return false;
+            }
+            final long startTime = stopwatch.elapsed(TimeUnit.MILLISECONDS);
+            try {
+                for (final ArgNode<S, A> w : reachedSet.getForcedCoveringCandidates(v)) {
+                    forcedCoverAttempts++;
+                    final ArgTrace<S, A> argTrace = ArgTrace.to(v);
+                    final ImpactRefiner.RefinementResult<S, A> result = mainRefiner.refineToCover(argTrace.toTrace(),
+                            w.getState());
+                    if (result.isSuccesful()) {
+                        strengthen(argTrace, result.asSuccesful().getTrace());
+                        if (!w.isExcluded() && w.mayCover(v)) {
+                            v.cover(w);
+                            forcedCovers++;
+                            return true;
+                        }
+                    }
+                }
+                return false;
+            } finally {
+                forcedCoverTimeMs += stopwatch.elapsed(TimeUnit.MILLISECONDS) - startTime;
+            }
+        }
+
+        /**
+         * Refines the paths to the given target nodes and returns the first target whose path turned out to be
+         * feasible. The first path is refined by the calling thread, the others concurrently by the worker threads.
+         */
+        private Optional<ArgNode<S, A>> refine(final List<ArgNode<S, A>> targets) {
+            final long startTime = stopwatch.elapsed(TimeUnit.MILLISECONDS);
+            refinementBatches++;
+            refinements += targets.size();
+
+            final List<ArgTrace<S, A>> argTraces = new ArrayList<>(targets.size());
+            final List<Future<ImpactRefiner.RefinementResult<S, A>>> futures = new ArrayList<>(targets.size());
+            try {
+                for (final ArgNode<S, A> v : targets) {
+                    final ArgTrace<S, A> argTrace = ArgTrace.to(v);
+                    final Trace<S, A> trace = argTrace.toTrace();
+                    if (!argTraces.isEmpty()) {
+                        futures.add(executor.submit(() -> {
+                            final ImpactRefiner<S, A> refiner = availableRefiners.take();
+                            try {
+                                return refiner.refine(trace);
+                            } finally {
+                                availableRefiners.add(refiner);
+                            }
+                        }));
+                    }
+                    argTraces.add(argTrace);
+                }
+
+                for (int i = 0; i < targets.size(); i++) {
+                    final ArgNode<S, A> v = targets.get(i);
+                    final ImpactRefiner.RefinementResult<S, A> refinementResult = i == 0
+                            ? mainRefiner.refine(argTraces.get(i).toTrace())
+                            : getResult(futures.get(i - 1));
 
-            final Trace<S, A> trace = argTrace.toTrace();
-            final ImpactRefiner.RefinementResult<S, A> refinementResult = refiner.refine(trace);
+                    if (refinementResult.isSuccesful()) {
+                        strengthen(argTraces.get(i), refinementResult.asSuccesful().getTrace());
+                    }
+                    if (v.isFeasible()) {
+                        return Optional.of(v);
+                    } else {
+                        closeProperAncestorsOf(v);
+                    }
+                }
+                return Optional.empty();
+            } finally {
+                if (!futures.isEmpty()) {
+                    futures.forEach(f -> f.cancel(true));
+                    awaitWorkerRefiners();
+                }
+                refinementTimeMs += stopwatch.elapsed(TimeUnit.MILLISECONDS) - startTime;
+            }
+        }
 
-            if (refinementResult.isSuccesful()) {
-                final Trace<S, A> refinedTrace = refinementResult.asSuccesful().getTrace();
-                for (int i = 0; i < argTrace.nodes().size(); i++) {
-                    final ArgNode<S, A> vi = argTrace.node(i);
-                    vi.clearCoveredNodes();
-                    vi.setState(refinedTrace.getState(i));
+        /**
+         * Waits until every worker refiner is released, i.e., no cancelled refinement is still running (solvers do
+         * not necessarily react to interrupts).
+         */
+        private void awaitWorkerRefiners() {
+            final List<ImpactRefiner<S, A>> released = new ArrayList<>(workerRefiners.size());
+            boolean interrupted = false;
+            while (released.size() < workerRefiners.size()) {
+                try {
+                    released.add(availableRefiners.take());
+                } catch (final InterruptedException e) {
+                    interrupted = true;
                 }
             }
+            availableRefiners.addAll(released);
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void awaitTermination() {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    if (executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                        break;
+                    }
+                } catch (final InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private ImpactRefiner.RefinementResult<S, A> getResult(
+                final Future<ImpactRefiner.RefinementResult<S, A>> future) {
+            try {
+                return future.get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted during refinement", e);
+            } catch (final ExecutionException e) {
+                throw new IllegalStateException("Refinement failed", e.getCause());
+            }
+        }
+
+        private void strengthen(final ArgTrace<S, A> argTrace, final Trace<S, A> refinedTrace) {
+            for (int i = 0; i < argTrace.nodes().size(); i++) {
+                final ArgNode<S, A> vi = argTrace.node(i);
+                vi.clearCoveredNodes();
+                vi.setState(mainRefiner.strengthen(vi.getState(), refinedTrace.getState(i)));
+            }
         }
 
     }
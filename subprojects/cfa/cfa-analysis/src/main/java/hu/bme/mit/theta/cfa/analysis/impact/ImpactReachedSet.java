@@ -18,11 +18,8 @@ package hu.bme.mit.theta.cfa.analysis.impact;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
-
-import hu.bme.mit.theta.common.container.Containers;
-
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
@@ -31,10 +28,20 @@ import hu.bme.mit.theta.analysis.Action;
 import hu.bme.mit.theta.analysis.State;
 import hu.bme.mit.theta.analysis.algorithm.arg.ArgNode;
 import hu.bme.mit.theta.analysis.reachedset.ReachedSet;
+import hu.bme.mit.theta.common.container.Containers;
 
+/**
+ * Reached set for the IMPACT algorithm. Nodes are partitioned (e.g., by location) and each partition is kept sorted
+ * by node id, so the candidates that may cover a node (nodes of the same partition created earlier) form a prefix
+ * that is found by binary search. Candidates that are structurally excluded are skipped before the (expensive)
+ * partial order check.
+ */
 public final class ImpactReachedSet<S extends State, A extends Action, K> implements
         ReachedSet<S, A> {
 
+    private static final Comparator<ArgNode<?, ?>> BY_DEPTH = Comparator.<ArgNode<?, ?>>comparingInt(
+            ArgNode::getDepth).thenComparingInt(ArgNode::getId);
+
     private final Function<? super S, ? extends K> partitioning;
 
     private final Map<K, List<ArgNode<S, A>>> partitions;
@@ -54,28 +61,64 @@ public final class ImpactReachedSet<S extends State, A extends Action, K> implem
         checkNotNull(node);
         final S state = node.getState();
         final K key = partitioning.apply(state);
-        final Collection<ArgNode<S, A>> partition = partitions.computeIfAbsent(key,
+        final List<ArgNode<S, A>> partition = partitions.computeIfAbsent(key,
                 k -> new ArrayList<>());
-        partition.add(node);
+        final int index = indexOf(partition, node.getId());
+        if (index < 0) {
+            partition.add(-index - 1, node);
+        }
     }
 
     @Override
     public void tryToCover(final ArgNode<S, A> node) {
         checkNotNull(node);
-        final S state = node.getState();
-        final K key = partitioning.apply(state);
-        final Collection<ArgNode<S, A>> partition = partitions.getOrDefault(key,
+        for (final ArgNode<S, A> nodeToCoverWith : candidatesFor(node)) {
+            if (!nodeToCoverWith.isExcluded() && nodeToCoverWith.mayCover(node)) {
+                node.cover(nodeToCoverWith);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Gets the nodes that may be used to cover the given node by forced covering, ordered by priority: shallower
+     * nodes come first, as covering by them is more likely to prune a large part of the ARG.
+     */
+    public List<ArgNode<S, A>> getForcedCoveringCandidates(final ArgNode<S, A> node) {
+        checkNotNull(node);
+        final List<ArgNode<S, A>> candidates = new ArrayList<>();
+        for (final ArgNode<S, A> candidate : candidatesFor(node)) {
+            if (!candidate.isExcluded() && !candidate.isTarget()) {
+                candidates.add(candidate);
+            }
+        }
+        candidates.sort(BY_DEPTH);
+        return candidates;
+    }
+
+    private List<ArgNode<S, A>> candidatesFor(final ArgNode<S, A> node) {
+        final K key = partitioning.apply(node.getState());
+        final List<ArgNode<S, A>> partition = partitions.getOrDefault(key,
                 Collections.emptyList());
-        for (final ArgNode<S, A> nodeToCoverWith : partition) {
-            if (nodeToCoverWith.getId() < node.getId()) {
-                if (nodeToCoverWith.mayCover(node)) {
-                    node.cover(nodeToCoverWith);
-                    return;
-                }
+        final int index = indexOf(partition, node.getId());
+        return partition.subList(0, index < 0 ? -index - 1 : index);
+    }
+
+    private static int indexOf(final List<? extends ArgNode<?, ?>> partition, final int id) {
+        int low = 0;
+        int high = partition.size() - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final int midId = partition.get(mid).getId();
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
             } else {
-                return;
+                return mid;
             }
         }
+        return -(low + 1);
     }
 
 }
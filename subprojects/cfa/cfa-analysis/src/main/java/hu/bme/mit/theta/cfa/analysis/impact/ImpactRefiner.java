@@ -25,6 +25,22 @@ public interface ImpactRefiner<S extends State, A extends Action> {
 
     RefinementResult<S, A> refine(final Trace<S, A> cex);
 
+    /**
+     * Tries to strengthen the states of a trace so that its last state becomes covered by the given state (forced
+     * covering). Refiners not supporting forced covering return an unsuccessful result.
+     */
+    default RefinementResult<S, A> refineToCover(final Trace<S, A> trace, final S coveringState) {
+        return RefinementResult.unsuccesful();
+    }
+
+    /**
+     * Combines the current state of a node with a state computed for the same node by a refinement. As several
+     * refinements may strengthen the same node, the result must not lose information of either state.
+     */
+    default S strengthen(final S current, final S refined) {
+        return refined;
+    }
+
     abstract class RefinementResult<S extends State, A extends Action> {
 
         private RefinementResult() {
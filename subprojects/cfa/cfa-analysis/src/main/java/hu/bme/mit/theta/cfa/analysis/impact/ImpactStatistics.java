@@ -0,0 +1,110 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.cfa.analysis.impact;
+
+import hu.bme.mit.theta.analysis.algorithm.Statistics;
+
+/**
+ * Represents statistics collected by the ImpactChecker algorithm, broken down by phase.
+ */
+public final class ImpactStatistics extends Statistics {
+
+    private final long algorithmTimeMs;
+    private final long expandTimeMs;
+    private final long coverTimeMs;
+    private final long forcedCoverTimeMs;
+    private final long refinementTimeMs;
+    private final int expandedNodes;
+    private final int coverAttempts;
+    private final int forcedCoverAttempts;
+    private final int forcedCovers;
+    private final int refinements;
+    private final int refinementBatches;
+
+    public ImpactStatistics(final long algorithmTimeMs, final long expandTimeMs, final long coverTimeMs,
+                            final long forcedCoverTimeMs, final long refinementTimeMs,
+                            final int expandedNodes, final int coverAttempts, final int forcedCoverAttempts,
+                            final int forcedCovers, final int refinements, final int refinementBatches) {
+        this.algorithmTimeMs = algorithmTimeMs;
+        this.expandTimeMs = expandTimeMs;
+        this.coverTimeMs = coverTimeMs;
+        this.forcedCoverTimeMs = forcedCoverTimeMs;
+        this.refinementTimeMs = refinementTimeMs;
+        this.expandedNodes = expandedNodes;
+        this.coverAttempts = coverAttempts;
+        this.forcedCoverAttempts = forcedCoverAttempts;
+        this.forcedCovers = forcedCovers;
+        this.refinements = refinements;
+        this.refinementBatches = refinementBatches;
+
+        addStat("AlgorithmTimeMs", this::getAlgorithmTimeMs);
+        addStat("ExpandTimeMs", this::getExpandTimeMs);
+        addStat("CoverTimeMs", this::getCoverTimeMs);
+        addStat("ForcedCoverTimeMs", this::getForcedCoverTimeMs);
+        addStat("RefinementTimeMs", this::getRefinementTimeMs);
+        addStat("ExpandedNodes", this::getExpandedNodes);
+        addStat("CoverAttempts", this::getCoverAttempts);
+        addStat("ForcedCoverAttempts", this::getForcedCoverAttempts);
+        addStat("ForcedCovers", this::getForcedCovers);
+        addStat("Refinements", this::getRefinements);
+        addStat("RefinementBatches", this::getRefinementBatches);
+    }
+
+    public long getAlgorithmTimeMs() {
+        return algorithmTimeMs;
+    }
+
+    public long getExpandTimeMs() {
+        return expandTimeMs;
+    }
+
+    public long getCoverTimeMs() {
+        return coverTimeMs;
+    }
+
+    public long getForcedCoverTimeMs() {
+        return forcedCoverTimeMs;
+    }
+
+    public long getRefinementTimeMs() {
+        return refinementTimeMs;
+    }
+
+    public int getExpandedNodes() {
+        return expandedNodes;
+    }
+
+    public int getCoverAttempts() {
+        return coverAttempts;
+    }
+
+    public int getForcedCoverAttempts() {
+        return forcedCoverAttempts;
+    }
+
+    public int getForcedCovers() {
+        return forcedCovers;
+    }
+
+    public int getRefinements() {
+        return refinements;
+    }
+
+    public int getRefinementBatches() {
+        return refinementBatches;
+    }
+
+}
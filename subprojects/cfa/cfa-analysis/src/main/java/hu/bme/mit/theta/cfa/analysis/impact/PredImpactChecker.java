@@ -38,7 +38,10 @@ import hu.bme.mit.theta.cfa.analysis.prec.GlobalCfaPrec;
 import hu.bme.mit.theta.solver.ItpSolver;
 import hu.bme.mit.theta.solver.Solver;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static hu.bme.mit.theta.core.type.booltype.BoolExprs.True;
@@ -50,11 +53,12 @@ public final class PredImpactChecker implements SafetyChecker<ARG<CfaState<PredS
 
     private PredImpactChecker(final LTS<? super CfaState<PredState>, CfaAction> lts, final Loc initLoc,
                               final Predicate<? super Loc> targetLocs,
-                              final Solver abstractionSolver, final ItpSolver refinementSolver) {
+                              final Solver abstractionSolver, final Collection<? extends ItpSolver> refinementSolvers,
+                              final boolean forcedCovering) {
         checkNotNull(lts);
         checkNotNull(initLoc);
         checkNotNull(abstractionSolver);
-        checkNotNull(refinementSolver);
+        checkNotNull(refinementSolvers);
 
         final Analysis<PredState, ExprAction, PredPrec> predAnalysis = PredAnalysis.create(abstractionSolver,
                 PredAbstractors.booleanSplitAbstractor(abstractionSolver), True());
@@ -72,15 +76,28 @@ public final class PredImpactChecker implements SafetyChecker<ARG<CfaState<PredS
         final ArgBuilder<CfaState<PredState>, CfaAction, UnitPrec> argBuilder = ArgBuilder.create(lts, analysis,
                 target);
 
-        final ImpactRefiner<CfaState<PredState>, CfaAction> refiner = PredImpactRefiner.create(refinementSolver);
+        final List<ImpactRefiner<CfaState<PredState>, CfaAction>> refiners = refinementSolvers.stream()
+                .map(PredImpactRefiner::create).collect(Collectors.toList());
 
-        checker = ImpactChecker.create(argBuilder, refiner, CfaState::getLoc);
+        checker = ImpactChecker.create(argBuilder, refiners, CfaState::getLoc, forcedCovering);
     }
 
     public static PredImpactChecker create(final LTS<? super CfaState<PredState>, CfaAction> lts,
                                            final Loc initLoc, final Predicate<? super Loc> targetLocs,
                                            final Solver abstractionSolver, final ItpSolver refinementSolver) {
-        return new PredImpactChecker(lts, initLoc, targetLocs, abstractionSolver, refinementSolver);
+        return new PredImpactChecker(lts, initLoc, targetLocs, abstractionSolver, List.of(refinementSolver), false);
+    }
+
+    /**
+     * Creates a checker that refines independent unsafe paths concurrently, using one thread per refinement solver,
+     * and optionally applies forced covering before expanding nodes.
+     */
+    public static PredImpactChecker create(final LTS<? super CfaState<PredState>, CfaAction> lts,
+                                           final Loc initLoc, final Predicate<? super Loc> targetLocs,
+                                           final Solver abstractionSolver,
+                                           final Collection<? extends ItpSolver> refinementSolvers,
+                                           final boolean forcedCovering) {
+        return new PredImpactChecker(lts, initLoc, targetLocs, abstractionSolver, refinementSolvers, forcedCovering);
     }
 
     @Override
@@ -16,10 +16,14 @@
 package hu.bme.mit.theta.cfa.analysis.impact;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.False;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Not;
 import static hu.bme.mit.theta.core.type.booltype.BoolExprs.True;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import hu.bme.mit.theta.analysis.Trace;
 import hu.bme.mit.theta.analysis.expr.ExprAction;
@@ -37,10 +41,11 @@ import hu.bme.mit.theta.solver.ItpSolver;
 
 public final class PredImpactRefiner implements ImpactRefiner<CfaState<PredState>, CfaAction> {
 
+    private final ItpSolver solver;
     private final ExprTraceSeqItpChecker traceChecker;
 
     private PredImpactRefiner(final ItpSolver solver) {
-        checkNotNull(solver);
+        this.solver = checkNotNull(solver);
         traceChecker = ExprTraceSeqItpChecker.create(True(), True(), solver);
     }
 
@@ -51,6 +56,29 @@ public final class PredImpactRefiner implements ImpactRefiner<CfaState<PredState
     @Override
     public RefinementResult<CfaState<PredState>, CfaAction> refine(
             final Trace<CfaState<PredState>, CfaAction> cex) {
+        return refine(cex, traceChecker);
+    }
+
+    @Override
+    public RefinementResult<CfaState<PredState>, CfaAction> refineToCover(
+            final Trace<CfaState<PredState>, CfaAction> trace, final CfaState<PredState> coveringState) {
+        final ExprTraceSeqItpChecker coverChecker = ExprTraceSeqItpChecker.create(True(),
+                Not(coveringState.getState().toExpr()), solver);
+        return refine(trace, coverChecker);
+    }
+
+    @Override
+    public CfaState<PredState> strengthen(final CfaState<PredState> current, final CfaState<PredState> refined) {
+        if (current.getState().isBottom() || refined.getState().isBottom()) {
+            return current.withState(PredState.bottom());
+        }
+        final Set<Expr<BoolType>> preds = new LinkedHashSet<>(current.getState().getPreds());
+        preds.addAll(refined.getState().getPreds());
+        return current.withState(preds.contains(False()) ? PredState.bottom() : PredState.of(preds));
+    }
+
+    private RefinementResult<CfaState<PredState>, CfaAction> refine(
+            final Trace<CfaState<PredState>, CfaAction> cex, final ExprTraceSeqItpChecker traceChecker) {
         final List<CfaAction> actions = cex.getActions();
 
         final Trace<ExprState, ExprAction> exprTrace = ExprTraceUtils.traceFrom(actions);
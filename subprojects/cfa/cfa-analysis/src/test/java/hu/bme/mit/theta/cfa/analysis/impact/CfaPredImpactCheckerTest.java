@@ -20,6 +20,7 @@ import static org.junit.Assert.assertTrue;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.List;
 
 import hu.bme.mit.theta.analysis.Trace;
 import hu.bme.mit.theta.analysis.algorithm.SafetyResult;
@@ -73,4 +74,34 @@ public final class CfaPredImpactCheckerTest {
         System.out.println(
                 GraphvizWriter.getInstance().writeString(ArgVisualizer.getDefault().visualize(arg)));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testParallelRefinementWithForcedCovering() throws FileNotFoundException, IOException {
+        // Arrange
+        final CFA cfa = CfaDslManager.createCfa(
+                new FileInputStream("src/test/resources/counter5_true.cfa"));
+
+        final Solver abstractionSolver = Z3LegacySolverFactory.getInstance().createSolver();
+        final List<ItpSolver> refinementSolvers = List.of(
+                Z3LegacySolverFactory.getInstance().createItpSolver(),
+                Z3LegacySolverFactory.getInstance().createItpSolver());
+
+        final PredImpactChecker checker = PredImpactChecker.create(
+                CfaLbeLts.of(cfa.getErrorLoc().get()), cfa.getInitLoc(),
+                l -> l.equals(cfa.getErrorLoc().get()), abstractionSolver, refinementSolvers, true);
+
+        // Act
+        final SafetyResult<ARG<CfaState<PredState>, CfaAction>, Trace<CfaState<PredState>, CfaAction>> status = checker.check(
+                UnitPrec.getInstance());
+
+        // Assert
+        assertTrue(status.isSafe());
+        assertTrue(status.getStats().isPresent());
+
+        final ARG<? extends ExprState, ? extends ExprAction> arg = status.getWitness();
+        arg.minimize();
+
+        final ArgChecker argChecker = ArgChecker.create(abstractionSolver);
+        assertTrue(argChecker.isWellLabeled(arg));
+    }
+}
@@ -20,9 +20,9 @@ import com.beust.jcommander.Parameter;
 import com.beust.jcommander.ParameterException;
 import com.google.common.base.Stopwatch;
 import hu.bme.mit.theta.analysis.Trace;
+import hu.bme.mit.theta.analysis.algorithm.SafetyChecker;
 import hu.bme.mit.theta.analysis.algorithm.SafetyResult;
 import hu.bme.mit.theta.analysis.algorithm.arg.ARG;
-import hu.bme.mit.theta.analysis.algorithm.bounded.BoundedChecker;
 import hu.bme.mit.theta.analysis.algorithm.bounded.BoundedCheckerBuilderKt;
 import hu.bme.mit.theta.analysis.algorithm.bounded.MonolithicExpr;
 import hu.bme.mit.theta.analysis.algorithm.cegar.CegarStatistics;
@@ -30,6 +30,7 @@ import hu.bme.mit.theta.analysis.expl.ExplState;
 import hu.bme.mit.theta.analysis.expr.ExprAction;
 import hu.bme.mit.theta.analysis.expr.ExprState;
 import hu.bme.mit.theta.analysis.expr.refinement.PruneStrategy;
+import hu.bme.mit.theta.analysis.unit.UnitPrec;
 import hu.bme.mit.theta.cfa.CFA;
 import hu.bme.mit.theta.cfa.analysis.CfaAction;
 import hu.bme.mit.theta.cfa.analysis.CfaState;
@@ -57,6 +58,7 @@ import hu.bme.mit.theta.common.table.BasicTableWriter;
 import hu.bme.mit.theta.common.table.TableWriter;
 import hu.bme.mit.theta.common.visualization.Graph;
 import hu.bme.mit.theta.common.visualization.writer.GraphvizWriter;
+import hu.bme.mit.theta.solver.Solver;
 import hu.bme.mit.theta.solver.SolverFactory;
 import hu.bme.mit.theta.solver.SolverManager;
 import hu.bme.mit.theta.solver.smtlib.SmtLibSolverManager;
@@ -243,8 +245,10 @@ public class CfaCli {
             if (algorithm == Algorithm.CEGAR) {
                 final CfaConfig<?, ?, ?> configuration = buildConfiguration(cfa, errLoc, abstractionSolverFactory, refinementSolverFactory);
                 status = check(configuration);
-            } else if (algorithm == Algorithm.BMC || algorithm == Algorithm.KINDUCTION || algorithm == Algorithm.IMC) {
-                final BoundedChecker<?, ?> checker = buildBoundedChecker(cfa, abstractionSolverFactory);
+            } else if (algorithm == Algorithm.BMC || algorithm == Algorithm.KINDUCTION || algorithm == Algorithm.IMC
+                    || algorithm == Algorithm.PDR) {
+                final SafetyChecker<?, ? extends Trace<?, ?>, UnitPrec> checker = buildBoundedChecker(cfa,
+                        abstractionSolverFactory);
                 status = checker.check(null);
             } else {
                 throw new UnsupportedOperationException("Algorithm " + algorithm + " not supported");
@@ -291,9 +295,10 @@ public class CfaCli {
         }
     }
 
-    private BoundedChecker<?, ?> buildBoundedChecker(final CFA cfa, final SolverFactory abstractionSolverFactory) {
+    private SafetyChecker<?, ? extends Trace<?, ?>, UnitPrec> buildBoundedChecker(final CFA cfa,
+                                                                              final SolverFactory abstractionSolverFactory) {
         final MonolithicExpr monolithicExpr = CfaToMonolithicExprKt.toMonolithicExpr(cfa);
-        final BoundedChecker<?, ?> checker;
+        final SafetyChecker<?, ? extends Trace<?, ?>, UnitPrec> checker;
         switch (algorithm) {
             case BMC -> checker = BoundedCheckerBuilderKt.buildBMC(
                     monolithicExpr,
@@ -302,18 +307,29 @@ public class CfaCli {
                     (val1, val2) -> CfaToMonolithicExprKt.valToAction(cfa, val1, val2),
                     logger
             );
-            case KINDUCTION -> checker = BoundedCheckerBuilderKt.buildKIND(
+            case KINDUCTION -> {
+                // BMC and induction share the unrolled path in a single solver
+                final Solver solver = abstractionSolverFactory.createSolver();
+                checker = BoundedCheckerBuilderKt.buildKIND(
+                        monolithicExpr,
+                        solver,
+                        solver,
+                        val -> CfaToMonolithicExprKt.valToState(cfa, val),
+                        (val1, val2) -> CfaToMonolithicExprKt.valToAction(cfa, val1, val2),
+                        logger
+                );
+            }
+            case IMC -> checker = BoundedCheckerBuilderKt.buildIMC(
                     monolithicExpr,
                     abstractionSolverFactory.createSolver(),
-                    abstractionSolverFactory.createSolver(),
+                    abstractionSolverFactory.createItpSolver(),
                     val -> CfaToMonolithicExprKt.valToState(cfa, val),
                     (val1, val2) -> CfaToMonolithicExprKt.valToAction(cfa, val1, val2),
                     logger
             );
-            case IMC -> checker = BoundedCheckerBuilderKt.buildIMC(
+            case PDR -> checker = BoundedCheckerBuilderKt.buildPDR(
                     monolithicExpr,
-                    abstractionSolverFactory.createSolver(),
-                    abstractionSolverFactory.createItpSolver(),
+                    abstractionSolverFactory,
                     val -> CfaToMonolithicExprKt.valToState(cfa, val),
                     (val1, val2) -> CfaToMonolithicExprKt.valToAction(cfa, val1, val2),
                     logger
@@ -336,8 +352,8 @@ public class CfaCli {
     }
 
     private void printResult(final SafetyResult<?, ? extends Trace<?, ?>> status, final long totalTimeMs) {
-        final CegarStatistics stats = (CegarStatistics)
-                status.getStats().orElse(new CegarStatistics(0, 0, 0, 0));
+        final CegarStatistics stats = status.getStats().filter(CegarStatistics.class::isInstance)
+                .map(CegarStatistics.class::cast).orElse(new CegarStatistics(0, 0, 0, 0));
         if (benchmarkMode) {
             writer.cell(status.isSafe());
             writer.cell(totalTimeMs);
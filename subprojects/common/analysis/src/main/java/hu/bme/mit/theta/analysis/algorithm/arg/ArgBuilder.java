@@ -16,6 +16,9 @@
 package hu.bme.mit.theta.analysis.algorithm.arg;
 
 import hu.bme.mit.theta.analysis.*;
+import hu.bme.mit.theta.common.metrics.Counter;
+import hu.bme.mit.theta.common.metrics.Metrics;
+import hu.bme.mit.theta.common.metrics.Timer;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -30,6 +33,11 @@ import static com.google.common.base.Preconditions.checkNotNull;
  */
 public final class ArgBuilder<S extends State, A extends Action, P extends Prec> {
 
+    private static final Timer EXPAND_TIMER = Metrics.timer("ArgBuilder.expand");
+    private static final Timer TRANS_FUNC_TIMER = Metrics.timer("ArgBuilder.transFunc");
+    private static final Counter SUCC_STATES = Metrics.counter("ArgBuilder.succStates");
+    private static final Counter COVERED_SUCC_STATES = Metrics.counter("ArgBuilder.coveredSuccStates");
+
     private final LTS<? super S, A> lts;
     private final Analysis<S, ? super A, ? super P> analysis;
     private final Predicate<? super S> target;
@@ -84,29 +92,37 @@ public final class ArgBuilder<S extends State, A extends Action, P extends Prec>
     public Collection<ArgNode<S, A>> expand(final ArgNode<S, A> node, final P prec) {
         checkNotNull(node);
         checkNotNull(prec);
-        final Collection<ArgNode<S, A>> newSuccNodes = new ArrayList<>();
-        final S state = node.getState();
-        final Collection<A> exploredActions = node.getOutEdges().map(ArgEdge::getAction).collect(Collectors.toSet());
-        final Collection<? extends A> actions = lts.getEnabledActionsFor(state, exploredActions, prec);
-        final TransFunc<S, ? super A, ? super P> transFunc = analysis.getTransFunc();
-        for (final A action : actions) {
-            final Collection<? extends S> succStates = transFunc.getSuccStates(state, action, prec);
-            for (final S succState : succStates) {
-                if (excludeBottom && succState.isBottom()) {
-                    continue;
+        try (Timer.Context expandTime = EXPAND_TIMER.time()) {
+            final Collection<ArgNode<S, A>> newSuccNodes = new ArrayList<>();
+            final S state = node.getState();
+            final Collection<A> exploredActions = node.getOutEdges().map(ArgEdge::getAction).collect(Collectors.toSet());
+            final Collection<? extends A> actions = lts.getEnabledActionsFor(state, exploredActions, prec);
+            final TransFunc<S, ? super A, ? super P> transFunc = analysis.getTransFunc();
+            for (final A action : actions) {
+                final Collection<? extends S> succStates;
+                try (Timer.Context transFuncTime = TRANS_FUNC_TIMER.time()) {
+                    succStates = transFunc.getSuccStates(state, action, prec);
                 }
-                // Only add state if there is no covering sibling (with the same action)
-                if (node.getSuccNodes().noneMatch(n -> n.getInEdge().get().getAction().equals(action) &&
-                        analysis.getPartialOrd().isLeq(succState, n.getState()))) {
-                    final boolean isTarget = target.test(succState);
-                    final ArgNode<S, A> newNode = node.arg.createSuccNode(node, action, succState, isTarget);
-                    newSuccNodes.add(newNode);
+                SUCC_STATES.add(succStates.size());
+                for (final S succState : succStates) {
+                    if (excludeBottom && succState.isBottom()) {
+                        continue;
+                    }
+                    // Only add state if there is no covering sibling (with the same action)
+                    if (node.getSuccNodes().noneMatch(n -> n.getInEdge().get().getAction().equals(action) &&
+                            analysis.getPartialOrd().isLeq(succState, n.getState()))) {
+                        final boolean isTarget = target.test(succState);
+                        final ArgNode<S, A> newNode = node.arg.createSuccNode(node, action, succState, isTarget);
+                        newSuccNodes.add(newNode);
+                    } else {
+                        COVERED_SUCC_STATES.increment();
+                    }
                 }
             }
-        }
-        node.expanded = true;
+            node.expanded = true;
 
-        return newSuccNodes;
+            return newSuccNodes;
+        }
     }
 
 }
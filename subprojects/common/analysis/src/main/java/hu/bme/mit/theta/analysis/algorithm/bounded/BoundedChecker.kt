@@ -24,6 +24,7 @@ import hu.bme.mit.theta.analysis.expr.ExprAction
 import hu.bme.mit.theta.analysis.expr.ExprState
 import hu.bme.mit.theta.analysis.unit.UnitPrec
 import hu.bme.mit.theta.common.logging.Logger
+import hu.bme.mit.theta.core.decl.Decls
 import hu.bme.mit.theta.core.model.Valuation
 import hu.bme.mit.theta.core.type.Expr
 import hu.bme.mit.theta.core.type.abstracttype.AbstractExprs.Eq
@@ -49,10 +50,13 @@ import java.util.*
  * @param bmcEnabled A function determining whether bounded model checking is enabled. Cannot be disabled per-iteration.
  *                   Use the capabilities of the lambda parameter to decide on enabledness based on external factors,
  *                   such as available memory or time limit remaining.
- * @param lfPathOnly A function determining whether to consider only loop-free paths.
+ * @param lfPathOnly A function determining whether to consider only loop-free paths. The state distinctness
+ *                   constraints are added lazily, i.e., only for pairs of states that coincide in a model.
  * @param itpSolver The solver for interpolation, used in IMC.
  * @param imcEnabled A function determining whether IMC is enabled. Can be different per-iteration.
- * @param indSolver The solver for induction checking in KIND.
+ * @param indSolver The solver for induction checking in KIND. May be the same instance as bmcSolver, in which case the
+ *                  unrolled path is shared between BMC and KIND, and the initial and property constraints are guarded
+ *                  by activation literals.
  * @param kindEnabled A function determining whether k-induction (KIND) is enabled.
  * @param valToState A function mapping valuations to expression states, used to construct a counterexample.
  * @param biValToAction A function mapping pairs of valuations to statements, used to construct a counterexample.
@@ -80,45 +84,98 @@ class BoundedChecker<S : ExprState, A : ExprAction> @JvmOverloads constructor(
     private val exprs = mutableListOf<Expr<BoolType>>()
     private var kindLastIterLookup = 0
     private var iteration = 0
+    private var simplePathConstraints = 0
+    private var iterationTimesMs = mutableListOf<Long>()
+
+    private val sharedBmcKind = bmcSolver != null && bmcSolver === indSolver
+    private val initActivation = Decls.Const("__bmc_init_", Bool()).ref
+    private val indActivation = Decls.Const("__kind_prop_", Bool()).ref
 
     init {
         check(bmcSolver != itpSolver || bmcSolver == null) { "Use distinct solvers for BMC and IMC!" }
-        check(bmcSolver != indSolver || bmcSolver == null) { "Use distinct solvers for BMC and KInd!" }
         check(itpSolver != indSolver || itpSolver == null) { "Use distinct solvers for IMC and KInd!" }
     }
 
     override fun check(prec: UnitPrec?): SafetyResult<EmptyWitness, Trace<S, A>> {
 
         iteration = 0
+        simplePathConstraints = 0
+        iterationTimesMs = mutableListOf()
 
         val isBmcEnabled = bmcEnabled() // we don't allow per-iteration setting of bmc enabledness
-        bmcSolver?.add(unfoldedInitExpr)
+        if (sharedBmcKind) {
+            bmcSolver!!.add(Imply(initActivation, unfoldedInitExpr))
+        } else {
+            bmcSolver?.add(unfoldedInitExpr)
+        }
 
         while (!shouldGiveUp(iteration)) {
             iteration++
             logger.write(Logger.Level.MAINSTEP, "Starting iteration $iteration\n")
+            val iterationStart = System.nanoTime()
 
-            exprs.add(PathUtils.unfold(monolithicExpr.transExpr, indices.last()))
+            val result = iterate(isBmcEnabled)
 
-            indices.add(indices.last().add(monolithicExpr.transOffsetIndex))
+            val iterationTime = (System.nanoTime() - iterationStart) / 1_000_000
+            iterationTimesMs.add(iterationTime)
+            logger.write(Logger.Level.INFO, "Iteration $iteration took $iterationTime ms\n")
+            result?.let { return it }
+        }
+        return SafetyResult.unknown(statistics())
+    }
 
-            if (isBmcEnabled) {
-                bmc()?.let { return it }
-            }
+    private fun iterate(isBmcEnabled: Boolean): SafetyResult<EmptyWitness, Trace<S, A>>? {
+        exprs.add(PathUtils.unfold(monolithicExpr.transExpr, indices.last()))
 
-            if (kindEnabled(iteration)) {
-                if (!isBmcEnabled) {
-                    error("Bad configuration: induction check should always be preceded by a BMC/SAT check")
-                }
-                kind()?.let { return it }
-                kindLastIterLookup = iteration
+        indices.add(indices.last().add(monolithicExpr.transOffsetIndex))
+
+        if (isBmcEnabled) {
+            bmc()?.let { return it }
+        }
+
+        if (kindEnabled(iteration)) {
+            if (!isBmcEnabled) {
+                error("Bad configuration: induction check should always be preceded by a BMC/SAT check")
             }
+            kind()?.let { return it }
+            kindLastIterLookup = iteration
+        }
+
+        if (imcEnabled(iteration)) {
+            itp()?.let { return it }
+        }
+        return null
+    }
 
-            if (imcEnabled(iteration)) {
-                itp()?.let { return it }
+    private fun statistics() = BoundedStatistics(iteration, iterationTimesMs, simplePathConstraints)
+
+    private fun allVarsSame(indexing1: VarIndexing, indexing2: VarIndexing): Expr<BoolType> =
+        And(vars.map { Eq(PathUtils.unfold(it.ref, indexing1), PathUtils.unfold(it.ref, indexing2)) })
+
+    /**
+     * Runs the given block with the initial constraint enabled. When the BMC solver is shared with KIND, the initial
+     * constraint is only enabled in a separate solver frame.
+     */
+    private inline fun <T> withInit(solver: Solver, block: () -> T): T =
+        if (sharedBmcKind) {
+            WithPushPop(solver).use {
+                solver.add(initActivation)
+                block()
             }
+        } else block()
+
+    /**
+     * Searches the BMC model for identical states on the current path and returns the positions of every pair of them
+     * (empty if the path is loop-free).
+     */
+    private fun findRepeatedStates(model: Valuation): List<Pair<Int, Int>> {
+        val positions = LinkedHashMap<Valuation, MutableList<Int>>()
+        for ((i, indexing) in indices.withIndex()) {
+            positions.getOrPut(PathUtils.extractValuation(model, indexing, vars)) { ArrayList() }.add(i)
+        }
+        return positions.values.flatMap { same ->
+            same.indices.flatMap { i -> (i + 1 until same.size).map { j -> Pair(same[i], same[j]) } }
         }
-        return SafetyResult.unknown(BoundedStatistics(iteration))
     }
 
     private fun bmc(): SafetyResult<EmptyWitness, Trace<S, A>>? {
@@ -127,30 +184,36 @@ class BoundedChecker<S : ExprState, A : ExprAction> @JvmOverloads constructor(
 
         bmcSolver.add(exprs.last())
 
-        if (lfPathOnly()) { // indices contains currIndex as last()
-            for (indexing in indices) {
-                if (indexing != indices.last()) {
-                    val allVarsSame = And(vars.map {
-                        Eq(PathUtils.unfold(it.ref, indexing), PathUtils.unfold(it.ref, indices.last()))
-                    })
-                    bmcSolver.add(Not(allVarsSame))
+        if (lfPathOnly()) {
+            // Instead of constraining every pair of states to be distinct up front, only the pairs that actually
+            // coincide in a model are constrained, until the solver finds a loop-free path or proves there is none. All
+            // the repeated pairs of a model are constrained at once, saving a check for each of them.
+            while (true) {
+                val repeated = withInit(bmcSolver) {
+                    if (bmcSolver.check().isUnsat) {
+                        logger.write(Logger.Level.MAINSTEP, "Safety proven in BMC step\n")
+                        return SafetyResult.safe(EmptyWitness.getInstance(), statistics())
+                    }
+                    findRepeatedStates(bmcSolver.model)
                 }
-            }
-
-            if (bmcSolver.check().isUnsat) {
-                logger.write(Logger.Level.MAINSTEP, "Safety proven in BMC step\n")
-                return SafetyResult.safe(EmptyWitness.getInstance(), BoundedStatistics(iteration))
+                if (repeated.isEmpty()) break
+                for ((first, second) in repeated) {
+                    bmcSolver.add(Not(allVarsSame(indices[first], indices[second])))
+                }
+                simplePathConstraints += repeated.size
             }
         }
 
-        return WithPushPop(bmcSolver).use {
-            bmcSolver.add(Not(unfoldedPropExpr(indices.last())))
+        return withInit(bmcSolver) {
+            WithPushPop(bmcSolver).use {
+                bmcSolver.add(Not(unfoldedPropExpr(indices.last())))
 
-            if (bmcSolver.check().isSat) {
-                val trace = getTrace(bmcSolver.model)
-                logger.write(Logger.Level.MAINSTEP, "CeX found in BMC step (length ${trace.length()})\n")
-                SafetyResult.unsafe(trace, EmptyWitness.getInstance(), BoundedStatistics(iteration))
-            } else null
+                if (bmcSolver.check().isSat) {
+                    val trace = getTrace(bmcSolver.model)
+                    logger.write(Logger.Level.MAINSTEP, "CeX found in BMC step (length ${trace.length()})\n")
+                    SafetyResult.unsafe(trace, EmptyWitness.getInstance(), statistics())
+                } else null
+            }
         }
     }
 
@@ -159,15 +222,24 @@ class BoundedChecker<S : ExprState, A : ExprAction> @JvmOverloads constructor(
 
         logger.write(Logger.Level.MAINSTEP, "\tStarting k-induction\n")
 
-        exprs.subList(kindLastIterLookup, exprs.size).forEach { indSolver.add(it) }
-        indices.subList(kindLastIterLookup, indices.size - 1).forEach { indSolver.add(unfoldedPropExpr(it)) }
+        if (sharedBmcKind) {
+            // the unrolled path (and the simple path constraints) are already in the solver via BMC
+            indices.subList(kindLastIterLookup, indices.size - 1)
+                .forEach { indSolver.add(Imply(indActivation, unfoldedPropExpr(it))) }
+        } else {
+            exprs.subList(kindLastIterLookup, exprs.size).forEach { indSolver.add(it) }
+            indices.subList(kindLastIterLookup, indices.size - 1).forEach { indSolver.add(unfoldedPropExpr(it)) }
+        }
 
         return WithPushPop(indSolver).use {
+            if (sharedBmcKind) {
+                indSolver.add(indActivation)
+            }
             indSolver.add(Not(unfoldedPropExpr(indices.last())))
 
             if (indSolver.check().isUnsat) {
                 logger.write(Logger.Level.MAINSTEP, "Safety proven in k-induction step\n")
-                SafetyResult.safe(EmptyWitness.getInstance(), BoundedStatistics(iteration))
+                SafetyResult.safe(EmptyWitness.getInstance(), statistics())
             } else null
         }
     }
@@ -192,10 +264,7 @@ class BoundedChecker<S : ExprState, A : ExprAction> @JvmOverloads constructor(
             itpSolver.push()
             for (indexing in indices) {
                 if (indexing != indices.last()) {
-                    val allVarsSame = And(vars.map {
-                        Eq(PathUtils.unfold(it.ref, indexing), PathUtils.unfold(it.ref, indices.last()))
-                    })
-                    itpSolver.add(a, Not(allVarsSame))
+                    itpSolver.add(a, Not(allVarsSame(indexing, indices.last())))
                 }
             }
 
@@ -203,7 +272,7 @@ class BoundedChecker<S : ExprState, A : ExprAction> @JvmOverloads constructor(
                 itpSolver.pop()
                 itpSolver.pop()
                 logger.write(Logger.Level.MAINSTEP, "Safety proven in IMC/BMC step\n")
-                return SafetyResult.safe(EmptyWitness.getInstance(), BoundedStatistics(iteration))
+                return SafetyResult.safe(EmptyWitness.getInstance(), statistics())
             }
             itpSolver.pop()
         }
@@ -217,7 +286,7 @@ class BoundedChecker<S : ExprState, A : ExprAction> @JvmOverloads constructor(
             logger.write(Logger.Level.MAINSTEP, "CeX found in IMC/BMC step (length ${trace.length()})\n")
             itpSolver.pop()
             itpSolver.pop()
-            return SafetyResult.unsafe(trace, EmptyWitness.getInstance(), BoundedStatistics(iteration))
+            return SafetyResult.unsafe(trace, EmptyWitness.getInstance(), statistics())
         }
 
         var img = unfoldedInitExpr
@@ -234,7 +303,7 @@ class BoundedChecker<S : ExprState, A : ExprAction> @JvmOverloads constructor(
                 logger.write(Logger.Level.MAINSTEP, "Safety proven in IMC step\n")
                 itpSolver.pop()
                 itpSolver.pop()
-                return SafetyResult.safe(EmptyWitness.getInstance(), BoundedStatistics(iteration))
+                return SafetyResult.safe(EmptyWitness.getInstance(), statistics())
             }
             itpSolver.pop()
             img = Or(img, itpFormula)
@@ -22,6 +22,7 @@ import hu.bme.mit.theta.common.logging.Logger
 import hu.bme.mit.theta.core.model.Valuation
 import hu.bme.mit.theta.solver.ItpSolver
 import hu.bme.mit.theta.solver.Solver
+import hu.bme.mit.theta.solver.SolverFactory
 
 @JvmOverloads
 fun <S : ExprState, A : ExprAction> buildBMC(
@@ -70,4 +71,16 @@ fun <S : ExprState, A : ExprAction> buildIMC(
 ): BoundedChecker<S, A> {
     return BoundedChecker(monolithicExpr, shouldGiveUp, bmcSolver, bmcEnabled, lfPathOnly, itpSolver, imcEnabled, null,
         { false }, valToState, biValToAction, logger)
-}
\ No newline at end of file
+}
+
+@JvmOverloads
+fun <S : ExprState, A : ExprAction> buildPDR(
+    monolithicExpr: MonolithicExpr,
+    solverFactory: SolverFactory,
+    valToState: (Valuation) -> S,
+    biValToAction: (Valuation, Valuation) -> A,
+    logger: Logger,
+    shouldGiveUp: (Int) -> Boolean = { false },
+): PdrChecker<S, A> {
+    return PdrChecker(monolithicExpr, solverFactory, valToState, biValToAction, logger, shouldGiveUp)
+}
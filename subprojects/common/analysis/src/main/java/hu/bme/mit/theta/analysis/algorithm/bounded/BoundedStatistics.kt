@@ -18,10 +18,23 @@ package hu.bme.mit.theta.analysis.algorithm.bounded
 
 import hu.bme.mit.theta.analysis.algorithm.Statistics
 
-class BoundedStatistics(val iterations: Int) : Statistics() {
+/**
+ * Statistics of bounded checkers.
+ *
+ * @param iterations The number of iterations (i.e., the bound reached)
+ * @param iterationTimesMs The wall-clock time of each iteration
+ * @param simplePathConstraints The number of state distinctness constraints added for loop-free paths
+ */
+open class BoundedStatistics @JvmOverloads constructor(
+    val iterations: Int,
+    val iterationTimesMs: List<Long> = listOf(),
+    val simplePathConstraints: Int = 0,
+) : Statistics() {
 
     init {
         addStat("iterations", this::iterations)
+        addStat("iterationTimesMs", this::iterationTimesMs)
+        addStat("simplePathConstraints", this::simplePathConstraints)
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package hu.bme.mit.theta.analysis.algorithm.bounded
+
+import hu.bme.mit.theta.analysis.algorithm.Witness
+import hu.bme.mit.theta.core.type.Expr
+import hu.bme.mit.theta.core.type.booltype.BoolType
+
+/**
+ * A witness of safety given by an inductive invariant: a formula over the (unindexed) variables of a
+ * [MonolithicExpr] that holds in the initial states, is preserved by the transition relation and
+ * implies the property.
+ */
+data class InvariantWitness(val invariant: Expr<BoolType>) : Witness
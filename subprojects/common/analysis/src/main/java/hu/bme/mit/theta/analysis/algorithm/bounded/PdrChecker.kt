@@ -0,0 +1,308 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package hu.bme.mit.theta.analysis.algorithm.bounded
+
+import hu.bme.mit.theta.analysis.Trace
+import hu.bme.mit.theta.analysis.algorithm.EmptyWitness
+import hu.bme.mit.theta.analysis.algorithm.SafetyChecker
+import hu.bme.mit.theta.analysis.algorithm.SafetyResult
+import hu.bme.mit.theta.analysis.algorithm.Witness
+import hu.bme.mit.theta.analysis.expr.ExprAction
+import hu.bme.mit.theta.analysis.expr.ExprState
+import hu.bme.mit.theta.analysis.unit.UnitPrec
+import hu.bme.mit.theta.common.logging.Logger
+import hu.bme.mit.theta.core.decl.Decls
+import hu.bme.mit.theta.core.model.Valuation
+import hu.bme.mit.theta.core.type.Expr
+import hu.bme.mit.theta.core.type.abstracttype.AbstractExprs.Eq
+import hu.bme.mit.theta.core.type.booltype.BoolExprs.*
+import hu.bme.mit.theta.core.type.booltype.BoolLitExpr
+import hu.bme.mit.theta.core.type.booltype.BoolType
+import hu.bme.mit.theta.core.utils.PathUtils
+import hu.bme.mit.theta.core.utils.indexings.VarIndexingFactory
+import hu.bme.mit.theta.solver.SolverFactory
+import hu.bme.mit.theta.solver.UCSolver
+import hu.bme.mit.theta.solver.utils.WithPushPop
+import java.util.*
+
+private typealias Cube = Set<Expr<BoolType>>
+
+/**
+ * A checker implementing IC3/PDR (property directed reachability) over a monolithic expression.
+ *
+ * Frames are stored in delta encoding, i.e., each lemma (the negation of a blocked cube) is stored only at the
+ * highest frame where it is known to hold. Each frame has its own incremental solver, containing the lemmas of the
+ * frame and the transition relation guarded by an activation literal. Blocked cubes are generalized via unsat cores
+ * and lemmas are pushed forward after each new frame. When two consecutive frames become equal, their lemmas form an
+ * inductive invariant, which is returned as an [InvariantWitness]. Counterexamples and unknown results have an
+ * [EmptyWitness].
+ *
+ * Cubes are conjunctions of variable-value equalities, so this engine is mostly useful for finite state (e.g.,
+ * hardware-like) systems.
+ *
+ * @param <S> The state type, must inherit from ExprState.
+ * @param <A> The action type, must inherit from StmtAction.
+ * @param monolithicExpr The monolithic expression to be checked
+ * @param solverFactory The factory for the per-frame solvers, must support unsat cores.
+ * @param valToState A function mapping valuations to expression states, used to construct a counterexample.
+ * @param biValToAction A function mapping pairs of valuations to statements, used to construct a counterexample.
+ * @param logger The logger for logging.
+ * @param shouldGiveUp A function determining whether to give up checking based on the number of frames.
+ */
+class PdrChecker<S : ExprState, A : ExprAction> @JvmOverloads constructor(
+    private val monolithicExpr: MonolithicExpr,
+    private val solverFactory: SolverFactory,
+    private val valToState: (Valuation) -> S,
+    private val biValToAction: (Valuation, Valuation) -> A,
+    private val logger: Logger,
+    private val shouldGiveUp: (Int) -> Boolean = { false },
+) : SafetyChecker<Witness, Trace<S, A>, UnitPrec> {
+
+    private class Obligation(val cube: Cube, val valuation: Valuation, val level: Int, val successor: Obligation?,
+        val order: Long)
+
+    private sealed class QueryResult {
+        class Predecessor(val valuation: Valuation) : QueryResult()
+        class Blocked(val core: Cube) : QueryResult()
+    }
+
+    private val vars = monolithicExpr.vars()
+    private val currIndex = monolithicExpr.initOffsetIndex
+    private val nextIndex = currIndex.add(monolithicExpr.transOffsetIndex)
+    private val unfoldedInitExpr = PathUtils.unfold(monolithicExpr.initExpr, VarIndexingFactory.indexing(0))
+    private val unfoldedTransExpr = PathUtils.unfold(monolithicExpr.transExpr, currIndex)
+    private val unfoldedPropExpr = PathUtils.unfold(monolithicExpr.propExpr, currIndex)
+    private val transActivation = Decls.Const("__pdr_trans_", Bool()).ref
+
+    private val solvers = mutableListOf<UCSolver>()
+    private val lemmas = mutableListOf<MutableList<Cube>>()
+    private var obligations = 0L
+    private var queries = 0
+    private var lemmaCount = 0
+
+    private val frontier get() = solvers.size - 1
+
+    override fun check(prec: UnitPrec?): SafetyResult<Witness, Trace<S, A>> {
+        try {
+            return doCheck()
+        } finally {
+            solvers.forEach { it.close() }
+            solvers.clear()
+            lemmas.clear()
+        }
+    }
+
+    private fun doCheck(): SafetyResult<Witness, Trace<S, A>> {
+        obligations = 0
+        queries = 0
+        lemmaCount = 0
+
+        addFrame()
+        val initSolver = solvers[0]
+        WithPushPop(initSolver).use {
+            initSolver.track(Not(unfoldedPropExpr))
+            if (initSolver.check().isSat) {
+                logger.write(Logger.Level.MAINSTEP, "CeX found in the initial states\n")
+                val initState = createObligation(initSolver.model, 0, null)
+                return SafetyResult.unsafe(getTrace(initState), EmptyWitness.getInstance(), getStatistics())
+            }
+        }
+
+        addFrame()
+        while (!shouldGiveUp(frontier)) {
+            logger.write(Logger.Level.MAINSTEP, "Starting frame $frontier\n")
+
+            while (true) {
+                val bad = getBadCube() ?: break
+                block(bad)?.let { return it }
+            }
+
+            addFrame()
+            propagate()?.let { return it }
+        }
+        return SafetyResult.unknown(getStatistics())
+    }
+
+    private fun addFrame() {
+        val solver = solverFactory.createUCSolver()
+        solver.track(Imply(transActivation, unfoldedTransExpr))
+        if (solvers.isEmpty()) {
+            solver.track(unfoldedInitExpr)
+        }
+        solvers.add(solver)
+        lemmas.add(mutableListOf())
+    }
+
+    private fun createObligation(model: Valuation, level: Int, successor: Obligation?): Obligation {
+        val valuation = PathUtils.extractValuation(model, currIndex, vars)
+        val cube = LinkedHashSet<Expr<BoolType>>()
+        for ((decl, value) in valuation.toMap()) {
+            @Suppress("UNCHECKED_CAST")
+            cube.add(
+                if (value is BoolLitExpr) {
+                    val ref = decl.ref as Expr<BoolType>
+                    if (value.value) ref else Not(ref)
+                } else {
+                    Eq(decl.ref, value)
+                }
+            )
+        }
+        return Obligation(cube, valuation, level, successor, obligations++)
+    }
+
+    private fun getBadCube(): Obligation? {
+        val solver = solvers[frontier]
+        return WithPushPop(solver).use {
+            solver.track(Not(unfoldedPropExpr))
+            queries++
+            if (solver.check().isSat) createObligation(solver.model, frontier, null) else null
+        }
+    }
+
+    /**
+     * Blocks a bad cube in the frontier frame, recursively blocking its predecessors in the earlier frames.
+     * Returns a counterexample if one of the predecessors is an initial state.
+     */
+    private fun block(bad: Obligation): SafetyResult<Witness, Trace<S, A>>? {
+        val queue = PriorityQueue(compareBy<Obligation>({ it.level }, { it.order }))
+        queue.add(bad)
+        while (queue.isNotEmpty()) {
+            val obligation = queue.poll()
+            if (isBlocked(obligation.cube, obligation.level)) {
+                continue
+            }
+            when (val result = query(obligation.cube, obligation.level)) {
+                is QueryResult.Predecessor -> {
+                    val predecessor = createObligation(result.valuation, obligation.level - 1, obligation)
+                    if (obligation.level == 1 || intersectsInit(predecessor.cube)) {
+                        val trace = getTrace(predecessor)
+                        logger.write(Logger.Level.MAINSTEP, "CeX found in PDR (length ${trace.length()})\n")
+                        return SafetyResult.unsafe(trace, EmptyWitness.getInstance(), getStatistics())
+                    }
+                    queue.add(predecessor)
+                    queue.add(obligation)
+                }
+
+                is QueryResult.Blocked -> {
+                    val cube = generalize(obligation.cube, result.core)
+                    var level = obligation.level
+                    while (level < frontier && query(cube, level + 1) is QueryResult.Blocked) {
+                        level++
+                    }
+                    addLemma(cube, level)
+                    if (level < frontier) {
+                        queue.add(Obligation(obligation.cube, obligation.valuation, level + 1, obligation.successor,
+                            obligations++))
+                    }
+                }
+            }
+        }
+        return null
+    }
+
+    /**
+     * Checks whether the cube is reachable in one step from the frame before the given level (excluding the cube
+     * itself). The result is either a predecessor or the literals of the cube in the unsat core.
+     */
+    private fun query(cube: Cube, level: Int): QueryResult {
+        val solver = solvers[level - 1]
+        return WithPushPop(solver).use {
+            solver.track(transActivation)
+            if (level > 1) {
+                solver.track(PathUtils.unfold(Not(And(cube)), currIndex))
+            }
+            val nextLiterals = cube.associateBy { PathUtils.unfold(it, nextIndex) }
+            nextLiterals.keys.forEach { solver.track(it) }
+            queries++
+            if (solver.check().isSat) {
+                QueryResult.Predecessor(solver.model)
+            } else {
+                val core = solver.unsatCore.toSet()
+                QueryResult.Blocked(nextLiterals.filterKeys { it in core }.values.toSet())
+            }
+        }
+    }
+
+    private fun intersectsInit(cube: Cube): Boolean {
+        val solver = solvers[0]
+        return WithPushPop(solver).use {
+            cube.forEach { solver.track(PathUtils.unfold(it, currIndex)) }
+            queries++
+            solver.check().isSat
+        }
+    }
+
+    /**
+     * Restricts the cube to the literals in the unsat core, adding back literals of the original cube while the
+     * result intersects the initial states.
+     */
+    private fun generalize(cube: Cube, core: Cube): Cube {
+        val generalized = cube.filterTo(LinkedHashSet()) { it in core }
+        for (literal in cube) {
+            if (!intersectsInit(generalized)) {
+                break
+            }
+            generalized.add(literal)
+        }
+        return generalized
+    }
+
+    private fun isBlocked(cube: Cube, level: Int): Boolean =
+        (level..frontier).any { i -> lemmas[i].any { cube.containsAll(it) } }
+
+    private fun addLemma(cube: Cube, level: Int) {
+        for (i in 1..level) {
+            lemmas[i].removeIf { it.containsAll(cube) }
+        }
+        lemmas[level].add(cube)
+        lemmaCount++
+        val clause = PathUtils.unfold(Not(And(cube)), currIndex)
+        for (i in 1..level) {
+            solvers[i].track(clause)
+        }
+    }
+
+    /**
+     * Pushes lemmas forward to the next frame where possible. Returns a safe result with the inductive invariant if
+     * two consecutive frames became equal.
+     */
+    private fun propagate(): SafetyResult<Witness, Trace<S, A>>? {
+        for (i in 1 until frontier) {
+            for (cube in lemmas[i].toList()) {
+                if (query(cube, i + 1) is QueryResult.Blocked) {
+                    lemmas[i].remove(cube)
+                    lemmas[i + 1].add(cube)
+                    solvers[i + 1].track(PathUtils.unfold(Not(And(cube)), currIndex))
+                }
+            }
+            if (lemmas[i].isEmpty()) {
+                logger.write(Logger.Level.MAINSTEP, "Safety proven in PDR (frame $i is inductive)\n")
+                val invariant = And((i + 1..frontier).flatMap { lemmas[it] }.map { Not(And(it)) })
+                return SafetyResult.safe(InvariantWitness(invariant), getStatistics())
+            }
+        }
+        return null
+    }
+
+    private fun getTrace(first: Obligation): Trace<S, A> {
+        val valuations = generateSequence(first) { it.successor }.map { it.valuation }.toList()
+        return Trace.of(valuations.map(valToState), valuations.zipWithNext(biValToAction))
+    }
+
+    private fun getStatistics() = PdrStatistics(frontier, lemmaCount, obligations, queries)
+
+}
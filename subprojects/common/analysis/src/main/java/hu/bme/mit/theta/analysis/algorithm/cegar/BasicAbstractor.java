@@ -24,12 +24,16 @@ import hu.bme.mit.theta.analysis.algorithm.arg.ArgNode;
 import hu.bme.mit.theta.analysis.algorithm.cegar.abstractor.StopCriterion;
 import hu.bme.mit.theta.analysis.algorithm.cegar.abstractor.StopCriterions;
 import hu.bme.mit.theta.analysis.reachedset.Partition;
+import hu.bme.mit.theta.analysis.runtimemonitor.MonitorCheckpoint;
 import hu.bme.mit.theta.analysis.waitlist.FifoWaitlist;
 import hu.bme.mit.theta.analysis.waitlist.Waitlist;
 import hu.bme.mit.theta.common.Utils;
 import hu.bme.mit.theta.common.logging.Logger;
 import hu.bme.mit.theta.common.logging.Logger.Level;
 import hu.bme.mit.theta.common.logging.NullLogger;
+import hu.bme.mit.theta.common.metrics.Counter;
+import hu.bme.mit.theta.common.metrics.Metrics;
+import hu.bme.mit.theta.common.metrics.Timer;
 
 import java.util.Collection;
 import java.util.Collections;
@@ -43,6 +47,10 @@ import static com.google.common.base.Preconditions.checkState;
  */
 public class BasicAbstractor<S extends State, A extends Action, P extends Prec> implements Abstractor<S, A, P> {
 
+    private static final Timer CLOSE_TIMER = Metrics.timer("BasicAbstractor.close");
+    private static final Counter COVERAGE_CHECKS = Metrics.counter("BasicAbstractor.coverageChecks");
+    private static final Counter COVERED_NODES = Metrics.counter("BasicAbstractor.coveredNodes");
+
     protected final ArgBuilder<S, A, P> argBuilder;
     protected final Function<? super S, ?> projection;
     protected final Waitlist<ArgNode<S, A>> waitlist;
@@ -82,8 +90,10 @@ public class BasicAbstractor<S extends State, A extends Action, P extends Prec>
 
         assert arg.isInitialized();
 
-        logger.write(Level.INFO, "|  |  Starting ARG: %d nodes, %d incomplete, %d unsafe%n", arg.getNodes().count(),
-                arg.getIncompleteNodes().count(), arg.getUnsafeNodes().count());
+        if (logger.isEnabled(Level.INFO)) {
+            logger.write(Level.INFO, "|  |  Starting ARG: %d nodes, %d incomplete, %d unsafe%n", arg.getNodes().count(),
+                    arg.getIncompleteNodes().count(), arg.getUnsafeNodes().count());
+        }
         logger.write(Level.SUBSTEP, "|  |  Building ARG...");
 
         final Partition<ArgNode<S, A>, ?> reachedSet = Partition.of(n -> projection.apply(n.getState()));
@@ -102,6 +112,7 @@ public class BasicAbstractor<S extends State, A extends Action, P extends Prec>
                     newNodes = argBuilder.expand(node, prec);
                     reachedSet.addAll(newNodes);
                     waitlist.addAll(newNodes);
+                    MonitorCheckpoint.Checkpoints.execute("BasicAbstractor.expandedNode");
                 }
 
                 if (stopCriterion.canStop(arg, newNodes)) break;
@@ -109,8 +120,10 @@ public class BasicAbstractor<S extends State, A extends Action, P extends Prec>
         }
 
         logger.write(Level.SUBSTEP, "done%n");
-        logger.write(Level.INFO, "|  |  Finished ARG: %d nodes, %d incomplete, %d unsafe%n", arg.getNodes().count(),
-                arg.getIncompleteNodes().count(), arg.getUnsafeNodes().count());
+        if (logger.isEnabled(Level.INFO)) {
+            logger.write(Level.INFO, "|  |  Finished ARG: %d nodes, %d incomplete, %d unsafe%n", arg.getNodes().count(),
+                    arg.getIncompleteNodes().count(), arg.getUnsafeNodes().count());
+        }
 
         waitlist.clear(); // Optimization
 
@@ -126,10 +139,14 @@ public class BasicAbstractor<S extends State, A extends Action, P extends Prec>
         if (!node.isLeaf()) {
             return;
         }
-        for (final ArgNode<S, A> candidate : candidates) {
-            if (candidate.mayCoverStandard(node)) {
-                node.cover(candidate);
-                return;
+        try (Timer.Context closeTime = CLOSE_TIMER.time()) {
+            for (final ArgNode<S, A> candidate : candidates) {
+                COVERAGE_CHECKS.increment();
+                if (candidate.mayCoverStandard(node)) {
+                    node.cover(candidate);
+                    COVERED_NODES.increment();
+                    return;
+                }
             }
         }
     }
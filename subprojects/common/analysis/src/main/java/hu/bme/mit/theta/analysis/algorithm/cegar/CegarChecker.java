@@ -23,6 +23,7 @@ import hu.bme.mit.theta.analysis.Trace;
 import hu.bme.mit.theta.analysis.algorithm.SafetyResult;
 import hu.bme.mit.theta.analysis.algorithm.arg.ARG;
 import hu.bme.mit.theta.analysis.algorithm.SafetyChecker;
+import hu.bme.mit.theta.analysis.algorithm.Statistics;
 import hu.bme.mit.theta.analysis.runtimemonitor.MonitorCheckpoint;
 import hu.bme.mit.theta.analysis.utils.ArgVisualizer;
 import hu.bme.mit.theta.common.Utils;
@@ -33,6 +34,8 @@ import hu.bme.mit.theta.common.logging.NullLogger;
 import hu.bme.mit.theta.common.visualization.writer.JSONWriter;
 import hu.bme.mit.theta.common.visualization.writer.WebDebuggerLogger;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -48,23 +51,35 @@ public final class CegarChecker<S extends State, A extends Action, P extends Pre
     private final Abstractor<S, A, P> abstractor;
     private final Refiner<S, A, P> refiner;
     private final Logger logger;
+    private final List<Statistics> componentStatistics;
     private final ARG<S, A> arg; // TODO I don't think putting the ARG up here from check below causes any issues, but keep it in mind, that it might
 
-    private CegarChecker(final Abstractor<S, A, P> abstractor, final Refiner<S, A, P> refiner, final Logger logger) {
+    private CegarChecker(final Abstractor<S, A, P> abstractor, final Refiner<S, A, P> refiner, final Logger logger,
+                         final Collection<? extends Statistics> componentStatistics) {
         this.abstractor = checkNotNull(abstractor);
         this.refiner = checkNotNull(refiner);
         this.logger = checkNotNull(logger);
+        this.componentStatistics = List.copyOf(componentStatistics);
         arg = abstractor.createArg();
     }
 
     public static <S extends State, A extends Action, P extends Prec> CegarChecker<S, A, P> create(
             final Abstractor<S, A, P> abstractor, final Refiner<S, A, P> refiner) {
-        return new CegarChecker<>(abstractor, refiner, NullLogger.getInstance());
+        return new CegarChecker<>(abstractor, refiner, NullLogger.getInstance(), List.of());
     }
 
     public static <S extends State, A extends Action, P extends Prec> CegarChecker<S, A, P> create(
             final Abstractor<S, A, P> abstractor, final Refiner<S, A, P> refiner, final Logger logger) {
-        return new CegarChecker<>(abstractor, refiner, logger);
+        return new CegarChecker<>(abstractor, refiner, logger, List.of());
+    }
+
+    /**
+     * Creates a checker whose statistics also include the given statistics of its components.
+     */
+    public static <S extends State, A extends Action, P extends Prec> CegarChecker<S, A, P> create(
+            final Abstractor<S, A, P> abstractor, final Refiner<S, A, P> refiner, final Logger logger,
+            final Collection<? extends Statistics> componentStatistics) {
+        return new CegarChecker<>(abstractor, refiner, logger, componentStatistics);
     }
 
     public ARG<S, A> getArg() {
@@ -125,7 +140,7 @@ public final class CegarChecker<S extends State, A extends Action, P extends Pre
         stopwatch.stop();
         SafetyResult<ARG<S, A>, Trace<S, A>> cegarResult = null;
         final CegarStatistics stats = new CegarStatistics(stopwatch.elapsed(TimeUnit.MILLISECONDS), abstractorTime,
-                refinerTime, iteration);
+                refinerTime, iteration, componentStatistics);
 
         assert abstractorResult.isSafe() || (refinerResult != null && refinerResult.isUnsafe());
 
@@ -17,6 +17,8 @@ package hu.bme.mit.theta.analysis.algorithm.cegar;
 
 import hu.bme.mit.theta.analysis.algorithm.Statistics;
 
+import java.util.Collection;
+
 /**
  * Represents statistics collected by the CegarChecker algorithm.
  */
@@ -39,6 +41,21 @@ public final class CegarStatistics extends Statistics {
         addStat("Iterations", this::getIterations);
     }
 
+    /**
+     * Creates the statistics extended with the statistics of the components of the algorithm (e.g., the
+     * abstraction).
+     */
+    public CegarStatistics(final long algorithmTimeMs, final long abstractorTimeMs,
+                           final long refinerTimeMs, final int iterations,
+                           final Collection<? extends Statistics> componentStatistics) {
+        this(algorithmTimeMs, abstractorTimeMs, refinerTimeMs, iterations);
+        for (final Statistics statistics : componentStatistics) {
+            for (final String key : statistics.keySet()) {
+                addStat(key, () -> statistics.get(key));
+            }
+        }
+    }
+
     public long getAlgorithmTimeMs() {
         return algorithmTimeMs;
     }
@@ -0,0 +1,168 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.algorithm.cegar;
+
+import com.google.common.base.Stopwatch;
+import hu.bme.mit.theta.analysis.Action;
+import hu.bme.mit.theta.analysis.Prec;
+import hu.bme.mit.theta.analysis.State;
+import hu.bme.mit.theta.analysis.Trace;
+import hu.bme.mit.theta.analysis.algorithm.SafetyResult;
+import hu.bme.mit.theta.analysis.algorithm.arg.ARG;
+import hu.bme.mit.theta.analysis.algorithm.arg.ArgNode;
+import hu.bme.mit.theta.analysis.algorithm.arg.ArgTrace;
+import hu.bme.mit.theta.analysis.runtimemonitor.MonitorCheckpoint;
+import hu.bme.mit.theta.common.Utils;
+import hu.bme.mit.theta.common.logging.Logger;
+import hu.bme.mit.theta.common.logging.Logger.Level;
+import hu.bme.mit.theta.common.logging.NullLogger;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * CEGAR loop checking multiple properties over a single ARG. The abstractor explores the state
+ * space until it finds a state violating any of the open properties (see {@link PropertyTargets},
+ * which must be the target predicate of the abstractor's ARG builder). The first counterexample is
+ * checked by the refiner of the property it violates: if it is spurious, the (shared) precision is
+ * refined, otherwise the property is closed as unsafe and exploration continues for the rest. Once
+ * the ARG contains no more targets, all remaining properties are safe.
+ * <p>
+ * The refiners are expected to check and refine only the first counterexample of the ARG (e.g.,
+ * {@link hu.bme.mit.theta.analysis.expr.refinement.SingleExprTraceRefiner}).
+ */
+public final class MultiPropertyCegarChecker<S extends State, A extends Action, P extends Prec, K> {
+
+    private final Abstractor<S, A, P> abstractor;
+    private final Map<K, Refiner<S, A, P>> refiners;
+    private final PropertyTargets<S, K> targets;
+    private final Logger logger;
+
+    private MultiPropertyCegarChecker(final Abstractor<S, A, P> abstractor,
+                                      final Map<K, ? extends Refiner<S, A, P>> refiners,
+                                      final PropertyTargets<S, K> targets, final Logger logger) {
+        this.abstractor = checkNotNull(abstractor);
+        this.refiners = new LinkedHashMap<>(checkNotNull(refiners));
+        this.targets = checkNotNull(targets);
+        this.logger = checkNotNull(logger);
+        checkArgument(refiners.keySet().containsAll(targets.getProperties()),
+                "Every property needs a refiner");
+    }
+
+    public static <S extends State, A extends Action, P extends Prec, K> MultiPropertyCegarChecker<S, A, P, K> create(
+            final Abstractor<S, A, P> abstractor, final Map<K, ? extends Refiner<S, A, P>> refiners,
+            final PropertyTargets<S, K> targets) {
+        return new MultiPropertyCegarChecker<>(abstractor, refiners, targets, NullLogger.getInstance());
+    }
+
+    public static <S extends State, A extends Action, P extends Prec, K> MultiPropertyCegarChecker<S, A, P, K> create(
+            final Abstractor<S, A, P> abstractor, final Map<K, ? extends Refiner<S, A, P>> refiners,
+            final PropertyTargets<S, K> targets, final Logger logger) {
+        return new MultiPropertyCegarChecker<>(abstractor, refiners, targets, logger);
+    }
+
+    /**
+     * Checks all properties, returning a result for each of them in the order of the properties.
+     * Properties proved safe share the final ARG as their witness.
+     */
+    public Map<K, SafetyResult<ARG<S, A>, Trace<S, A>>> check(final P initPrec) {
+        logger.write(Level.INFO, "Configuration: %s%n", this);
+        final Stopwatch stopwatch = Stopwatch.createStarted();
+        final ARG<S, A> arg = abstractor.createArg();
+        final Map<K, Trace<S, A>> cexs = new LinkedHashMap<>();
+        long abstractorTime = 0;
+        long refinerTime = 0;
+        P prec = initPrec;
+        int iteration = 0;
+
+        while (!targets.getOpen().isEmpty()) {
+            ++iteration;
+
+            logger.write(Level.MAINSTEP, "Iteration %d, open properties: %s%n", iteration, targets.getOpen());
+            logger.write(Level.MAINSTEP, "| Checking abstraction...%n");
+            final long abstractorStartTime = stopwatch.elapsed(TimeUnit.MILLISECONDS);
+            final AbstractorResult abstractorResult = abstractor.check(arg, prec);
+            abstractorTime += stopwatch.elapsed(TimeUnit.MILLISECONDS) - abstractorStartTime;
+            logger.write(Level.MAINSTEP, "| Checking abstraction done, result: %s%n", abstractorResult);
+
+            if (abstractorResult.isSafe()) {
+                break;
+            }
+            MonitorCheckpoint.Checkpoints.execute("CegarChecker.unsafeARG");
+
+            final ArgTrace<S, A> argCex = arg.getCexs().findFirst().orElseThrow();
+            final K property = targets.getViolated(argCex.node(argCex.length()).getState()).orElseThrow(
+                    () -> new IllegalStateException("Target node violates no open property"));
+
+            logger.write(Level.MAINSTEP, "| Refining abstraction for property %s...%n", property);
+            final long refinerStartTime = stopwatch.elapsed(TimeUnit.MILLISECONDS);
+            final RefinerResult<S, A, P> refinerResult = refiners.get(property).refine(arg, prec);
+            refinerTime += stopwatch.elapsed(TimeUnit.MILLISECONDS) - refinerStartTime;
+            logger.write(Level.MAINSTEP, "Refining abstraction done, result: %s%n", refinerResult);
+
+            if (refinerResult.isSpurious()) {
+                prec = refinerResult.asSpurious().getRefinedPrec();
+            } else {
+                cexs.put(property, refinerResult.asUnsafe().getCex());
+                targets.close(property);
+                pruneClosedTargets(arg);
+            }
+        }
+
+        stopwatch.stop();
+        final CegarStatistics stats = new CegarStatistics(stopwatch.elapsed(TimeUnit.MILLISECONDS), abstractorTime,
+                refinerTime, iteration);
+
+        final Map<K, SafetyResult<ARG<S, A>, Trace<S, A>>> results = new LinkedHashMap<>();
+        for (final K property : targets.getProperties()) {
+            if (cexs.containsKey(property)) {
+                results.put(property, SafetyResult.unsafe(cexs.get(property), arg, stats));
+            } else {
+                checkState(targets.isOpen(property));
+                results.put(property, SafetyResult.safe(arg, stats));
+            }
+            logger.write(Level.RESULT, "%s: %s%n", property, results.get(property));
+        }
+        logger.write(Level.INFO, "%s%n", stats);
+        return results;
+    }
+
+    /**
+     * Target nodes are leaves, so pruning the ones that only violate closed properties makes their
+     * parents incomplete, and re-expansion recreates them as non-targets (with respect to the updated
+     * target predicate).
+     */
+    private void pruneClosedTargets(final ARG<S, A> arg) {
+        final List<ArgNode<S, A>> stale = arg.getNodes()
+                .filter(ArgNode::isTarget)
+                .filter(n -> !targets.test(n.getState()))
+                .collect(toList());
+        logger.write(Level.SUBSTEP, "|  |  Pruning %d target nodes of closed properties%n", stale.size());
+        stale.forEach(arg::prune);
+    }
+
+    @Override
+    public String toString() {
+        return Utils.lispStringBuilder(getClass().getSimpleName()).add(abstractor).add(targets).toString();
+    }
+}
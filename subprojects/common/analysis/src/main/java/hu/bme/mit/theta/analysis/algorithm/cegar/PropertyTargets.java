@@ -0,0 +1,95 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.algorithm.cegar;
+
+import hu.bme.mit.theta.analysis.State;
+import hu.bme.mit.theta.common.Utils;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Target predicate of a multi-property analysis. A state is a target if it violates at least one
+ * of the properties that are still open. Properties can be closed during the analysis (e.g., once
+ * a counterexample is found for them), after which states violating only closed properties are no
+ * longer targets for newly created ARG nodes.
+ *
+ * @param <S> State type
+ * @param <K> Type of the property identifiers
+ */
+public final class PropertyTargets<S extends State, K> implements Predicate<S> {
+
+    private final Map<K, Predicate<? super S>> properties;
+    private final Set<K> open;
+
+    private PropertyTargets(final Map<K, ? extends Predicate<? super S>> properties) {
+        checkArgument(!properties.isEmpty(), "At least one property is required");
+        this.properties = Collections.unmodifiableMap(new LinkedHashMap<>(properties));
+        this.open = new LinkedHashSet<>(properties.keySet());
+    }
+
+    /**
+     * Creates the target predicate from the violation predicates of the properties. The iteration
+     * order of the map determines which property is reported first if a state violates multiple.
+     */
+    public static <S extends State, K> PropertyTargets<S, K> create(
+            final Map<K, ? extends Predicate<? super S>> properties) {
+        return new PropertyTargets<>(checkNotNull(properties));
+    }
+
+    @Override
+    public boolean test(final S state) {
+        return open.stream().anyMatch(k -> properties.get(k).test(state));
+    }
+
+    /**
+     * Gets the first open property violated by the given state, if any.
+     */
+    public Optional<K> getViolated(final S state) {
+        return open.stream().filter(k -> properties.get(k).test(state)).findFirst();
+    }
+
+    public void close(final K property) {
+        checkArgument(properties.containsKey(property), "Unknown property %s", property);
+        open.remove(property);
+    }
+
+    public Collection<K> getProperties() {
+        return properties.keySet();
+    }
+
+    public Collection<K> getOpen() {
+        return Collections.unmodifiableSet(open);
+    }
+
+    public boolean isOpen(final K property) {
+        return open.contains(property);
+    }
+
+    @Override
+    public String toString() {
+        return Utils.lispStringBuilder(getClass().getSimpleName()).addAll(open).toString();
+    }
+}
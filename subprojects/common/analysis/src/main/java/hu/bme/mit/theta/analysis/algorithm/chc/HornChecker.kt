@@ -50,16 +50,20 @@ class HornChecker(
         val solver = hornSolverFactory.createHornSolver()
         logger.write(Logger.Level.MAINSTEP, "Starting encoding\n")
         solver.add(relations)
-        logger.write(Logger.Level.DETAIL, "Relations:\n\t${
-            relations.joinToString("\n\t") {
-                it.constDecl.toString()
-            }
-        }\n")
-        logger.write(Logger.Level.DETAIL, "Rules:\n\t${
-            solver.assertions.joinToString("\n\t") {
-                it.toString().replace(Regex("[\r\n\t ]+"), " ")
-            }
-        }\n")
+        logger.write(Logger.Level.DETAIL) {
+            "Relations:\n\t${
+                relations.joinToString("\n\t") {
+                    it.constDecl.toString()
+                }
+            }\n"
+        }
+        logger.write(Logger.Level.DETAIL) {
+            "Rules:\n\t${
+                solver.assertions.joinToString("\n\t") {
+                    it.toString().replace(Regex("[\r\n\t ]+"), " ")
+                }
+            }\n"
+        }
         logger.write(Logger.Level.MAINSTEP, "Added constraints to solver\n")
         solver.check()
         logger.write(Logger.Level.MAINSTEP, "Check() finished (result: ${solver.status})\n")
@@ -29,6 +29,9 @@ import hu.bme.mit.theta.core.utils.ExprUtils;
 import hu.bme.mit.theta.solver.Solver;
 import hu.bme.mit.theta.solver.utils.WithPushPop;
 
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
 import java.util.function.Function;
 
 public class MddExpressionTemplate implements MddNode.Template {
@@ -37,10 +40,11 @@ public class MddExpressionTemplate implements MddNode.Template {
     private final Function<Object, Decl> extractDecl;
     private final SolverPool solverPool;
 
-    private static Solver lazySolver;
+    // One solver per pool (and thus per run), requested when the pool is first used for a satisfiability check
+    private static final Map<SolverPool, Solver> lazySolvers = Collections.synchronizedMap(new WeakHashMap<>());
 
     private static boolean isSat(Expr<BoolType> expr, SolverPool solverPool) {
-        if (lazySolver == null) lazySolver = solverPool.requestSolver();
+        final Solver lazySolver = lazySolvers.computeIfAbsent(solverPool, SolverPool::requestSolver);
         boolean res;
         try (var wpp = new WithPushPop(lazySolver)) {
             lazySolver.add(expr);
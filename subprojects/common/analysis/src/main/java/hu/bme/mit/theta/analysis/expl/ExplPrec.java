@@ -15,31 +15,42 @@
  */
 package hu.bme.mit.theta.analysis.expl;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import hu.bme.mit.theta.analysis.Prec;
 import hu.bme.mit.theta.common.Utils;
+import hu.bme.mit.theta.core.decl.Decl;
 import hu.bme.mit.theta.core.decl.VarDecl;
-import hu.bme.mit.theta.core.model.ImmutableValuation;
 import hu.bme.mit.theta.core.model.Valuation;
-import hu.bme.mit.theta.core.type.LitExpr;
 
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Optional;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
- * Represents an immutable, simple explicit precision that is a set of variables.
+ * Represents an immutable, simple explicit precision that is a set of variables. Each variable is also assigned a
+ * slot, and the states created by the precision store the values of the variables in flat arrays indexed by the slots.
  */
 public final class ExplPrec implements Prec {
 
     private final Set<VarDecl<?>> vars;
+    private final List<VarDecl<?>> slotVars;
+    private final Map<Decl<?>, Integer> varToSlot;
     private final static ExplPrec EMPTY = new ExplPrec(Collections.emptySet());
 
     private ExplPrec(final Iterable<? extends VarDecl<?>> vars) {
         this.vars = ImmutableSet.copyOf(vars);
+        this.slotVars = ImmutableList.copyOf(this.vars);
+        final ImmutableMap.Builder<Decl<?>, Integer> builder = ImmutableMap.builder();
+        for (int i = 0; i < slotVars.size(); ++i) {
+            builder.put(slotVars.get(i), i);
+        }
+        this.varToSlot = builder.build();
     }
 
     public static ExplPrec empty() {
@@ -74,16 +85,21 @@ public final class ExplPrec implements Prec {
         }
     }
 
+    List<VarDecl<?>> getSlotVars() {
+        return slotVars;
+    }
+
+    /**
+     * Returns the slot of a variable, or -1 if the variable is not tracked.
+     */
+    int getSlot(final Decl<?> decl) {
+        final Integer slot = varToSlot.get(decl);
+        return slot == null ? -1 : slot;
+    }
+
     public ExplState createState(final Valuation valuation) {
         checkNotNull(valuation);
-        final ImmutableValuation.Builder builder = ImmutableValuation.builder();
-        for (final VarDecl<?> varDecl : vars) {
-            final Optional<? extends LitExpr<?>> eval = valuation.eval(varDecl);
-            if (eval.isPresent()) {
-                builder.put(varDecl, eval.get());
-            }
-        }
-        return ExplState.of(builder.build());
+        return ExplState.of(this, valuation);
     }
 
     @Override
@@ -15,25 +15,43 @@
  */
 package hu.bme.mit.theta.analysis.expl;
 
+import com.google.common.collect.ImmutableMap;
 import hu.bme.mit.theta.analysis.expr.ExprState;
 import hu.bme.mit.theta.common.Utils;
 import hu.bme.mit.theta.core.decl.Decl;
+import hu.bme.mit.theta.core.decl.VarDecl;
 import hu.bme.mit.theta.core.model.ImmutableValuation;
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
 import hu.bme.mit.theta.core.type.LitExpr;
 import hu.bme.mit.theta.core.type.Type;
 import hu.bme.mit.theta.core.type.booltype.BoolExprs;
+import hu.bme.mit.theta.core.type.booltype.BoolLitExpr;
 import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.type.bvtype.BvLitExpr;
+import hu.bme.mit.theta.core.type.bvtype.BvType;
+import hu.bme.mit.theta.core.type.inttype.IntLitExpr;
 
+import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 import static com.google.common.base.Preconditions.checkNotNull;
-
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Bool;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Int;
+
+/**
+ * Represents an immutable explicit state, i.e., a valuation of (some of) the variables, or bottom. States created by
+ * a precision (see {@link ExplPrec#createState(Valuation)}) store the values in the slots of the variables assigned by
+ * the precision, using primitive lanes for Boolean, integer and bitvector values. Such states are compared slot-wise,
+ * and their hash code and 64-bit fingerprint are cached. States with the same valuation are equal regardless of how
+ * they are stored.
+ */
 public abstract class ExplState extends Valuation implements ExprState {
 
     private ExplState() {
@@ -46,6 +64,36 @@ public abstract class ExplState extends Valuation implements ExprState {
         return new NonBottom(val);
     }
 
+    static ExplState of(final ExplPrec prec, final Valuation val) {
+        checkNotNull(prec);
+        checkNotNull(val);
+        final List<VarDecl<?>> slotVars = prec.getSlotVars();
+        final byte[] kinds = new byte[slotVars.size()];
+        final long[] values = new long[slotVars.size()];
+        Object[] objects = null;
+        boolean empty = true;
+        for (int i = 0; i < slotVars.size(); ++i) {
+            final Optional<? extends LitExpr<?>> eval = val.eval(slotVars.get(i));
+            if (eval.isPresent()) {
+                empty = false;
+                final LitExpr<?> lit = eval.get();
+                kinds[i] = Slotted.kindOf(slotVars.get(i), lit);
+                if (kinds[i] == Slotted.OBJECT) {
+                    if (objects == null) {
+                        objects = new Object[slotVars.size()];
+                    }
+                    objects[i] = lit;
+                } else {
+                    values[i] = Slotted.encode(lit);
+                }
+            }
+        }
+        if (empty) {
+            return top();
+        }
+        return new Slotted(prec, kinds, values, objects);
+    }
+
     public static ExplState bottom() {
         return BottomLazyHolder.INSTANCE;
     }
@@ -58,13 +106,34 @@ public abstract class ExplState extends Valuation implements ExprState {
 
     public abstract boolean isLeq(final ExplState that);
 
+    /**
+     * Returns a 64-bit fingerprint of the state, which is equal for equal states. Fingerprints have far less
+     * collisions than hash codes, so they are suitable as keys of large visited sets.
+     */
+    public long getFingerprint() {
+        long result = isBottom() ? 0 : 1;
+        for (final Map.Entry<Decl<?>, LitExpr<?>> entry : toMap().entrySet()) {
+            result += fingerprint(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    private static long fingerprint(final Decl<?> decl, final LitExpr<?> value) {
+        long result = ((long) decl.hashCode() << 32) ^ (value.hashCode() & 0xFFFFFFFFL);
+        result ^= result >>> 33;
+        result *= 0xFF51AFD7ED558CCDL;
+        result ^= result >>> 33;
+        result *= 0xC4CEB9FE1A85EC53L;
+        result ^= result >>> 33;
+        return result;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) {
             return true;
-        } else if (obj != null && this.getClass() == obj.getClass()) {
-            final ExplState that = (ExplState) obj;
-            return this.toMap().equals(that.toMap()) && this.isBottom() == that.isBottom();
+        } else if (obj instanceof ExplState that) {
+            return this.isBottom() == that.isBottom() && this.toMap().equals(that.toMap());
         } else {
             return false;
         }
@@ -135,6 +204,208 @@ public abstract class ExplState extends Valuation implements ExprState {
         }
     }
 
+    /**
+     * State storing the values in the slots assigned by a precision. Boolean, integer (fitting into a long) and
+     * bitvector (of at most 64 bits) values are stored in a primitive lane, other values are stored as literals.
+     */
+    private static final class Slotted extends ExplState {
+
+        private static final byte UNDEFINED = 0;
+        private static final byte BOOL = 1;
+        private static final byte INT = 2;
+        private static final byte BV_NEUTRAL = 3;
+        private static final byte BV_SIGNED = 4;
+        private static final byte BV_UNSIGNED = 5;
+        private static final byte OBJECT = 6;
+
+        private final ExplPrec prec;
+        private final byte[] kinds;
+        private final long[] values;
+        private final Object[] objects;
+
+        private volatile int hashCode = 0;
+        private volatile long fingerprint = 0;
+
+        private Slotted(final ExplPrec prec, final byte[] kinds, final long[] values, final Object[] objects) {
+            this.prec = prec;
+            this.kinds = kinds;
+            this.values = values;
+            this.objects = objects;
+        }
+
+        private static byte kindOf(final Decl<?> decl, final LitExpr<?> lit) {
+            if (lit instanceof BoolLitExpr) {
+                return BOOL;
+            } else if (lit instanceof IntLitExpr intLit && intLit.getValue().bitLength() < Long.SIZE) {
+                return INT;
+            } else if (lit instanceof BvLitExpr bvLit && bvLit.getValue().length <= Long.SIZE
+                    && decl.getType() instanceof BvType bvType && bvType.getSize() == bvLit.getValue().length) {
+                final Boolean signed = bvLit.getType().getSignedness();
+                return signed == null ? BV_NEUTRAL : signed ? BV_SIGNED : BV_UNSIGNED;
+            } else {
+                return OBJECT;
+            }
+        }
+
+        private static long encode(final LitExpr<?> lit) {
+            if (lit instanceof BoolLitExpr boolLit) {
+                return boolLit.getValue() ? 1 : 0;
+            } else if (lit instanceof IntLitExpr intLit) {
+                return intLit.getValue().longValue();
+            } else {
+                long result = 0;
+                for (final boolean bit : ((BvLitExpr) lit).getValue()) {
+                    result = (result << 1) | (bit ? 1 : 0);
+                }
+                return result;
+            }
+        }
+
+        private LitExpr<?> decode(final int slot) {
+            switch (kinds[slot]) {
+                case BOOL:
+                    return Bool(values[slot] != 0);
+                case INT:
+                    return Int(BigInteger.valueOf(values[slot]));
+                case BV_NEUTRAL:
+                case BV_SIGNED:
+                case BV_UNSIGNED:
+                    final boolean[] bits = new boolean[((BvType) prec.getSlotVars().get(slot).getType()).getSize()];
+                    for (int i = 0; i < bits.length; ++i) {
+                        bits[i] = (values[slot] >>> (bits.length - 1 - i) & 1) != 0;
+                    }
+                    return BvLitExpr.of(bits, kinds[slot] == BV_NEUTRAL ? null : kinds[slot] == BV_SIGNED);
+                case OBJECT:
+                    return (LitExpr<?>) objects[slot];
+                default:
+                    throw new AssertionError();
+            }
+        }
+
+        /**
+         * Bitvectors with different signedness but the same bits are equal, so the signedness is ignored.
+         */
+        private boolean sameValue(final int slot, final Slotted that) {
+            final byte kind = kinds[slot];
+            final byte thatKind = that.kinds[slot];
+            if (kind == OBJECT || thatKind == OBJECT) {
+                return kind == thatKind && objects[slot].equals(that.objects[slot]);
+            } else if (kind >= BV_NEUTRAL && kind <= BV_UNSIGNED) {
+                return thatKind >= BV_NEUTRAL && thatKind <= BV_UNSIGNED && values[slot] == that.values[slot];
+            } else {
+                return kind == thatKind && values[slot] == that.values[slot];
+            }
+        }
+
+        @Override
+        public Collection<? extends Decl<?>> getDecls() {
+            final List<Decl<?>> decls = new ArrayList<>();
+            for (int i = 0; i < kinds.length; ++i) {
+                if (kinds[i] != UNDEFINED) {
+                    decls.add(prec.getSlotVars().get(i));
+                }
+            }
+            return decls;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <DeclType extends Type> Optional<LitExpr<DeclType>> eval(final Decl<DeclType> decl) {
+            final int slot = prec.getSlot(decl);
+            if (slot < 0 || kinds[slot] == UNDEFINED) {
+                return Optional.empty();
+            }
+            return Optional.of((LitExpr<DeclType>) decode(slot));
+        }
+
+        @Override
+        public Map<Decl<?>, LitExpr<?>> toMap() {
+            final ImmutableMap.Builder<Decl<?>, LitExpr<?>> builder = ImmutableMap.builder();
+            for (int i = 0; i < kinds.length; ++i) {
+                if (kinds[i] != UNDEFINED) {
+                    builder.put(prec.getSlotVars().get(i), decode(i));
+                }
+            }
+            return builder.build();
+        }
+
+        ////
+
+        @Override
+        public Valuation getVal() {
+            return this;
+        }
+
+        @Override
+        public boolean isLeq(final ExplState that) {
+            if (that.isBottom()) {
+                return false;
+            } else if (that instanceof Slotted slotted && slotted.prec == this.prec) {
+                for (int i = 0; i < kinds.length; ++i) {
+                    if (slotted.kinds[i] != UNDEFINED && !sameValue(i, slotted)) {
+                        return false;
+                    }
+                }
+                return true;
+            } else {
+                return super.isLeq(that.getVal());
+            }
+        }
+
+        @Override
+        public boolean isBottom() {
+            return false;
+        }
+
+        @Override
+        public long getFingerprint() {
+            long result = fingerprint;
+            if (result == 0) {
+                result = super.getFingerprint();
+                fingerprint = result;
+            }
+            return result;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = hashCode;
+            if (result == 0) {
+                result = super.hashCode();
+                hashCode = result;
+            }
+            return result;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            } else if (obj instanceof Slotted that && that.prec == this.prec) {
+                if (this.hashCode != 0 && that.hashCode != 0 && this.hashCode != that.hashCode) {
+                    return false;
+                }
+                for (int i = 0; i < kinds.length; ++i) {
+                    if ((kinds[i] == UNDEFINED) != (that.kinds[i] == UNDEFINED)
+                            || kinds[i] != UNDEFINED && !sameValue(i, that)) {
+                        return false;
+                    }
+                }
+                return true;
+            } else {
+                return super.equals(obj);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return Utils.lispStringBuilder(ExplState.class.getSimpleName()).aligned()
+                    .addAll(getDecls().stream().sorted(Comparator.comparing((Decl<?> decl) -> decl.getName()))
+                            .map(d -> String.format("(%s %s)", d.getName(), eval(d).get())))
+                    .toString();
+        }
+    }
+
     private static final class Bottom extends ExplState {
 
         @Override
@@ -19,6 +19,8 @@ import com.google.common.collect.ImmutableList;
 import hu.bme.mit.theta.analysis.Trace;
 import hu.bme.mit.theta.analysis.expr.ExprAction;
 import hu.bme.mit.theta.analysis.expr.ExprState;
+import hu.bme.mit.theta.common.metrics.Metrics;
+import hu.bme.mit.theta.common.metrics.Timer;
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
 import hu.bme.mit.theta.core.type.booltype.BoolType;
@@ -41,6 +43,8 @@ import static com.google.common.base.Preconditions.checkNotNull;
  */
 public final class ExprTraceBwBinItpChecker implements ExprTraceChecker<ItpRefutation> {
 
+    private static final Timer CHECK_TIMER = Metrics.timer("ExprTraceBwBinItpChecker.check");
+
     private final ItpSolver solver;
     private final Expr<BoolType> init;
     private final Expr<BoolType> target;
@@ -61,6 +65,13 @@ public final class ExprTraceBwBinItpChecker implements ExprTraceChecker<ItpRefut
     @Override
     public ExprTraceStatus<ItpRefutation> check(
             final Trace<? extends ExprState, ? extends ExprAction> trace) {
+        try (Timer.Context checkTime = CHECK_TIMER.time()) {
+            return checkTrace(trace);
+        }
+    }
+
+    private ExprTraceStatus<ItpRefutation> checkTrace(
+            final Trace<? extends ExprState, ? extends ExprAction> trace) {
         checkNotNull(trace);
         final Trace<? extends ExprState, ? extends ExprAction> traceRev = trace.reverse();
         final int stateCount = trace.getStates().size();
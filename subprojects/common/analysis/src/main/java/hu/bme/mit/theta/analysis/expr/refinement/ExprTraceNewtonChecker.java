@@ -25,6 +25,8 @@ import hu.bme.mit.theta.analysis.expr.ExprTraceUtils;
 import hu.bme.mit.theta.analysis.expr.StmtAction;
 import hu.bme.mit.theta.common.Tuple2;
 import hu.bme.mit.theta.common.Utils;
+import hu.bme.mit.theta.common.metrics.Metrics;
+import hu.bme.mit.theta.common.metrics.Timer;
 import hu.bme.mit.theta.core.decl.VarDecl;
 import hu.bme.mit.theta.core.model.BasicSubstitution;
 import hu.bme.mit.theta.core.model.ImmutableValuation;
@@ -80,6 +82,9 @@ import static java.util.stream.Collectors.toUnmodifiableMap;
  * 487-497. DOI:https://doi.org/10.1145/3106237.3106307
  */
 public class ExprTraceNewtonChecker implements ExprTraceChecker<ItpRefutation> {
+
+    private static final Timer CHECK_TIMER = Metrics.timer("ExprTraceNewtonChecker.check");
+
     private enum AssertionGeneratorMethod {SP, WP}
 
     private final UCSolver solver;
@@ -114,7 +119,7 @@ public class ExprTraceNewtonChecker implements ExprTraceChecker<ItpRefutation> {
     @Override
     public ExprTraceStatus<ItpRefutation> check(final Trace<? extends ExprState, ? extends ExprAction> trace) {
         checkNotNull(trace);
-        try {
+        try (Timer.Context checkTime = CHECK_TIMER.time()) {
             return check2((Trace<? extends ExprState, ? extends StmtAction>) trace);
         } catch (ClassCastException e) {
             throw new UnsupportedOperationException("Actions must be of type StmtAction", e);
@@ -24,6 +24,8 @@ import hu.bme.mit.theta.analysis.expr.ExprState;
 import hu.bme.mit.theta.analysis.expr.ExprTraceUtils;
 import hu.bme.mit.theta.analysis.expr.StmtAction;
 import hu.bme.mit.theta.common.Utils;
+import hu.bme.mit.theta.common.metrics.Metrics;
+import hu.bme.mit.theta.common.metrics.Timer;
 import hu.bme.mit.theta.core.model.ImmutableValuation;
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.stmt.AssumeStmt;
@@ -62,6 +64,8 @@ import static java.util.stream.Collectors.toList;
  */
 public class ExprTraceUCBChecker implements ExprTraceChecker<ItpRefutation> {
 
+    private static final Timer CHECK_TIMER = Metrics.timer("ExprTraceUCBChecker.check");
+
     private final UCSolver solver;
     private final Expr<BoolType> init;
     private final Expr<BoolType> target;
@@ -84,7 +88,7 @@ public class ExprTraceUCBChecker implements ExprTraceChecker<ItpRefutation> {
     @Override
     public ExprTraceStatus<ItpRefutation> check(final Trace<? extends ExprState, ? extends ExprAction> trace) {
         checkNotNull(trace);
-        try {
+        try (Timer.Context checkTime = CHECK_TIMER.time()) {
             return check2((Trace<? extends ExprState, ? extends StmtAction>) trace);
         } catch (ClassCastException e) {
             throw new UnsupportedOperationException("Actions must be of type StmtAction", e);
@@ -19,6 +19,8 @@ import com.google.common.collect.ImmutableList;
 import hu.bme.mit.theta.analysis.Trace;
 import hu.bme.mit.theta.analysis.expr.ExprAction;
 import hu.bme.mit.theta.analysis.expr.ExprState;
+import hu.bme.mit.theta.common.metrics.Metrics;
+import hu.bme.mit.theta.common.metrics.Timer;
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
 import hu.bme.mit.theta.core.type.booltype.BoolType;
@@ -41,6 +43,8 @@ import static com.google.common.base.Preconditions.checkNotNull;
  */
 public final class ExprTraceUnsatCoreChecker implements ExprTraceChecker<VarsRefutation> {
 
+    private static final Timer CHECK_TIMER = Metrics.timer("ExprTraceUnsatCoreChecker.check");
+
     private final UCSolver solver;
     private final Expr<BoolType> init;
     private final Expr<BoolType> target;
@@ -61,6 +65,13 @@ public final class ExprTraceUnsatCoreChecker implements ExprTraceChecker<VarsRef
     @Override
     public ExprTraceStatus<VarsRefutation> check(
             final Trace<? extends ExprState, ? extends ExprAction> trace) {
+        try (Timer.Context checkTime = CHECK_TIMER.time()) {
+            return checkTrace(trace);
+        }
+    }
+
+    private ExprTraceStatus<VarsRefutation> checkTrace(
+            final Trace<? extends ExprState, ? extends ExprAction> trace) {
         checkNotNull(trace);
         final int stateCount = trace.getStates().size();
 
@@ -24,6 +24,7 @@ import hu.bme.mit.theta.analysis.algorithm.cegar.Refiner;
 import hu.bme.mit.theta.analysis.algorithm.cegar.RefinerResult;
 import hu.bme.mit.theta.analysis.expr.ExprAction;
 import hu.bme.mit.theta.analysis.expr.ExprState;
+import hu.bme.mit.theta.analysis.runtimemonitor.MonitorCheckpoint;
 import hu.bme.mit.theta.common.logging.Logger;
 import hu.bme.mit.theta.common.logging.Logger.Level;
 
@@ -38,7 +39,7 @@ public final class MultiExprTraceRefiner<S extends ExprState, A extends ExprActi
 
     private final ExprTraceChecker<R> exprTraceChecker;
     private final PrecRefiner<S, A, P, R> precRefiner;
-    private final PruneStrategy pruneStrategy;
+    private PruneStrategy pruneStrategy;
     private final NodePruner<S, A> nodePruner;
     private final Logger logger;
 
@@ -75,6 +76,14 @@ public final class MultiExprTraceRefiner<S extends ExprState, A extends ExprActi
         return new MultiExprTraceRefiner<>(exprTraceChecker, precRefiner, pruneStrategy, logger, nodePruner);
     }
 
+    /**
+     * Changes the pruning strategy used by the subsequent refinements, e.g., to prune the whole ARG when memory is
+     * running low.
+     */
+    public void setPruneStrategy(final PruneStrategy pruneStrategy) {
+        this.pruneStrategy = checkNotNull(pruneStrategy);
+    }
+
     @Override
     public RefinerResult<S, A, P> refine(final ARG<S, A> arg, final P prec) {
         checkNotNull(arg);
@@ -93,6 +102,7 @@ public final class MultiExprTraceRefiner<S extends ExprState, A extends ExprActi
         for (final Trace<S, A> trace : traces) {
             final ExprTraceStatus<R> status = exprTraceChecker.check(trace);
             cexStatuses.add(status);
+            MonitorCheckpoint.Checkpoints.execute("MultiExprTraceRefiner.checkedTrace");
             if (status.isFeasible()) {
                 break;
             }
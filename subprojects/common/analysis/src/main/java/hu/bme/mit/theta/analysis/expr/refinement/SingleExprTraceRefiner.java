@@ -24,6 +24,7 @@ import hu.bme.mit.theta.analysis.algorithm.cegar.Refiner;
 import hu.bme.mit.theta.analysis.algorithm.cegar.RefinerResult;
 import hu.bme.mit.theta.analysis.expr.ExprAction;
 import hu.bme.mit.theta.analysis.expr.ExprState;
+import hu.bme.mit.theta.analysis.runtimemonitor.MonitorCheckpoint;
 import hu.bme.mit.theta.common.Utils;
 import hu.bme.mit.theta.common.logging.Logger;
 import hu.bme.mit.theta.common.logging.Logger.Level;
@@ -40,7 +41,7 @@ public class SingleExprTraceRefiner<S extends ExprState, A extends ExprAction, P
         implements Refiner<S, A, P> {
     protected final ExprTraceChecker<R> exprTraceChecker;
     protected final PrecRefiner<S, A, P, R> precRefiner;
-    protected final PruneStrategy pruneStrategy;
+    protected PruneStrategy pruneStrategy;
     protected final NodePruner<S, A> nodePruner;
     protected final Logger logger;
 
@@ -77,6 +78,14 @@ public class SingleExprTraceRefiner<S extends ExprState, A extends ExprAction, P
         return new SingleExprTraceRefiner<>(exprTraceChecker, precRefiner, pruneStrategy, logger, nodePruner);
     }
 
+    /**
+     * Changes the pruning strategy used by the subsequent refinements, e.g., to prune the whole ARG when memory is
+     * running low.
+     */
+    public void setPruneStrategy(final PruneStrategy pruneStrategy) {
+        this.pruneStrategy = checkNotNull(pruneStrategy);
+    }
+
     @Override
     public RefinerResult<S, A, P> refine(final ARG<S, A> arg, final P prec) {
         checkNotNull(arg);
@@ -93,6 +102,7 @@ public class SingleExprTraceRefiner<S extends ExprState, A extends ExprAction, P
         logger.write(Level.SUBSTEP, "|  |  Checking trace...");
         final ExprTraceStatus<R> cexStatus = exprTraceChecker.check(traceToConcretize);
         logger.write(Level.SUBSTEP, "done, result: %s%n", cexStatus);
+        MonitorCheckpoint.Checkpoints.execute("SingleExprTraceRefiner.checkedTrace");
 
         assert cexStatus.isFeasible() || cexStatus.isInfeasible() : "Unknown CEX status";
 
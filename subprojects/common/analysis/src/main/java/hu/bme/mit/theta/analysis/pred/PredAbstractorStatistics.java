@@ -0,0 +1,76 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.pred;
+
+import hu.bme.mit.theta.analysis.algorithm.Statistics;
+
+/**
+ * Statistics collected by a predicate abstractor: solver calls and the effectiveness of its transfer cache. The
+ * values are updated while the abstractor is running, so querying them always gives the current counts.
+ */
+public final class PredAbstractorStatistics extends Statistics {
+
+    private long solverCalls = 0;
+    private long solverCallsSaved = 0;
+    private long cacheHits = 0;
+    private long cacheMisses = 0;
+
+    PredAbstractorStatistics() {
+        addStat("AbstractionSolverCalls", this::getSolverCalls);
+        addStat("AbstractionSolverCallsSaved", this::getSolverCallsSaved);
+        addStat("AbstractionCacheHits", this::getCacheHits);
+        addStat("AbstractionCacheHitRate", this::getCacheHitRate);
+    }
+
+    void solverCalled() {
+        solverCalls++;
+    }
+
+    void solverCallsSaved(final long count) {
+        solverCallsSaved += count;
+    }
+
+    void cacheHit(final long savedSolverCalls) {
+        cacheHits++;
+        solverCallsSaved += savedSolverCalls;
+    }
+
+    void cacheMissed() {
+        cacheMisses++;
+    }
+
+    public long getSolverCalls() {
+        return solverCalls;
+    }
+
+    public long getSolverCallsSaved() {
+        return solverCallsSaved;
+    }
+
+    public long getCacheHits() {
+        return cacheHits;
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses;
+    }
+
+    public double getCacheHitRate() {
+        final long lookups = cacheHits + cacheMisses;
+        return lookups == 0 ? 0.0 : (double) cacheHits / lookups;
+    }
+
+}
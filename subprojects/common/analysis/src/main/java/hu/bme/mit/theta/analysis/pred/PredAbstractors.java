@@ -15,7 +15,10 @@
  */
 package hu.bme.mit.theta.analysis.pred;
 
+import com.google.common.collect.Iterables;
 import hu.bme.mit.theta.analysis.expr.ExprAction;
+import hu.bme.mit.theta.analysis.runtimemonitor.Releasable;
+import hu.bme.mit.theta.analysis.runtimemonitor.ReleasableResources;
 import hu.bme.mit.theta.common.container.Containers;
 import hu.bme.mit.theta.core.decl.ConstDecl;
 import hu.bme.mit.theta.core.decl.Decls;
@@ -31,26 +34,38 @@ import hu.bme.mit.theta.solver.Solver;
 import hu.bme.mit.theta.solver.utils.WithPushPop;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static hu.bme.mit.theta.core.type.booltype.BoolExprs.And;
 import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Iff;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Imply;
 import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Not;
 import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Or;
 import static hu.bme.mit.theta.core.type.booltype.BoolExprs.True;
 
 /**
  * Strategies for performing predicate abstraction over an expression.
+ * <p>
+ * The abstractors assert the definitions of the predicates of a precision only once, guarded by an activation
+ * literal, in a push scope of the solver owned by the abstractor, so other users of the same solver must balance their
+ * pushes and pops around the calls of the abstractor. Successors computed for a (state, action, precision) triple are kept in a bounded cache, which
+ * is released under memory pressure (see {@link ReleasableResources}).
  */
 public class PredAbstractors {
 
+    private static final int TRANSFER_CACHE_CAPACITY = 10_000;
+
     private PredAbstractors() {
     }
 
@@ -80,6 +95,13 @@ public class PredAbstractors {
                                                           final ExprAction action) {
             return createStatesForExpr(expr, exprIndexing, prec, precIndexing);
         }
+
+        /**
+         * Get the statistics of the abstractor, if it collects any.
+         */
+        default Optional<PredAbstractorStatistics> getStatistics() {
+            return Optional.empty();
+        }
     }
 
     /**
@@ -102,6 +124,28 @@ public class PredAbstractors {
         return new BooleanAbstractor(solver, false);
     }
 
+    /**
+     * Get the strategy that uses Boolean abstraction with cube minimization, keeping the result as a single state.
+     * Predicates are enumerated separately for each group of predicates sharing variables (through the expression),
+     * and each model is generalized to a cube before it is blocked, yielding a compact DNF per group.
+     *
+     * @param solver
+     * @return
+     */
+    public static PredAbstractor booleanCubeAbstractor(final Solver solver) {
+        return new CubeAbstractor(solver, false);
+    }
+
+    /**
+     * Get the strategy that uses Boolean abstraction with cube minimization and splits the result into cubes.
+     *
+     * @param solver
+     * @return
+     */
+    public static PredAbstractor booleanCubeSplitAbstractor(final Solver solver) {
+        return new CubeAbstractor(solver, true);
+    }
+
     /**
      * Get the strategy that uses Cartesian abstraction.
      *
@@ -112,18 +156,190 @@ public class PredAbstractors {
         return new CartesianAbstractor(solver);
     }
 
-    private static final class BooleanAbstractor implements PredAbstractor {
+    /**
+     * Base class of the abstractors, caching the successors of (state, action, precision) triples, so that transfers
+     * repeated in re-explored parts of the ARG (e.g., after pruning) are answered without the solver.
+     */
+    private abstract static class CachingPredAbstractor implements PredAbstractor, Releasable {
+
+        protected final Solver solver;
+        protected final PredAbstractorStatistics statistics;
+        private final Map<TransferKey, CachedStates> transferCache;
+
+        protected CachingPredAbstractor(final Solver solver) {
+            this.solver = checkNotNull(solver);
+            this.statistics = new PredAbstractorStatistics();
+            // Access-ordered maps are modified by reads too, and release() may be called from other threads
+            this.transferCache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<TransferKey, CachedStates> eldest) {
+                    return size() > TRANSFER_CACHE_CAPACITY;
+                }
+            });
+            ReleasableResources.register(this);
+        }
+
+        @Override
+        public void release() {
+            transferCache.clear();
+        }
+
+        @Override
+        public final Collection<PredState> createStatesForExpr(final Expr<BoolType> expr,
+                                                               final VarIndexing exprIndexing,
+                                                               final PredPrec prec,
+                                                               final VarIndexing precIndexing,
+                                                               final PredState state,
+                                                               final ExprAction action) {
+            final TransferKey key = new TransferKey(state, action, prec);
+            final CachedStates cached = transferCache.get(key);
+            if (cached != null) {
+                statistics.cacheHit(cached.solverCalls());
+                return cached.states();
+            }
+            statistics.cacheMissed();
+            final long solverCallsBefore = statistics.getSolverCalls();
+            final Collection<PredState> states = List.copyOf(
+                    computeStatesForExpr(expr, exprIndexing, prec, precIndexing, state, action));
+            transferCache.put(key, new CachedStates(states, statistics.getSolverCalls() - solverCallsBefore));
+            return states;
+        }
+
+        protected Collection<PredState> computeStatesForExpr(final Expr<BoolType> expr,
+                                                             final VarIndexing exprIndexing,
+                                                             final PredPrec prec,
+                                                             final VarIndexing precIndexing,
+                                                             final PredState state,
+                                                             final ExprAction action) {
+            return createStatesForExpr(expr, exprIndexing, prec, precIndexing);
+        }
+
+        @Override
+        public Optional<PredAbstractorStatistics> getStatistics() {
+            return Optional.of(statistics);
+        }
+
+        protected boolean check() {
+            statistics.solverCalled();
+            return solver.check().isSat();
+        }
+
+        private record TransferKey(PredState state, ExprAction action, PredPrec prec) {
+        }
+
+        private record CachedStates(Collection<PredState> states, long solverCalls) {
+        }
+    }
+
+    /**
+     * Definitions Iff(lit_i, pred_i) of the predicates of a precision unfolded with a given indexing. Each group of
+     * definitions is asserted once, as an implication from a guard literal, and a query enables it by asserting the
+     * guard. Only the most recently used groups are kept: when a group is evicted, its guard is asserted to be false,
+     * which satisfies its definitions, so the solver can drop them from the other queries.
+     * <p>
+     * The groups are asserted in a push scope owned by the definitions. If the solver was popped below that scope by
+     * some other user, this is detected at the next definition (by the identity of the last assertion of the scope)
+     * and the groups are asserted again. The number of asserted groups is bounded: when the bound is reached, the
+     * owned scope is popped and the groups are asserted again on demand.
+     */
+    private static final class PredDefinitions {
+
+        private static final int MAX_ACTIVE_DEFINITIONS = 64;
+        private static final int MAX_DEFINITIONS = 1_000;
 
         private final Solver solver;
-        private final List<ConstDecl<BoolType>> actLits;
         private final String litPrefix;
+        private final Map<List<Expr<BoolType>>, Definition> definitions;
+        private int litCount = 0;
+        private int assertedDefinitions = 0;
+        private boolean scopeOpen = false;
+        private int scopeSize = 0;
+        private Expr<BoolType> lastAssertion = null;
+
+        private PredDefinitions(final Solver solver, final String litPrefix) {
+            this.solver = solver;
+            this.litPrefix = litPrefix;
+            this.definitions = new LinkedHashMap<>(16, 0.75f, true);
+        }
+
+        private Definition define(final List<Expr<BoolType>> preds, final VarIndexing precIndexing) {
+            final List<Expr<BoolType>> unfoldedPreds = preds.stream()
+                    .map(pred -> PathUtils.unfold(pred, precIndexing)).toList();
+            if (scopeOpen && !isScopeIntact()) {
+                // Popped below the owned scope, the definitions have to be asserted again
+                definitions.clear();
+                scopeOpen = false;
+            }
+            final Definition definition = definitions.get(unfoldedPreds);
+            if (definition != null) {
+                return definition;
+            }
+            if (assertedDefinitions >= MAX_DEFINITIONS) {
+                // Only pop if the owned scope is on the top of the stack, otherwise it is left inactive
+                if (solver.getAssertions().size() == scopeSize) {
+                    solver.pop();
+                }
+                definitions.clear();
+                scopeOpen = false;
+            }
+            if (!scopeOpen) {
+                solver.push();
+                scopeOpen = true;
+                assertedDefinitions = 0;
+                lastAssertion = null;
+            }
+            if (definitions.size() >= MAX_ACTIVE_DEFINITIONS) {
+                final Iterator<Definition> eldest = definitions.values().iterator();
+                assertInScope(Not(eldest.next().guard().getRef()));
+                eldest.remove();
+            }
+            final Definition newDefinition = assertDefinition(unfoldedPreds);
+            definitions.put(unfoldedPreds, newDefinition);
+            assertedDefinitions++;
+            scopeSize = solver.getAssertions().size();
+            return newDefinition;
+        }
+
+        private boolean isScopeIntact() {
+            final Collection<Expr<BoolType>> assertions = solver.getAssertions();
+            return assertions.size() >= scopeSize
+                    && (lastAssertion == null || Iterables.get(assertions, scopeSize - 1) == lastAssertion);
+        }
+
+        private void assertInScope(final Expr<BoolType> assertion) {
+            lastAssertion = assertion;
+            solver.add(assertion);
+        }
+
+        private Definition assertDefinition(final List<Expr<BoolType>> unfoldedPreds) {
+            final ConstDecl<BoolType> guard = newLit();
+            final List<ConstDecl<BoolType>> lits = new ArrayList<>(unfoldedPreds.size());
+            for (final Expr<BoolType> unfoldedPred : unfoldedPreds) {
+                final ConstDecl<BoolType> lit = newLit();
+                assertInScope(Imply(guard.getRef(), Iff(lit.getRef(), unfoldedPred)));
+                lits.add(lit);
+            }
+            return new Definition(guard, lits);
+        }
+
+        private ConstDecl<BoolType> newLit() {
+            return Decls.Const(litPrefix + litCount++, BoolExprs.Bool());
+        }
+
+        private record Definition(ConstDecl<BoolType> guard, List<ConstDecl<BoolType>> lits) {
+        }
+    }
+
+    private static final class BooleanAbstractor extends CachingPredAbstractor {
+
         private static int instanceCounter = 0;
+        private final PredDefinitions definitions;
         private final boolean split;
 
         public BooleanAbstractor(final Solver solver, final boolean split) {
-            this.solver = checkNotNull(solver);
-            this.actLits = new ArrayList<>();
-            this.litPrefix = "__" + getClass().getSimpleName() + "_" + instanceCounter + "_";
+            super(solver);
+            this.definitions = new PredDefinitions(solver,
+                    "__" + getClass().getSimpleName() + "_" + instanceCounter + "_");
             instanceCounter++;
             this.split = split;
         }
@@ -137,38 +353,34 @@ public class PredAbstractors {
             checkNotNull(prec);
             checkNotNull(precIndexing);
 
-            final List<Expr<BoolType>> preds = new ArrayList<>(prec.getPreds());
-            generateActivationLiterals(preds.size());
-
-            assert actLits.size() >= preds.size();
+            final List<Expr<BoolType>> preds = prec.getPredList();
+            final PredDefinitions.Definition definition = definitions.define(preds, precIndexing);
+            final List<ConstDecl<BoolType>> actLits = definition.lits();
 
             final List<PredState> states = new LinkedList<>();
             try (WithPushPop wp = new WithPushPop(solver)) {
+                solver.add(definition.guard().getRef());
                 solver.add(PathUtils.unfold(expr, exprIndexing));
-                for (int i = 0; i < preds.size(); ++i) {
-                    solver.add(
-                            Iff(actLits.get(i).getRef(), PathUtils.unfold(preds.get(i), precIndexing)));
-                }
-                while (solver.check().isSat()) {
+                while (check()) {
                     final Valuation model = solver.getModel();
-                    final Set<Expr<BoolType>> newStatePreds = Containers.createSet();
+                    final BitSet pos = new BitSet(preds.size());
+                    final BitSet neg = new BitSet(preds.size());
                     final List<Expr<BoolType>> feedback = new LinkedList<>();
                     feedback.add(True());
                     for (int i = 0; i < preds.size(); ++i) {
                         final ConstDecl<BoolType> lit = actLits.get(i);
-                        final Expr<BoolType> pred = preds.get(i);
                         final Optional<LitExpr<BoolType>> eval = model.eval(lit);
                         if (eval.isPresent()) {
                             if (eval.get().equals(True())) {
-                                newStatePreds.add(pred);
+                                pos.set(i);
                                 feedback.add(lit.getRef());
                             } else {
-                                newStatePreds.add(prec.negate(pred));
+                                neg.set(i);
                                 feedback.add(Not(lit.getRef()));
                             }
                         }
                     }
-                    states.add(PredState.of(newStatePreds));
+                    states.add(PredState.of(prec, pos, neg));
                     solver.add(Not(And(feedback)));
                 }
             }
@@ -180,69 +392,387 @@ public class PredAbstractors {
                 return states;
             }
         }
-
-        private void generateActivationLiterals(final int n) {
-            while (actLits.size() < n) {
-                actLits.add(Decls.Const(litPrefix + actLits.size(), BoolExprs.Bool()));
-            }
-        }
     }
 
-    private static final class CartesianAbstractor implements PredAbstractor {
+    /**
+     * Boolean abstraction that avoids enumerating the product of independent predicates. The predicates are
+     * partitioned into groups that are connected through shared constants of the (unfolded) predicates and the
+     * conjuncts of the expression. As the groups do not share constants, the abstraction is the product of the
+     * abstractions of the groups, so each group is enumerated on its own (with only its conjuncts asserted), and
+     * groups without conjuncts are not enumerated at all. Each model is generalized to a cube before it is blocked, by
+     * dropping its literals as long as the cube still implies the conjuncts of the group, which takes one query per
+     * literal. A predicate that is irrelevant for the conjuncts thus disappears from the result instead of doubling
+     * the number of enumerated models.
+     */
+    private static final class CubeAbstractor extends CachingPredAbstractor {
 
-        private final Solver solver;
+        private static int instanceCounter = 0;
+        private final PredDefinitions definitions;
+        private final boolean split;
 
-        public CartesianAbstractor(final Solver solver) {
-            this.solver = solver;
+        public CubeAbstractor(final Solver solver, final boolean split) {
+            super(solver);
+            this.definitions = new PredDefinitions(solver,
+                    "__" + getClass().getSimpleName() + "_" + instanceCounter + "_");
+            instanceCounter++;
+            this.split = split;
         }
 
         @Override
         public Collection<PredState> createStatesForExpr(final Expr<BoolType> expr,
                                                          final VarIndexing exprIndexing,
                                                          final PredPrec prec, final VarIndexing precIndexing) {
-            final List<Expr<BoolType>> newStatePreds = new ArrayList<>();
+            checkNotNull(expr);
+            checkNotNull(exprIndexing);
+            checkNotNull(prec);
+            checkNotNull(precIndexing);
 
+            final List<Expr<BoolType>> preds = prec.getPredList();
+            final PredDefinitions.Definition definition = definitions.define(preds, precIndexing);
+            final Expr<BoolType> unfoldedExpr = PathUtils.unfold(expr, exprIndexing);
+
+            final List<List<Cube>> groupCubes = new ArrayList<>();
             try (WithPushPop wp = new WithPushPop(solver)) {
-                solver.add(PathUtils.unfold(expr, exprIndexing));
-                solver.check();
-                if (solver.getStatus().isUnsat()) {
-                    return Collections.emptySet();
+                solver.add(definition.guard().getRef());
+                try (WithPushPop wp1 = new WithPushPop(solver)) {
+                    solver.add(unfoldedExpr);
+                    if (!check()) {
+                        return Collections.emptyList();
+                    }
+                }
+                for (final Group group : groups(unfoldedExpr, preds, precIndexing)) {
+                    groupCubes.add(enumerate(group, definition.lits()));
+                }
+            }
+
+            if (split) {
+                List<Cube> products = List.of(new Cube(new byte[preds.size()]));
+                for (final List<Cube> cubes : groupCubes) {
+                    final List<Cube> newProducts = new ArrayList<>();
+                    for (final Cube product : products) {
+                        for (final Cube cube : cubes) {
+                            newProducts.add(product.product(cube));
+                        }
+                    }
+                    products = newProducts;
+                }
+                return products.stream().map(cube -> cube.toState(prec)).collect(Collectors.toList());
+            } else if (groupCubes.stream().allMatch(cubes -> cubes.size() == 1)) {
+                Cube product = new Cube(new byte[preds.size()]);
+                for (final List<Cube> cubes : groupCubes) {
+                    product = product.product(cubes.get(0));
                 }
+                return Collections.singleton(product.toState(prec));
+            } else {
+                final List<Expr<BoolType>> statePreds = new ArrayList<>();
+                for (final List<Cube> cubes : groupCubes) {
+                    if (cubes.size() == 1) {
+                        statePreds.addAll(cubes.get(0).toLiterals(preds, prec));
+                    } else {
+                        statePreds.add(Or(cubes.stream().map(cube -> And(cube.toLiterals(preds, prec))).toList()));
+                    }
+                }
+                return Collections.singleton(PredState.of(statePreds));
+            }
+        }
 
-                for (final Expr<BoolType> pred : prec.getPreds()) {
-                    final boolean ponEntailed;
-                    final boolean negEntailed;
+        /**
+         * Enumerates the cubes of the abstraction of a group. The blocking clauses of the cubes found so far are also
+         * present during the generalization, so a cube only has to imply the conjuncts outside the earlier cubes.
+         */
+        private List<Cube> enumerate(final Group group, final List<ConstDecl<BoolType>> lits) {
+            if (group.conjuncts().isEmpty()) {
+                // Every consistent valuation of the predicates is possible
+                return List.of(new Cube(new byte[lits.size()]));
+            }
+            final List<Cube> cubes = new ArrayList<>();
+            try (WithPushPop wp = new WithPushPop(solver)) {
+                while (true) {
+                    final Cube minterm;
                     try (WithPushPop wp1 = new WithPushPop(solver)) {
-                        solver.add(PathUtils.unfold(prec.negate(pred), precIndexing));
-                        ponEntailed = solver.check().isUnsat();
+                        group.conjuncts().forEach(solver::add);
+                        if (!check()) {
+                            break;
+                        }
+                        minterm = minterm(solver.getModel(), group, lits);
+                    }
+                    final Cube cube = generalize(minterm, group, lits, cubes);
+                    cubes.add(cube);
+                    solver.add(Not(And(cube.toLits(lits))));
+                }
+            }
+            return cubes;
+        }
+
+        private static Cube minterm(final Valuation model, final Group group, final List<ConstDecl<BoolType>> lits) {
+            final byte[] values = new byte[lits.size()];
+            for (final int i : group.preds()) {
+                final Optional<LitExpr<BoolType>> eval = model.eval(lits.get(i));
+                // Literals missing from the model can take any value, so they are left out of the cube
+                if (eval.isPresent()) {
+                    values[i] = eval.get().equals(True()) ? (byte) 1 : (byte) -1;
+                }
+            }
+            return new Cube(values);
+        }
+
+        /**
+         * Drops the literals of a model one by one, as long as the remaining cube implies the conjuncts of the group.
+         * The cube then only contains states of the abstraction, so the result is as precise as the enumeration of the
+         * models. If the model itself does not imply the conjuncts (e.g., because they also constrain constants that
+         * do not appear in the predicates), it is kept as it is. In split mode, a literal is only dropped if the cube
+         * stays disjoint from the earlier cubes.
+         */
+        private Cube generalize(final Cube minterm, final Group group, final List<ConstDecl<BoolType>> lits,
+                                final List<Cube> cubes) {
+            try (WithPushPop wp = new WithPushPop(solver)) {
+                solver.add(Not(And(group.conjuncts())));
+                if (!isImplicant(minterm, lits)) {
+                    return minterm;
+                }
+                Cube result = minterm;
+                for (final int i : group.preds()) {
+                    if (result.values()[i] == 0) {
+                        continue;
+                    }
+                    final Cube candidate = result.with(i, (byte) 0);
+                    if ((!split || cubes.stream().allMatch(candidate::isDisjoint)) && isImplicant(candidate, lits)) {
+                        result = candidate;
+                    }
+                }
+                return result;
+            }
+        }
+
+        /**
+         * Checks whether the cube implies the conjuncts of the group, whose negation is already asserted.
+         */
+        private boolean isImplicant(final Cube cube, final List<ConstDecl<BoolType>> lits) {
+            try (WithPushPop wp = new WithPushPop(solver)) {
+                cube.toLits(lits).forEach(solver::add);
+                return !check();
+            }
+        }
+
+        /**
+         * Partitions the predicates (given by their indices) into groups connected through shared constants, and
+         * assigns the conjuncts of the expression to the groups. Conjuncts not sharing constants with any predicate
+         * are irrelevant once the expression is known to be satisfiable.
+         */
+        private static List<Group> groups(final Expr<BoolType> unfoldedExpr, final List<Expr<BoolType>> preds,
+                                          final VarIndexing precIndexing) {
+            final List<Expr<BoolType>> conjuncts = new ArrayList<>(ExprUtils.getConjuncts(unfoldedExpr));
+            final int n = preds.size() + conjuncts.size();
+            final int[] parent = new int[n];
+            for (int i = 0; i < n; ++i) {
+                parent[i] = i;
+            }
+            final Map<ConstDecl<?>, Integer> owners = Containers.createMap();
+            for (int i = 0; i < n; ++i) {
+                final Expr<BoolType> e = i < preds.size() ? PathUtils.unfold(preds.get(i), precIndexing)
+                        : conjuncts.get(i - preds.size());
+                for (final ConstDecl<?> c : ExprUtils.getConstants(e)) {
+                    final Integer owner = owners.putIfAbsent(c, i);
+                    if (owner != null) {
+                        parent[find(parent, i)] = find(parent, owner);
+                    }
+                }
+            }
+            final Map<Integer, List<Integer>> groupPreds = new LinkedHashMap<>();
+            for (int i = 0; i < preds.size(); ++i) {
+                groupPreds.computeIfAbsent(find(parent, i), k -> new ArrayList<>()).add(i);
+            }
+            final Map<Integer, List<Expr<BoolType>>> groupConjuncts = Containers.createMap();
+            for (int i = preds.size(); i < n; ++i) {
+                groupConjuncts.computeIfAbsent(find(parent, i), k -> new ArrayList<>())
+                        .add(conjuncts.get(i - preds.size()));
+            }
+            return groupPreds.entrySet().stream().map(e -> new Group(e.getValue(),
+                    groupConjuncts.getOrDefault(e.getKey(), List.of()))).toList();
+        }
+
+        private static int find(final int[] parent, final int i) {
+            int root = i;
+            while (parent[root] != root) {
+                root = parent[root];
+            }
+            int j = i;
+            while (parent[j] != root) {
+                final int next = parent[j];
+                parent[j] = root;
+                j = next;
+            }
+            return root;
+        }
+
+        private record Group(List<Integer> preds, List<Expr<BoolType>> conjuncts) {
+        }
+
+        /**
+         * A cube over the predicates: 1 for a positive, -1 for a negative literal, 0 if the predicate is absent.
+         */
+        private record Cube(byte[] values) {
+
+            @Override
+            public boolean equals(final Object obj) {
+                return obj instanceof Cube that && Arrays.equals(values, that.values);
+            }
+
+            @Override
+            public int hashCode() {
+                return Arrays.hashCode(values);
+            }
+
+            private Cube with(final int i, final byte value) {
+                final byte[] newValues = values.clone();
+                newValues[i] = value;
+                return new Cube(newValues);
+            }
+
+            private boolean isDisjoint(final Cube that) {
+                for (int i = 0; i < values.length; ++i) {
+                    if (values[i] * that.values[i] < 0) {
+                        return true;
                     }
-                    try (WithPushPop wp2 = new WithPushPop(solver)) {
-                        solver.add(PathUtils.unfold(pred, precIndexing));
-                        negEntailed = solver.check().isUnsat();
+                }
+                return false;
+            }
+
+            /**
+             * Returns the conjunction of the two cubes, which must not have opposite literals.
+             */
+            private Cube product(final Cube that) {
+                final byte[] productValues = values.clone();
+                for (int i = 0; i < values.length; ++i) {
+                    if (that.values[i] != 0) {
+                        productValues[i] = that.values[i];
                     }
+                }
+                return new Cube(productValues);
+            }
 
-                    assert !(ponEntailed
-                            && negEntailed) : "Ponated and negated predicates are both entailed.";
+            private PredState toState(final PredPrec prec) {
+                final BitSet pos = new BitSet(values.length);
+                final BitSet neg = new BitSet(values.length);
+                for (int i = 0; i < values.length; ++i) {
+                    if (values[i] > 0) {
+                        pos.set(i);
+                    } else if (values[i] < 0) {
+                        neg.set(i);
+                    }
+                }
+                return PredState.of(prec, pos, neg);
+            }
 
-                    if (ponEntailed) {
-                        newStatePreds.add(pred);
+            private List<Expr<BoolType>> toLits(final List<ConstDecl<BoolType>> lits) {
+                final List<Expr<BoolType>> literals = new ArrayList<>();
+                literals.add(True());
+                for (int i = 0; i < values.length; ++i) {
+                    if (values[i] > 0) {
+                        literals.add(lits.get(i).getRef());
+                    } else if (values[i] < 0) {
+                        literals.add(Not(lits.get(i).getRef()));
                     }
-                    if (negEntailed) {
-                        newStatePreds.add(prec.negate(pred));
+                }
+                return literals;
+            }
+
+            private List<Expr<BoolType>> toLiterals(final List<Expr<BoolType>> preds, final PredPrec prec) {
+                final List<Expr<BoolType>> literals = new ArrayList<>();
+                for (int i = 0; i < values.length; ++i) {
+                    if (values[i] > 0) {
+                        literals.add(preds.get(i));
+                    } else if (values[i] < 0) {
+                        literals.add(prec.negate(preds.get(i)));
                     }
                 }
+                return literals;
             }
+        }
+    }
+
+    private static final class CartesianAbstractor extends CachingPredAbstractor {
+
+        private static int instanceCounter = 0;
+        private final PredDefinitions definitions;
 
-            return Collections.singleton(PredState.of(newStatePreds));
+        public CartesianAbstractor(final Solver solver) {
+            super(solver);
+            this.definitions = new PredDefinitions(solver,
+                    "__" + getClass().getSimpleName() + "_" + instanceCounter + "_");
+            instanceCounter++;
         }
 
+        /**
+         * A predicate is entailed only if the opposite polarity is unsatisfiable. Polarities observed in a model of an
+         * earlier query are known to be satisfiable, so at most one query is needed per predicate (instead of two),
+         * and none for predicates whose both polarities were already observed.
+         */
         @Override
         public Collection<PredState> createStatesForExpr(final Expr<BoolType> expr,
                                                          final VarIndexing exprIndexing,
-                                                         final PredPrec prec,
-                                                         final VarIndexing precIndexing,
-                                                         final PredState state,
-                                                         final ExprAction action) {
+                                                         final PredPrec prec, final VarIndexing precIndexing) {
+            final List<Expr<BoolType>> preds = prec.getPredList();
+            final PredDefinitions.Definition definition = definitions.define(preds, precIndexing);
+            final List<ConstDecl<BoolType>> lits = definition.lits();
+            final boolean[] posSat = new boolean[preds.size()];
+            final boolean[] negSat = new boolean[preds.size()];
+            final BitSet newStatePos = new BitSet(preds.size());
+            final BitSet newStateNeg = new BitSet(preds.size());
+
+            try (WithPushPop wp = new WithPushPop(solver)) {
+                solver.add(definition.guard().getRef());
+                solver.add(PathUtils.unfold(expr, exprIndexing));
+                if (!check()) {
+                    return Collections.emptySet();
+                }
+                observe(solver.getModel(), lits, posSat, negSat);
+
+                for (int i = 0; i < preds.size(); ++i) {
+                    if (posSat[i] && negSat[i]) {
+                        statistics.solverCallsSaved(2);
+                        continue;
+                    }
+                    statistics.solverCallsSaved(1);
+                    final boolean pos = posSat[i];
+                    try (WithPushPop wp1 = new WithPushPop(solver)) {
+                        solver.add(pos ? Not(lits.get(i).getRef()) : lits.get(i).getRef());
+                        if (check()) {
+                            observe(solver.getModel(), lits, posSat, negSat);
+                        } else if (pos) {
+                            newStatePos.set(i);
+                        } else {
+                            newStateNeg.set(i);
+                        }
+                    }
+                }
+            }
+
+            return Collections.singleton(PredState.of(prec, newStatePos, newStateNeg));
+        }
+
+        private static void observe(final Valuation model, final List<ConstDecl<BoolType>> lits,
+                                    final boolean[] posSat, final boolean[] negSat) {
+            for (int i = 0; i < lits.size(); ++i) {
+                final Optional<LitExpr<BoolType>> eval = model.eval(lits.get(i));
+                if (eval.isEmpty()) {
+                    posSat[i] = true;
+                    negSat[i] = true;
+                } else if (eval.get().equals(True())) {
+                    posSat[i] = true;
+                } else {
+                    negSat[i] = true;
+                }
+            }
+        }
+
+        @Override
+        protected Collection<PredState> computeStatesForExpr(final Expr<BoolType> expr,
+                                                             final VarIndexing exprIndexing,
+                                                             final PredPrec prec,
+                                                             final VarIndexing precIndexing,
+                                                             final PredState state,
+                                                             final ExprAction action) {
             var actionExpr = action.toExpr();
             if (actionExpr.equals(True())) {
                 var filteredPreds = state.getPreds().stream().filter(p -> {
@@ -37,6 +37,9 @@ public final class PredOrd implements PartialOrd<PredState> {
 
     @Override
     public boolean isLeq(final PredState state1, final PredState state2) {
+        if (state1.isBottom() || state1.containsAll(state2)) {
+            return true;
+        }
         try (WithPushPop wpp = new WithPushPop(solver)) {
             solver.add(PathUtils.unfold(state1.toExpr(), 0));
             solver.add(PathUtils.unfold(Not(state2.toExpr()), 0));
@@ -15,6 +15,7 @@
  */
 package hu.bme.mit.theta.analysis.pred;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Streams;
 import hu.bme.mit.theta.analysis.Prec;
@@ -28,6 +29,7 @@ import hu.bme.mit.theta.core.utils.ExprUtils;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -37,11 +39,16 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Not;
 
 /**
- * Represents an immutable, simple predicate precision that is a set of predicates.
+ * Represents an immutable, simple predicate precision that is a set of predicates. The predicates are also assigned
+ * consecutive indices (see {@link #getPredList()}), which can be used to encode states compactly as bitsets (see
+ * {@link PredState#of(PredPrec, java.util.BitSet, java.util.BitSet)}).
  */
 public final class PredPrec implements Prec {
 
     private final Map<Expr<BoolType>, Expr<BoolType>> predToNegMap;
+    private final List<Expr<BoolType>> predList;
+    private final int predListHashCode;
+    private volatile int hashCode = 0;
 
     private PredPrec(final Iterable<Expr<BoolType>> preds) {
         checkNotNull(preds);
@@ -56,6 +63,8 @@ public final class PredPrec implements Prec {
                 this.predToNegMap.put(ponatedPred, Not(ponatedPred));
             }
         }
+        this.predList = ImmutableList.copyOf(predToNegMap.keySet());
+        this.predListHashCode = predList.hashCode();
     }
 
     public static PredPrec of(final Iterable<Expr<BoolType>> preds) {
@@ -78,6 +87,13 @@ public final class PredPrec implements Prec {
         return Collections.unmodifiableSet(predToNegMap.keySet());
     }
 
+    /**
+     * Returns the predicates of the precision, where the position of a predicate is its index.
+     */
+    public List<Expr<BoolType>> getPredList() {
+        return predList;
+    }
+
     public Expr<BoolType> negate(final Expr<BoolType> pred) {
         final Expr<BoolType> negated = predToNegMap.get(pred);
         checkArgument(negated != null, "Negated predicate not found");
@@ -98,6 +114,15 @@ public final class PredPrec implements Prec {
         return of(joinedPreds);
     }
 
+    /**
+     * Returns whether the other precision has the same predicates in the same order, i.e., whether states encoded over
+     * the indices of one precision can be compared with states encoded over the other one.
+     */
+    public boolean hasSamePredList(final PredPrec that) {
+        return this == that || (that != null && this.predListHashCode == that.predListHashCode
+                && this.predList.equals(that.predList));
+    }
+
     @Override
     public String toString() {
         return Utils.lispStringBuilder(getClass().getSimpleName()).addAll(predToNegMap.keySet())
@@ -110,7 +135,7 @@ public final class PredPrec implements Prec {
             return true;
         } else if (obj != null && this.getClass() == obj.getClass()) {
             final PredPrec that = (PredPrec) obj;
-            return this.predToNegMap.keySet().equals(that.predToNegMap.keySet());
+            return this.hashCode() == that.hashCode() && this.predToNegMap.keySet().equals(that.predToNegMap.keySet());
         } else {
             return false;
         }
@@ -118,7 +143,12 @@ public final class PredPrec implements Prec {
 
     @Override
     public int hashCode() {
-        return 31 * predToNegMap.keySet().hashCode();
+        int result = hashCode;
+        if (result == 0) {
+            result = 31 * predToNegMap.keySet().hashCode();
+            hashCode = result;
+        }
+        return result;
     }
 
     @Override
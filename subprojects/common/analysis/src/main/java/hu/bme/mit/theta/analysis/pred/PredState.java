@@ -21,19 +21,34 @@ import hu.bme.mit.theta.common.Utils;
 import hu.bme.mit.theta.core.type.Expr;
 import hu.bme.mit.theta.core.type.booltype.BoolType;
 
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
 import java.util.Set;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static hu.bme.mit.theta.common.Utils.singleElementOf;
 import static hu.bme.mit.theta.core.type.booltype.BoolExprs.And;
 import static hu.bme.mit.theta.core.type.booltype.BoolExprs.False;
 import static hu.bme.mit.theta.core.type.booltype.BoolExprs.True;
 
+/**
+ * Represents an immutable predicate state, i.e., a conjunction of predicates. A state is either an arbitrary set of
+ * predicates, or it is encoded over the indexed predicates of a precision as two bitsets (positive and negative
+ * literals). Encoded states are compact, they are compared and hashed over the words of the bitsets, and their
+ * predicates (and expression) are only created when needed, e.g., for refinement or printing. The two forms are
+ * interchangeable: states with the same predicates are equal regardless of their form.
+ */
 public final class PredState implements ExprState {
 
     private static final int HASH_SEED = 7621;
 
-    private final Set<Expr<BoolType>> preds;
+    private final PredPrec prec;
+    private final long[] pos;
+    private final long[] neg;
+
+    private volatile Set<Expr<BoolType>> preds;
 
     private volatile Expr<BoolType> expr = null;
 
@@ -41,13 +56,40 @@ public final class PredState implements ExprState {
 
     private PredState(final Iterable<? extends Expr<BoolType>> preds) {
         checkNotNull(preds);
+        this.prec = null;
+        this.pos = null;
+        this.neg = null;
         this.preds = ImmutableSet.copyOf(preds);
     }
 
+    private PredState(final PredPrec prec, final long[] pos, final long[] neg) {
+        this.prec = prec;
+        this.pos = pos;
+        this.neg = neg;
+        this.preds = null;
+    }
+
     public static PredState of(final Iterable<? extends Expr<BoolType>> preds) {
         return new PredState(preds);
     }
 
+    /**
+     * Creates a state encoded over the indexed predicates of a precision (see {@link PredPrec#getPredList()}). The
+     * state contains the predicates with indices in {@code pos} and the negations of the predicates with indices in
+     * {@code neg}. Encoded states are never bottom: the predicates of a precision are not literals (so False cannot be
+     * encoded) and a predicate cannot be in both sets. Bottom is represented by {@link #bottom()}.
+     */
+    public static PredState of(final PredPrec prec, final BitSet pos, final BitSet neg) {
+        checkNotNull(prec);
+        checkNotNull(pos);
+        checkNotNull(neg);
+        final int size = prec.getPredList().size();
+        checkArgument(pos.length() <= size && neg.length() <= size, "Index out of the precision");
+        checkArgument(!pos.intersects(neg), "Contradicting literals");
+        final int words = (size + Long.SIZE - 1) / Long.SIZE;
+        return new PredState(prec, Arrays.copyOf(pos.toLongArray(), words), Arrays.copyOf(neg.toLongArray(), words));
+    }
+
     public static PredState bottom() {
         return of(False());
     }
@@ -86,11 +128,47 @@ public final class PredState implements ExprState {
     ////
 
     public Set<Expr<BoolType>> getPreds() {
-        return preds;
+        Set<Expr<BoolType>> result = preds;
+        if (result == null) {
+            final ImmutableSet.Builder<Expr<BoolType>> builder = ImmutableSet.builder();
+            final List<Expr<BoolType>> predList = prec.getPredList();
+            for (int i = 0; i < predList.size(); ++i) {
+                if (isSet(pos, i)) {
+                    builder.add(predList.get(i));
+                } else if (isSet(neg, i)) {
+                    builder.add(prec.negate(predList.get(i)));
+                }
+            }
+            result = builder.build();
+            preds = result;
+        }
+        return result;
+    }
+
+    /**
+     * Returns whether this state contains all predicates of the other state, i.e., whether this state is syntactically
+     * stronger. For states encoded over precisions with the same predicate list, this is a subset test over the words
+     * of the bitsets.
+     */
+    public boolean containsAll(final PredState that) {
+        checkNotNull(that);
+        if (this.prec != null && this.prec.hasSamePredList(that.prec)) {
+            for (int i = 0; i < pos.length; ++i) {
+                if ((that.pos[i] & ~this.pos[i]) != 0 || (that.neg[i] & ~this.neg[i]) != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return this.getPreds().containsAll(that.getPreds());
     }
 
     @Override
     public boolean isBottom() {
+        if (prec != null) {
+            // See of(PredPrec, BitSet, BitSet): encoded states are never bottom
+            return false;
+        }
         return preds.size() == 1 && singleElementOf(preds).equals(False());
     }
 
@@ -98,6 +176,7 @@ public final class PredState implements ExprState {
     public Expr<BoolType> toExpr() {
         Expr<BoolType> result = expr;
         if (result == null) {
+            final Set<Expr<BoolType>> preds = getPreds();
             if (preds.isEmpty()) {
                 result = True();
             } else if (preds.size() == 1) {
@@ -115,19 +194,41 @@ public final class PredState implements ExprState {
         int result = hashCode;
         if (result == 0) {
             result = HASH_SEED;
-            result = 31 * result + preds.hashCode();
+            result = 31 * result + predsHashCode();
             hashCode = result;
         }
         return result;
     }
 
+    /**
+     * Same as the hash code of the set of predicates, but encoded states compute it without creating the set.
+     */
+    private int predsHashCode() {
+        if (prec == null) {
+            return preds.hashCode();
+        }
+        int result = 0;
+        final List<Expr<BoolType>> predList = prec.getPredList();
+        for (int i = 0; i < predList.size(); ++i) {
+            if (isSet(pos, i)) {
+                result += predList.get(i).hashCode();
+            } else if (isSet(neg, i)) {
+                result += prec.negate(predList.get(i)).hashCode();
+            }
+        }
+        return result;
+    }
+
     @Override
     public boolean equals(final Object obj) {
         if (this == obj) {
             return true;
         } else if (obj != null && this.getClass() == obj.getClass()) {
             final PredState that = (PredState) obj;
-            return this.preds.equals(that.preds);
+            if (this.prec != null && this.prec.hasSamePredList(that.prec)) {
+                return Arrays.equals(this.pos, that.pos) && Arrays.equals(this.neg, that.neg);
+            }
+            return this.hashCode() == that.hashCode() && this.getPreds().equals(that.getPreds());
         } else {
             return false;
         }
@@ -135,8 +236,12 @@ public final class PredState implements ExprState {
 
     @Override
     public String toString() {
-        return Utils.lispStringBuilder(getClass().getSimpleName()).aligned().addAll(preds)
+        return Utils.lispStringBuilder(getClass().getSimpleName()).aligned().addAll(getPreds())
                 .toString();
     }
 
+    private static boolean isSet(final long[] bits, final int index) {
+        return (bits[index / Long.SIZE] & (1L << index)) != 0;
+    }
+
 }
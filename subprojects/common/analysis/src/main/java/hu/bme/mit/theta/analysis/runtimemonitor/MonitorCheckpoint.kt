@@ -15,6 +15,8 @@
  */
 package hu.bme.mit.theta.analysis.runtimemonitor
 
+import hu.bme.mit.theta.common.RunLocal
+
 /**
  * This class handles the creation, registering and execution of monitor checkpoints.
  * If you would like to add a new checkpoint do the following:
@@ -40,14 +42,21 @@ class MonitorCheckpoint internal constructor(private val name: String) {
         // Add any new checkpoints here
         private val checkpointNames = setOf(
             "CegarChecker.unsafeARG",
+            "BasicAbstractor.expandedNode",
+            "SingleExprTraceRefiner.checkedTrace",
+            "MultiExprTraceRefiner.checkedTrace",
         )
 
-        private val registeredCheckpoints: HashMap<String, MonitorCheckpoint> = HashMap()
-
-        init {
-            checkpointNames.forEach { registeredCheckpoints.put(it, MonitorCheckpoint(it)) }
+        // checkpoints (and thus the registered monitors) are local to the current run
+        private val runCheckpoints = RunLocal.withInitial {
+            HashMap<String, MonitorCheckpoint>().also { checkpoints ->
+                checkpointNames.forEach { checkpoints[it] = MonitorCheckpoint(it) }
+            }
         }
 
+        private val registeredCheckpoints: HashMap<String, MonitorCheckpoint>
+            get() = runCheckpoints.get()
+
         fun register(m: Monitor, checkpointName: String) {
             assert(registeredCheckpoints.contains(checkpointName))
             { "Checkpoint name $checkpointName was not registered (add it in MonitorCheckpoint.kt)" } // see checkpointNames above
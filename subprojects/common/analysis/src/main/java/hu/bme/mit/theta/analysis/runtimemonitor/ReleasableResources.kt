@@ -0,0 +1,54 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.runtimemonitor
+
+import hu.bme.mit.theta.common.RunLocal
+import java.lang.ref.WeakReference
+
+/**
+ * Memory held by a component that can be released at any point between two steps of the analysis, and rebuilt on
+ * demand later (e.g., a cache).
+ */
+fun interface Releasable {
+
+    fun release()
+}
+
+/**
+ * Registry of the [Releasable] components of the current run, so that monitors (see [ResourceMonitor]) can release
+ * their memory under memory pressure. The registry does not keep the components alive.
+ */
+object ReleasableResources {
+
+    private val runResources = RunLocal.withInitial { ArrayList<WeakReference<Releasable>>() }
+
+    @JvmStatic
+    fun register(resource: Releasable) {
+        val resources = runResources.get()
+        resources.removeIf { it.get() == null }
+        resources.add(WeakReference(resource))
+    }
+
+    /**
+     * Releases the memory of every registered component that is still alive, and returns their number.
+     */
+    @JvmStatic
+    fun releaseAll(): Int {
+        val resources = runResources.get().mapNotNull { it.get() }
+        resources.forEach { it.release() }
+        return resources.size
+    }
+}
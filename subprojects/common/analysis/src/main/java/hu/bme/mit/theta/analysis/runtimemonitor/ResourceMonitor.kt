@@ -0,0 +1,167 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.runtimemonitor
+
+import hu.bme.mit.theta.common.exception.ResourceExhaustedException
+import hu.bme.mit.theta.common.logging.Logger
+import java.lang.management.ManagementFactory
+import java.lang.management.MemoryType
+
+/**
+ * Resource usage of the analysis at a given point in time.
+ *
+ * @param heapOccupancy fraction of the maximal heap size occupied after the last garbage collection
+ * @param gcOverhead fraction of the wall time spent with garbage collection recently
+ * @param elapsedMs wall time elapsed since the monitor was created
+ */
+data class ResourceUsage(val heapOccupancy: Double, val gcOverhead: Double, val elapsedMs: Long) {
+
+    override fun toString(): String =
+        "heap: %.0f%%, GC: %.0f%%, elapsed: %d ms".format(heapOccupancy * 100, gcOverhead * 100, elapsedMs)
+}
+
+/**
+ * This monitor samples heap occupancy, GC overhead and elapsed time at its checkpoints, and triggers actions when
+ * their condition holds: e.g., switching to a strategy that uses less memory, releasing caches
+ * (see [ReleasableResources]), or aborting the analysis with a [ResourceExhaustedException], so that a portfolio
+ * can fall back to its next configuration before the process is killed.
+ * Each action is triggered at most once. Sampling is rate limited, so the monitor can be registered to checkpoints
+ * that are executed very frequently (see [CHECKPOINTS]).
+ */
+class ResourceMonitor @JvmOverloads constructor(
+    private val logger: Logger,
+    private val sampleIntervalMs: Long = DEFAULT_SAMPLE_INTERVAL_MS,
+    private val sampler: () -> ResourceUsage = ResourceSampler(),
+) : Monitor {
+
+    private class Trigger(
+        val description: String,
+        val condition: (ResourceUsage) -> Boolean,
+        val action: (ResourceUsage) -> Unit
+    ) {
+
+        var fired = false
+    }
+
+    private val triggers = ArrayList<Trigger>()
+    private var lastSampleNanos = 0L
+    private var sampled = false
+
+    var lastUsage: ResourceUsage? = null
+        private set
+
+    /**
+     * Executes the given action (once) when the condition holds at a checkpoint. Triggers are evaluated in the order
+     * of their registration.
+     */
+    fun on(description: String, condition: (ResourceUsage) -> Boolean,
+        action: (ResourceUsage) -> Unit): ResourceMonitor {
+        triggers.add(Trigger(description, condition, action))
+        return this
+    }
+
+    /**
+     * Aborts the analysis with a [ResourceExhaustedException] when the condition holds at a checkpoint.
+     */
+    fun abortWhen(condition: (ResourceUsage) -> Boolean): ResourceMonitor =
+        on("aborting", condition) { throw ResourceExhaustedException(it.toString()) }
+
+    override fun execute(checkpointName: String) {
+        val now = System.nanoTime()
+        if (sampled && now - lastSampleNanos < sampleIntervalMs * 1_000_000) return
+        sampled = true
+        lastSampleNanos = now
+
+        val usage = sampler()
+        lastUsage = usage
+        for (trigger in triggers) {
+            if (!trigger.fired && trigger.condition(usage)) {
+                trigger.fired = true
+                logger.write(Logger.Level.INFO) {
+                    "Resource monitor at $checkpointName: ${trigger.description} ($usage)\n"
+                }
+                trigger.action(usage)
+            }
+        }
+    }
+
+    companion object {
+
+        const val DEFAULT_SAMPLE_INTERVAL_MS = 100L
+
+        /**
+         * The checkpoints at which resource usage should be checked.
+         */
+        @JvmField
+        val CHECKPOINTS = listOf(
+            "CegarChecker.unsafeARG",
+            "BasicAbstractor.expandedNode",
+            "SingleExprTraceRefiner.checkedTrace",
+            "MultiExprTraceRefiner.checkedTrace",
+        )
+    }
+}
+
+/**
+ * Samples the resource usage of the JVM. Heap occupancy is measured after the last garbage collection (so that
+ * garbage does not count), and GC overhead is averaged over the last [gcWindowMs] milliseconds.
+ */
+class ResourceSampler @JvmOverloads constructor(
+    private val gcWindowMs: Long = DEFAULT_GC_WINDOW_MS
+) : () -> ResourceUsage {
+
+    private val startNanos = System.nanoTime()
+
+    // (time, cumulative GC time) pairs, the first one is the start of the current window
+    private val gcSamples = ArrayDeque<Pair<Long, Long>>()
+
+    override fun invoke(): ResourceUsage {
+        val now = System.nanoTime()
+        gcSamples.addLast(Pair(now, gcTimeMs()))
+        while (gcSamples.size > 2 && now - gcSamples[1].first >= gcWindowMs * 1_000_000) {
+            gcSamples.removeFirst()
+        }
+        val (windowStart, windowStartGcMs) = gcSamples.first()
+        val windowMs = (now - windowStart) / 1_000_000
+        val gcOverhead = if (windowMs > 0) {
+            ((gcSamples.last().second - windowStartGcMs).toDouble() / windowMs).coerceIn(0.0, 1.0)
+        } else 0.0
+        return ResourceUsage(heapOccupancy(), gcOverhead, (now - startNanos) / 1_000_000)
+    }
+
+    companion object {
+
+        const val DEFAULT_GC_WINDOW_MS = 5_000L
+
+        private val heapPools: Set<String> by lazy {
+            ManagementFactory.getMemoryPoolMXBeans().filter { it.type == MemoryType.HEAP }.map { it.name }.toSet()
+        }
+
+        private fun gcTimeMs(): Long =
+            ManagementFactory.getGarbageCollectorMXBeans().sumOf { it.collectionTime.coerceAtLeast(0) }
+
+        private fun heapOccupancy(): Double {
+            val maxHeap = Runtime.getRuntime().maxMemory()
+            val lastGc = ManagementFactory.getGarbageCollectorMXBeans()
+                .mapNotNull { (it as? com.sun.management.GarbageCollectorMXBean)?.lastGcInfo }
+                .maxByOrNull { it.endTime }
+            // only the heap pools, the after-GC usage also contains non-heap ones (e.g., Metaspace, code cache)
+            val used = lastGc?.memoryUsageAfterGc?.filterKeys { it in heapPools }?.values?.sumOf { it.used }
+                ?: (Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory())
+            return used.toDouble() / maxHeap
+        }
+    }
+}
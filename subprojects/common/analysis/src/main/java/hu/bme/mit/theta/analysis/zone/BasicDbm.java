@@ -22,17 +22,25 @@ import static hu.bme.mit.theta.analysis.zone.DiffBounds.Leq;
 import static hu.bme.mit.theta.analysis.zone.DiffBounds.Lt;
 import static hu.bme.mit.theta.analysis.zone.DiffBounds.add;
 import static hu.bme.mit.theta.analysis.zone.DiffBounds.asString;
+import static java.lang.Math.max;
 import static java.lang.Math.min;
 
 import java.util.Arrays;
 import java.util.function.IntBinaryOperator;
 
-import hu.bme.mit.theta.common.IntMatrix;
-
+/**
+ * Difference bound matrix stored row by row in a single flat array of encoded bounds (see {@link DiffBounds}).
+ * Arguments are checked once per operation, the loops of the operations access the array directly. Constraining a
+ * closed matrix with a single bound only closes the matrix incrementally. Temporary matrices (e.g., for checking
+ * consistency of intersections) are computed in a reused, thread-local buffer instead of fresh allocations.
+ */
 final class BasicDbm {
 
+    private static final ThreadLocal<int[]> BUFFER = ThreadLocal.withInitial(() -> new int[0]);
+
     private final int nClocks;
-    private final IntMatrix matrix;
+    private final int dim;
+    private final int[] bounds;
 
     ////
 
@@ -40,13 +48,15 @@ final class BasicDbm {
         checkArgument(size > 0, "Zero sized DBM");
         checkNotNull(values);
         this.nClocks = size - 1;
-        matrix = IntMatrix.create(size, size);
+        this.dim = size;
+        this.bounds = new int[size * size];
         fill(values);
     }
 
     BasicDbm(final BasicDbm dbm) {
         this.nClocks = dbm.nClocks;
-        this.matrix = IntMatrix.copyOf(dbm.matrix);
+        this.dim = dbm.dim;
+        this.bounds = dbm.bounds.clone();
     }
 
     ////
@@ -67,46 +77,50 @@ final class BasicDbm {
     int get(final int x, final int y) {
         checkArgument(isClock(x));
         checkArgument(isClock(y));
-        return matrix.get(x, y);
+        return bounds[x * dim + y];
     }
 
     void set(final int x, final int y, final int b) {
         checkArgument(isClock(x));
         checkArgument(isClock(y));
-        matrix.set(x, y, b);
+        bounds[x * dim + y] = b;
     }
 
     void fill(final IntBinaryOperator values) {
         checkNotNull(values);
-        matrix.fill(values);
+        for (int i = 0; i < dim; i++) {
+            for (int j = 0; j < dim; j++) {
+                bounds[i * dim + j] = values.applyAsInt(i, j);
+            }
+        }
     }
 
     ////
 
     public int size() {
-        return nClocks + 1;
+        return dim;
     }
 
     ////
 
     public boolean isConsistent() {
-        return matrix.get(0, 0) > 0;
+        return bounds[0] > 0;
     }
 
     public boolean isSatisfied(final int x, final int y, final int b) {
         checkArgument(isClock(x));
         checkArgument(isClock(y));
-        return add(matrix.get(y, x), b) >= Leq(0);
+        return add(bounds[y * dim + x], b) >= Leq(0);
     }
 
     public boolean constrains(final int x) {
         checkArgument(isClock(x));
-        for (int i = 0; i <= nClocks; i++) {
-            if (matrix.get(x, i) < defaultBound(x, i)) {
+        for (int i = 0; i < dim; i++) {
+            if (bounds[x * dim + i] < defaultBound(x, i)) {
                 return true;
             }
 
-            if (matrix.get(i, x) < defaultBound(i, x)) {
+            if (bounds[i * dim + x] < defaultBound(i, x)) {
                 return true;
             }
         }
@@ -117,8 +131,8 @@ final class BasicDbm {
 
     public void up() {
         if (isConsistent()) {
-            for (int i = 1; i <= nClocks; i++) {
-                matrix.set(i, 0, Inf());
+            for (int i = 1; i < dim; i++) {
+                bounds[i * dim] = Inf();
             }
             assert isClosed();
         }
@@ -126,8 +140,8 @@ final class BasicDbm {
 
     public void down() {
         if (isConsistent()) {
-            for (int i = 1; i <= nClocks; i++) {
-                matrix.set(0, i, Inf());
+            for (int i = 1; i < dim; i++) {
+                bounds[i] = Inf();
             }
             assert isClosed();
         }
@@ -141,21 +155,10 @@ final class BasicDbm {
             // do nothing
 
         } else if (!isSatisfied(x, y, b)) {
-            matrix.set(0, 0, Leq(-1));
-
-        } else if (b < matrix.get(x, y)) {
-            matrix.set(x, y, b);
+            bounds[0] = Leq(-1);
 
-            for (int i = 0; i <= nClocks; i++) {
-                for (int j = 0; j <= nClocks; j++) {
-                    if (add(matrix.get(i, x), matrix.get(x, j)) < matrix.get(i, j)) {
-                        matrix.set(i, j, add(matrix.get(i, x), matrix.get(x, j)));
-                    }
-                    if (add(matrix.get(i, y), matrix.get(y, j)) < matrix.get(i, j)) {
-                        matrix.set(i, j, add(matrix.get(i, y), matrix.get(y, j)));
-                    }
-                }
-            }
+        } else if (b < bounds[x * dim + y]) {
+            tighten(x, y, b);
         }
         assert !isConsistent() || isClosed();
     }
@@ -167,37 +170,51 @@ final class BasicDbm {
 
         for (int k = 1; k <= nClocks; k++) {
             if (!isSatisfied(0, k, Leq(0))) {
-                matrix.set(0, 0, Leq(-1));
+                bounds[0] = Leq(-1);
                 return;
             }
 
-            if (Leq(0) < matrix.get(0, k)) {
-                matrix.set(0, k, Leq(0));
-
-                for (int i = 0; i <= nClocks; i++) {
-                    for (int j = 0; j <= nClocks; j++) {
-                        if (add(matrix.get(i, 0), matrix.get(0, j)) < matrix.get(i, j)) {
-                            matrix.set(i, j, add(matrix.get(i, 0), matrix.get(0, j)));
-                        }
-                        if (add(matrix.get(i, k), matrix.get(k, j)) < matrix.get(i, j)) {
-                            matrix.set(i, j, add(matrix.get(i, k), matrix.get(k, j)));
-                        }
-                    }
-                }
+            if (Leq(0) < bounds[k]) {
+                tighten(0, k, Leq(0));
             }
         }
 
         assert !isConsistent() || isClosed();
     }
 
+    /**
+     * Sets the bound of x - y to a satisfiable bound b that is tighter than the current one, and closes the
+     * matrix incrementally. Every shortest path that gets shorter uses the edge from x to y exactly once, so the new
+     * bound of i - j is the bound of i - x, plus b, plus the bound of y - j. The bounds of i - x and y - j themselves
+     * do not change (b is satisfiable), so the matrix can be updated in place with a single pass.
+     */
+    private void tighten(final int x, final int y, final int b) {
+        final int rowY = y * dim;
+        for (int i = 0; i < dim; i++) {
+            final int ix = bounds[i * dim + x];
+            if (ix == Inf()) {
+                continue;
+            }
+            final int ixb = add(ix, b);
+            final int rowI = i * dim;
+            for (int j = 0; j < dim; j++) {
+                final int newBound = add(ixb, bounds[rowY + j]);
+                if (newBound < bounds[rowI + j]) {
+                    bounds[rowI + j] = newBound;
+                }
+            }
+        }
+    }
+
     public void free(final int x) {
         checkArgument(isNonZeroClock(x));
 
         if (isConsistent()) {
-            for (int i = 0; i <= nClocks; i++) {
+            final int rowX = x * dim;
+            for (int i = 0; i < dim; i++) {
                 if (i != x) {
-                    matrix.set(x, i, Inf());
-                    matrix.set(i, x, Inf());
+                    bounds[rowX + i] = Inf();
+                    bounds[i * dim + x] = Inf();
                 }
             }
             assert isClosed();
@@ -212,9 +229,10 @@ final class BasicDbm {
         checkArgument(isNonZeroClock(x));
 
         if (isConsistent()) {
-            for (int i = 0; i <= nClocks; i++) {
-                matrix.set(x, i, add(Leq(m), matrix.get(0, i)));
-                matrix.set(i, x, add(matrix.get(i, 0), Leq(-m)));
+            final int rowX = x * dim;
+            for (int i = 0; i < dim; i++) {
+                bounds[rowX + i] = add(Leq(m), bounds[i]);
+                bounds[i * dim + x] = add(bounds[i * dim], Leq(-m));
             }
 
             assert isClosed();
@@ -222,26 +240,30 @@ final class BasicDbm {
     }
 
     public void copy(final int x, final int y) {
+        checkArgument(isClock(x));
         checkArgument(isNonZeroClock(y));
 
-        for (int i = 0; i <= nClocks; i++) {
+        final int rowX = x * dim;
+        final int rowY = y * dim;
+        for (int i = 0; i < dim; i++) {
             if (i != x) {
-                matrix.set(x, i, matrix.get(y, i));
-                matrix.set(i, x, matrix.get(i, y));
+                bounds[rowX + i] = bounds[rowY + i];
+                bounds[i * dim + x] = bounds[i * dim + y];
             }
         }
-        matrix.set(x, y, Leq(0));
-        matrix.set(y, x, Leq(0));
+        bounds[rowX + y] = Leq(0);
+        bounds[rowY + x] = Leq(0);
         assert isClosed();
     }
 
     public void shift(final int x, final int m) {
         checkArgument(isNonZeroClock(x));
 
-        for (int i = 0; i <= nClocks; i++) {
+        final int rowX = x * dim;
+        for (int i = 0; i < dim; i++) {
             if (i != x) {
-                matrix.set(x, i, add(matrix.get(x, i), Leq(m)));
-                matrix.set(i, x, add(matrix.get(i, x), Leq(-m)));
+                bounds[rowX + i] = add(bounds[rowX + i], Leq(m));
+                bounds[i * dim + x] = add(bounds[i * dim + x], Leq(-m));
             }
         }
         assert isClosed();
@@ -249,15 +271,17 @@ final class BasicDbm {
 
     public void norm(final int[] k) {
         checkNotNull(k);
-        checkArgument(k.length == nClocks + 1);
-
-        for (int i = 0; i <= nClocks; i++) {
-            for (int j = 0; j <= nClocks; j++) {
-                if (matrix.get(i, j) != Inf()) {
-                    if (matrix.get(i, j) > Leq(k[i])) {
-                        matrix.set(i, j, Inf());
-                    } else if (matrix.get(i, j) < Lt(-k[j])) {
-                        matrix.set(i, j, Lt(-k[j]));
+        checkArgument(k.length == dim);
+
+        for (int i = 0; i < dim; i++) {
+            final int rowI = i * dim;
+            for (int j = 0; j < dim; j++) {
+                final int b = bounds[rowI + j];
+                if (b != Inf()) {
+                    if (b > Leq(k[i])) {
+                        bounds[rowI + j] = Inf();
+                    } else if (b < Lt(-k[j])) {
+                        bounds[rowI + j] = Lt(-k[j]);
                     }
                 }
             }
@@ -265,35 +289,122 @@ final class BasicDbm {
         close();
     }
 
+    ////
+
+    /**
+     * Intersects this matrix with another one of the same size, and closes the result.
+     */
+    void intersect(final BasicDbm that) {
+        checkArgument(this.dim == that.dim);
+        for (int i = 0; i < bounds.length; i++) {
+            bounds[i] = min(bounds[i], that.bounds[i]);
+        }
+        close();
+    }
+
+    /**
+     * Replaces each bound of this matrix with the weaker of the bounds of this and another matrix of the same size.
+     */
+    void enclose(final BasicDbm that) {
+        checkArgument(this.dim == that.dim);
+        for (int i = 0; i < bounds.length; i++) {
+            bounds[i] = max(bounds[i], that.bounds[i]);
+        }
+    }
+
+    /**
+     * Checks if the intersection of this matrix and another one of the same size is consistent. The intersection is
+     * closed in a reused buffer, so neither matrix is modified or copied.
+     */
+    boolean isConsistentWith(final BasicDbm that) {
+        checkArgument(this.dim == that.dim);
+        final int[] buffer = buffer(bounds.length);
+        for (int i = 0; i < bounds.length; i++) {
+            buffer[i] = min(bounds[i], that.bounds[i]);
+        }
+        return close(buffer, dim);
+    }
+
+    boolean isLeq(final BasicDbm that) {
+        checkArgument(this.dim == that.dim);
+        for (int i = 0; i < bounds.length; i++) {
+            if (bounds[i] > that.bounds[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    DbmRelation getRelation(final BasicDbm that) {
+        checkArgument(this.dim == that.dim);
+        boolean leq = true;
+        boolean geq = true;
+        for (int i = 0; i < bounds.length; i++) {
+            leq = leq && bounds[i] <= that.bounds[i];
+            geq = geq && bounds[i] >= that.bounds[i];
+        }
+        return DbmRelation.create(leq, geq);
+    }
+
+    ////
+
     void close() {
-        for (int k = 0; k <= nClocks; k++) {
-            for (int i = 0; i <= nClocks; i++) {
-                for (int j = 0; j <= nClocks; j++) {
-                    final int newBound = min(matrix.get(i, j),
-                            add(matrix.get(i, k), matrix.get(k, j)));
+        close(bounds, dim);
+        assert !isConsistent() || isClosed();
+    }
+
+    /**
+     * Floyd-Warshall closure of a flat matrix in place. Rows whose bound to the pivot is infinite cannot improve, so
+     * only their diagonal is checked. Returns false (marking the matrix inconsistent) on the first negative cycle.
+     */
+    private static boolean close(final int[] bounds, final int dim) {
+        for (int k = 0; k < dim; k++) {
+            final int rowK = k * dim;
+            for (int i = 0; i < dim; i++) {
+                final int rowI = i * dim;
+                final int ik = bounds[rowI + k];
+                if (ik == Inf()) {
+                    if (bounds[rowI + i] < Leq(0)) {
+                        bounds[0] = Leq(-1);
+                        return false;
+                    }
+                    continue;
+                }
+                for (int j = 0; j < dim; j++) {
+                    final int newBound = min(bounds[rowI + j], add(ik, bounds[rowK + j]));
                     if (i == j && newBound < Leq(0)) {
-                        matrix.set(0, 0, Leq(-1));
-                        return;
+                        bounds[0] = Leq(-1);
+                        return false;
                     } else {
-                        matrix.set(i, j, newBound);
+                        bounds[rowI + j] = newBound;
                     }
                 }
             }
         }
-        assert isClosed();
+        return true;
     }
 
     int[] closeItp() {
-        final IntMatrix next = IntMatrix.create(nClocks + 1, nClocks + 1);
-        next.fill((x, y) -> y);
-
-        for (int k = 0; k <= nClocks; k++) {
-            for (int i = 0; i <= nClocks; i++) {
-                for (int j = 0; j <= nClocks; j++) {
-                    final int newBound = add(matrix.get(i, k), matrix.get(k, j));
-                    if (newBound < matrix.get(i, j)) {
-                        matrix.set(i, j, newBound);
-                        next.set(i, j, next.get(i, k));
+        final int[] next = buffer(bounds.length);
+        for (int i = 0; i < dim; i++) {
+            for (int j = 0; j < dim; j++) {
+                next[i * dim + j] = j;
+            }
+        }
+
+        for (int k = 0; k < dim; k++) {
+            final int rowK = k * dim;
+            for (int i = 0; i < dim; i++) {
+                final int rowI = i * dim;
+                final int ik = bounds[rowI + k];
+                if (ik == Inf()) {
+                    continue;
+                }
+                for (int j = 0; j < dim; j++) {
+                    final int newBound = add(ik, bounds[rowK + j]);
+                    if (newBound < bounds[rowI + j]) {
+                        bounds[rowI + j] = newBound;
+                        next[rowI + j] = next[rowI + k];
                         if (i == j && newBound < Leq(0)) {
                             final int[] cycle = path(next, i, j);
                             return cycle;
@@ -306,14 +417,14 @@ final class BasicDbm {
         throw new IllegalStateException();
     }
 
-    private int[] path(final IntMatrix next, final int u, final int v) {
+    private int[] path(final int[] next, final int u, final int v) {
         final int[] path = new int[nClocks + 2];
 
         int w = u;
         path[0] = w;
         int i = 1;
         do {
-            w = next.get(w, v);
+            w = next[w * dim + v];
             path[i] = w;
             i++;
         } while (w != v);
@@ -321,11 +432,20 @@ final class BasicDbm {
         return Arrays.copyOf(path, i);
     }
 
+    private static int[] buffer(final int length) {
+        int[] buffer = BUFFER.get();
+        if (buffer.length < length) {
+            buffer = new int[length];
+            BUFFER.set(buffer);
+        }
+        return buffer;
+    }
+
     boolean isClosed() {
-        for (int i = 0; i <= nClocks; i++) {
-            for (int j = 0; j <= nClocks; j++) {
-                for (int k = 0; k <= nClocks; k++) {
-                    if (matrix.get(i, j) > add(matrix.get(i, k), matrix.get(k, j))) {
+        for (int i = 0; i < dim; i++) {
+            for (int j = 0; j < dim; j++) {
+                for (int k = 0; k < dim; k++) {
+                    if (bounds[i * dim + j] > add(bounds[i * dim + k], bounds[k * dim + j])) {
                         return false;
                     }
                 }
@@ -351,9 +471,9 @@ final class BasicDbm {
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder();
-        for (int i = 0; i <= nClocks; i++) {
-            for (int j = 0; j <= nClocks; j++) {
-                sb.append(String.format("%-12s", asString(matrix.get(i, j))));
+        for (int i = 0; i < dim; i++) {
+            for (int j = 0; j < dim; j++) {
+                sb.append(String.format("%-12s", asString(bounds[i * dim + j])));
             }
             sb.append(System.lineSeparator());
         }
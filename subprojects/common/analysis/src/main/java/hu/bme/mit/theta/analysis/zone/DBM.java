@@ -126,6 +126,12 @@ final class DBM {
         checkNotNull(dbm1);
         checkNotNull(dbm2);
 
+        if (dbm1.hasSameSignature(dbm2)) {
+            final DBM result = new DBM(dbm1);
+            result.dbm.intersect(dbm2.dbm);
+            return result;
+        }
+
         final DbmSignature signature = DbmSignature.union(dbm1.signature, dbm2.signature);
         final BiFunction<VarDecl<RatType>, VarDecl<RatType>, Integer> values = (x, y) -> {
             final int bound1 = dbm1.getOrDefault(x, y);
@@ -143,6 +149,12 @@ final class DBM {
         checkNotNull(dbm1);
         checkNotNull(dbm2);
 
+        if (dbm1.hasSameSignature(dbm2)) {
+            final DBM result = new DBM(dbm1);
+            result.dbm.enclose(dbm2.dbm);
+            return result;
+        }
+
         final DbmSignature signature = DbmSignature.union(dbm1.signature, dbm2.signature);
         final BiFunction<VarDecl<RatType>, VarDecl<RatType>, Integer> values = (x, y) -> {
             final int bound1 = dbm1.getOrDefault(x, y);
@@ -317,6 +329,13 @@ final class DBM {
         return dbm.get(i, j);
     }
 
+    /**
+     * DBMs over the same signature can be combined bound by bound, without looking up variables.
+     */
+    private boolean hasSameSignature(final DBM that) {
+        return this.signature == that.signature || this.signature.toList().equals(that.signature.toList());
+    }
+
     private static int defaultBound(final VarDecl<RatType> x, final VarDecl<RatType> y) {
         if (x.equals(y)) {
             return Leq(0);
@@ -337,6 +356,9 @@ final class DBM {
 
     public boolean isConsistentWith(final DBM dbm) {
         checkNotNull(dbm);
+        if (hasSameSignature(dbm)) {
+            return this.dbm.isConsistentWith(dbm.dbm);
+        }
         return intersection(this, dbm).isConsistent();
     }
 
@@ -346,6 +368,9 @@ final class DBM {
     }
 
     public DbmRelation getRelation(final DBM that) {
+        if (hasSameSignature(that)) {
+            return this.dbm.getRelation(that.dbm);
+        }
         final Set<VarDecl<RatType>> vars = Sets.union(this.signature.toSet(), that.signature.toSet());
 
         boolean leq = true;
@@ -361,6 +386,9 @@ final class DBM {
     }
 
     public boolean isLeq(final DBM that) {
+        if (hasSameSignature(that)) {
+            return this.dbm.isLeq(that.dbm);
+        }
         final Set<VarDecl<RatType>> vars = Sets.union(this.signature.toSet(), that.signature.toSet());
 
         for (final VarDecl<RatType> x : vars) {
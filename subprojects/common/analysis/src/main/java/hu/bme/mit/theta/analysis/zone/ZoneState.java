@@ -182,6 +182,10 @@ public final class ZoneState implements ExprState {
 
     ////
 
+    public Collection<ClockConstr> getConstrs() {
+        return dbm.getConstrs();
+    }
+
     @Override
     public Expr<BoolType> toExpr() {
         Expr<BoolType> result = expr;
@@ -16,14 +16,21 @@
 package hu.bme.mit.theta.analysis.algorithm
 
 import hu.bme.mit.theta.analysis.algorithm.bounded.BoundedChecker
+import hu.bme.mit.theta.analysis.algorithm.bounded.BoundedStatistics
+import hu.bme.mit.theta.analysis.algorithm.bounded.InvariantWitness
 import hu.bme.mit.theta.analysis.algorithm.bounded.MonolithicExpr
+import hu.bme.mit.theta.analysis.algorithm.bounded.PdrChecker
 import hu.bme.mit.theta.common.logging.ConsoleLogger
 import hu.bme.mit.theta.common.logging.Logger
 import hu.bme.mit.theta.core.decl.Decls
 import hu.bme.mit.theta.core.model.Valuation
 import hu.bme.mit.theta.core.stmt.Stmts.Assign
 import hu.bme.mit.theta.core.type.abstracttype.AbstractExprs
+import hu.bme.mit.theta.core.type.anytype.Exprs.Prime
 import hu.bme.mit.theta.core.type.booltype.BoolExprs.And
+import hu.bme.mit.theta.core.type.booltype.BoolExprs.Bool
+import hu.bme.mit.theta.core.type.booltype.BoolExprs.Iff
+import hu.bme.mit.theta.core.type.booltype.BoolExprs.Not
 import hu.bme.mit.theta.core.type.inttype.IntExprs
 import hu.bme.mit.theta.core.type.inttype.IntExprs.Int
 import hu.bme.mit.theta.core.utils.StmtUtils
@@ -38,6 +45,7 @@ class BoundedTest {
 
         private var unsafeMonolithicExpr: MonolithicExpr? = null
         private var safeMonolithicExpr: MonolithicExpr? = null
+        private var safeBoolMonolithicExpr: MonolithicExpr? = null
         private val valToState = { valuation: Valuation ->
             ExprStateStub(valuation.toExpr())
         }
@@ -61,6 +69,14 @@ class BoundedTest {
                 AbstractExprs.Neq(x.ref, Int(-5)),
                 unfoldResult.indexing
             )
+            val a = Decls.Var("a", Bool())
+            val b = Decls.Var("b", Bool())
+            val c = Decls.Var("c", Bool())
+            safeBoolMonolithicExpr = MonolithicExpr(
+                And(Not(a.ref), Not(b.ref), Not(c.ref)),
+                And(Iff(Prime(a.ref), Not(b.ref)), Iff(Prime(b.ref), a.ref), Iff(Prime(c.ref), c.ref)),
+                Not(c.ref)
+            )
         }
     }
 
@@ -97,4 +113,61 @@ class BoundedTest {
         val safetyResult: SafetyResult<*, *> = checker.check()
         Assert.assertTrue(safetyResult.isSafe())
     }
+
+    @Test
+    fun testSharedKindUnsafe() {
+        val solver = Z3LegacySolverFactory.getInstance().createSolver()
+        val checker: BoundedChecker<*, *> = BoundedChecker(
+            monolithicExpr = unsafeMonolithicExpr!!,
+            bmcSolver = solver,
+            indSolver = solver,
+            valToState = valToState,
+            biValToAction = biValToAction,
+            logger = ConsoleLogger(Logger.Level.VERBOSE))
+        val safetyResult: SafetyResult<*, *> = checker.check()
+        Assert.assertTrue(safetyResult.isUnsafe())
+        Assert.assertEquals(5, safetyResult.asUnsafe().cex.length())
+    }
+
+    @Test
+    fun testSharedKindSafe() {
+        val solver = Z3LegacySolverFactory.getInstance().createSolver()
+        val checker: BoundedChecker<*, *> = BoundedChecker(
+            monolithicExpr = safeBoolMonolithicExpr!!,
+            bmcSolver = solver,
+            indSolver = solver,
+            valToState = valToState,
+            biValToAction = biValToAction,
+            logger = ConsoleLogger(Logger.Level.VERBOSE))
+        val safetyResult: SafetyResult<*, *> = checker.check()
+        Assert.assertTrue(safetyResult.isSafe())
+        val stats = safetyResult.stats.get() as BoundedStatistics
+        Assert.assertEquals(stats.iterations, stats.iterationTimesMs.size)
+    }
+
+    @Test
+    fun testPdrUnsafe() {
+        val checker: PdrChecker<*, *> = PdrChecker(
+            monolithicExpr = unsafeMonolithicExpr!!,
+            solverFactory = Z3LegacySolverFactory.getInstance(),
+            valToState = valToState,
+            biValToAction = biValToAction,
+            logger = ConsoleLogger(Logger.Level.VERBOSE))
+        val safetyResult: SafetyResult<*, *> = checker.check()
+        Assert.assertTrue(safetyResult.isUnsafe())
+        Assert.assertEquals(5, safetyResult.asUnsafe().cex.length())
+    }
+
+    @Test
+    fun testPdrSafe() {
+        val checker: PdrChecker<*, *> = PdrChecker(
+            monolithicExpr = safeBoolMonolithicExpr!!,
+            solverFactory = Z3LegacySolverFactory.getInstance(),
+            valToState = valToState,
+            biValToAction = biValToAction,
+            logger = ConsoleLogger(Logger.Level.VERBOSE))
+        val safetyResult: SafetyResult<*, *> = checker.check()
+        Assert.assertTrue(safetyResult.isSafe())
+        Assert.assertTrue(safetyResult.witness is InvariantWitness)
+    }
 }
@@ -0,0 +1,159 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.algorithm.cegar;
+
+import hu.bme.mit.theta.analysis.Action;
+import hu.bme.mit.theta.analysis.Analysis;
+import hu.bme.mit.theta.analysis.InitFunc;
+import hu.bme.mit.theta.analysis.LTS;
+import hu.bme.mit.theta.analysis.Prec;
+import hu.bme.mit.theta.analysis.State;
+import hu.bme.mit.theta.analysis.Trace;
+import hu.bme.mit.theta.analysis.TransFunc;
+import hu.bme.mit.theta.analysis.algorithm.SafetyResult;
+import hu.bme.mit.theta.analysis.algorithm.arg.ARG;
+import hu.bme.mit.theta.analysis.algorithm.arg.ArgBuilder;
+import hu.bme.mit.theta.analysis.stubs.ActionStub;
+import hu.bme.mit.theta.analysis.stubs.PartialOrdStub;
+import hu.bme.mit.theta.analysis.stubs.StateStub;
+import hu.bme.mit.theta.core.decl.VarDecl;
+import org.junit.Test;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MultiPropertyCegarCheckerTest {
+
+    // 0 -> 1, 0 -> 2, 2 -> 3, 2 -> 4
+    private static final Map<String, List<String>> EDGES = Map.of(
+            "0", List.of("1", "2"),
+            "2", List.of("3", "4"));
+
+    /**
+     * Precision that hides some of the states, i.e., refining it removes spurious behaviors.
+     */
+    private static final class HidingPrec implements Prec {
+        private final Set<String> hidden;
+
+        private HidingPrec(final Set<String> hidden) {
+            this.hidden = hidden;
+        }
+
+        private HidingPrec hide(final String label) {
+            final Set<String> newHidden = new HashSet<>(hidden);
+            newHidden.add(label);
+            return new HidingPrec(newHidden);
+        }
+
+        @Override
+        public Collection<VarDecl<?>> getUsedVars() {
+            return Set.of();
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof HidingPrec && ((HidingPrec) obj).hidden.equals(hidden);
+        }
+
+        @Override
+        public int hashCode() {
+            return hidden.hashCode();
+        }
+    }
+
+    private static final LTS<State, Action> LTS = s -> EDGES.getOrDefault(s.toString(), List.of()).stream()
+            .map(ActionStub::new).collect(toList());
+
+    private static final Analysis<State, Action, HidingPrec> ANALYSIS = new Analysis<>() {
+        @Override
+        public PartialOrdStub getPartialOrd() {
+            return new PartialOrdStub();
+        }
+
+        @Override
+        public InitFunc<State, HidingPrec> getInitFunc() {
+            return prec -> List.of(new StateStub("0"));
+        }
+
+        @Override
+        public TransFunc<State, Action, HidingPrec> getTransFunc() {
+            return (state, action, prec) -> prec.hidden.contains(action.toString()) ? List.of()
+                    : List.of(new StateStub(action.toString()));
+        }
+    };
+
+    private static Predicate<State> at(final String... labels) {
+        final Set<String> labelSet = Set.of(labels);
+        return s -> labelSet.contains(s.toString());
+    }
+
+    private static Refiner<State, Action, HidingPrec> feasible() {
+        return (arg, prec) -> RefinerResult.unsafe(arg.getCexs().findFirst().orElseThrow().toTrace());
+    }
+
+    private static Refiner<State, Action, HidingPrec> spurious() {
+        return (arg, prec) -> {
+            final var cex = arg.getCexs().findFirst().orElseThrow();
+            final State last = cex.node(cex.length()).getState();
+            arg.prune(cex.node(cex.length()));
+            return RefinerResult.spurious(prec.hide(last.toString()));
+        };
+    }
+
+    @Test
+    public void testPerPropertyResults() {
+        final Map<String, Predicate<State>> properties = new LinkedHashMap<>();
+        properties.put("a", at("1", "3"));
+        properties.put("b", at("3"));
+        properties.put("c", at("4"));
+        properties.put("d", at("5"));
+        final PropertyTargets<State, String> targets = PropertyTargets.create(properties);
+
+        final ArgBuilder<State, Action, HidingPrec> argBuilder = ArgBuilder.create(LTS, ANALYSIS, targets);
+        final Abstractor<State, Action, HidingPrec> abstractor = BasicAbstractor.builder(argBuilder).build();
+        final MultiPropertyCegarChecker<State, Action, HidingPrec, String> checker = MultiPropertyCegarChecker.create(
+                abstractor, Map.of("a", feasible(), "b", feasible(), "c", spurious(), "d", feasible()), targets);
+
+        final Map<String, SafetyResult<ARG<State, Action>, Trace<State, Action>>> results =
+                checker.check(new HidingPrec(Set.of()));
+
+        assertEquals(List.of("a", "b", "c", "d"), List.copyOf(results.keySet()));
+        assertTrue(results.get("a").isUnsafe());
+        assertEquals(new StateStub("1"), lastState(results.get("a")));
+        assertTrue(results.get("b").isUnsafe());
+        assertEquals(new StateStub("3"), lastState(results.get("b")));
+        assertTrue(results.get("c").isSafe());
+        assertTrue(results.get("d").isSafe());
+        assertTrue(targets.getOpen().containsAll(List.of("c", "d")));
+        assertFalse(targets.isOpen("a"));
+        assertEquals(0, results.get("c").getWitness().getUnsafeNodes().count());
+    }
+
+    private static State lastState(final SafetyResult<ARG<State, Action>, Trace<State, Action>> result) {
+        final Trace<State, Action> cex = result.asUnsafe().getCex();
+        return cex.getState(cex.length());
+    }
+}
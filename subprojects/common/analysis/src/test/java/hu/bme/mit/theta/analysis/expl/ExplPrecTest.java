@@ -16,6 +16,8 @@
 package hu.bme.mit.theta.analysis.expl;
 
 import static hu.bme.mit.theta.core.decl.Decls.Var;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Bool;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.True;
 import static hu.bme.mit.theta.core.type.inttype.IntExprs.Int;
 
 import java.util.Collections;
@@ -27,6 +29,10 @@ import com.google.common.collect.ImmutableSet;
 
 import hu.bme.mit.theta.core.decl.VarDecl;
 import hu.bme.mit.theta.core.model.ImmutableValuation;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.type.bvtype.BvExprs;
+import hu.bme.mit.theta.core.type.bvtype.BvLitExpr;
+import hu.bme.mit.theta.core.type.bvtype.BvType;
 import hu.bme.mit.theta.core.type.inttype.IntType;
 
 public class ExplPrecTest {
@@ -61,6 +67,34 @@ public class ExplPrecTest {
         Assert.assertEquals(0, s2.getDecls().size());
     }
 
+    @Test
+    public void testSlots() {
+        final VarDecl<BoolType> b = Var("b", Bool());
+        final VarDecl<BvType> v = Var("v", BvType.of(4, true));
+        final BvLitExpr bv = BvExprs.Bv(new boolean[]{true, false, true, true}, true);
+        final ExplPrec prec = ExplPrec.of(ImmutableSet.of(x, y, b, v));
+        final ImmutableValuation val = ImmutableValuation.builder().put(x, Int(-3)).put(y, Int("123456789012345678901"))
+                .put(b, True()).put(v, bv).build();
+
+        final ExplState s1 = prec.createState(val);
+        final ExplState s2 = prec.createState(ImmutableValuation.builder().put(x, Int(-3)).put(b, True()).build());
+
+        Assert.assertEquals(val.toMap(), s1.toMap());
+        Assert.assertEquals(bv.getType().getSigned(), s1.eval(v).get().getType().getSigned());
+        Assert.assertEquals(ExplState.of(val), s1);
+        Assert.assertEquals(s1, ExplState.of(val));
+        Assert.assertEquals(ExplState.of(val).hashCode(), s1.hashCode());
+        Assert.assertEquals(ExplState.of(val).getFingerprint(), s1.getFingerprint());
+        Assert.assertEquals(prec.createState(val), s1);
+        Assert.assertNotEquals(s1, s2);
+        Assert.assertSame(ExplState.top(), prec.createState(ImmutableValuation.empty()));
+
+        Assert.assertTrue(s1.isLeq(s2));
+        Assert.assertFalse(s2.isLeq(s1));
+        Assert.assertTrue(s1.isLeq(ExplState.of(s2)));
+        Assert.assertFalse(s1.isLeq(ExplState.bottom()));
+    }
+
     @Test
     public void testRefinement() {
         final ExplPrec px = ExplPrec.of(Collections.singleton(x));
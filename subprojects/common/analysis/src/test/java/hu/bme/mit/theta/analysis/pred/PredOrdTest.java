@@ -16,10 +16,14 @@
 package hu.bme.mit.theta.analysis.pred;
 
 import static hu.bme.mit.theta.core.type.booltype.BoolExprs.False;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Not;
 import static hu.bme.mit.theta.core.type.inttype.IntExprs.Gt;
 import static hu.bme.mit.theta.core.type.inttype.IntExprs.Int;
 import static hu.bme.mit.theta.core.type.inttype.IntExprs.Lt;
 
+import java.util.BitSet;
+import java.util.List;
+
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -75,4 +79,43 @@ public class PredOrdTest {
         Assert.assertFalse(ord.isLeq(st, s3));
         Assert.assertTrue(ord.isLeq(st, st));
     }
+
+    @Test
+    public void testEncoded() {
+        final PredPrec prec = PredPrec.of(List.of(Gt(VX.getRef(), Int(1)), Lt(VX.getRef(), Int(5))));
+        final BitSet none = new BitSet();
+        final BitSet first = new BitSet();
+        first.set(0);
+        final BitSet second = new BitSet();
+        second.set(1);
+        final BitSet both = new BitSet();
+        both.set(0, 2);
+
+        final PredState e1 = PredState.of(prec, first, none);
+        final PredState e13 = PredState.of(prec, both, none);
+        final PredState e1n3 = PredState.of(prec, first, second);
+        final PredState et = PredState.of(prec, none, none);
+
+        Assert.assertEquals(s1, e1);
+        Assert.assertEquals(e1, s1);
+        Assert.assertEquals(s1.hashCode(), e1.hashCode());
+        Assert.assertEquals(st, et);
+        Assert.assertEquals(st.hashCode(), et.hashCode());
+        Assert.assertEquals(PredState.of(Gt(VX.getRef(), Int(1)), Not(Lt(VX.getRef(), Int(5)))), e1n3);
+        Assert.assertEquals(PredState.of(prec, first, none), e1);
+        Assert.assertNotEquals(e13, e1n3);
+        Assert.assertFalse(e1.isBottom());
+
+        Assert.assertTrue(e13.containsAll(e1));
+        Assert.assertTrue(e1n3.containsAll(e1));
+        Assert.assertFalse(e1.containsAll(e13));
+        Assert.assertFalse(e13.containsAll(e1n3));
+        Assert.assertTrue(e1.containsAll(s1));
+
+        Assert.assertTrue(ord.isLeq(e13, e1));
+        Assert.assertTrue(ord.isLeq(e13, s2));
+        Assert.assertTrue(ord.isLeq(e1n3, et));
+        Assert.assertFalse(ord.isLeq(e1, e13));
+        Assert.assertFalse(ord.isLeq(e13, e1n3));
+    }
 }
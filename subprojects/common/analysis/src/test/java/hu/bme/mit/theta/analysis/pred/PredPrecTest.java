@@ -16,11 +16,14 @@
 package hu.bme.mit.theta.analysis.pred;
 
 import static hu.bme.mit.theta.core.decl.Decls.Var;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.False;
 import static hu.bme.mit.theta.core.type.inttype.IntExprs.Eq;
 import static hu.bme.mit.theta.core.type.inttype.IntExprs.Int;
 import static hu.bme.mit.theta.core.type.inttype.IntExprs.Lt;
 
+import java.util.BitSet;
 import java.util.Collections;
+import java.util.List;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -63,4 +66,44 @@ public class PredPrecTest {
         Assert.assertNotEquals(p0, p2);
         Assert.assertEquals(p1, p2);
     }
+
+    @Test
+    public void testSamePredList() {
+        final Expr<BoolType> pred2 = Eq(x.getRef(), y.getRef());
+        final PredPrec p1 = PredPrec.of(List.of(pred, pred2));
+        final PredPrec p2 = PredPrec.of(List.of(pred, pred2));
+        final PredPrec p3 = PredPrec.of(List.of(pred2, pred));
+
+        Assert.assertTrue(p1.hasSamePredList(p2));
+        Assert.assertFalse(p1.hasSamePredList(p3));
+        Assert.assertEquals(p1, p3);
+
+        final BitSet pos = new BitSet();
+        pos.set(0);
+        final PredState s1 = PredState.of(p1, pos, new BitSet());
+        final PredState s2 = PredState.of(p2, pos, new BitSet());
+        final PredState s3 = PredState.of(p3, pos, new BitSet());
+        Assert.assertEquals(s1, s2);
+        Assert.assertTrue(s1.containsAll(s2));
+        Assert.assertNotEquals(s1, s3);
+        Assert.assertFalse(s1.containsAll(s3));
+    }
+
+    @Test
+    public void testEncodedNeverBottom() {
+        final PredPrec prec = PredPrec.of(List.of(False(), pred));
+        Assert.assertEquals(List.of(pred), prec.getPredList());
+
+        final BitSet first = new BitSet();
+        first.set(0);
+        Assert.assertFalse(PredState.of(prec, first, new BitSet()).isBottom());
+        Assert.assertFalse(PredState.of(prec, new BitSet(), first).isBottom());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEncodedContradiction() {
+        final BitSet first = new BitSet();
+        first.set(0);
+        PredState.of(PredPrec.of(pred), first, first);
+    }
 }
@@ -45,6 +45,7 @@ public class PredTransFuncTest {
 
     private final VarDecl<IntType> x = Var("x", Int());
     private final VarDecl<IntType> y = Var("y", Int());
+    private final VarDecl<IntType> z = Var("z", Int());
     private final Solver solver = Z3LegacySolverFactory.getInstance().createSolver();
     private final PredTransFunc transFunc = PredTransFunc.create(
             PredAbstractors.booleanSplitAbstractor(solver));
@@ -89,6 +90,81 @@ public class PredTransFuncTest {
         Assert.assertEquals(PredState.bottom(), Utils.singleElementOf(succStates));
     }
 
+    @Test
+    public void testCubeAbstraction() {
+        // (x>0, y>0) ---[x := x+1]--> (x>0, y>0, y>-5)? y>0 alone implies the state, so y>-5 is dropped from the cube
+        final PredPrec prec = PredPrec.of(
+                ImmutableList.of(Gt(x.getRef(), Int(0)), Gt(y.getRef(), Int(0)), Gt(y.getRef(), Int(-5))));
+        final PredState state = PredState.of(Gt(x.getRef(), Int(0)), Gt(y.getRef(), Int(0)));
+        final ExprAction action = new BasicStmtAction(Stmts.Assign(x, Add(x.getRef(), Int(1))));
+
+        final Collection<? extends PredState> cubeStates = PredTransFunc.create(
+                PredAbstractors.booleanCubeAbstractor(solver)).getSuccStates(state, action, prec);
+        Assert.assertEquals(Collections.singletonList(state), List.copyOf(cubeStates));
+
+        final Collection<? extends PredState> splitStates = PredTransFunc.create(
+                PredAbstractors.booleanCubeSplitAbstractor(solver)).getSuccStates(state, action, prec);
+        Assert.assertEquals(Collections.singletonList(state), List.copyOf(splitStates));
+
+        final Collection<? extends PredState> booleanStates = transFunc.getSuccStates(state, action, prec);
+        Assert.assertEquals(1, booleanStates.size());
+        Assert.assertEquals(3, Utils.singleElementOf(booleanStates).getPreds().size());
+    }
+
+    @Test
+    public void testCubeAbstractionSolverCalls() {
+        // (x>0) ---[x := x+1]--> (x>0, y>0, y<5, z>0, z<5)? y and z are unconstrained, so they are not enumerated
+        final PredPrec prec = PredPrec.of(ImmutableList.of(Gt(x.getRef(), Int(0)),
+                Gt(y.getRef(), Int(0)), Lt(y.getRef(), Int(5)), Gt(z.getRef(), Int(0)), Lt(z.getRef(), Int(5))));
+        final PredState state = PredState.of(Gt(x.getRef(), Int(0)));
+        final ExprAction action = new BasicStmtAction(Stmts.Assign(x, Add(x.getRef(), Int(1))));
+
+        final PredAbstractors.PredAbstractor cubeAbstractor = PredAbstractors.booleanCubeAbstractor(solver);
+        final Collection<? extends PredState> cubeStates = PredTransFunc.create(cubeAbstractor)
+                .getSuccStates(state, action, prec);
+        Assert.assertEquals(Collections.singletonList(state), List.copyOf(cubeStates));
+
+        final PredAbstractors.PredAbstractor booleanAbstractor = PredAbstractors.booleanAbstractor(solver);
+        PredTransFunc.create(booleanAbstractor).getSuccStates(state, action, prec);
+
+        final long cubeSolverCalls = cubeAbstractor.getStatistics().orElseThrow().getSolverCalls();
+        final long booleanSolverCalls = booleanAbstractor.getStatistics().orElseThrow().getSolverCalls();
+        // The Boolean abstraction enumerates the 3 * 3 combinations of y and z
+        Assert.assertTrue(cubeSolverCalls < booleanSolverCalls);
+    }
+
+    @Test
+    public void testCachedTransfer() {
+        // (x>0) ---[x := x+y]--> (x>0, y>0)? twice, the second time from the cache
+        final PredAbstractors.PredAbstractor abstractor = PredAbstractors.cartesianAbstractor(solver);
+        final PredTransFunc cartesianTransFunc = PredTransFunc.create(abstractor);
+        final PredPrec prec = PredPrec.of(
+                ImmutableList.of(Gt(x.getRef(), Int(0)), Gt(y.getRef(), Int(0))));
+        final PredState state = PredState.of(Gt(x.getRef(), Int(0)), Gt(y.getRef(), Int(0)));
+        final ExprAction action = new BasicStmtAction(Stmts.Assign(x, Add(x.getRef(), y.getRef())));
+
+        final Collection<? extends PredState> succStates = cartesianTransFunc.getSuccStates(state, action, prec);
+        Assert.assertEquals(Collections.singletonList(state), List.copyOf(succStates));
+        final PredAbstractorStatistics statistics = abstractor.getStatistics().orElseThrow();
+        final long solverCalls = statistics.getSolverCalls();
+
+        Assert.assertEquals(succStates, cartesianTransFunc.getSuccStates(state, action, prec));
+        Assert.assertEquals(solverCalls, statistics.getSolverCalls());
+        Assert.assertEquals(1, statistics.getCacheHits());
+        Assert.assertEquals(0.5, statistics.getCacheHitRate(), 0.0);
+    }
+
+    @Test
+    public void testPopBelowDefinitions() {
+        // (x<4) ---[x := x+1]--> (x<5)? with the definitions asserted in a scope popped afterwards
+        final PredPrec prec = PredPrec.of(ImmutableList.of(Lt(x.getRef(), Int(5))));
+        final ExprAction action = new BasicStmtAction(Stmts.Assign(x, Add(x.getRef(), Int(1))));
+        solver.push();
+        Assert.assertEquals(1, transFunc.getSuccStates(PredState.of(Lt(x.getRef(), Int(4))), action, prec).size());
+        solver.pop();
+        Assert.assertEquals(1, transFunc.getSuccStates(PredState.of(Lt(x.getRef(), Int(3))), action, prec).size());
+    }
+
     private static final class BasicStmtAction extends StmtAction {
 
         private final Stmt stmt;
@@ -0,0 +1,78 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package hu.bme.mit.theta.analysis.runtimemonitor
+
+import hu.bme.mit.theta.common.exception.ResourceExhaustedException
+import hu.bme.mit.theta.common.logging.NullLogger
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import java.lang.ref.Reference
+
+class ResourceMonitorTest {
+
+    @Test
+    fun testTriggersFireOnce() {
+        var heap = 0.5
+        var released = 0
+        val monitor = ResourceMonitor(NullLogger.getInstance(), 0) { ResourceUsage(heap, 0.0, 0) }
+            .on("release", { it.heapOccupancy >= 0.75 }) { released++ }
+            .abortWhen { it.heapOccupancy >= 0.9 }
+
+        monitor.execute("CegarChecker.unsafeARG")
+        assertEquals(0, released)
+
+        heap = 0.8
+        monitor.execute("CegarChecker.unsafeARG")
+        monitor.execute("CegarChecker.unsafeARG")
+        assertEquals(1, released)
+
+        heap = 0.95
+        assertThrows(ResourceExhaustedException::class.java) { monitor.execute("CegarChecker.unsafeARG") }
+        assertEquals(1, released)
+    }
+
+    @Test
+    fun testSamplingIsRateLimited() {
+        var samples = 0
+        val monitor = ResourceMonitor(NullLogger.getInstance(), 60_000) {
+            samples++
+            ResourceUsage(0.0, 0.0, 0)
+        }
+        repeat(100) { monitor.execute("BasicAbstractor.expandedNode") }
+        assertEquals(1, samples)
+    }
+
+    @Test
+    fun testSampler() {
+        val usage = ResourceSampler()()
+        assertTrue(usage.heapOccupancy in 0.0..1.0)
+        assertTrue(usage.gcOverhead in 0.0..1.0)
+        assertTrue(usage.elapsedMs >= 0)
+    }
+
+    @Test
+    fun testReleasableResources() {
+        var released = false
+        val resource = Releasable { released = true }
+        ReleasableResources.register(resource)
+        assertTrue(ReleasableResources.releaseAll() >= 1)
+        assertTrue(released)
+        Reference.reachabilityFence(resource)
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.zone;
+
+import static hu.bme.mit.theta.analysis.zone.DiffBounds.Inf;
+import static hu.bme.mit.theta.analysis.zone.DiffBounds.Leq;
+import static hu.bme.mit.theta.analysis.zone.DiffBounds.Lt;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class BasicDbmTest {
+
+    @Test
+    public void testIncrementalClosure() {
+        final Random random = new Random(0);
+        for (int run = 0; run < 1000; run++) {
+            final int nClocks = 1 + random.nextInt(6);
+            final BasicDbm dbm = new BasicDbm(nClocks + 1, BasicDbm::defaultBound);
+            dbm.nonnegative();
+            for (int step = 0; step < 10 && dbm.isConsistent(); step++) {
+                final int x = random.nextInt(nClocks + 1);
+                final int y = random.nextInt(nClocks + 1);
+                final int m = random.nextInt(11) - 4;
+                final int b = random.nextBoolean() ? Lt(m) : Leq(m);
+
+                final BasicDbm expected = new BasicDbm(dbm);
+                if (b < expected.get(x, y)) {
+                    expected.set(x, y, b);
+                }
+                expected.close();
+
+                dbm.and(x, y, b);
+                assertEquals(expected.isConsistent(), dbm.isConsistent());
+                if (dbm.isConsistent()) {
+                    assertTrue(dbm.isClosed());
+                    assertEquals(expected.toString(), dbm.toString());
+                }
+                if (random.nextBoolean()) {
+                    dbm.up();
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testConsistentWith() {
+        final BasicDbm dbm1 = new BasicDbm(3, BasicDbm::defaultBound);
+        dbm1.and(1, 0, Leq(5));
+        dbm1.and(2, 1, Lt(0));
+        final BasicDbm dbm2 = new BasicDbm(3, BasicDbm::defaultBound);
+        dbm2.and(0, 2, Leq(-6));
+        final BasicDbm dbm3 = new BasicDbm(3, BasicDbm::defaultBound);
+        dbm3.and(0, 2, Leq(-4));
+
+        assertFalse(dbm1.isConsistentWith(dbm2));
+        assertTrue(dbm1.isConsistentWith(dbm3));
+        assertEquals(Inf(), dbm2.get(2, 0));
+
+        final BasicDbm intersection = new BasicDbm(dbm1);
+        intersection.intersect(dbm3);
+        assertTrue(intersection.isConsistent());
+        assertTrue(intersection.isLeq(dbm1));
+        assertTrue(intersection.isLeq(dbm3));
+        assertFalse(dbm1.isLeq(intersection));
+        assertEquals(DbmRelation.LESS, intersection.getRelation(dbm1));
+    }
+}
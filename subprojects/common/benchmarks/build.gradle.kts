@@ -0,0 +1,54 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+plugins {
+    id("jmh-common")
+}
+
+dependencies {
+    implementation(project(":theta-common"))
+    implementation(project(":theta-core"))
+    implementation(project(":theta-analysis"))
+    implementation(project(":theta-solver"))
+    implementation(project(":theta-solver-z3-legacy"))
+    implementation(project(":theta-solver-smtlib"))
+    implementation(project(":theta-cfa"))
+    implementation(project(":theta-cfa-analysis"))
+    implementation(project(":theta-xsts"))
+    implementation(project(":theta-xsts-analysis"))
+    implementation(project(":theta-xta"))
+    implementation(project(":theta-xta-analysis"))
+    implementation(project(":theta-c-frontend"))
+    implementation(project(":theta-c2xcfa"))
+    implementation(project(":theta-xcfa"))
+    implementation(project(":theta-xcfa-analysis"))
+    implementation(Deps.Antlr.runtime)
+}
+
+// The workloads are the models already used by the tests of the respective subprojects
+sourceSets {
+    named("jmh") {
+        resources.srcDirs(
+            rootDir.resolve("subprojects/cfa/cfa-analysis/src/test/resources"),
+            rootDir.resolve("subprojects/xsts/xsts-analysis/src/test/resources"),
+            rootDir.resolve("subprojects/xta/xta-analysis/src/test/resources"),
+            rootDir.resolve("subprojects/xcfa/c2xcfa/src/test/resources"),
+        )
+    }
+}
+
+tasks.named<ProcessResources>("processJmhResources") {
+    duplicatesStrategy = DuplicatesStrategy.EXCLUDE
+}
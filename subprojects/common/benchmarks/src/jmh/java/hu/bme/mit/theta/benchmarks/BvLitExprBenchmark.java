@@ -0,0 +1,94 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.benchmarks;
+
+import hu.bme.mit.theta.core.type.bvtype.BvLitExpr;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static hu.bme.mit.theta.core.utils.BvUtils.bigIntegerToNeutralBvLitExpr;
+
+/**
+ * Arithmetic and bitwise operations on bitvector literals, as used by the expression evaluator. The right operand
+ * is a small constant (like a stride or a scaling factor), as the wraparound of the result is computed by repeated
+ * subtraction, which does not terminate in reasonable time for products of two full-width operands.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BvLitExprBenchmark {
+
+    @Param({"8", "32", "64"})
+    public int size;
+
+    private BvLitExpr left;
+    private BvLitExpr right;
+    private BvLitExpr shift;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(0);
+        left = bigIntegerToNeutralBvLitExpr(new BigInteger(size, random), size);
+        right = bigIntegerToNeutralBvLitExpr(BigInteger.valueOf(random.nextInt(127) + 1), size);
+        shift = bigIntegerToNeutralBvLitExpr(BigInteger.valueOf(size / 2), size);
+    }
+
+    @Benchmark
+    public BvLitExpr add() {
+        return left.add(right);
+    }
+
+    @Benchmark
+    public BvLitExpr mul() {
+        return left.mul(right);
+    }
+
+    @Benchmark
+    public BvLitExpr sdiv() {
+        return left.sdiv(right);
+    }
+
+    @Benchmark
+    public BvLitExpr and() {
+        return left.and(right);
+    }
+
+    @Benchmark
+    public BvLitExpr xor() {
+        return left.xor(right);
+    }
+
+    @Benchmark
+    public BvLitExpr shiftLeft() {
+        return left.shiftLeft(shift);
+    }
+
+    @Benchmark
+    public BvLitExpr concat() {
+        return left.concat(right);
+    }
+
+}
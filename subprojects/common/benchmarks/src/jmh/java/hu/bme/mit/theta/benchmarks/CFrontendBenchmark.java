@@ -0,0 +1,67 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.benchmarks;
+
+import hu.bme.mit.theta.c.frontend.dsl.gen.CParser;
+import hu.bme.mit.theta.c2xcfa.UtilsKt;
+import hu.bme.mit.theta.common.logging.NullLogger;
+import hu.bme.mit.theta.frontend.ParseContext;
+import hu.bme.mit.theta.xcfa.model.XCFA;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The C frontend: parsing a C program, and building the XCFA from an already parsed compilation unit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CFrontendBenchmark {
+
+    @Param({"/09struct.c", "/16loop.c", "/18multithread.c"})
+    public String program;
+
+    private CParser.CompilationUnitContext compilationUnit;
+
+    @Setup
+    public void setup() throws IOException {
+        compilationUnit = parse();
+    }
+
+    @Benchmark
+    public CParser.CompilationUnitContext parse() throws IOException {
+        try (InputStream inputStream = Models.open(program)) {
+            return UtilsKt.parseCompilationUnit(inputStream);
+        }
+    }
+
+    @Benchmark
+    public XCFA build() {
+        return UtilsKt.getXcfaFromC(compilationUnit, new ParseContext(), false, false, NullLogger.getInstance())
+                .getFirst();
+    }
+
+}
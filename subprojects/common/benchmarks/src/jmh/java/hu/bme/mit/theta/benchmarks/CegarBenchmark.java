@@ -0,0 +1,103 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.benchmarks;
+
+import hu.bme.mit.theta.analysis.algorithm.SafetyResult;
+import hu.bme.mit.theta.cfa.CFA;
+import hu.bme.mit.theta.cfa.analysis.config.CfaConfigBuilder;
+import hu.bme.mit.theta.cfa.dsl.CfaDslManager;
+import hu.bme.mit.theta.solver.z3legacy.Z3LegacySolverFactory;
+import hu.bme.mit.theta.xsts.XSTS;
+import hu.bme.mit.theta.xsts.analysis.config.XstsConfigBuilder;
+import hu.bme.mit.theta.xsts.dsl.XstsDslManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end CEGAR runs on CFA and XSTS models with explicit and predicate abstraction, covering the
+ * abstractor, the refiner and the solver interface together.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CegarBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class CfaModel {
+
+        @Param({"/counter5_true.cfa", "/locking.cfa"})
+        public String model;
+
+        @Param({"EXPL", "PRED_CART"})
+        public CfaConfigBuilder.Domain domain;
+
+        private CFA cfa;
+
+        @Setup
+        public void setup() throws IOException {
+            try (InputStream inputStream = Models.open(model)) {
+                cfa = CfaDslManager.createCfa(inputStream);
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class XstsModel {
+
+        @Param({"/model/counter5.xsts:/property/x_between_0_and_5.prop",
+                "/model/trafficlight_v2.xsts:/property/green_and_red.prop"})
+        public String model;
+
+        @Param({"EXPL", "PRED_CART"})
+        public XstsConfigBuilder.Domain domain;
+
+        private XSTS xsts;
+
+        @Setup
+        public void setup() throws IOException {
+            final String[] paths = model.split(":");
+            try (InputStream inputStream = Models.open(paths[0], paths[1])) {
+                xsts = XstsDslManager.createXsts(inputStream);
+            }
+        }
+    }
+
+    @Benchmark
+    public SafetyResult<?, ?> cfa(final CfaModel cfaModel) {
+        return new CfaConfigBuilder(cfaModel.domain, CfaConfigBuilder.Refinement.SEQ_ITP,
+                Z3LegacySolverFactory.getInstance())
+                .build(cfaModel.cfa, cfaModel.cfa.getErrorLoc().get())
+                .check();
+    }
+
+    @Benchmark
+    public SafetyResult<?, ?> xsts(final XstsModel xstsModel) {
+        return new XstsConfigBuilder(xstsModel.domain, XstsConfigBuilder.Refinement.SEQ_ITP,
+                Z3LegacySolverFactory.getInstance(), Z3LegacySolverFactory.getInstance())
+                .build(xstsModel.xsts)
+                .check();
+    }
+
+}
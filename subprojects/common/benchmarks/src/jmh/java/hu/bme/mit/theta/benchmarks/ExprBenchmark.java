@@ -0,0 +1,102 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.benchmarks;
+
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.model.ImmutableValuation;
+import hu.bme.mit.theta.core.model.Valuation;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.type.inttype.IntType;
+import hu.bme.mit.theta.core.utils.ExprSimplifier;
+import hu.bme.mit.theta.core.utils.PathUtils;
+import hu.bme.mit.theta.core.utils.indexings.VarIndexing;
+import hu.bme.mit.theta.core.utils.indexings.VarIndexingFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static hu.bme.mit.theta.core.decl.Decls.Var;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.And;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Or;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Add;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Eq;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Int;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Leq;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Mul;
+
+/**
+ * Simplification and unfolding of a conjunction of linear constraints over a chain of variables, half of which
+ * are assigned in the valuation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ExprBenchmark {
+
+    @Param({"8", "64"})
+    public int vars;
+
+    private ExprSimplifier simplifier;
+    private Expr<BoolType> expr;
+    private Valuation valuation;
+    private VarIndexing indexing;
+
+    @Setup
+    public void setup() {
+        final List<VarDecl<IntType>> decls = new ArrayList<>();
+        for (int i = 0; i < vars; i++) {
+            decls.add(Var("x" + i, Int()));
+        }
+
+        final List<Expr<BoolType>> constraints = new ArrayList<>();
+        final ImmutableValuation.Builder builder = ImmutableValuation.builder();
+        for (int i = 0; i < vars; i++) {
+            final VarDecl<IntType> x = decls.get(i);
+            final VarDecl<IntType> y = decls.get((i + 1) % vars);
+            constraints.add(Or(Leq(Add(x.getRef(), Int(i)), Mul(y.getRef(), Int(2))),
+                    Eq(x.getRef(), Add(y.getRef(), Int(1)))));
+            if (i % 2 == 0) {
+                builder.put(x, Int(i));
+            }
+        }
+
+        simplifier = ExprSimplifier.create();
+        expr = And(constraints);
+        valuation = builder.build();
+        indexing = VarIndexingFactory.indexing(1);
+    }
+
+    @Benchmark
+    public Expr<BoolType> simplify() {
+        return simplifier.simplify(expr, valuation);
+    }
+
+    @Benchmark
+    public Expr<BoolType> unfold() {
+        return PathUtils.unfold(expr, indexing);
+    }
+
+}
@@ -0,0 +1,76 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.benchmarks;
+
+import hu.bme.mit.theta.analysis.algorithm.SafetyResult;
+import hu.bme.mit.theta.analysis.algorithm.mdd.MddCex;
+import hu.bme.mit.theta.analysis.algorithm.mdd.MddChecker.IterationStrategy;
+import hu.bme.mit.theta.analysis.algorithm.mdd.MddWitness;
+import hu.bme.mit.theta.common.logging.NullLogger;
+import hu.bme.mit.theta.solver.SolverPool;
+import hu.bme.mit.theta.solver.z3legacy.Z3LegacySolverFactory;
+import hu.bme.mit.theta.xsts.XSTS;
+import hu.bme.mit.theta.xsts.analysis.mdd.XstsMddChecker;
+import hu.bme.mit.theta.xsts.dsl.XstsDslManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Symbolic state space generation of XSTS models with the MDD checker, comparing the iteration strategies
+ * (BFS, saturation and generalized saturation).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MddBenchmark {
+
+    @Param({"/model/trafficlight_v2.xsts:/property/green_and_red.prop",
+            "/model/sequential.xsts:/property/sequential.prop"})
+    public String model;
+
+    @Param({"BFS", "SAT", "GSAT"})
+    public IterationStrategy iterationStrategy;
+
+    private XSTS xsts;
+
+    @Setup
+    public void setup() throws IOException {
+        final String[] paths = model.split(":");
+        try (InputStream inputStream = Models.open(paths[0], paths[1])) {
+            xsts = XstsDslManager.createXsts(inputStream);
+        }
+    }
+
+    @Benchmark
+    public SafetyResult<MddWitness, MddCex> check() throws Exception {
+        try (var solverPool = new SolverPool(Z3LegacySolverFactory.getInstance())) {
+            final XstsMddChecker checker = XstsMddChecker.create(xsts, solverPool, NullLogger.getInstance(),
+                    iterationStrategy);
+            return checker.check(null);
+        }
+    }
+
+}
@@ -0,0 +1,42 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Loads the benchmark workloads, which are the test models of the other subprojects on the classpath.
+ */
+final class Models {
+
+    private Models() {
+    }
+
+    static InputStream open(final String path) {
+        final InputStream inputStream = Models.class.getResourceAsStream(path);
+        checkArgument(inputStream != null, "Model not found: " + path);
+        return inputStream;
+    }
+
+    static InputStream open(final String modelPath, final String propertyPath) throws IOException {
+        return new SequenceInputStream(open(modelPath), open(propertyPath));
+    }
+
+}
@@ -0,0 +1,105 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.benchmarks;
+
+import hu.bme.mit.theta.analysis.reachedset.Partition;
+import hu.bme.mit.theta.analysis.zone.ZoneState;
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.type.rattype.RatType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static hu.bme.mit.theta.core.clock.constr.ClockConstrs.Leq;
+import static hu.bme.mit.theta.core.decl.Decls.Var;
+import static hu.bme.mit.theta.core.type.rattype.RatExprs.Rat;
+
+/**
+ * Coverage checks against a reached set partitioned by location, the way the abstractors look for covering
+ * nodes: the candidates come from the node's partition and are checked for inclusion one by one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PartitionBenchmark {
+
+    private static final int NODES = 4096;
+
+    private record Node(int loc, ZoneState zone) {
+    }
+
+    @Param({"1", "16", "256"})
+    public int locs;
+
+    private List<Node> nodes;
+    private List<Node> probes;
+    private Partition<Node, Integer> reachedSet;
+
+    @Setup
+    public void setup() {
+        final VarDecl<RatType> x = Var("x", Rat());
+        final VarDecl<RatType> y = Var("y", Rat());
+        final List<VarDecl<RatType>> clocks = List.of(x, y);
+
+        nodes = new ArrayList<>();
+        probes = new ArrayList<>();
+        for (int i = 0; i < NODES; i++) {
+            final ZoneState zone = ZoneState.zero(clocks).transform().up()
+                    .and(Leq(x, i % 64)).and(Leq(y, i / 64)).build();
+            nodes.add(new Node(i % locs, zone));
+            if (i % 16 == 0) {
+                probes.add(new Node((i / 16) % locs, zone.transform().and(Leq(x, 0)).build()));
+            }
+        }
+
+        reachedSet = createReachedSet();
+    }
+
+    private Partition<Node, Integer> createReachedSet() {
+        final Partition<Node, Integer> partition = Partition.of(Node::loc);
+        partition.addAll(nodes);
+        return partition;
+    }
+
+    @Benchmark
+    public Partition<Node, Integer> add() {
+        return createReachedSet();
+    }
+
+    @Benchmark
+    public int cover() {
+        int covered = 0;
+        for (final Node probe : probes) {
+            for (final Node candidate : reachedSet.get(probe)) {
+                if (probe.zone().isLeq(candidate.zone())) {
+                    covered++;
+                    break;
+                }
+            }
+        }
+        return covered;
+    }
+
+}
@@ -0,0 +1,99 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.benchmarks;
+
+import hu.bme.mit.theta.core.decl.ConstDecl;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.type.bvtype.BvType;
+import hu.bme.mit.theta.core.type.inttype.IntType;
+import hu.bme.mit.theta.solver.smtlib.impl.generic.GenericSmtLibSymbolTable;
+import hu.bme.mit.theta.solver.smtlib.impl.generic.GenericSmtLibTermTransformer;
+import hu.bme.mit.theta.solver.smtlib.impl.generic.GenericSmtLibTransformationManager;
+import hu.bme.mit.theta.solver.smtlib.solver.model.SmtLibModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static hu.bme.mit.theta.core.decl.Decls.Const;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.And;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Bool;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Or;
+import static hu.bme.mit.theta.core.type.bvtype.BvExprs.Add;
+import static hu.bme.mit.theta.core.type.bvtype.BvExprs.BvType;
+import static hu.bme.mit.theta.core.type.bvtype.BvExprs.ULt;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Add;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Int;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Leq;
+
+/**
+ * Translation of expressions to SMT-LIB terms and parsing the terms back, i.e., the work done by the SMT-LIB
+ * solvers on top of the external solver process. The solver process itself is not involved.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SmtLibBenchmark {
+
+    @Param({"16", "128"})
+    public int consts;
+
+    private GenericSmtLibSymbolTable symbolTable;
+    private GenericSmtLibTransformationManager transformationManager;
+    private GenericSmtLibTermTransformer termTransformer;
+    private Expr<BoolType> expr;
+    private String term;
+
+    @Setup
+    public void setup() {
+        final List<Expr<BoolType>> constraints = new ArrayList<>();
+        for (int i = 0; i < consts; i++) {
+            final ConstDecl<IntType> a = Const("a" + i, Int());
+            final ConstDecl<IntType> b = Const("b" + i, Int());
+            final ConstDecl<BvType> v = Const("v" + i, BvType(32));
+            final ConstDecl<BvType> w = Const("w" + i, BvType(32));
+            constraints.add(Or(Leq(Add(a.getRef(), Int(i)), b.getRef()),
+                    ULt(Add(List.of(v.getRef(), w.getRef())), v.getRef())));
+        }
+        expr = And(constraints);
+
+        symbolTable = new GenericSmtLibSymbolTable();
+        transformationManager = new GenericSmtLibTransformationManager(symbolTable);
+        termTransformer = new GenericSmtLibTermTransformer(symbolTable);
+        term = transformationManager.toTerm(expr);
+    }
+
+    @Benchmark
+    public String toTerm() {
+        return new GenericSmtLibTransformationManager(new GenericSmtLibSymbolTable()).toTerm(expr);
+    }
+
+    @Benchmark
+    public Expr<BoolType> toExpr() {
+        return termTransformer.toExpr(term, Bool(), new SmtLibModel(Map.of()));
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.benchmarks;
+
+import hu.bme.mit.theta.analysis.LTS;
+import hu.bme.mit.theta.analysis.expl.ExplPrec;
+import hu.bme.mit.theta.analysis.expl.ExplState;
+import hu.bme.mit.theta.analysis.expr.ExprState;
+import hu.bme.mit.theta.analysis.ptr.PtrPrec;
+import hu.bme.mit.theta.analysis.ptr.PtrState;
+import hu.bme.mit.theta.c2xcfa.UtilsKt;
+import hu.bme.mit.theta.common.logging.NullLogger;
+import hu.bme.mit.theta.frontend.ParseContext;
+import hu.bme.mit.theta.solver.Solver;
+import hu.bme.mit.theta.solver.z3legacy.Z3LegacySolverFactory;
+import hu.bme.mit.theta.xcfa.analysis.ExplXcfaAnalysis;
+import hu.bme.mit.theta.xcfa.analysis.XcfaAction;
+import hu.bme.mit.theta.xcfa.analysis.XcfaAnalysisKt;
+import hu.bme.mit.theta.xcfa.analysis.XcfaPrec;
+import hu.bme.mit.theta.xcfa.analysis.XcfaState;
+import hu.bme.mit.theta.xcfa.model.XCFA;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Successor computation of the explicit XCFA analysis on multithreaded C programs: the interleavings are explored
+ * breadth-first, without partial order reduction or coverage checks, up to {@link #MAX_STATES} states. This covers
+ * the enabled actions, the process and mutex maps of the successor states and their hash codes. Run it with
+ * {@code -prof gc} to also see the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class XcfaBenchmark {
+
+    private static final int MAX_STATES = 5_000;
+
+    @Param({"/18multithread.c", "/19dportest.c"})
+    public String program;
+
+    private Solver solver;
+    private ExplXcfaAnalysis analysis;
+    private LTS<XcfaState<? extends PtrState<? extends ExprState>>, XcfaAction> lts;
+    private XcfaPrec<PtrPrec<ExplPrec>> prec;
+
+    @Setup
+    public void setup() throws IOException {
+        final XCFA xcfa;
+        try (InputStream inputStream = Models.open(program)) {
+            xcfa = UtilsKt.getXcfaFromC(inputStream, new ParseContext(), false, false, NullLogger.getInstance())
+                    .getFirst();
+        }
+        solver = Z3LegacySolverFactory.getInstance().createSolver();
+        analysis = new ExplXcfaAnalysis(xcfa, solver, 0, (state1, state2) -> state1.equals(state2), false);
+        lts = XcfaAnalysisKt.getXcfaLts();
+        prec = new XcfaPrec<>(new PtrPrec<>(ExplPrec.empty(), Set.of(), 0), new ArrayList<>());
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        solver.close();
+    }
+
+    @Benchmark
+    public int explore() {
+        final Set<XcfaState<PtrState<ExplState>>> reached = new HashSet<>(analysis.getInitFunc().getInitStates(prec));
+        final Deque<XcfaState<PtrState<ExplState>>> waitlist = new ArrayDeque<>(reached);
+        while (!waitlist.isEmpty() && reached.size() < MAX_STATES) {
+            final XcfaState<PtrState<ExplState>> state = waitlist.removeFirst();
+            for (final XcfaAction action : lts.getEnabledActionsFor(state)) {
+                for (final XcfaState<PtrState<ExplState>> succ :
+                        analysis.getTransFunc().getSuccStates(state, action, prec)) {
+                    if (!succ.isBottom() && reached.add(succ)) {
+                        waitlist.addLast(succ);
+                    }
+                }
+            }
+        }
+        return reached.size();
+    }
+
+}
@@ -0,0 +1,70 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.benchmarks;
+
+import hu.bme.mit.theta.analysis.algorithm.SafetyResult;
+import hu.bme.mit.theta.analysis.unit.UnitPrec;
+import hu.bme.mit.theta.xta.XtaSystem;
+import hu.bme.mit.theta.xta.analysis.lazy.ClockStrategy;
+import hu.bme.mit.theta.xta.analysis.lazy.DataStrategy;
+import hu.bme.mit.theta.xta.analysis.lazy.LazyXtaCheckerFactory;
+import hu.bme.mit.theta.xta.dsl.XtaDslManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import static hu.bme.mit.theta.analysis.algorithm.arg.SearchStrategy.BFS;
+
+/**
+ * Full state space exploration of timed automata with the lazy checker, which is dominated by the zone (DBM)
+ * operations and the coverage checks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class XtaBenchmark {
+
+    @Param({"/csma-2.xta", "/fischer-2-32-64.xta", "/lynch-2-16.xta"})
+    public String model;
+
+    @Param({"BWITP", "LU"})
+    public ClockStrategy clockStrategy;
+
+    private XtaSystem system;
+
+    @Setup
+    public void setup() throws IOException {
+        try (InputStream inputStream = Models.open(model)) {
+            system = XtaDslManager.createSystem(inputStream);
+        }
+    }
+
+    @Benchmark
+    public SafetyResult<?, ?> check() {
+        return LazyXtaCheckerFactory.create(system, DataStrategy.NONE, clockStrategy, BFS, true)
+                .check(UnitPrec.getInstance());
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.benchmarks;
+
+import hu.bme.mit.theta.analysis.zone.ZoneState;
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.type.rattype.RatType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static hu.bme.mit.theta.core.clock.constr.ClockConstrs.Geq;
+import static hu.bme.mit.theta.core.clock.constr.ClockConstrs.Leq;
+import static hu.bme.mit.theta.core.clock.constr.ClockConstrs.Lt;
+import static hu.bme.mit.theta.core.decl.Decls.Var;
+import static hu.bme.mit.theta.core.type.rattype.RatExprs.Rat;
+
+/**
+ * DBM operations of a timed transition (delay, guard, reset, extrapolation) and zone inclusion, through the
+ * public {@link ZoneState} interface. Besides the whole transition, the delay, guard and reset operations and the
+ * closure of the DBM are measured separately, each including the copy of the DBM done by {@link ZoneState#transform()}.
+ * The closure is reached through the intersection of zones over different (overlapping) sets of clocks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ZoneBenchmark {
+
+    @Param({"10", "25", "50"})
+    public int clocks;
+
+    private List<VarDecl<RatType>> decls;
+    private Map<VarDecl<RatType>, Integer> ceilings;
+    private ZoneState zone;
+    private ZoneState larger;
+    private ZoneState lower;
+    private ZoneState upper;
+
+    @Setup
+    public void setup() {
+        decls = new ArrayList<>();
+        ceilings = new HashMap<>();
+        for (int i = 0; i < clocks; i++) {
+            final VarDecl<RatType> clock = Var("c" + i, Rat());
+            decls.add(clock);
+            ceilings.put(clock, 10 * (i + 1));
+        }
+
+        final ZoneState.Builder builder = ZoneState.zero(decls).transform().up();
+        for (int i = 0; i < clocks; i++) {
+            builder.and(Leq(decls.get(i), 5 * (i + 1)));
+        }
+        zone = builder.build();
+        larger = ZoneState.zero(decls).transform().up().build();
+
+        // the first half and the second half of the clocks, sharing the clock in the middle
+        final int middle = clocks / 2;
+        lower = bounded(decls.subList(0, middle + 1));
+        upper = bounded(decls.subList(middle, clocks));
+    }
+
+    private static ZoneState bounded(final List<VarDecl<RatType>> clocks) {
+        final ZoneState.Builder builder = ZoneState.zero(clocks).transform().up();
+        for (int i = 1; i < clocks.size(); i++) {
+            builder.and(Leq(clocks.get(i - 1), clocks.get(i), i));
+        }
+        return builder.build();
+    }
+
+    @Benchmark
+    public ZoneState post() {
+        final VarDecl<RatType> first = decls.get(0);
+        final VarDecl<RatType> last = decls.get(clocks - 1);
+        return zone.transform()
+                .up()
+                .and(Geq(first, 1))
+                .and(Lt(last, 20))
+                .reset(first, 0)
+                .norm(ceilings)
+                .build();
+    }
+
+    @Benchmark
+    public ZoneState up() {
+        return zone.transform().up().build();
+    }
+
+    @Benchmark
+    public ZoneState and() {
+        return zone.transform().and(Geq(decls.get(0), 1)).build();
+    }
+
+    @Benchmark
+    public ZoneState reset() {
+        return zone.transform().reset(decls.get(0), 0).build();
+    }
+
+    @Benchmark
+    public ZoneState closure() {
+        return ZoneState.intersection(lower, upper);
+    }
+
+    @Benchmark
+    public boolean isLeq() {
+        return zone.isLeq(larger);
+    }
+
+    @Benchmark
+    public ZoneState intersection() {
+        return ZoneState.intersection(zone, larger);
+    }
+
+}
@@ -0,0 +1,62 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.common;
+
+import java.util.function.Supplier;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Configuration or state that belongs to a single verification run instead of the whole JVM. A run is bound to the
+ * thread executing it: a value set in that thread is visible there and in every thread it starts afterward, while
+ * other runs (e.g., concurrent jobs of a server) see their own values. A thread that never set a value sees the
+ * initial one. For a single run per JVM, this behaves exactly like a static field.
+ *
+ * @param <T> the type of the value
+ */
+public final class RunLocal<T> {
+
+    private final InheritableThreadLocal<T> value;
+
+    private RunLocal(final Supplier<? extends T> initial) {
+        checkNotNull(initial);
+        this.value = new InheritableThreadLocal<>() {
+            @Override
+            protected T initialValue() {
+                return initial.get();
+            }
+        };
+    }
+
+    public static <T> RunLocal<T> withInitial(final Supplier<? extends T> initial) {
+        return new RunLocal<>(initial);
+    }
+
+    public T get() {
+        return value.get();
+    }
+
+    public void set(final T newValue) {
+        value.set(newValue);
+    }
+
+    /**
+     * Restores the initial value for the current run.
+     */
+    public void reset() {
+        value.remove();
+    }
+}
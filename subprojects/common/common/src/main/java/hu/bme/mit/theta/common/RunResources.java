@@ -0,0 +1,119 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * Resources (e.g., solvers) that belong to a single verification run and have to be closed when it ends. Like a
+ * {@link RunLocal}, the current run is bound to the thread executing it and is shared with the threads it starts.
+ * For a single run per JVM, the resources are simply never closed.
+ */
+public final class RunResources {
+
+    private static final RunLocal<Run> currentRun = RunLocal.withInitial(Run::new);
+
+    private RunResources() {
+    }
+
+    /**
+     * Starts a new run in the current thread: resources registered from now on, also by the threads started
+     * afterward, are closed by {@link #closeAll()}.
+     */
+    public static void begin() {
+        currentRun.set(new Run());
+    }
+
+    /**
+     * Registers a resource to be closed with the current run.
+     */
+    public static <T extends AutoCloseable> T register(final T resource) {
+        currentRun.get().register(resource);
+        return resource;
+    }
+
+    /**
+     * Closes the resources of the current run in reverse order of registration. If closing fails, the first exception
+     * is thrown after every resource was closed, with the others suppressed.
+     */
+    public static void closeAll() throws Exception {
+        final Run run = currentRun.get();
+        currentRun.reset();
+        run.close();
+    }
+
+    /**
+     * Creates a resource that is not shared between threads: each thread of a run creates its own on first use, which
+     * is registered to be closed with the run. Threads starting a new run (or reused from an earlier one) create a new
+     * resource instead of using the one of another run.
+     */
+    public static <T extends AutoCloseable> Supplier<T> perThread(final Supplier<? extends T> factory) {
+        checkNotNull(factory);
+        final ThreadLocal<Tuple2<Run, T>> resources = new ThreadLocal<>();
+        return () -> {
+            final Run run = currentRun.get();
+            final Tuple2<Run, T> resource = resources.get();
+            if (resource != null && resource.get1() == run) {
+                return resource.get2();
+            }
+            final T newResource = factory.get();
+            run.register(newResource);
+            resources.set(Tuple2.of(run, newResource));
+            return newResource;
+        };
+    }
+
+    private static final class Run {
+
+        private final List<AutoCloseable> resources = new ArrayList<>();
+        private boolean closed = false;
+
+        private synchronized void register(final AutoCloseable resource) {
+            checkNotNull(resource);
+            checkState(!closed, "Run already closed");
+            resources.add(resource);
+        }
+
+        private void close() throws Exception {
+            final List<AutoCloseable> toClose;
+            synchronized (this) {
+                closed = true;
+                toClose = new ArrayList<>(resources);
+                resources.clear();
+            }
+            Exception failure = null;
+            for (int i = toClose.size() - 1; i >= 0; i--) {
+                try {
+                    toClose.get(i).close();
+                } catch (final Exception e) {
+                    if (failure == null) {
+                        failure = e;
+                    } else {
+                        failure.addSuppressed(e);
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+}
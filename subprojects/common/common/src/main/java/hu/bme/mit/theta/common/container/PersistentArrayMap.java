@@ -0,0 +1,219 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.common.container;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Immutable, insertion-ordered map backed by a single flat array of alternating keys and values. Updates return a new
+ * map and leave the original untouched, so a successor can be derived from its parent with a single array copy instead
+ * of rebuilding a hash map. Intended for the small maps of program states (e.g., processes or mutexes) where this is
+ * both faster and considerably more compact than a {@link java.util.LinkedHashMap}. The hash code is cached.
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ */
+public final class PersistentArrayMap<K, V> extends AbstractMap<K, V> {
+
+    private static final PersistentArrayMap<?, ?> EMPTY = new PersistentArrayMap<>(new Object[0]);
+
+    private final Object[] entries;
+    private int hashCode = 0;
+    private Set<Entry<K, V>> entrySet = null;
+
+    private PersistentArrayMap(final Object[] entries) {
+        this.entries = entries;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentArrayMap<K, V> empty() {
+        return (PersistentArrayMap<K, V>) EMPTY;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentArrayMap<K, V> copyOf(final Map<? extends K, ? extends V> map) {
+        checkNotNull(map);
+        if (map instanceof PersistentArrayMap) {
+            return (PersistentArrayMap<K, V>) map;
+        }
+        final Object[] entries = new Object[map.size() * 2];
+        int i = 0;
+        for (final Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            entries[i++] = checkNotNull(entry.getKey());
+            entries[i++] = checkNotNull(entry.getValue());
+        }
+        return new PersistentArrayMap<>(entries);
+    }
+
+    private int indexOf(final Object key) {
+        for (int i = 0; i < entries.length; i += 2) {
+            if (entries[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns a map that additionally maps the given key to the given value. Existing keys keep their position.
+     */
+    public PersistentArrayMap<K, V> with(final K key, final V value) {
+        checkNotNull(key);
+        checkNotNull(value);
+        final int i = indexOf(key);
+        if (i >= 0) {
+            if (entries[i + 1].equals(value)) {
+                return this;
+            }
+            final Object[] newEntries = entries.clone();
+            newEntries[i + 1] = value;
+            return new PersistentArrayMap<>(newEntries);
+        }
+        final Object[] newEntries = Arrays.copyOf(entries, entries.length + 2);
+        newEntries[entries.length] = key;
+        newEntries[entries.length + 1] = value;
+        return new PersistentArrayMap<>(newEntries);
+    }
+
+    /**
+     * Returns a map without the given key.
+     */
+    public PersistentArrayMap<K, V> without(final Object key) {
+        final int i = indexOf(key);
+        if (i < 0) {
+            return this;
+        }
+        final Object[] newEntries = new Object[entries.length - 2];
+        System.arraycopy(entries, 0, newEntries, 0, i);
+        System.arraycopy(entries, i + 2, newEntries, i, entries.length - i - 2);
+        return new PersistentArrayMap<>(newEntries);
+    }
+
+    /**
+     * Returns a map without the given key if it is mapped to the given value.
+     */
+    public PersistentArrayMap<K, V> without(final Object key, final Object value) {
+        final int i = indexOf(key);
+        if (i < 0 || !entries[i + 1].equals(value)) {
+            return this;
+        }
+        return without(key);
+    }
+
+    @Override
+    public int size() {
+        return entries.length / 2;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return entries.length == 0;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(final Object key) {
+        final int i = indexOf(key);
+        return i < 0 ? null : (V) entries[i + 1];
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        Set<Entry<K, V>> result = entrySet;
+        if (result == null) {
+            result = new EntrySet();
+            entrySet = result;
+        }
+        return result;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = hashCode;
+        if (result == 0 && entries.length > 0) {
+            for (int i = 0; i < entries.length; i += 2) {
+                result += entries[i].hashCode() ^ entries[i + 1].hashCode();
+            }
+            hashCode = result;
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        } else if (obj instanceof PersistentArrayMap<?, ?> that) {
+            if (this.entries.length != that.entries.length || this.hashCode() != that.hashCode()) {
+                return false;
+            }
+            for (int i = 0; i < entries.length; i += 2) {
+                if (!Objects.equals(entries[i + 1], that.get(entries[i]))) {
+                    return false;
+                }
+            }
+            return true;
+        } else {
+            return super.equals(obj);
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<K, V>> {
+
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new Iterator<>() {
+                private int i = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return i < entries.length;
+                }
+
+                @Override
+                @SuppressWarnings("unchecked")
+                public Entry<K, V> next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    final Entry<K, V> entry = new SimpleImmutableEntry<>((K) entries[i], (V) entries[i + 1]);
+                    i += 2;
+                    return entry;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return entries.length / 2;
+        }
+    }
+
+}
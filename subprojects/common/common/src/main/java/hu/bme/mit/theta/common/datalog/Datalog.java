@@ -17,11 +17,13 @@
 package hu.bme.mit.theta.common.datalog;
 
 /*
- * Datalog engine using naive (enumerative) evaluation.
+ * Datalog engine using semi-naive evaluation.
+ * Rules are scheduled by strata (strongly connected components of the relation dependency graph, in topological
+ * order), and each stratum is evaluated to a fixpoint by joining only the facts derived in the previous round (delta)
+ * with the full relations. Joins look up the full relations through hash indices on the columns bound at that point
+ * of the rule body; the indices are chosen per rule and maintained incrementally.
  * Limitations:
  *  - Only relations are supported right now, simple atoms are not
- *  - There is a performance penalty for specific rulesets, see
- *    http://pages.cs.wisc.edu/~paris/cs838-s16/lecture-notes/lecture8.pdf
  */
 
 import com.google.common.collect.ImmutableList;
@@ -29,9 +31,12 @@ import hu.bme.mit.theta.common.Tuple2;
 import hu.bme.mit.theta.common.Tuple3;
 import hu.bme.mit.theta.common.TupleN;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -39,12 +44,20 @@ import java.util.Map;
 import java.util.Set;
 import java.util.Stack;
 import java.util.StringJoiner;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkState;
 
 public class Datalog {
+    private static final Pattern WHITESPACE = Pattern.compile("[ \t\n]");
+    private static final Pattern FACT = Pattern.compile("([a-z_][a-zA-Z0-9_]*)\\(([a-z_0-9][a-zA-Z0-9_]*)(,[a-z_0-9][a-zA-Z_0-9]*)*\\)");
+    private static final Pattern RULE = Pattern.compile("([a-z_][a-zA-Z_0-9]*)\\(([a-zA-Z_][a-zA-Z0-9_]*)(,[a-zA-Z_][a-zA-Z0-9_]*)*\\):-([a-z_][a-zA-Z_]*)\\(([a-zA-Z_][a-zA-Z0-9_]*)(,[a-zA-Z_][a-zA-Z0-9_]*)*\\)(,([a-z_][a-zA-Z_]*)\\(([a-zA-Z_][a-zA-Z0-9_]*)(,[a-zA-Z_][a-zA-Z0-9_]*)*\\))*");
+    private static final Pattern QUERY = Pattern.compile("([a-z_][a-zA-Z_]*)\\?");
+
     private final Map<String, Relation> relations;
+    // Strata only depend on the relations and the rules, so they are computed again only if one of these changes
+    private List<List<Relation>> strata = null;
     private boolean debug = false;
     private int stackDepth = 0;
 
@@ -81,14 +94,14 @@ public class Datalog {
         StringBuilder ret = new StringBuilder();
         Map<String, Relation> relationMap = new LinkedHashMap<>();
         for (String expression : relations.split("\\.")) {
-            String nospace = expression.replaceAll("[ \t\n]", "");
-            if (nospace.matches("([a-z_][a-zA-Z0-9_]*)\\(([a-z_0-9][a-zA-Z0-9_]*)(,[a-z_0-9][a-zA-Z_0-9]*)*\\)")) { //fact assertion
+            String nospace = WHITESPACE.matcher(expression).replaceAll("");
+            if (FACT.matcher(nospace).matches()) { //fact assertion
                 String[] splitString = nospace.split("\\(");
                 String[] arguments = splitString[1].replaceAll("\\)", "").split(",");
                 relationMap.putIfAbsent(splitString[0], datalog.createRelation("rel" + counter++, arguments.length));
                 TupleN<DatalogArgument> argumentTuple = TupleN.of(Arrays.stream(arguments).map(StringDatalogArgument::new).collect(Collectors.toList()));
                 relationMap.get(splitString[0]).addFact(argumentTuple);
-            } else if (nospace.matches("([a-z_][a-zA-Z_0-9]*)\\(([a-zA-Z_][a-zA-Z0-9_]*)(,[a-zA-Z_][a-zA-Z0-9_]*)*\\):-([a-z_][a-zA-Z_]*)\\(([a-zA-Z_][a-zA-Z0-9_]*)(,[a-zA-Z_][a-zA-Z0-9_]*)*\\)(,([a-z_][a-zA-Z_]*)\\(([a-zA-Z_][a-zA-Z0-9_]*)(,[a-zA-Z_][a-zA-Z0-9_]*)*\\))*")) { //deduction rule
+            } else if (RULE.matcher(nospace).matches()) { //deduction rule
                 String[] splitExpression = nospace.split(":-");
 
                 Map<String, Variable> variableMap = new LinkedHashMap<>();
@@ -113,7 +126,7 @@ public class Datalog {
                 }
                 relationMap.get(splitString[0]).addRule(argumentTuple, dependencies);
 
-            } else if (nospace.matches("([a-z_][a-zA-Z_]*)\\?")) { //query
+            } else if (QUERY.matcher(nospace).matches()) { //query
                 String noquestion = nospace.replaceAll("\\?", "");
                 if (!relationMap.containsKey(noquestion))
                     throw new RuntimeException("Query " + nospace + " does not query an existing relation!");
@@ -131,29 +144,87 @@ public class Datalog {
         return ret.toString();
     }
 
+    /*
+     * Propagates the facts added since the last call through the rules, stratum by stratum.
+     */
     private void refresh() {
-        int cnt;
-        do {
-            cnt = 0;
-            for (Relation relation : relations.values()) {
-                int i = relation.calc();
+        if (strata == null) {
+            strata = computeStrata();
+        }
+        for (List<Relation> stratum : strata) {
+            int round = 0;
+            boolean changed = true;
+            while (changed) {
+                for (Relation relation : stratum) {
+                    relation.calc(round == 0);
+                }
+                changed = false;
+                for (Relation relation : stratum) {
+                    final int cnt = relation.nextRound();
+                    if (debug)
+                        System.out.println("(" + relation.name + ") " + cnt + " new facts");
+                    changed |= cnt > 0;
+                }
                 if (debug)
-                    System.out.println(i + " new facts");
-                cnt += i;
+                    System.out.println("====");
+                ++round;
             }
-            if (debug)
-                System.out.println("====");
-        } while (cnt > 0);
+        }
         for (Relation relation : relations.values()) {
             relation.flush();
         }
     }
 
+    /*
+     * Returns the strongly connected components of the dependency graph of the relations (Tarjan's algorithm), such
+     * that every relation comes after the relations it depends on.
+     */
+    private List<List<Relation>> computeStrata() {
+        final List<List<Relation>> strata = new ArrayList<>();
+        final Map<Relation, Integer> index = new HashMap<>();
+        final Map<Relation, Integer> lowLink = new HashMap<>();
+        final Deque<Relation> stack = new ArrayDeque<>();
+        final Set<Relation> onStack = new LinkedHashSet<>();
+        for (Relation relation : relations.values()) {
+            if (!index.containsKey(relation)) {
+                strongConnect(relation, index, lowLink, stack, onStack, strata);
+            }
+        }
+        return strata;
+    }
+
+    private void strongConnect(Relation relation, Map<Relation, Integer> index, Map<Relation, Integer> lowLink,
+                               Deque<Relation> stack, Set<Relation> onStack, List<List<Relation>> strata) {
+        index.put(relation, index.size());
+        lowLink.put(relation, index.get(relation));
+        stack.push(relation);
+        onStack.add(relation);
+        for (Relation dependency : relation.getDependencies()) {
+            if (!index.containsKey(dependency)) {
+                strongConnect(dependency, index, lowLink, stack, onStack, strata);
+                lowLink.put(relation, Math.min(lowLink.get(relation), lowLink.get(dependency)));
+            } else if (onStack.contains(dependency)) {
+                lowLink.put(relation, Math.min(lowLink.get(relation), index.get(dependency)));
+            }
+        }
+        if (lowLink.get(relation).equals(index.get(relation))) {
+            final List<Relation> stratum = new ArrayList<>();
+            Relation member;
+            do {
+                member = stack.pop();
+                onStack.remove(member);
+                stratum.add(member);
+            } while (member != relation);
+            strata.add(stratum);
+        }
+    }
+
     public Relation createRelation(String name, int n) {
         checkState(stackDepth == 0, "Cannot create a relation when the program is in temporary (pushed) state");
         checkState(n > 0, "Relation must have positive arity");
         Relation ret = new Relation(name, n);
         relations.put(name, ret);
+        strata = null;
         return ret;
     }
 
@@ -301,7 +372,10 @@ public class Datalog {
         private final Set<TupleN<DatalogArgument>> elements;
         private final Set<TupleN<DatalogArgument>> newElements;
         private final Set<TupleN<DatalogArgument>> toAdd;
+        private Set<TupleN<DatalogArgument>> delta;
         private final Set<Tuple2<TupleN<Variable>, Set<Tuple2<Relation, TupleN<Variable>>>>> rules;
+        private final List<Rule> compiledRules;
+        private final Map<List<Integer>, Map<List<DatalogArgument>, List<TupleN<DatalogArgument>>>> indices;
         private final int arity;
         private final Stack<Tuple3<Set<TupleN<DatalogArgument>>, Set<TupleN<DatalogArgument>>, Set<TupleN<DatalogArgument>>>> stack;
 
@@ -315,18 +389,23 @@ public class Datalog {
             elements = new LinkedHashSet<>();
             newElements = new LinkedHashSet<>();
             rules = new LinkedHashSet<>();
+            compiledRules = new ArrayList<>();
+            indices = new HashMap<>();
             toAdd = new LinkedHashSet<>();
+            delta = Set.of();
             stack = new Stack<>();
         }
 
         public void addFact(TupleN<DatalogArgument> fact) {
             checkState(fact.arity() == arity);
-            newElements.add(fact);
             if (debug) {
                 System.out.println();
                 System.out.println("New fact (" + name + "): " + fact);
             }
-            refresh();
+            if (insert(fact)) {
+                newElements.add(fact);
+                refresh();
+            }
         }
 
         public void addRule(TupleN<Variable> args, Set<Tuple2<Relation, TupleN<Variable>>> dependencies) {
@@ -335,115 +414,104 @@ public class Datalog {
             for (Tuple2<Relation, TupleN<Variable>> dependency : dependencies) {
                 checkState(dependency.get1().arity == dependency.get2().arity());
             }
-            rules.add(Tuple2.of(args, new LinkedHashSet<>(dependencies)));
-            refresh();
+            if (rules.add(Tuple2.of(args, new LinkedHashSet<>(dependencies)))) {
+                compiledRules.add(new Rule(args, dependencies));
+                strata = null;
+                refresh();
+            }
         }
 
         public Collection<TupleN<DatalogArgument>> getElements() {
-            ArrayList<TupleN<DatalogArgument>> ret = new ArrayList<>(elements);
-            ret.addAll(newElements);
-            return ImmutableList.copyOf(ret);
+            return ImmutableList.copyOf(elements);
         }
 
         public int getArity() {
             return arity;
         }
 
-        private boolean validate(List<Tuple2<Relation, TupleN<Variable>>> oldClauses, Map<Variable, DatalogArgument> currentAssignments, List<Map<Variable, DatalogArgument>> assignments) {
-            List<Tuple2<Relation, TupleN<Variable>>> clauses = new ArrayList<>(oldClauses);
-            if (clauses.size() > 0) {
-                Tuple2<Relation, TupleN<Variable>> clause = clauses.get(0);
-                clauses.remove(0);
-                for (TupleN<DatalogArgument> element : clause.get1().elements) {
-                    Map<Variable, DatalogArgument> nextAssignments = new LinkedHashMap<>(currentAssignments);
-                    if (!putAssignments(nextAssignments, clause, element)) {
-                        validate(clauses, nextAssignments, assignments);
-                    }
-                }
-                for (TupleN<DatalogArgument> element : clause.get1().newElements) {
-                    Map<Variable, DatalogArgument> nextAssignments = new LinkedHashMap<>(currentAssignments);
-                    if (!putAssignments(nextAssignments, clause, element)) {
-                        validate(clauses, nextAssignments, assignments);
-                    }
+        private Set<Relation> getDependencies() {
+            final Set<Relation> dependencies = new LinkedHashSet<>();
+            for (Rule rule : compiledRules) {
+                for (Atom atom : rule.body) {
+                    dependencies.add(atom.relation);
                 }
-                return assignments.size() > 0;
-            } else {
-                assignments.add(currentAssignments);
-                return true;
             }
+            return dependencies;
         }
 
-        private int calc() {
-            int cnt = 0;
-            for (Tuple2<TupleN<Variable>, Set<Tuple2<Relation, TupleN<Variable>>>> rule : rules) {
-                for (Tuple2<Relation, TupleN<Variable>> clause : rule.get2()) {
-                    Set<TupleN<DatalogArgument>> alreadyAdded = new LinkedHashSet<>();
-                    boolean atLeastOne = true;
-                    while (atLeastOne) {
-                        atLeastOne = false;
-                        for (TupleN<DatalogArgument> newElement : clause.get1().newElements.stream().filter(objects -> !alreadyAdded.contains(objects)).collect(Collectors.toCollection(LinkedHashSet::new))) {
-                            cnt = addElements(cnt, rule, clause, newElement);
-                            alreadyAdded.add(newElement);
-                            atLeastOne = true;
-                        }
-                    }
-                    alreadyAdded.clear();
-                    atLeastOne = true;
-                    while (atLeastOne) {
-                        atLeastOne = false;
-                        for (TupleN<DatalogArgument> newElement : clause.get1().toAdd.stream().filter(objects -> !alreadyAdded.contains(objects)).collect(Collectors.toCollection(LinkedHashSet::new))) {
-                            cnt = addElements(cnt, rule, clause, newElement);
-                            alreadyAdded.add(newElement);
-                            atLeastOne = true;
-                        }
-                    }
-                }
+        private boolean insert(TupleN<DatalogArgument> fact) {
+            if (!elements.add(fact)) {
+                return false;
             }
-            return cnt;
+            indices.forEach((columns, index) -> index.computeIfAbsent(key(fact, columns), k -> new ArrayList<>()).add(fact));
+            return true;
         }
 
-        private int addElements(int cnt, Tuple2<TupleN<Variable>, Set<Tuple2<Relation, TupleN<Variable>>>> rule, Tuple2<Relation, TupleN<Variable>> clause, TupleN<DatalogArgument> newElement) {
-            Map<Variable, DatalogArgument> assignments = new LinkedHashMap<>();
-            if (putAssignments(assignments, clause, newElement))
-                return cnt;
-            if (debug) {
-                System.out.println("\t(" + name + ")Checking " + newElement);
+        private List<DatalogArgument> key(TupleN<DatalogArgument> fact, List<Integer> columns) {
+            final List<DatalogArgument> key = new ArrayList<>(columns.size());
+            for (int column : columns) {
+                key.add(fact.get(column));
+            }
+            return key;
+        }
+
+        /*
+         * Returns the facts matching the given values in the given columns using a (lazily built) hash index.
+         */
+        private Collection<TupleN<DatalogArgument>> lookup(List<Integer> columns, List<DatalogArgument> values) {
+            if (columns.isEmpty()) {
+                return elements;
             }
-            ArrayList<Tuple2<Relation, TupleN<Variable>>> validators = new ArrayList<>(rule.get2());
-            validators.remove(clause);
-            List<Map<Variable, DatalogArgument>> satisfyingAssignments = new ArrayList<>();
-            if (validate(validators, assignments, satisfyingAssignments)) {
-                for (Map<Variable, DatalogArgument> satisfyingAssignment : satisfyingAssignments) {
-                    List<DatalogArgument> arguments = new ArrayList<>();
-                    for (Object o : rule.get1()) {
-                        Variable v = (Variable) o;
-                        checkState(satisfyingAssignment.containsKey(v), "Not all variables are bound!");
-                        arguments.add(satisfyingAssignment.get(v));
+            final Map<List<DatalogArgument>, List<TupleN<DatalogArgument>>> index = indices.computeIfAbsent(columns, c -> {
+                final Map<List<DatalogArgument>, List<TupleN<DatalogArgument>>> newIndex = new HashMap<>();
+                for (TupleN<DatalogArgument> element : elements) {
+                    newIndex.computeIfAbsent(key(element, c), k -> new ArrayList<>()).add(element);
+                }
+                return newIndex;
+            });
+            return index.getOrDefault(values, List.of());
+        }
+
+        /*
+         * Evaluates the rules of the relation for one round. In the first round of a stratum, the facts added since the
+         * last refresh drive the evaluation (and newly added rules are evaluated over every fact); later, only the
+         * facts derived in the previous round of the same stratum do.
+         */
+        private void calc(boolean firstRound) {
+            for (Rule rule : compiledRules) {
+                if (rule.body.isEmpty()) {
+                    continue;
+                }
+                if (rule.fresh) {
+                    if (firstRound) {
+                        rule.evaluate(rule.naivePlan, rule.body.get(0).relation.elements);
+                        rule.fresh = false;
                     }
-                    TupleN<DatalogArgument> item = TupleN.of(arguments);
-                    if (!elements.contains(item) && !newElements.contains(item) && !toAdd.contains(item)) {
-                        toAdd.add(item);
-                        if (debug) {
-                            System.out.println("(" + name + ")Adding " + item);
-                        }
-                        ++cnt;
+                    continue;
+                }
+                for (int i = 0; i < rule.body.size(); i++) {
+                    final Relation driver = rule.body.get(i).relation;
+                    final Set<TupleN<DatalogArgument>> driverDelta = firstRound ? driver.newElements : driver.delta;
+                    if (!driverDelta.isEmpty()) {
+                        rule.evaluate(rule.deltaPlans.get(i), driverDelta);
                     }
                 }
-
             }
-            return cnt;
         }
 
-        private boolean putAssignments(Map<Variable, DatalogArgument> assignments, Tuple2<Relation, TupleN<Variable>> validatorClause, TupleN<DatalogArgument> element) {
-            for (int i = 0; i < element.arity(); i++) {
-                if (assignments.containsKey(validatorClause.get2().get(i))) {
-                    if (!assignments.get(validatorClause.get2().get(i)).equals(element.get(i)))
-                        return true;
-                } else {
-                    assignments.put(validatorClause.get2().get(i), element.get(i));
+        /*
+         * Promotes the facts derived in the current round to the delta of the next round.
+         */
+        private int nextRound() {
+            delta = new LinkedHashSet<>();
+            for (TupleN<DatalogArgument> fact : toAdd) {
+                if (insert(fact)) {
+                    delta.add(fact);
                 }
             }
-            return false;
+            newElements.addAll(delta);
+            toAdd.clear();
+            return delta.size();
         }
 
         private void flush() {
@@ -451,21 +519,159 @@ public class Datalog {
                 StringBuilder stringBuilder = new StringBuilder("[");
                 newElements.forEach(objects -> stringBuilder.append(objects.toString()).append(", "));
 
-                System.out.println("(" + name + ") Promoting newElements to elements: " + stringBuilder.append("]").toString());
+                System.out.println("(" + name + ") Propagated new elements: " + stringBuilder.append("]").toString());
             }
-            elements.addAll(newElements);
             newElements.clear();
+            delta = Set.of();
+        }
 
-            if (debug) {
-                StringBuilder stringBuilder1 = new StringBuilder("[");
-                toAdd.forEach(objects -> stringBuilder1.append(objects.toString()).append(", "));
+        /*
+         * A compiled rule: variables are replaced by slots of a binding array, and for every body position a join
+         * order is precomputed that starts from that position and probes the other atoms on their bound columns.
+         */
+        private final class Rule {
+            private final int[] head;
+            private final List<Atom> body;
+            private final Plan naivePlan;
+            private final List<Plan> deltaPlans;
+            private final int slots;
+            private boolean fresh = true;
+
+            private Rule(TupleN<Variable> args, Set<Tuple2<Relation, TupleN<Variable>>> dependencies) {
+                final Map<Variable, Integer> slotMap = new LinkedHashMap<>();
+                body = new ArrayList<>();
+                for (Tuple2<Relation, TupleN<Variable>> dependency : dependencies) {
+                    final int[] atomSlots = new int[dependency.get2().arity()];
+                    for (int i = 0; i < atomSlots.length; i++) {
+                        atomSlots[i] = slotMap.computeIfAbsent(dependency.get2().get(i), v -> slotMap.size());
+                    }
+                    body.add(new Atom(dependency.get1(), atomSlots));
+                }
+                head = new int[args.arity()];
+                for (int i = 0; i < head.length; i++) {
+                    final Integer slot = slotMap.get(args.get(i));
+                    checkState(body.isEmpty() || slot != null, "Not all variables are bound!");
+                    head[i] = slot == null ? -1 : slot;
+                }
+                slots = slotMap.size();
+                final List<Integer> order = new ArrayList<>();
+                for (int i = 0; i < body.size(); i++) {
+                    order.add(i);
+                }
+                naivePlan = new Plan(order);
+                deltaPlans = new ArrayList<>();
+                for (int i = 0; i < body.size(); i++) {
+                    final List<Integer> deltaOrder = new ArrayList<>(order);
+                    deltaOrder.remove(i);
+                    deltaOrder.add(0, i);
+                    deltaPlans.add(new Plan(deltaOrder));
+                }
+            }
 
-                System.out.println("(" + name + ") Promoting toAdd to newElements: " + stringBuilder1.append("]").toString());
+            private void evaluate(Plan plan, Collection<TupleN<DatalogArgument>> first) {
+                final DatalogArgument[] binding = new DatalogArgument[slots];
+                final Atom firstAtom = body.get(plan.order[0]);
+                final int[] newlyBound = new int[firstAtom.slots.length];
+                for (TupleN<DatalogArgument> element : List.copyOf(first)) {
+                    final int cnt = bind(firstAtom, element, binding, newlyBound);
+                    if (cnt >= 0) {
+                        join(plan, 1, binding);
+                        unbind(binding, newlyBound, cnt);
+                    }
+                }
+            }
+
+            private void join(Plan plan, int step, DatalogArgument[] binding) {
+                if (step == plan.order.length) {
+                    derive(binding);
+                    return;
+                }
+                final Atom atom = body.get(plan.order[step]);
+                final List<Integer> columns = plan.boundColumns.get(step);
+                final List<DatalogArgument> values = new ArrayList<>(columns.size());
+                for (int column : columns) {
+                    values.add(binding[atom.slots[column]]);
+                }
+                final int[] newlyBound = new int[atom.slots.length];
+                for (TupleN<DatalogArgument> element : atom.relation.lookup(columns, values)) {
+                    final int cnt = bind(atom, element, binding, newlyBound);
+                    if (cnt >= 0) {
+                        join(plan, step + 1, binding);
+                        unbind(binding, newlyBound, cnt);
+                    }
+                }
+            }
+
+            /*
+             * Binds the unbound slots of the atom to the values of the element and records them in newlyBound.
+             * Returns the number of new bindings, or -1 (leaving the binding unchanged) if the element contradicts it.
+             */
+            private int bind(Atom atom, TupleN<DatalogArgument> element, DatalogArgument[] binding, int[] newlyBound) {
+                int cnt = 0;
+                for (int i = 0; i < atom.slots.length; i++) {
+                    final DatalogArgument current = binding[atom.slots[i]];
+                    if (current == null) {
+                        binding[atom.slots[i]] = element.get(i);
+                        newlyBound[cnt++] = atom.slots[i];
+                    } else if (!current.equals(element.get(i))) {
+                        unbind(binding, newlyBound, cnt);
+                        return -1;
+                    }
+                }
+                return cnt;
+            }
+
+            private void unbind(DatalogArgument[] binding, int[] newlyBound, int cnt) {
+                for (int i = 0; i < cnt; i++) {
+                    binding[newlyBound[i]] = null;
+                }
+            }
+
+            private void derive(DatalogArgument[] binding) {
+                final List<DatalogArgument> arguments = new ArrayList<>(head.length);
+                for (int slot : head) {
+                    arguments.add(binding[slot]);
+                }
+                final TupleN<DatalogArgument> item = TupleN.of(arguments);
+                if (!elements.contains(item) && toAdd.add(item) && debug) {
+                    System.out.println("(" + name + ")Adding " + item);
+                }
+            }
+
+            private final class Plan {
+                private final int[] order;
+                private final List<List<Integer>> boundColumns;
+
+                private Plan(List<Integer> order) {
+                    this.order = order.stream().mapToInt(Integer::intValue).toArray();
+                    this.boundColumns = new ArrayList<>();
+                    final Set<Integer> bound = new LinkedHashSet<>();
+                    for (int atomIndex : this.order) {
+                        final Atom atom = body.get(atomIndex);
+                        final List<Integer> columns = new ArrayList<>();
+                        for (int i = 0; i < atom.slots.length; i++) {
+                            if (bound.contains(atom.slots[i])) {
+                                columns.add(i);
+                            }
+                        }
+                        boundColumns.add(List.copyOf(columns));
+                        for (int slot : atom.slots) {
+                            bound.add(slot);
+                        }
+                    }
+                }
             }
-            newElements.addAll(toAdd);
-            toAdd.clear();
         }
 
+        private final class Atom {
+            private final Relation relation;
+            private final int[] slots;
+
+            private Atom(Relation relation, int[] slots) {
+                this.relation = relation;
+                this.slots = slots;
+            }
+        }
 
         public void push() {
             stack.push(Tuple3.of(Set.copyOf(elements), Set.copyOf(newElements), Set.copyOf(toAdd)));
@@ -479,6 +685,7 @@ public class Datalog {
             newElements.addAll(popped.get2());
             toAdd.clear();
             toAdd.addAll(popped.get3());
+            indices.clear();
 
         }
 
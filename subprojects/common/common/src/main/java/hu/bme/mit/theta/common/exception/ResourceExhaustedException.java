@@ -0,0 +1,27 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.common.exception;
+
+/**
+ * Thrown when an analysis is aborted because it is about to run out of a resource (e.g., memory or time), so that
+ * the caller can fall back to a different configuration instead of the process being killed.
+ */
+public class ResourceExhaustedException extends RuntimeException {
+
+    public ResourceExhaustedException(final String reason) {
+        super("Analysis aborted due to resource pressure: " + reason);
+    }
+}
@@ -15,6 +15,8 @@
  */
 package hu.bme.mit.theta.common.logging;
 
+import java.util.function.Supplier;
+
 /**
  * Interface for logging within algorithms.
  */
@@ -37,4 +39,29 @@ public interface Logger {
      */
     Logger write(Level level, String pattern, Object... objects);
 
+    /**
+     * Check whether entries with a given level are written at all. Arguments that are expensive to compute should
+     * only be computed if this returns true.
+     *
+     * @param level Level
+     * @return True if entries with the given level are written
+     */
+    default boolean isEnabled(Level level) {
+        return true;
+    }
+
+    /**
+     * Write a lazily computed message with a given level. The supplier is only called if the level is enabled.
+     *
+     * @param level   Level
+     * @param message Supplier of the message to be written as is
+     * @return Logger instance
+     */
+    default Logger write(Level level, Supplier<String> message) {
+        if (isEnabled(level)) {
+            write(level, "%s", message.get());
+        }
+        return this;
+    }
+
 }
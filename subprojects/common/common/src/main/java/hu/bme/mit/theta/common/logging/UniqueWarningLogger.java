@@ -17,6 +17,7 @@ package hu.bme.mit.theta.common.logging;
 
 import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.function.Supplier;
 
 public final class UniqueWarningLogger implements Logger {
     private final Set<String> messages;
@@ -35,4 +36,20 @@ public final class UniqueWarningLogger implements Logger {
         }
         return this;
     }
+
+    @Override
+    public boolean isEnabled(Level level) {
+        return logger.isEnabled(level);
+    }
+
+    @Override
+    public Logger write(Level level, Supplier<String> message) {
+        if (logger.isEnabled(level)) {
+            final String str = message.get();
+            if (messages.add(str)) {
+                logger.write(level, "%s", str);
+            }
+        }
+        return this;
+    }
 }
@@ -0,0 +1,57 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.common.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counter of events, e.g., solver calls or cache hits. Updates are striped, so concurrent increments do not contend.
+ */
+public final class Counter extends Metric {
+
+    private final LongAdder value = new LongAdder();
+
+    Counter(final String name) {
+        super(name);
+    }
+
+    public void increment() {
+        value.increment();
+    }
+
+    public void add(final long n) {
+        value.add(n);
+    }
+
+    public long get() {
+        return value.sum();
+    }
+
+    @Override
+    void reset() {
+        value.reset();
+    }
+
+    @Override
+    void appendJson(final StringBuilder sb) {
+        sb.append(get());
+    }
+
+    @Override
+    public String toString() {
+        return getName() + "=" + get();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.common.metrics;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Distribution of non-negative values (e.g., the size of a trace or the number of successors) in logarithmic buckets:
+ * bucket i counts the values of bit length i, i.e., the ones in [2^(i-1), 2^i - 1].
+ */
+public final class Histogram extends Metric {
+
+    private static final int BUCKETS = Long.SIZE;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Long::max, 0);
+
+    Histogram(final String name) {
+        super(name);
+    }
+
+    public void record(final long value) {
+        final long v = Math.max(value, 0);
+        buckets.incrementAndGet(Long.SIZE - Long.numberOfLeadingZeros(v));
+        count.increment();
+        sum.add(v);
+        max.accumulate(v);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSum() {
+        return sum.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    @Override
+    void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        sum.reset();
+        max.reset();
+    }
+
+    @Override
+    void appendJson(final StringBuilder sb) {
+        final long n = getCount();
+        sb.append("{\"count\": ").append(n);
+        sb.append(", \"sum\": ").append(getSum());
+        sb.append(", \"max\": ").append(getMax());
+        sb.append(", \"mean\": ").append(String.format(Locale.ROOT, "%.3f", n == 0 ? 0.0 : (double) getSum() / n));
+        appendBucketsJson(sb, "buckets");
+        sb.append("}");
+    }
+
+    void appendBucketsJson(final StringBuilder sb, final String key) {
+        sb.append(", \"").append(key).append("\": {");
+        boolean first = true;
+        for (int i = 0; i < BUCKETS; i++) {
+            final long c = buckets.get(i);
+            if (c > 0) {
+                if (!first) {
+                    sb.append(", ");
+                }
+                first = false;
+                final long upperBound = (1L << i) - 1;
+                sb.append("\"<=").append(upperBound).append("\": ").append(c);
+            }
+        }
+        sb.append("}");
+    }
+
+    @Override
+    public String toString() {
+        return getName() + "=" + getCount() + "/" + getSum() + "/" + getMax();
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.common.metrics;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Registry of low-overhead metrics of the hot paths (e.g., solver calls, transfer function evaluations or coverage
+ * checks), complementing the per-algorithm {@code Statistics}. Metrics are created on first use, shared by the whole
+ * JVM and are meant to be kept in static final fields of the instrumented classes. Consequently, the values aggregate
+ * every run of the JVM: concurrent runs (e.g., jobs of a server) cannot be told apart, and sequential ones only by
+ * calling {@link #reset()} in between.
+ * Updates are lock-free and striped, so the metrics can stay enabled in production. The values can be exported as
+ * JSON, and timers can also emit JFR events (enabled by the {@code theta.metrics.jfr} system property or
+ * {@link #setJfrEnabled(boolean)}).
+ */
+public final class Metrics {
+
+    private static final Map<String, Metric> METRICS = new ConcurrentSkipListMap<>();
+    private static volatile boolean jfrEnabled = Boolean.getBoolean("theta.metrics.jfr");
+
+    private Metrics() {
+    }
+
+    public static Counter counter(final String name) {
+        return get(name, Counter.class, Counter::new);
+    }
+
+    public static Timer timer(final String name) {
+        return get(name, Timer.class, Timer::new);
+    }
+
+    public static Histogram histogram(final String name) {
+        return get(name, Histogram.class, Histogram::new);
+    }
+
+    private static <M extends Metric> M get(final String name, final Class<M> type,
+                                            final Function<String, M> factory) {
+        checkNotNull(name);
+        final Metric metric = METRICS.computeIfAbsent(name, factory);
+        checkArgument(type.isInstance(metric), "Metric %s is not a %s", name, type.getSimpleName());
+        return type.cast(metric);
+    }
+
+    public static boolean isJfrEnabled() {
+        return jfrEnabled;
+    }
+
+    public static void setJfrEnabled(final boolean enabled) {
+        jfrEnabled = enabled;
+    }
+
+    /**
+     * Resets all metrics to zero (the metrics themselves remain registered).
+     */
+    public static void reset() {
+        METRICS.values().forEach(Metric::reset);
+    }
+
+    /**
+     * Returns the current values of all metrics as a JSON object, keyed (and sorted) by name.
+     */
+    public static String toJson() {
+        final StringBuilder sb = new StringBuilder("{");
+        boolean first = true;
+        for (final Metric metric : METRICS.values()) {
+            sb.append(first ? "" : ",").append(System.lineSeparator());
+            first = false;
+            sb.append("  \"").append(metric.getName().replace("\"", "\\\"")).append("\": ");
+            metric.appendJson(sb);
+        }
+        sb.append(System.lineSeparator()).append("}");
+        return sb.toString();
+    }
+
+    public static void writeJson(final File file) throws IOException {
+        try (PrintWriter writer = new PrintWriter(file, StandardCharsets.UTF_8)) {
+            writer.println(toJson());
+        }
+    }
+
+}
@@ -0,0 +1,109 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.common.metrics;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures the number and the duration of calls, e.g., of solver checks. The distribution of the durations is kept in
+ * microseconds (see {@link Histogram}). If enabled in {@link Metrics}, every measurement is also emitted as a JFR
+ * event. Typical usage:
+ * <pre>{@code
+ * try (Timer.Context time = TIMER.time()) {
+ *     ...
+ * }
+ * }</pre>
+ */
+public final class Timer extends Metric {
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+    private final Histogram micros;
+
+    Timer(final String name) {
+        super(name);
+        this.micros = new Histogram(name);
+    }
+
+    /**
+     * Starts a measurement that is recorded when the returned context is closed.
+     */
+    public Context time() {
+        return new Context(System.nanoTime());
+    }
+
+    public void record(final long nanos) {
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+        micros.record(TimeUnit.NANOSECONDS.toMicros(nanos));
+        if (Metrics.isJfrEnabled()) {
+            TimerEvent.emit(getName(), nanos);
+        }
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    @Override
+    void reset() {
+        count.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+        micros.reset();
+    }
+
+    @Override
+    void appendJson(final StringBuilder sb) {
+        sb.append("{\"count\": ").append(getCount());
+        sb.append(", \"totalMs\": ").append(String.format(Locale.ROOT, "%.3f", getTotalNanos() / 1e6));
+        sb.append(", \"maxMs\": ").append(String.format(Locale.ROOT, "%.3f", getMaxNanos() / 1e6));
+        micros.appendBucketsJson(sb, "bucketsUs");
+        sb.append("}");
+    }
+
+    @Override
+    public String toString() {
+        return getName() + "=" + getCount() + "/" + TimeUnit.NANOSECONDS.toMillis(getTotalNanos()) + "ms";
+    }
+
+    public final class Context implements AutoCloseable {
+
+        private final long start;
+
+        private Context(final long start) {
+            this.start = start;
+        }
+
+        @Override
+        public void close() {
+            record(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.common.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event of a single {@link Timer} measurement.
+ */
+@Name("hu.bme.mit.theta.Timer")
+@Label("Theta Timer")
+@Category("Theta")
+@StackTrace(false)
+final class TimerEvent extends Event {
+
+    @Label("Metric")
+    String metric;
+
+    @Label("Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    long nanos;
+
+    static void emit(final String metric, final long nanos) {
+        final TimerEvent event = new TimerEvent();
+        if (event.isEnabled()) {
+            event.metric = metric;
+            event.nanos = nanos;
+            event.commit();
+        }
+    }
+}
@@ -15,6 +15,8 @@
  */
 package hu.bme.mit.theta.common.visualization.writer;
 
+import hu.bme.mit.theta.common.RunLocal;
+
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.PrintWriter;
@@ -22,8 +24,9 @@ import java.util.ArrayList;
 
 // TODO refactor and enhance this class and related features?
 public class WebDebuggerLogger {
-    private static final WebDebuggerLogger instance = new WebDebuggerLogger();
-    private static Boolean enabled = false;
+    // Both are local to the current run, so that concurrent runs in the same JVM log separately
+    private static final RunLocal<WebDebuggerLogger> instance = RunLocal.withInitial(WebDebuggerLogger::new);
+    private static final RunLocal<Boolean> enabled = RunLocal.withInitial(() -> false);
 
     private final ArrayList<String> iterations = new ArrayList<String>();
     private final ArrayList<String> traces = new ArrayList<String>();
@@ -33,19 +36,19 @@ public class WebDebuggerLogger {
     }
 
     public static void enableWebDebuggerLogger() {
-        enabled = true;
+        enabled.set(true);
     }
 
     public static Boolean enabled() {
-        return enabled;
+        return enabled.get();
     }
 
     public static WebDebuggerLogger getInstance() {
-        return instance;
+        return instance.get();
     }
 
     public void addIteration(int iteration, String arg, String prec) {
-        if (enabled) {
+        if (enabled.get()) {
             StringBuilder sb = new StringBuilder();
             sb.append("{").append(System.lineSeparator()).append("\"iteration\": ").append(iteration).append(",");
             sb.append("\"arg\": ").append(arg).append(",");
@@ -83,7 +86,7 @@ public class WebDebuggerLogger {
     }
 
     public void writeToFile(String fileName) {
-        if (enabled) {
+        if (enabled.get()) {
             String content = getFileContent();
 
             final File file = new File(fileName);
@@ -0,0 +1,94 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.common;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public final class RunLocalTest {
+
+    private static final int RUNS = 8;
+
+    @Test
+    public void testConcurrentRuns() throws Exception {
+        final RunLocal<Integer> level = RunLocal.withInitial(() -> -1);
+        final CyclicBarrier barrier = new CyclicBarrier(RUNS);
+        final int[] seen = new int[RUNS];
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        final List<Thread> runs = new ArrayList<>();
+        for (int i = 0; i < RUNS; i++) {
+            final int run = i;
+            runs.add(new Thread(() -> {
+                try {
+                    level.set(run);
+                    barrier.await(); // every run has set its value before any of them reads
+                    seen[run] = level.get();
+                } catch (final Throwable t) {
+                    failure.compareAndSet(null, t);
+                }
+            }));
+        }
+        runs.forEach(Thread::start);
+        for (final Thread run : runs) {
+            run.join();
+        }
+
+        assertNull(failure.get());
+        for (int i = 0; i < RUNS; i++) {
+            assertEquals(i, seen[i]);
+        }
+        assertEquals(-1, (int) level.get());
+    }
+
+    @Test
+    public void testInheritedByStartedThreads() throws Exception {
+        final RunLocal<String> name = RunLocal.withInitial(() -> "initial");
+        final AtomicReference<String> seen = new AtomicReference<>();
+
+        final Thread run = new Thread(() -> {
+            name.set("run");
+            final Thread worker = new Thread(() -> seen.set(name.get()));
+            worker.start();
+            try {
+                worker.join();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        run.start();
+        run.join();
+
+        assertEquals("run", seen.get());
+        assertEquals("initial", name.get());
+    }
+
+    @Test
+    public void testReset() {
+        final RunLocal<String> name = RunLocal.withInitial(() -> "initial");
+        name.set("run");
+        assertEquals("run", name.get());
+        name.reset();
+        assertEquals("initial", name.get());
+    }
+}
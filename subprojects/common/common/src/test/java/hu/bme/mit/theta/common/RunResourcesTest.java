@@ -0,0 +1,91 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.common;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public final class RunResourcesTest {
+
+    private static final class Counted implements AutoCloseable {
+        private final AtomicInteger closed;
+
+        private Counted(final AtomicInteger closed) {
+            this.closed = closed;
+        }
+
+        @Override
+        public void close() {
+            closed.incrementAndGet();
+        }
+    }
+
+    @Test
+    public void testPerThreadClosedWithRun() throws Exception {
+        final AtomicInteger created = new AtomicInteger();
+        final AtomicInteger closed = new AtomicInteger();
+        final Supplier<Counted> resource = RunResources.perThread(() -> {
+            created.incrementAndGet();
+            return new Counted(closed);
+        });
+        final AtomicReference<Counted> inRun = new AtomicReference<>();
+        final AtomicReference<Counted> inWorker = new AtomicReference<>();
+
+        final Thread run = new Thread(() -> {
+            RunResources.begin();
+            inRun.set(resource.get());
+            assertSame(inRun.get(), resource.get());
+            final Thread worker = new Thread(() -> inWorker.set(resource.get()));
+            worker.start();
+            try {
+                worker.join();
+                RunResources.closeAll();
+            } catch (final Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        run.start();
+        run.join();
+
+        assertEquals(2, created.get());
+        assertNotSame(inRun.get(), inWorker.get());
+        assertEquals(2, closed.get());
+    }
+
+    @Test
+    public void testNewRunCreatesNewResource() throws Exception {
+        final AtomicInteger closed = new AtomicInteger();
+        final Supplier<Counted> resource = RunResources.perThread(() -> new Counted(closed));
+
+        RunResources.begin();
+        final Counted first = resource.get();
+        RunResources.closeAll();
+        assertEquals(1, closed.get());
+
+        RunResources.begin();
+        final Counted second = resource.get();
+        assertNotSame(first, second);
+        RunResources.closeAll();
+        assertEquals(2, closed.get());
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.common.container;
+
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public final class PersistentArrayMapTest {
+
+    @Test
+    public void testUpdatesDoNotModifyOriginal() {
+        final PersistentArrayMap<String, Integer> m0 = PersistentArrayMap.empty();
+        final PersistentArrayMap<String, Integer> m1 = m0.with("a", 1).with("b", 2);
+        final PersistentArrayMap<String, Integer> m2 = m1.with("a", 3).without("b");
+
+        assertTrue(m0.isEmpty());
+        assertEquals(Map.of("a", 1, "b", 2), m1);
+        assertEquals(Map.of("a", 3), m2);
+        assertSame(m1, m1.with("a", 1));
+        assertSame(m1, m1.without("c"));
+        assertSame(m1, m1.without("a", 2));
+        assertEquals(Map.of("b", 2), m1.without("a", 1));
+    }
+
+    @Test
+    public void testEqualsAndHashCodeAgreeWithMap() {
+        final Map<String, Integer> expected = new LinkedHashMap<>();
+        expected.put("x", 1);
+        expected.put("y", 2);
+        final PersistentArrayMap<String, Integer> actual = PersistentArrayMap.<String, Integer>empty()
+                .with("y", 2).with("x", 1);
+
+        assertEquals(expected, actual);
+        assertEquals(actual, expected);
+        assertEquals(expected.hashCode(), actual.hashCode());
+        assertEquals(actual, PersistentArrayMap.copyOf(expected));
+        assertFalse(actual.equals(actual.with("x", 5)));
+    }
+
+    @Test
+    public void testInsertionOrder() {
+        final PersistentArrayMap<Integer, String> m = PersistentArrayMap.<Integer, String>empty()
+                .with(3, "c").with(1, "a").with(2, "b").with(3, "d");
+        assertEquals(List.of(3, 1, 2), List.copyOf(m.keySet()));
+        assertEquals(List.of("d", "a", "b"), List.copyOf(m.values()));
+    }
+
+}
@@ -94,6 +94,26 @@ public final class DatalogJavaTest {
         assertEquals(45 + 105 + 15 + 1, successor.getElements().size());
     }
 
+    @Test
+    public void testTransitiveWithPushPop() {
+        final Datalog.Relation path = datalog.createTransitive("path", edge);
+        List<Node> nodes = new ArrayList<>();
+        for (int i = 0; i < 50; ++i) {
+            nodes.add(new Node('C', i));
+            if (i > 0) {
+                edge.addFact(TupleN.of(nodes.get(i - 1), nodes.get(i)));
+            }
+        }
+        assertEquals(49 * 50 / 2, path.getElements().size());
+        datalog.push();
+        edge.addFact(TupleN.of(nodes.get(49), nodes.get(0)));
+        assertEquals(50 * 50, path.getElements().size());
+        assertEquals(50, successor.getElements().stream().filter(t -> t.get(0) == t.get(1)).count());
+        datalog.pop();
+        assertEquals(49 * 50 / 2, path.getElements().size());
+        assertEquals(49 * 50 / 2, successor.getElements().size());
+    }
+
     private static class Node implements DatalogArgument {
 
         private final int i;
@@ -0,0 +1,88 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.common.logging;
+
+import hu.bme.mit.theta.common.logging.Logger.Level;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public final class LoggerTest {
+
+    private static final class ListLogger extends BaseLogger {
+
+        private final List<String> entries = new ArrayList<>();
+
+        private ListLogger(final Level minLevel) {
+            super(minLevel);
+        }
+
+        @Override
+        protected void writeStr(final String str) {
+            entries.add(str);
+        }
+    }
+
+    @Test
+    public void testSupplierOnlyCalledIfEnabled() {
+        final ListLogger logger = new ListLogger(Level.SUBSTEP);
+        final int[] calls = {0};
+        final Supplier<String> message = () -> {
+            calls[0]++;
+            return "100% done";
+        };
+
+        assertTrue(logger.isEnabled(Level.MAINSTEP));
+        assertFalse(logger.isEnabled(Level.DETAIL));
+
+        logger.write(Level.DETAIL, message);
+        assertEquals(0, calls[0]);
+
+        logger.write(Level.SUBSTEP, message);
+        assertEquals(1, calls[0]);
+        assertEquals(List.of("100% done"), logger.entries);
+    }
+
+    @Test
+    public void testNullLogger() {
+        final Logger logger = NullLogger.getInstance();
+        assertFalse(logger.isEnabled(Level.RESULT));
+        logger.write(Level.RESULT, () -> {
+            throw new AssertionError("Supplier must not be called");
+        });
+    }
+
+    @Test
+    public void testUniqueWarningLogger() {
+        final ListLogger inner = new ListLogger(Level.INFO);
+        final Logger logger = new UniqueWarningLogger(inner);
+
+        logger.write(Level.INFO, () -> "a");
+        logger.write(Level.INFO, () -> "b");
+        logger.write(Level.INFO, () -> "a");
+        logger.write(Level.DETAIL, () -> "c");
+
+        assertFalse(logger.isEnabled(Level.DETAIL));
+        assertEquals(List.of("a", "b"), inner.entries);
+    }
+
+}
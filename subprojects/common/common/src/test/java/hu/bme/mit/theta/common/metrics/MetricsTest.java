@@ -0,0 +1,74 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.common.metrics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public final class MetricsTest {
+
+    @Test
+    public void testMetricsAreRegisteredOnce() {
+        final Counter counter = Metrics.counter("test.registered");
+        assertSame(counter, Metrics.counter("test.registered"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMetricTypeMismatch() {
+        Metrics.counter("test.mismatch");
+        Metrics.timer("test.mismatch");
+    }
+
+    @Test
+    public void testCounterAndHistogram() {
+        final Counter counter = Metrics.counter("test.counter");
+        final Histogram histogram = Metrics.histogram("test.histogram");
+        counter.reset();
+        histogram.reset();
+
+        counter.increment();
+        counter.add(4);
+        for (int i = 0; i < 8; i++) {
+            histogram.record(i);
+        }
+
+        assertEquals(5, counter.get());
+        assertEquals(8, histogram.getCount());
+        assertEquals(28, histogram.getSum());
+        assertEquals(7, histogram.getMax());
+        final String json = Metrics.toJson();
+        assertTrue(json.contains("\"test.counter\": 5"));
+        assertTrue(json.contains("\"buckets\": {\"<=0\": 1, \"<=1\": 1, \"<=3\": 2, \"<=7\": 4}"));
+    }
+
+    @Test
+    public void testTimer() {
+        final Timer timer = Metrics.timer("test.timer");
+        timer.reset();
+
+        try (Timer.Context ignored = timer.time()) {
+            assertEquals(0, timer.getCount());
+        }
+        timer.record(2_000_000);
+
+        assertEquals(2, timer.getCount());
+        assertTrue(timer.getTotalNanos() >= 2_000_000);
+        assertTrue(timer.getMaxNanos() >= 2_000_000);
+    }
+}
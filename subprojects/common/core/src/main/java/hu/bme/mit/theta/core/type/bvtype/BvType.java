@@ -69,6 +69,13 @@ public class BvType implements Additive<BvType>, Multiplicative<BvType>, Divisib
         return signed;
     }
 
+    /**
+     * Returns the signedness of the type, or null if the type is neutral.
+     */
+    public Boolean getSignedness() {
+        return signed;
+    }
+
     @Override
     public EqExpr<BvType> Eq(Expr<BvType> leftOp, Expr<BvType> rightOp) {
         return BvEqExpr.of(leftOp, rightOp);
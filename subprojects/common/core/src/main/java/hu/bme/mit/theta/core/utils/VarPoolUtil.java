@@ -31,7 +31,7 @@ public class VarPoolUtil {
     private final static ArrayDeque<VarDecl<IntType>> intPool = new ArrayDeque<VarDecl<IntType>>();
     private static int counter = 0;
 
-    public static VarDecl<IntType> requestInt() {
+    public static synchronized VarDecl<IntType> requestInt() {
         if (intPool.isEmpty()) {
             return Decls.Var("__temp_" + counter++, Int());
         } else {
@@ -39,7 +39,7 @@ public class VarPoolUtil {
         }
     }
 
-    public static void returnInt(VarDecl<IntType> var) {
+    public static synchronized void returnInt(VarDecl<IntType> var) {
         if (!intPool.contains(var)) {
             intPool.addFirst(var);
         }
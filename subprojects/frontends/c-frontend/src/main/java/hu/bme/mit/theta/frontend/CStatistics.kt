@@ -23,6 +23,7 @@ import hu.bme.mit.theta.frontend.transformation.model.statements.*
 data class CStatistics(
     val globalDeclarations: Int,
     val functions: Collection<CFunctionStatistics>,
+    val skippedFunctions: Int = 0,
 )
 
 data class CFunctionStatistics(
@@ -43,7 +44,8 @@ fun CProgram.getStatistics(): CStatistics {
                 deepestLoop = deepestLoop,
                 linear = linear
             )
-        }
+        },
+        skippedFunctions = skippedFunctions.size
     )
 }
 
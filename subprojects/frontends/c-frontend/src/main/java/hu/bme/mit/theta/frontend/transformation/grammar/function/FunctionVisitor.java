@@ -179,6 +179,7 @@ public class FunctionVisitor extends CBaseVisitor<CStatement> {
         }
 
         CProgram program = new CProgram(parseContext);
+        program.getSkippedFunctions().addAll(globalDeclUsageVisitor.getSkippedFunctions());
         for (CParser.ExternalDeclarationContext externalDeclarationContext : globalUsages) {
             CStatement accept = externalDeclarationContext.accept(this);
             if (accept instanceof CFunction) {
@@ -22,18 +22,24 @@ import hu.bme.mit.theta.common.Tuple2;
 import hu.bme.mit.theta.frontend.transformation.grammar.type.DeclarationVisitor;
 import hu.bme.mit.theta.frontend.transformation.model.declaration.CDeclaration;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkState;
 
+/**
+ * Collects the global declarations and function definitions reachable from the main function, based on the identifiers
+ * used in them. This includes functions only referenced by name, e.g., the ones passed to pthread_create. Functions
+ * not reachable this way are skipped by the frontend altogether.
+ */
 public class GlobalDeclUsageVisitor extends CBaseVisitor<List<CDeclaration>> {
     private final DeclarationVisitor declarationVisitor;
 
@@ -45,13 +51,24 @@ public class GlobalDeclUsageVisitor extends CBaseVisitor<List<CDeclaration>> {
     public void clear() {
         globalUsages.clear();
         usedContexts.clear();
+        contextPositions.clear();
+        definedFunctions.clear();
+        skippedFunctions.clear();
         current = null;
     }
 
     private final Map<String, Set<String>> globalUsages = new LinkedHashMap<>();
     private final List<Tuple2<String, CParser.ExternalDeclarationContext>> usedContexts = new ArrayList<>();
+    private final Map<String, List<Integer>> contextPositions = new HashMap<>();
+    private final Set<String> definedFunctions = new LinkedHashSet<>();
+    private final Set<String> skippedFunctions = new LinkedHashSet<>();
     private String current;
 
+    private void addContext(String name, CParser.ExternalDeclarationContext ctx) {
+        contextPositions.computeIfAbsent(name, n -> new ArrayList<>()).add(usedContexts.size());
+        usedContexts.add(Tuple2.of(name, ctx));
+    }
+
     @Override
     public List<CDeclaration> visitGlobalDeclaration(CParser.GlobalDeclarationContext ctx) {
         List<CDeclaration> declarations = declarationVisitor.getDeclarations(ctx.declaration().declarationSpecifiers(), ctx.declaration().initDeclaratorList(), false);
@@ -59,10 +76,12 @@ public class GlobalDeclUsageVisitor extends CBaseVisitor<List<CDeclaration>> {
             if (!declaration.getType().isTypedef()) {
                 globalUsages.remove(declaration.getName());
                 globalUsages.put(declaration.getName(), new LinkedHashSet<>());
-                if (usedContexts.stream().anyMatch(c -> Objects.equals(c.get1(), declaration.getName()))) {
-                    usedContexts.replaceAll(c -> Objects.equals(c.get1(), declaration.getName()) ? Tuple2.of(declaration.getName(), ctx) : c); // keep the order, but overwrite the context
+                if (contextPositions.containsKey(declaration.getName())) {
+                    for (int position : contextPositions.get(declaration.getName())) { // keep the order, but overwrite the context
+                        usedContexts.set(position, Tuple2.of(declaration.getName(), ctx));
+                    }
                 } else {
-                    usedContexts.add(Tuple2.of(declaration.getName(), ctx));
+                    addContext(declaration.getName(), ctx);
                 }
                 current = declaration.getName();
                 super.visitGlobalDeclaration(ctx);
@@ -76,7 +95,8 @@ public class GlobalDeclUsageVisitor extends CBaseVisitor<List<CDeclaration>> {
     public List<CDeclaration> visitExternalFunctionDefinition(CParser.ExternalFunctionDefinitionContext ctx) {
         CDeclaration funcDecl = ctx.functionDefinition().declarator().accept(declarationVisitor);
         globalUsages.put(funcDecl.getName(), new LinkedHashSet<>());
-        usedContexts.add(Tuple2.of(funcDecl.getName(), ctx));
+        definedFunctions.add(funcDecl.getName());
+        addContext(funcDecl.getName(), ctx);
         current = funcDecl.getName();
         super.visitExternalFunctionDefinition(ctx);
         current = null;
@@ -89,9 +109,16 @@ public class GlobalDeclUsageVisitor extends CBaseVisitor<List<CDeclaration>> {
         return null;
     }
 
+    /**
+     * Returns the names of the function definitions that were not reachable from the main function in the last call
+     * to getGlobalUsages.
+     */
+    public Set<String> getSkippedFunctions() {
+        return skippedFunctions;
+    }
+
     public List<CParser.ExternalDeclarationContext> getGlobalUsages(CParser.CompilationUnitContext ctx) {
-        globalUsages.clear();
-        usedContexts.clear();
+        clear();
         for (CParser.ExternalDeclarationContext externalDeclarationContext : ctx.translationUnit().externalDeclaration()) {
             try {
                 externalDeclarationContext.accept(this);
@@ -101,16 +128,18 @@ public class GlobalDeclUsageVisitor extends CBaseVisitor<List<CDeclaration>> {
         }
         checkState(globalUsages.containsKey("main"), "Main function not found!");
         Set<String> ret = new LinkedHashSet<>();
-        Set<String> remaining = new LinkedHashSet<>();
-        remaining.add("main");
+        Deque<String> remaining = new ArrayDeque<>();
+        ret.add("main");
+        remaining.push("main");
         while (!remaining.isEmpty()) {
-            Optional<String> remOpt = remaining.stream().findAny();
-            String rem = remOpt.get();
-            ret.add(rem);
-            Set<String> toAdd = globalUsages.get(rem).stream().filter(globalUsages::containsKey).collect(Collectors.toSet());
-            remaining.addAll(toAdd);
-            remaining.removeAll(ret);
+            String rem = remaining.pop();
+            for (String used : globalUsages.get(rem)) {
+                if (globalUsages.containsKey(used) && ret.add(used)) {
+                    remaining.push(used);
+                }
+            }
         }
+        definedFunctions.stream().filter(name -> !ret.contains(name)).forEach(skippedFunctions::add);
         return usedContexts.stream().filter(objects -> ret.contains(objects.get1())).map(Tuple2::get2).distinct().collect(Collectors.toList());
     }
 }
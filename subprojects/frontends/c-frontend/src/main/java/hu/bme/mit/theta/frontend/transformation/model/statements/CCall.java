@@ -38,7 +38,7 @@ public class CCall extends CStatement {
         this.params = params;
         Optional<Object> cTypeOpt = parseContext.getMetadata().getMetadataValue(functionId, "cType");
         CComplexType type = (CComplexType) cTypeOpt.orElseGet(() -> new CSignedInt(null, parseContext));
-        ret = Var("call_" + functionId + "_ret" + counter++, type.getSmtType());
+        ret = Var("call_" + functionId + "_ret" + counter.getAndIncrement(), type.getSmtType());
         parseContext.getMetadata().create(ret.getRef(), "cType", type);
     }
 
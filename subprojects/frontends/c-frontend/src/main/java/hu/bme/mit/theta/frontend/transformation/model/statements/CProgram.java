@@ -22,17 +22,21 @@ import hu.bme.mit.theta.frontend.ParseContext;
 import hu.bme.mit.theta.frontend.transformation.model.declaration.CDeclaration;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 public class CProgram extends CStatement {
 
     private final List<CFunction> functions;
     private final List<Tuple2<CDeclaration, VarDecl<?>>> globalDeclarations;
+    private final Set<String> skippedFunctions;
 
     public CProgram(ParseContext parseContext) {
         super(parseContext);
         this.functions = new ArrayList<>();
         this.globalDeclarations = new ArrayList<>();
+        this.skippedFunctions = new LinkedHashSet<>();
     }
 
     public List<Tuple2<CDeclaration, VarDecl<?>>> getGlobalDeclarations() {
@@ -43,6 +47,14 @@ public class CProgram extends CStatement {
         return functions;
     }
 
+    /**
+     * Returns the names of the functions that were defined in the source, but were not translated, as they are not
+     * reachable from the entry point.
+     */
+    public Set<String> getSkippedFunctions() {
+        return skippedFunctions;
+    }
+
     @Override
     public <P, R> R accept(CStatementVisitor<P, R> visitor, P param) {
         return visitor.visit(this, param);
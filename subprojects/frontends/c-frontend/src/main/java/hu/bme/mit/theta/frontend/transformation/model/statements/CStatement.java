@@ -19,6 +19,8 @@ package hu.bme.mit.theta.frontend.transformation.model.statements;
 import hu.bme.mit.theta.core.type.Expr;
 import hu.bme.mit.theta.frontend.ParseContext;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Every Program, Function and Statement is a subclass of this base class.
  * Any CStatement might have an id associated with it, in case there was a label in the source code. This also provides
@@ -27,7 +29,7 @@ import hu.bme.mit.theta.frontend.ParseContext;
 public abstract class CStatement {
     protected final ParseContext parseContext;
     private String id;
-    protected static int counter = 0;
+    protected static final AtomicInteger counter = new AtomicInteger();
     protected CStatement preStatements;
     protected CStatement postStatements;
 
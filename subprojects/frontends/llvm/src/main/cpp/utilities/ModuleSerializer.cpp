@@ -0,0 +1,93 @@
+//
+// Serializes the parsed module into a single binary buffer, so that the Java side can fetch it with one JNI call
+//
+
+#include "ModuleSerializer.h"
+#include <cstring>
+
+std::vector<uint8_t> ModuleSerializer::buffer;
+
+int32_t ModuleSerializer::intern(const std::string &str) {
+    auto it = stringIndices.find(str);
+    if (it != stringIndices.end()) {
+        return it->second;
+    }
+    int32_t index = strings.size();
+    strings.push_back(str);
+    stringIndices[str] = index;
+    return index;
+}
+
+void ModuleSerializer::write(int32_t value) {
+    size_t offset = buffer.size();
+    buffer.resize(offset + sizeof(int32_t));
+    std::memcpy(buffer.data() + offset, &value, sizeof(int32_t));
+}
+
+std::vector<uint8_t> &ModuleSerializer::serialize(Module &module) {
+    ModuleSerializer serializer;
+
+    serializer.add(module.getNumOfGlobalVariables());
+    for (int g = 0; g < module.getNumOfGlobalVariables(); g++) {
+        std::shared_ptr <GlobalVariable> globalVariable = module.getGlobalVariable(g);
+        serializer.addString(globalVariable->getName());
+        serializer.addString(globalVariable->getType());
+        serializer.addString(globalVariable->getInitialValue());
+    }
+
+    serializer.add(module.getNumOfFunctions());
+    for (int f = 0; f < module.getNumOfFunctions(); f++) {
+        std::shared_ptr <Function> function = module.getFunction(f);
+        serializer.addString(function->getName());
+        serializer.addString(function->getReturnType());
+        serializer.add(function->getNumOfParameters());
+        for (int p = 0; p < function->getNumOfParameters(); p++) {
+            serializer.addString(function->getParameter(p)->getType());
+            serializer.addString(function->getParameter(p)->getName());
+        }
+        serializer.add(function->getNumOfBasicBlocks());
+        for (int b = 0; b < function->getNumOfBasicBlocks(); b++) {
+            std::shared_ptr <BasicBlock> basicBlock = function->getBasicBlock(b);
+            serializer.addString(basicBlock->getName());
+            serializer.add(basicBlock->getNumOfInstructions());
+            for (int i = 0; i < basicBlock->getNumOfInstructions(); i++) {
+                std::shared_ptr <Instruction> instruction = basicBlock->getInstruction(i);
+                std::shared_ptr <Register> reg = instruction->getRetVariable();
+                serializer.addString(instruction->getOpname());
+                serializer.addString(reg ? reg->getType() : "");
+                serializer.addString(reg ? reg->getName() : "");
+                serializer.add(instruction->getLineNumber());
+                serializer.add(instruction->getNumOfOperands());
+                for (int o = 0; o < instruction->getNumOfOperands(); o++) {
+                    // only registers will return a proper type, all others return constant
+                    serializer.addString(instruction->getOperand(o)->getType());
+                    serializer.addString(instruction->getOperand(o)->getName());
+                }
+            }
+        }
+    }
+
+    size_t stringBytes = 0;
+    for (const std::string &str : serializer.strings) {
+        stringBytes += str.size();
+    }
+    buffer.clear();
+    buffer.reserve(sizeof(int32_t) * (3 + serializer.strings.size() + serializer.records.size()) + stringBytes);
+
+    write(MAGIC);
+    write(VERSION);
+    write(serializer.strings.size());
+    for (const std::string &str : serializer.strings) {
+        write(str.size());
+        buffer.insert(buffer.end(), str.begin(), str.end());
+    }
+    size_t offset = buffer.size();
+    buffer.resize(offset + sizeof(int32_t) * serializer.records.size());
+    std::memcpy(buffer.data() + offset, serializer.records.data(), sizeof(int32_t) * serializer.records.size());
+
+    return buffer;
+}
+
+void ModuleSerializer::release() {
+    std::vector<uint8_t>().swap(buffer);
+}
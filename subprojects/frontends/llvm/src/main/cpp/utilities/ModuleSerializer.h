@@ -0,0 +1,50 @@
+//
+// Serializes the parsed module into a single binary buffer, so that the Java side can fetch it with one JNI call
+//
+
+#ifndef THETA_C_FRONTEND_MODULESERIALIZER_H
+#define THETA_C_FRONTEND_MODULESERIALIZER_H
+
+#include <cstdint>
+#include <string>
+#include <unordered_map>
+#include <vector>
+#include "../types/Module.h"
+
+// Layout of the buffer (every number is a 32-bit integer in native byte order, every string is an index into the
+// string table):
+//   header:       magic, version
+//   string table: count, then for every string: length in bytes, UTF-8 bytes
+//   globals:      count, then for every global: name, type, initial value
+//   functions:    count, then for every function:
+//                   name, return type, parameter count, then for every parameter: type, name
+//                   block count, then for every block:
+//                     name, instruction count, then for every instruction:
+//                       opcode, return type, return name, line number, operand count,
+//                       then for every operand: type, name
+// The string table is written first, so the Java side can decode it before the records referring to it.
+class ModuleSerializer {
+private:
+    static std::vector<uint8_t> buffer;
+
+    std::vector<std::string> strings;
+    std::unordered_map<std::string, int32_t> stringIndices;
+    std::vector<int32_t> records;
+
+    int32_t intern(const std::string &str);
+    void add(int32_t value) { records.push_back(value); }
+    void addString(const std::string &str) { records.push_back(intern(str)); }
+    static void write(int32_t value);
+
+public:
+    static const int32_t MAGIC = 0x54484c49; // "THLI"
+    static const int32_t VERSION = 1;
+
+    // Serializes the module into the static buffer and returns it. The buffer stays valid until the next call to
+    // serialize or release.
+    static std::vector<uint8_t> &serialize(Module &module);
+    static void release();
+};
+
+
+#endif //THETA_C_FRONTEND_MODULESERIALIZER_H
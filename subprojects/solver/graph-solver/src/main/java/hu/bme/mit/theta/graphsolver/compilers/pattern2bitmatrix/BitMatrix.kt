@@ -0,0 +1,138 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package hu.bme.mit.theta.graphsolver.compilers.pattern2bitmatrix
+
+import java.util.*
+
+/**
+ * Square Boolean matrix over the events 0..size-1, stored as one bitset per row. Operations that return a matrix
+ * allocate a new one; the `InPlace` variants modify the receiver.
+ */
+class BitMatrix private constructor(val size: Int, private val rows: Array<BitSet>) {
+
+    constructor(size: Int) : this(size, Array(size) { BitSet(size) })
+
+    operator fun get(i: Int, j: Int): Boolean = rows[i][j]
+
+    operator fun set(i: Int, j: Int, value: Boolean) = rows[i].set(j, value)
+
+    fun row(i: Int): BitSet = rows[i]
+
+    fun copy(): BitMatrix = BitMatrix(size, Array(size) { rows[it].clone() as BitSet })
+
+    fun isEmpty(): Boolean = rows.all { it.isEmpty }
+
+    fun isSubsetOf(other: BitMatrix): Boolean = rows.indices.all { i ->
+        val diff = rows[i].clone() as BitSet
+        diff.andNot(other.rows[i])
+        diff.isEmpty
+    }
+
+    fun hasDiagonal(): Boolean = rows.indices.any { rows[it][it] }
+
+    fun union(other: BitMatrix): BitMatrix = copy().also { m -> m.rows.forEachIndexed { i, row -> row.or(other.rows[i]) } }
+
+    fun intersection(other: BitMatrix): BitMatrix =
+        copy().also { m -> m.rows.forEachIndexed { i, row -> row.and(other.rows[i]) } }
+
+    fun difference(other: BitMatrix): BitMatrix =
+        copy().also { m -> m.rows.forEachIndexed { i, row -> row.andNot(other.rows[i]) } }
+
+    fun complement(): BitMatrix = copy().also { m -> m.rows.forEach { it.flip(0, size) } }
+
+    fun transpose(): BitMatrix {
+        val ret = BitMatrix(size)
+        rows.forEachIndexed { i, row -> row.stream().forEach { j -> ret.rows[j].set(i) } }
+        return ret
+    }
+
+    /**
+     * Relational composition. Consistently with the SAT encoding, the intermediate event must differ from both ends.
+     */
+    fun compose(other: BitMatrix): BitMatrix {
+        val ret = BitMatrix(size)
+        rows.forEachIndexed { i, row ->
+            row.stream().filter { c -> c != i }.forEach { c ->
+                val contribution = other.rows[c].clone() as BitSet
+                contribution.clear(c)
+                ret.rows[i].or(contribution)
+            }
+        }
+        return ret
+    }
+
+    fun withIdentity(): BitMatrix = copy().also { m -> m.rows.forEachIndexed { i, row -> row.set(i) } }
+
+    /**
+     * Transitive closure (Warshall's algorithm on rows).
+     */
+    fun transitiveClosure(): BitMatrix {
+        val ret = copy()
+        for (k in 0 until size) {
+            for (i in 0 until size) {
+                if (ret.rows[i][k]) ret.rows[i].or(ret.rows[k])
+            }
+        }
+        return ret
+    }
+
+    /**
+     * Updates the receiver, which must be transitively closed, to the transitive closure of itself extended with the
+     * edge (from, to).
+     */
+    fun addEdgeToClosureInPlace(from: Int, to: Int) {
+        if (rows[from][to]) return
+        val reachable = rows[to].clone() as BitSet
+        reachable.set(to)
+        for (i in 0 until size) {
+            if (i == from || rows[i][from]) rows[i].or(reachable)
+        }
+    }
+
+    /**
+     * Returns the edges of the receiver that are not in the other matrix.
+     */
+    fun edgesNotIn(other: BitMatrix): List<Pair<Int, Int>> = rows.indices.flatMap { i ->
+        val diff = rows[i].clone() as BitSet
+        diff.andNot(other.rows[i])
+        diff.stream().toArray().map { j -> Pair(i, j) }
+    }
+
+    fun domain(): BitSet = BitSet(size).also { set -> rows.forEachIndexed { i, row -> if (!row.isEmpty) set.set(i) } }
+
+    fun range(): BitSet = BitSet(size).also { set -> rows.forEach { set.or(it) } }
+
+    override fun equals(other: Any?): Boolean =
+        this === other || (other is BitMatrix && size == other.size && rows.contentEquals(other.rows))
+
+    override fun hashCode(): Int = rows.contentHashCode()
+
+    companion object {
+
+        fun cartesianProduct(size: Int, from: BitSet, to: BitSet): BitMatrix {
+            val ret = BitMatrix(size)
+            from.stream().forEach { ret.rows[it].or(to) }
+            return ret
+        }
+
+        fun diagonal(size: Int, set: BitSet): BitMatrix {
+            val ret = BitMatrix(size)
+            set.stream().forEach { ret.rows[it].set(it) }
+            return ret
+        }
+    }
+}
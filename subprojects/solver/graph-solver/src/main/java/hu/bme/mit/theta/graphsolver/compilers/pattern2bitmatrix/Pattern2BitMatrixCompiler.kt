@@ -0,0 +1,316 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package hu.bme.mit.theta.graphsolver.compilers.pattern2bitmatrix
+
+import hu.bme.mit.theta.common.Tuple
+import hu.bme.mit.theta.common.Tuple1
+import hu.bme.mit.theta.common.Tuple2
+import hu.bme.mit.theta.core.model.Valuation
+import hu.bme.mit.theta.core.type.Expr
+import hu.bme.mit.theta.core.type.booltype.BoolExprs.False
+import hu.bme.mit.theta.core.type.booltype.BoolExprs.True
+import hu.bme.mit.theta.core.type.booltype.BoolType
+import hu.bme.mit.theta.graphsolver.ThreeVL
+import hu.bme.mit.theta.graphsolver.compilers.GraphPatternCompiler
+import hu.bme.mit.theta.graphsolver.patterns.constraints.*
+import hu.bme.mit.theta.graphsolver.patterns.patterns.*
+import java.util.*
+
+/**
+ * Three-valued evaluation of a pattern: `must` holds the tuples that are certainly in it, `may` the ones that are
+ * possibly in it (`must` is a subset of `may`).
+ */
+sealed class ExplicitPattern
+
+data class ExplicitRelation(val must: BitMatrix, val may: BitMatrix) : ExplicitPattern()
+
+data class ExplicitEventSet(val must: BitSet, val may: BitSet) : ExplicitPattern()
+
+/**
+ * Evaluates the patterns directly over bit-matrix relations built from the known facts of the execution graph.
+ * Constraints decided by the explicit evaluation compile to True/False; constraints depending on unknown facts are
+ * handed to the fallback (SAT-based) compiler, which receives the same events and facts. Closures are cached and
+ * updated incrementally when facts are added to their operands (see [BitMatrix.addEdgeToClosureInPlace]).
+ */
+class Pattern2BitMatrixCompiler @JvmOverloads constructor(
+    private val fallback: GraphPatternCompiler<Expr<BoolType>, *>? = null
+) : GraphPatternCompiler<Expr<BoolType>, ExplicitPattern> {
+
+    private val events = ArrayList<Int>()
+    private val eventIndices = LinkedHashMap<Int, Int>()
+    private val facts = LinkedHashMap<Pair<String, Tuple>, ThreeVL>()
+    private val closureCache = IdentityHashMap<EdgePattern, Pair<ExplicitRelation, ExplicitRelation>>()
+    private var usedFallback = false
+
+    private val size get() = events.size
+
+    override fun addEvents(events: List<Int>) {
+        events.forEach { eventIndices.putIfAbsent(it, eventIndices.size) }
+        this.events.clear()
+        this.events.addAll(eventIndices.keys)
+        closureCache.clear()
+        fallback?.addEvents(events)
+    }
+
+    override fun addFacts(edges: Map<Pair<String, Tuple>, ThreeVL>) {
+        facts.putAll(edges)
+        fallback?.addFacts(edges)
+    }
+
+    private fun decide(value: ThreeVL, constraint: GraphConstraint): Expr<BoolType> = when (value) {
+        ThreeVL.TRUE -> True()
+        ThreeVL.FALSE -> False()
+        ThreeVL.UNKNOWN -> {
+            usedFallback = true
+            constraint.accept(checkNotNull(fallback) { "Constraint depends on unknown facts, but no fallback is set" })
+        }
+    }
+
+    private fun ExplicitPattern.asRelation(): ExplicitRelation = this as? ExplicitRelation ?: error("Not a relation")
+    private fun ExplicitPattern.asSet(): ExplicitEventSet = this as? ExplicitEventSet ?: error("Not an event set")
+
+    private fun isEmpty(pattern: ExplicitPattern): ThreeVL = when (pattern) {
+        is ExplicitRelation -> when {
+            pattern.may.isEmpty() -> ThreeVL.TRUE
+            !pattern.must.isEmpty() -> ThreeVL.FALSE
+            else -> ThreeVL.UNKNOWN
+        }
+
+        is ExplicitEventSet -> when {
+            pattern.may.isEmpty -> ThreeVL.TRUE
+            !pattern.must.isEmpty -> ThreeVL.FALSE
+            else -> ThreeVL.UNKNOWN
+        }
+    }
+
+    private fun hasDiagonal(relation: ExplicitRelation): ThreeVL = when {
+        relation.must.hasDiagonal() -> ThreeVL.TRUE
+        !relation.may.hasDiagonal() -> ThreeVL.FALSE
+        else -> ThreeVL.UNKNOWN
+    }
+
+    private fun not(value: ThreeVL): ThreeVL = when (value) {
+        ThreeVL.TRUE -> ThreeVL.FALSE
+        ThreeVL.FALSE -> ThreeVL.TRUE
+        ThreeVL.UNKNOWN -> ThreeVL.UNKNOWN
+    }
+
+    override fun compile(acyclic: Acyclic): Expr<BoolType> =
+        decide(not(hasDiagonal(TransitiveClosure(acyclic.constrainedRule).accept(this).asRelation())), acyclic)
+
+    override fun compile(cyclic: Cyclic): Expr<BoolType> =
+        decide(hasDiagonal(TransitiveClosure(cyclic.constrainedRule).accept(this).asRelation()), cyclic)
+
+    override fun compile(empty: Empty): Expr<BoolType> =
+        decide(isEmpty(empty.constrainedRule.accept(this)), empty)
+
+    override fun compile(nonempty: Nonempty): Expr<BoolType> =
+        decide(not(isEmpty(nonempty.constrainedRule.accept(this))), nonempty)
+
+    override fun compile(reflexive: Reflexive): Expr<BoolType> =
+        decide(hasDiagonal(reflexive.constrainedRule.accept(this).asRelation()), reflexive)
+
+    override fun compile(irreflexive: Irreflexive): Expr<BoolType> =
+        decide(not(hasDiagonal(irreflexive.constrainedRule.accept(this).asRelation())), irreflexive)
+
+    override fun compile(pattern: CartesianProduct): ExplicitPattern {
+        val op1 = pattern.op1.accept(this).asSet()
+        val op2 = pattern.op2.accept(this).asSet()
+        return ExplicitRelation(BitMatrix.cartesianProduct(size, op1.must, op2.must),
+            BitMatrix.cartesianProduct(size, op1.may, op2.may))
+    }
+
+    override fun compile(pattern: Complement): ExplicitPattern {
+        val op = pattern.op.accept(this).asRelation()
+        return ExplicitRelation(op.may.complement(), op.must.complement())
+    }
+
+    override fun compile(pattern: ComplementNode): ExplicitPattern {
+        val op = pattern.op.accept(this).asSet()
+        return ExplicitEventSet(complement(op.may), complement(op.must))
+    }
+
+    override fun compile(pattern: Difference): ExplicitPattern {
+        val op1 = pattern.op1.accept(this).asRelation()
+        val op2 = pattern.op2.accept(this).asRelation()
+        return ExplicitRelation(op1.must.difference(op2.may), op1.may.difference(op2.must))
+    }
+
+    override fun compile(pattern: DifferenceNode): ExplicitPattern {
+        val op1 = pattern.op1.accept(this).asSet()
+        val op2 = pattern.op2.accept(this).asSet()
+        return ExplicitEventSet(op1.must.andNotCopy(op2.may), op1.may.andNotCopy(op2.must))
+    }
+
+    override fun compile(pattern: Domain): ExplicitPattern {
+        val op = pattern.op.accept(this).asRelation()
+        return ExplicitEventSet(op.must.domain(), op.may.domain())
+    }
+
+    override fun compile(pattern: EmptySet): ExplicitPattern = ExplicitEventSet(BitSet(size), BitSet(size))
+
+    override fun compile(pattern: EmptyRel): ExplicitPattern = ExplicitRelation(BitMatrix(size), BitMatrix(size))
+
+    override fun compile(pattern: IdentityClosure): ExplicitPattern {
+        val op = pattern.op.accept(this).asRelation()
+        return ExplicitRelation(op.must.withIdentity(), op.may.withIdentity())
+    }
+
+    override fun compile(pattern: Intersection): ExplicitPattern {
+        val op1 = pattern.op1.accept(this).asRelation()
+        val op2 = pattern.op2.accept(this).asRelation()
+        return ExplicitRelation(op1.must.intersection(op2.must), op1.may.intersection(op2.may))
+    }
+
+    override fun compile(pattern: IntersectionNode): ExplicitPattern {
+        val op1 = pattern.op1.accept(this).asSet()
+        val op2 = pattern.op2.accept(this).asSet()
+        return ExplicitEventSet(op1.must.andCopy(op2.must), op1.may.andCopy(op2.may))
+    }
+
+    override fun compile(pattern: Inverse): ExplicitPattern {
+        val op = pattern.op.accept(this).asRelation()
+        return ExplicitRelation(op.must.transpose(), op.may.transpose())
+    }
+
+    override fun compile(pattern: Range): ExplicitPattern {
+        val op = pattern.op.accept(this).asRelation()
+        return ExplicitEventSet(op.must.range(), op.may.range())
+    }
+
+    override fun compile(pattern: ReflexiveTransitiveClosure): ExplicitPattern {
+        val closure = closure(pattern.op)
+        return ExplicitRelation(closure.must.withIdentity(), closure.may.withIdentity())
+    }
+
+    override fun compile(pattern: Self): ExplicitPattern = pattern.op.accept(this)
+
+    override fun compile(pattern: Sequence): ExplicitPattern {
+        val op1 = pattern.op1.accept(this).asRelation()
+        val op2 = pattern.op2.accept(this).asRelation()
+        return ExplicitRelation(op1.must.compose(op2.must), op1.may.compose(op2.may))
+    }
+
+    override fun compile(pattern: Toid): ExplicitPattern {
+        val op = pattern.op.accept(this).asSet()
+        return ExplicitRelation(BitMatrix.diagonal(size, op.must), BitMatrix.diagonal(size, op.may))
+    }
+
+    override fun compile(pattern: TransitiveClosure): ExplicitPattern = closure(pattern.op)
+
+    override fun compile(pattern: Union): ExplicitPattern {
+        val op1 = pattern.op1.accept(this).asRelation()
+        val op2 = pattern.op2.accept(this).asRelation()
+        return ExplicitRelation(op1.must.union(op2.must), op1.may.union(op2.may))
+    }
+
+    override fun compile(pattern: UnionNode): ExplicitPattern {
+        val op1 = pattern.op1.accept(this).asSet()
+        val op2 = pattern.op2.accept(this).asSet()
+        return ExplicitEventSet(op1.must.orCopy(op2.must), op1.may.orCopy(op2.may))
+    }
+
+    override fun compile(pattern: BasicEventSet): ExplicitPattern {
+        val must = BitSet(size)
+        val may = BitSet(size)
+        events.forEachIndexed { i, a ->
+            when (facts[Pair(pattern.name, Tuple1.of(a))]) {
+                ThreeVL.TRUE -> {
+                    must.set(i)
+                    may.set(i)
+                }
+
+                ThreeVL.UNKNOWN, null -> may.set(i)
+                ThreeVL.FALSE -> {}
+            }
+        }
+        return ExplicitEventSet(must, may)
+    }
+
+    override fun compile(pattern: BasicRelation): ExplicitPattern {
+        val must = BitMatrix(size)
+        val may = BitMatrix(size)
+        events.forEachIndexed { i, a ->
+            events.forEachIndexed { j, b ->
+                when (facts[Pair(pattern.name, Tuple2.of(a, b))]) {
+                    ThreeVL.TRUE -> {
+                        must[i, j] = true
+                        may[i, j] = true
+                    }
+
+                    ThreeVL.UNKNOWN, null -> may[i, j] = true
+                    ThreeVL.FALSE -> {}
+                }
+            }
+        }
+        return ExplicitRelation(must, may)
+    }
+
+    /**
+     * Transitive closure of the operand. If the operand only grew since its closure was last computed, the cached
+     * closure is extended edge by edge instead of being recomputed.
+     */
+    private fun closure(operand: EdgePattern): ExplicitRelation {
+        val op = operand.accept(this).asRelation()
+        val cached = closureCache[operand]
+        val closure = if (cached != null && cached.first.must.isSubsetOf(op.must) &&
+            cached.first.may.isSubsetOf(op.may)) {
+            val must = cached.second.must.copy()
+            op.must.edgesNotIn(cached.first.must).forEach { (i, j) -> must.addEdgeToClosureInPlace(i, j) }
+            val may = cached.second.may.copy()
+            op.may.edgesNotIn(cached.first.may).forEach { (i, j) -> may.addEdgeToClosureInPlace(i, j) }
+            ExplicitRelation(must, may)
+        } else {
+            ExplicitRelation(op.must.transitiveClosure(), op.may.transitiveClosure())
+        }
+        closureCache[operand] = Pair(op, closure)
+        return closure
+    }
+
+    private fun complement(set: BitSet): BitSet = (set.clone() as BitSet).also { it.flip(0, size) }
+    private fun BitSet.andCopy(other: BitSet): BitSet = (clone() as BitSet).also { it.and(other) }
+    private fun BitSet.orCopy(other: BitSet): BitSet = (clone() as BitSet).also { it.or(other) }
+    private fun BitSet.andNotCopy(other: BitSet): BitSet = (clone() as BitSet).also { it.andNot(other) }
+
+    override fun getCompleteGraph(namedPatterns: Set<GraphPattern>,
+        model: Valuation): Pair<List<Int>, Map<Pair<String, Tuple>, ThreeVL>> {
+        if (usedFallback) return checkNotNull(fallback).getCompleteGraph(namedPatterns, model)
+        val ret = LinkedHashMap<Pair<String, Tuple>, ThreeVL>()
+        ret.putAll(facts)
+        namedPatterns.forEach { pattern ->
+            when (val compiled = pattern.accept(this)) {
+                is ExplicitRelation -> events.forEachIndexed { i, a ->
+                    events.forEachIndexed { j, b ->
+                        ret[Pair(pattern.patternName!!, Tuple2.of(a, b))] =
+                            value(compiled.must[i, j], compiled.may[i, j])
+                    }
+                }
+
+                is ExplicitEventSet -> events.forEachIndexed { i, a ->
+                    ret[Pair(pattern.patternName!!, Tuple1.of(a))] = value(compiled.must[i], compiled.may[i])
+                }
+            }
+        }
+        return Pair(events, ret)
+    }
+
+    private fun value(must: Boolean, may: Boolean) = when {
+        must -> ThreeVL.TRUE
+        may -> ThreeVL.UNKNOWN
+        else -> ThreeVL.FALSE
+    }
+}
@@ -189,7 +189,7 @@ class Pattern2ExprCompiler : GraphPatternCompiler<Expr<BoolType>, Map<Tuple, Exp
     override fun compile(pattern: Range): Map<Tuple, Expr<BoolType>> {
         val opCompiled = pattern.op.accept(this)
 
-        val ret = events.map { a -> Pair(Tuple1.of(a), Or(events.map { b -> opCompiled[Tuple2.of(a, b)] })) }
+        val ret = events.map { a -> Pair(Tuple1.of(a), Or(events.map { b -> opCompiled[Tuple2.of(b, a)] })) }
         return ret.toMap()
     }
 
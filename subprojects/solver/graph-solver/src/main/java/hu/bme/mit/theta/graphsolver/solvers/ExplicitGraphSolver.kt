@@ -0,0 +1,61 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package hu.bme.mit.theta.graphsolver.solvers
+
+import hu.bme.mit.theta.core.model.ImmutableValuation
+import hu.bme.mit.theta.core.model.Valuation
+import hu.bme.mit.theta.core.type.Expr
+import hu.bme.mit.theta.core.type.booltype.BoolType
+import hu.bme.mit.theta.core.type.booltype.FalseExpr
+import hu.bme.mit.theta.core.type.booltype.TrueExpr
+import hu.bme.mit.theta.solver.Solver
+import hu.bme.mit.theta.solver.SolverStatus
+
+/**
+ * Graph solver for constraints compiled by the explicit (bit-matrix) compiler. Constraints decided explicitly arrive
+ * as True/False and are handled without a solver call; only the remaining symbolic constraints are passed to the
+ * fallback solver, which is not queried at all if no such constraint was added.
+ */
+class ExplicitGraphSolver @JvmOverloads constructor(private val fallback: Solver? = null) : GraphSolver<Expr<BoolType>> {
+
+    private val assertions = ArrayList<Expr<BoolType>>()
+    private var violated = false
+    private var symbolic = false
+
+    override fun add(t: Expr<BoolType>) {
+        assertions.add(t)
+        when (t) {
+            is TrueExpr -> {}
+            is FalseExpr -> violated = true
+            else -> {
+                checkNotNull(fallback) { "Symbolic constraint added, but no fallback solver is set" }.add(t)
+                symbolic = true
+            }
+        }
+    }
+
+    override fun getAll(): Collection<Expr<BoolType>> = assertions
+
+    override fun check(): SolverStatus = when {
+        violated -> SolverStatus.UNSAT
+        !symbolic -> SolverStatus.SAT
+        else -> checkNotNull(fallback).check()
+    }
+
+    override fun getModel(): Valuation =
+        if (symbolic) checkNotNull(fallback).model else ImmutableValuation.empty()
+}
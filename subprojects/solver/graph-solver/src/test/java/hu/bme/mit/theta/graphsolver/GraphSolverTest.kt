@@ -19,9 +19,11 @@ import hu.bme.mit.theta.common.Tuple
 import hu.bme.mit.theta.common.Tuple1
 import hu.bme.mit.theta.common.Tuple2
 import hu.bme.mit.theta.graphsolver.compilers.GraphPatternCompiler
+import hu.bme.mit.theta.graphsolver.compilers.pattern2bitmatrix.Pattern2BitMatrixCompiler
 import hu.bme.mit.theta.graphsolver.compilers.pattern2expr.Pattern2ExprCompiler
 import hu.bme.mit.theta.graphsolver.patterns.constraints.*
 import hu.bme.mit.theta.graphsolver.patterns.patterns.*
+import hu.bme.mit.theta.graphsolver.solvers.ExplicitGraphSolver
 import hu.bme.mit.theta.graphsolver.solvers.GraphSolver
 import hu.bme.mit.theta.graphsolver.solvers.SATGraphSolver
 import hu.bme.mit.theta.solver.z3legacy.Z3LegacySolverFactory
@@ -92,6 +94,22 @@ class GraphSolverTest<T> {
             Pair(Pair("F", Tuple1.of(3)), ThreeVL.TRUE),
         ))
 
+        private val partialCycle: Pair<List<Int>, Map<Pair<String, Tuple>, ThreeVL>> = Pair(listOf(1, 2, 3), mapOf(
+            Pair(Pair("po", Tuple2.of(1, 1)), ThreeVL.FALSE),
+            Pair(Pair("po", Tuple2.of(1, 2)), ThreeVL.TRUE),
+            Pair(Pair("po", Tuple2.of(1, 3)), ThreeVL.FALSE),
+            Pair(Pair("po", Tuple2.of(2, 1)), ThreeVL.FALSE),
+            Pair(Pair("po", Tuple2.of(2, 2)), ThreeVL.FALSE),
+            Pair(Pair("po", Tuple2.of(2, 3)), ThreeVL.TRUE),
+            Pair(Pair("po", Tuple2.of(3, 1)), ThreeVL.UNKNOWN),
+            Pair(Pair("po", Tuple2.of(3, 2)), ThreeVL.FALSE),
+            Pair(Pair("po", Tuple2.of(3, 3)), ThreeVL.FALSE),
+        ))
+
+        private fun explicitCompiler() = Pattern2BitMatrixCompiler(Pattern2ExprCompiler())
+
+        private fun explicitSolver() = ExplicitGraphSolver(Z3LegacySolverFactory.getInstance().createSolver())
+
         @Parameterized.Parameters
         @JvmStatic
         fun data(): Collection<Array<Any>> {
@@ -348,6 +366,94 @@ class GraphSolverTest<T> {
                         Z3LegacySolverFactory.getInstance().createSolver()),
                     false
                 ),
+                arrayOf(
+                    Acyclic(BasicRelation("po")),
+                    explicitCompiler(),
+                    smallLine.first,
+                    smallLine.second,
+                    explicitSolver(),
+                    true
+                ),
+                arrayOf(
+                    Acyclic(BasicRelation("po")),
+                    explicitCompiler(),
+                    smallCycle.first,
+                    smallCycle.second,
+                    explicitSolver(),
+                    false
+                ),
+                arrayOf(
+                    Acyclic(BasicRelation("po")),
+                    explicitCompiler(),
+                    partialCycle.first,
+                    partialCycle.second,
+                    explicitSolver(),
+                    true
+                ),
+                arrayOf(
+                    Cyclic(BasicRelation("po")),
+                    explicitCompiler(),
+                    partialCycle.first,
+                    partialCycle.second,
+                    explicitSolver(),
+                    true
+                ),
+                arrayOf(
+                    Cyclic(BasicRelation("po")),
+                    explicitCompiler(),
+                    smallLine.first,
+                    smallLine.second,
+                    explicitSolver(),
+                    false
+                ),
+                arrayOf(
+                    Reflexive(BasicRelation("po")),
+                    explicitCompiler(),
+                    smallFull.first,
+                    smallFull.second,
+                    explicitSolver(),
+                    true
+                ),
+                arrayOf(
+                    Irreflexive(CartesianProduct(BasicEventSet("W"), BasicEventSet("R"))),
+                    explicitCompiler(),
+                    smallFull.first,
+                    smallFull.second,
+                    explicitSolver(),
+                    true
+                ),
+                arrayOf(
+                    Empty(DifferenceNode(Domain(BasicRelation("po")), Range(BasicRelation("po")))),
+                    explicitCompiler(),
+                    smallFull.first,
+                    smallFull.second,
+                    explicitSolver(),
+                    true
+                ),
+                arrayOf(
+                    Empty(Difference(Sequence(BasicRelation("po"), BasicRelation("po")), BasicRelation("po"))),
+                    explicitCompiler(),
+                    smallFull.first,
+                    smallFull.second,
+                    explicitSolver(),
+                    true
+                ),
+                arrayOf(
+                    Nonempty(Difference(Toid(BasicEventSet("W")), BasicRelation("po"))),
+                    explicitCompiler(),
+                    smallFull.first,
+                    smallFull.second,
+                    explicitSolver(),
+                    false
+                ),
+                arrayOf(
+                    Empty(Difference(TransitiveClosure(BasicRelation("po")), BasicRelation("po"))),
+                    explicitCompiler(),
+                    smallLine.first,
+                    smallLine.second,
+                    explicitSolver(),
+                    false
+                ),
             )
         }
     }
@@ -17,6 +17,8 @@ package hu.bme.mit.theta.solver.javasmt;
 
 import com.google.common.collect.ImmutableList;
 import hu.bme.mit.theta.common.container.Containers;
+import hu.bme.mit.theta.common.metrics.Metrics;
+import hu.bme.mit.theta.common.metrics.Timer;
 import hu.bme.mit.theta.core.decl.ConstDecl;
 import hu.bme.mit.theta.core.decl.Decl;
 import hu.bme.mit.theta.core.model.Valuation;
@@ -55,6 +57,8 @@ import static com.google.common.base.Preconditions.checkState;
 
 final class JavaSMTSolver implements UCSolver, Solver {
 
+    private static final Timer CHECK_TIMER = Metrics.timer("JavaSMTSolver.check");
+
     private final JavaSMTSymbolTable symbolTable;
     private final JavaSMTTransformationManager transformationManager;
     private final JavaSMTTermTransformer termTransformer;
@@ -148,7 +152,7 @@ final class JavaSMTSolver implements UCSolver, Solver {
 
     @Override
     public SolverStatus check() {
-        try {
+        try (Timer.Context checkTime = CHECK_TIMER.time()) {
             final boolean unsat = solver.isUnsat();
             status = unsat ? SolverStatus.UNSAT : SolverStatus.SAT;
             return status;
@@ -15,6 +15,8 @@
  */
 package hu.bme.mit.theta.solver.smtlib.solver;
 
+import hu.bme.mit.theta.common.metrics.Metrics;
+import hu.bme.mit.theta.common.metrics.Timer;
 import hu.bme.mit.theta.core.decl.ConstDecl;
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
@@ -47,6 +49,8 @@ import static com.google.common.base.Preconditions.*;
 
 public abstract class SmtLibItpSolver<T extends SmtLibItpMarker> implements ItpSolver {
 
+    private static final Timer CHECK_TIMER = Metrics.timer("SmtLibItpSolver.check");
+
     protected final SmtLibSymbolTable symbolTable;
     protected final SmtLibTransformationManager transformationManager;
     protected final SmtLibTermTransformer termTransformer;
@@ -130,8 +134,12 @@ public abstract class SmtLibItpSolver<T extends SmtLibItpMarker> implements ItpS
 
     @Override
     public SolverStatus check() {
-        solverBinary.issueCommand("(check-sat)");
-        var res = parseResponse(solverBinary.readResponse());
+        final String response;
+        try (Timer.Context checkTime = CHECK_TIMER.time()) {
+            solverBinary.issueCommand("(check-sat)");
+            response = solverBinary.readResponse();
+        }
+        var res = parseResponse(response);
         if (res.isError()) {
             throw new SmtLibSolverException(res.getReason());
         } else if (res.isSpecific()) {
@@ -15,6 +15,8 @@
  */
 package hu.bme.mit.theta.solver.smtlib.solver;
 
+import hu.bme.mit.theta.common.metrics.Metrics;
+import hu.bme.mit.theta.common.metrics.Timer;
 import hu.bme.mit.theta.core.decl.ConstDecl;
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
@@ -54,6 +56,8 @@ import static com.google.common.base.Preconditions.checkState;
 
 public class SmtLibSolver implements UCSolver, Solver {
 
+    private static final Timer CHECK_TIMER = Metrics.timer("SmtLibSolver.check");
+
     private static final String ASSUMPTION_LABEL = "_LABEL_%d";
     protected final SmtLibSymbolTable symbolTable;
     protected final SmtLibTransformationManager transformationManager;
@@ -157,9 +161,11 @@ public class SmtLibSolver implements UCSolver, Solver {
 
     @Override
     public SolverStatus check() {
-        solverBinary.issueCommand("(check-sat)");
-
-        final String rp = solverBinary.readResponse();
+        final String rp;
+        try (Timer.Context checkTime = CHECK_TIMER.time()) {
+            solverBinary.issueCommand("(check-sat)");
+            rp = solverBinary.readResponse();
+        }
         final var res = parseResponse(rp);
         if (res.isError()) {
             throw new SmtLibSolverException(res.getReason());
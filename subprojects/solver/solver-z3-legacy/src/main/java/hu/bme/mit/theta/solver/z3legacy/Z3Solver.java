@@ -19,6 +19,8 @@ import com.google.common.collect.ImmutableList;
 import com.microsoft.z3legacy.FuncDecl;
 import com.microsoft.z3legacy.Status;
 import hu.bme.mit.theta.common.container.Containers;
+import hu.bme.mit.theta.common.metrics.Metrics;
+import hu.bme.mit.theta.common.metrics.Timer;
 import hu.bme.mit.theta.core.decl.ConstDecl;
 import hu.bme.mit.theta.core.decl.Decl;
 import hu.bme.mit.theta.core.model.Valuation;
@@ -43,6 +45,8 @@ import static com.google.common.base.Preconditions.checkState;
 
 final class Z3Solver implements UCSolver, Solver {
 
+    private static final Timer CHECK_TIMER = Metrics.timer("Z3LegacySolver.check");
+
     private final Z3SymbolTable symbolTable;
     private final Z3TransformationManager transformationManager;
     private final Z3TermTransformer termTransformer;
@@ -109,7 +113,10 @@ final class Z3Solver implements UCSolver, Solver {
 
     @Override
     public SolverStatus check() {
-        final Status z3Status = z3Solver.check();
+        final Status z3Status;
+        try (Timer.Context checkTime = CHECK_TIMER.time()) {
+            z3Status = z3Solver.check();
+        }
         status = transformStatus(z3Status);
         return status;
     }
@@ -19,6 +19,8 @@ import com.google.common.collect.ImmutableList;
 import com.microsoft.z3.FuncDecl;
 import com.microsoft.z3.Status;
 import hu.bme.mit.theta.common.container.Containers;
+import hu.bme.mit.theta.common.metrics.Metrics;
+import hu.bme.mit.theta.common.metrics.Timer;
 import hu.bme.mit.theta.core.decl.ConstDecl;
 import hu.bme.mit.theta.core.decl.Decl;
 import hu.bme.mit.theta.core.model.Valuation;
@@ -51,6 +53,8 @@ import static com.google.common.base.Preconditions.checkState;
 
 class Z3Solver implements UCSolver, Solver {
 
+    private static final Timer CHECK_TIMER = Metrics.timer("Z3Solver.check");
+
     protected final Z3SymbolTable symbolTable;
     protected final Z3TransformationManager transformationManager;
     protected final Z3TermTransformer termTransformer;
@@ -117,7 +121,10 @@ class Z3Solver implements UCSolver, Solver {
 
     @Override
     public SolverStatus check() {
-        final Status z3Status = z3Solver.check();
+        final Status z3Status;
+        try (Timer.Context checkTime = CHECK_TIMER.time()) {
+            z3Status = z3Solver.check();
+        }
         status = transformStatus(z3Status);
         return status;
     }
@@ -16,6 +16,8 @@
 package hu.bme.mit.theta.solver;
 
 import com.google.common.base.Preconditions;
+import hu.bme.mit.theta.common.metrics.Counter;
+import hu.bme.mit.theta.common.metrics.Metrics;
 import hu.bme.mit.theta.solver.Solver;
 import hu.bme.mit.theta.solver.SolverFactory;
 
@@ -28,6 +30,10 @@ public class SolverPool implements AutoCloseable {
     private final static int STARTING_SIZE = 10;
     private final static int GROWING = 5;
 
+    private static final Counter REQUESTS = Metrics.counter("SolverPool.requests");
+    private static final Counter RETURNS = Metrics.counter("SolverPool.returns");
+    private static final Counter CREATED = Metrics.counter("SolverPool.created");
+
     private int created = 0;
 
     private final LinkedList<Solver> available;
@@ -55,10 +61,12 @@ public class SolverPool implements AutoCloseable {
             this.available.add(solver);
             this.all.add(solver);
         }
+        CREATED.add(STARTING_SIZE);
         this.closingMode = closingMode;
     }
 
     public Solver requestSolver() {
+        REQUESTS.increment();
         if (this.available.isEmpty()) createNewSolvers();
         return this.available.removeFirst();
     }
@@ -66,6 +74,7 @@ public class SolverPool implements AutoCloseable {
     public void returnSolver(Solver solver) {
         Preconditions.checkState(solver.getAssertions().isEmpty(), "Only empty solvers can be returned");
 //        System.out.println("Returned solver");
+        RETURNS.increment();
         this.available.add(solver);
     }
 
@@ -78,6 +87,7 @@ public class SolverPool implements AutoCloseable {
 //        System.out.println(created + " solvers created");
 //        System.out.println("Free size: " + Runtime.getRuntime().freeMemory());
         this.created = created + GROWING;
+        CREATED.add(GROWING);
     }
 
     public int size() {
@@ -17,10 +17,10 @@ package hu.bme.mit.theta.solver.impl;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 
 import hu.bme.mit.theta.solver.Stack;
@@ -31,8 +31,9 @@ public class StackImpl<T> implements Stack<T> {
     private final List<Integer> sizes;
 
     public StackImpl() {
-        items = new LinkedList<>();
-        sizes = new LinkedList<>();
+        // Random access, so that the assertions can be inspected by position (e.g., by Iterables.get)
+        items = new ArrayList<>();
+        sizes = new ArrayList<>();
     }
 
     @Override
@@ -63,7 +64,7 @@ public class StackImpl<T> implements Stack<T> {
 
     @Override
     public Collection<T> toCollection() {
-        return Collections.unmodifiableCollection(items);
+        return Collections.unmodifiableList(items);
     }
 
     @Override
@@ -290,7 +290,7 @@ public final class StsConfigBuilder {
 
             final SafetyChecker<ARG<PredState, StsAction>, Trace<PredState, StsAction>, PredPrec> checker = CegarChecker.create(
                     abstractor, refiner,
-                    logger);
+                    logger, predAbstractor.getStatistics().stream().toList());
 
             final PredPrec prec = initPrec.builder.createPred(sts);
             return StsConfig.create(checker, prec);
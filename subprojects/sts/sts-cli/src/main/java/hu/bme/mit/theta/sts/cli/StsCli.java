@@ -20,14 +20,15 @@ import com.beust.jcommander.Parameter;
 import com.beust.jcommander.ParameterException;
 import com.google.common.base.Stopwatch;
 import hu.bme.mit.theta.analysis.Trace;
+import hu.bme.mit.theta.analysis.algorithm.SafetyChecker;
 import hu.bme.mit.theta.analysis.algorithm.SafetyResult;
 import hu.bme.mit.theta.analysis.algorithm.arg.ARG;
-import hu.bme.mit.theta.analysis.algorithm.bounded.BoundedChecker;
 import hu.bme.mit.theta.analysis.algorithm.bounded.BoundedCheckerBuilderKt;
 import hu.bme.mit.theta.analysis.algorithm.bounded.MonolithicExpr;
 import hu.bme.mit.theta.analysis.algorithm.cegar.CegarStatistics;
 import hu.bme.mit.theta.analysis.expr.ExprState;
 import hu.bme.mit.theta.analysis.expr.refinement.PruneStrategy;
+import hu.bme.mit.theta.analysis.unit.UnitPrec;
 import hu.bme.mit.theta.common.CliUtils;
 import hu.bme.mit.theta.common.Utils;
 import hu.bme.mit.theta.common.logging.ConsoleLogger;
@@ -39,6 +40,7 @@ import hu.bme.mit.theta.common.table.TableWriter;
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.booltype.BoolExprs;
 import hu.bme.mit.theta.core.utils.ExprUtils;
+import hu.bme.mit.theta.solver.Solver;
 import hu.bme.mit.theta.solver.SolverFactory;
 import hu.bme.mit.theta.solver.z3legacy.Z3LegacySolverFactory;
 import hu.bme.mit.theta.sts.STS;
@@ -47,6 +49,8 @@ import hu.bme.mit.theta.sts.aiger.AigerParser;
 import hu.bme.mit.theta.sts.aiger.AigerToSts;
 import hu.bme.mit.theta.sts.aiger.elements.AigerSystem;
 import hu.bme.mit.theta.sts.aiger.utils.AigerCoi;
+import hu.bme.mit.theta.sts.aiger.utils.AigerFraig;
+import hu.bme.mit.theta.sts.aiger.utils.AigerStrash;
 import hu.bme.mit.theta.sts.analysis.StsAction;
 import hu.bme.mit.theta.sts.analysis.StsToMonolithicExprKt;
 import hu.bme.mit.theta.sts.analysis.StsTraceConcretizer;
@@ -82,7 +86,8 @@ public class StsCli {
         CEGAR,
         BMC,
         KINDUCTION,
-        IMC
+        IMC,
+        PDR
     }
 
     @Parameter(names = {"--domain"}, description = "Abstract domain")
@@ -122,6 +127,9 @@ public class StsCli {
             "--header"}, description = "Print only a header (for benchmarks)", help = true)
     boolean headerOnly = false;
 
+    @Parameter(names = "--fraig", description = "Merge equivalent AIGER nodes by SAT sweeping")
+    boolean fraig = false;
+
     @Parameter(names = "--stacktrace", description = "Print full stack trace in case of exception")
     boolean stacktrace = false;
 
@@ -169,8 +177,10 @@ public class StsCli {
             if (algorithm.equals(Algorithm.CEGAR)) {
                 final StsConfig<?, ?, ?> configuration = buildConfiguration(sts);
                 status = check(configuration);
-            } else if (algorithm == Algorithm.BMC || algorithm == Algorithm.KINDUCTION || algorithm == Algorithm.IMC) {
-                final BoundedChecker<?, ?> checker = buildBoundedChecker(sts, Z3LegacySolverFactory.getInstance());
+            } else if (algorithm == Algorithm.BMC || algorithm == Algorithm.KINDUCTION || algorithm == Algorithm.IMC
+                    || algorithm == Algorithm.PDR) {
+                final SafetyChecker<?, ? extends Trace<?, ?>, UnitPrec> checker = buildBoundedChecker(sts,
+                        Z3LegacySolverFactory.getInstance());
                 status = checker.check(null);
             } else {
                 throw new UnsupportedOperationException("Algorithm " + algorithm + " not supported");
@@ -206,8 +216,15 @@ public class StsCli {
 
     private STS loadModel() throws Exception {
         try {
-            if (model.endsWith(".aag")) {
+            if (model.endsWith(".aag") || model.endsWith(".aig")) {
                 final AigerSystem aigerSystem = AigerParser.parse(model);
+                if (fraig) {
+                    try (Solver fraigSolver = Z3LegacySolverFactory.getInstance().createSolver()) {
+                        AigerFraig.apply(aigerSystem, fraigSolver);
+                    }
+                } else {
+                    AigerStrash.apply(aigerSystem);
+                }
                 AigerCoi.apply(aigerSystem);
                 return AigerToSts.createSts(aigerSystem);
             } else {
@@ -235,9 +252,10 @@ public class StsCli {
         }
     }
 
-    private BoundedChecker<?, ?> buildBoundedChecker(final STS sts, final SolverFactory abstractionSolverFactory) {
+    private SafetyChecker<?, ? extends Trace<?, ?>, UnitPrec> buildBoundedChecker(final STS sts,
+                                                                              final SolverFactory abstractionSolverFactory) {
         final MonolithicExpr monolithicExpr = StsToMonolithicExprKt.toMonolithicExpr(sts);
-        final BoundedChecker<?, ?> checker;
+        final SafetyChecker<?, ? extends Trace<?, ?>, UnitPrec> checker;
         switch (algorithm) {
             case BMC -> checker = BoundedCheckerBuilderKt.buildBMC(
                     monolithicExpr,
@@ -246,18 +264,29 @@ public class StsCli {
                     (val1, val2) -> StsToMonolithicExprKt.valToAction(sts, val1, val2),
                     logger
             );
-            case KINDUCTION -> checker = BoundedCheckerBuilderKt.buildKIND(
+            case KINDUCTION -> {
+                // BMC and induction share the unrolled path in a single solver
+                final Solver solver = abstractionSolverFactory.createSolver();
+                checker = BoundedCheckerBuilderKt.buildKIND(
+                        monolithicExpr,
+                        solver,
+                        solver,
+                        val -> StsToMonolithicExprKt.valToState(sts, val),
+                        (val1, val2) -> StsToMonolithicExprKt.valToAction(sts, val1, val2),
+                        logger
+                );
+            }
+            case IMC -> checker = BoundedCheckerBuilderKt.buildIMC(
                     monolithicExpr,
                     abstractionSolverFactory.createSolver(),
-                    abstractionSolverFactory.createSolver(),
+                    abstractionSolverFactory.createItpSolver(),
                     val -> StsToMonolithicExprKt.valToState(sts, val),
                     (val1, val2) -> StsToMonolithicExprKt.valToAction(sts, val1, val2),
                     logger
             );
-            case IMC -> checker = BoundedCheckerBuilderKt.buildIMC(
+            case PDR -> checker = BoundedCheckerBuilderKt.buildPDR(
                     monolithicExpr,
-                    abstractionSolverFactory.createSolver(),
-                    abstractionSolverFactory.createItpSolver(),
+                    abstractionSolverFactory,
                     val -> StsToMonolithicExprKt.valToState(sts, val),
                     (val1, val2) -> StsToMonolithicExprKt.valToAction(sts, val1, val2),
                     logger
@@ -270,7 +299,8 @@ public class StsCli {
 
     private void printResult(final SafetyResult<?, ? extends Trace<?, ?>> status, final STS sts,
                              final long totalTimeMs) {
-        final CegarStatistics stats = (CegarStatistics) status.getStats().orElse(new CegarStatistics(0, 0, 0, 0));
+        final CegarStatistics stats = status.getStats().filter(CegarStatistics.class::isInstance)
+                .map(CegarStatistics.class::cast).orElse(new CegarStatistics(0, 0, 0, 0));
         if (benchmarkMode) {
             writer.cell(status.isSafe());
             writer.cell(totalTimeMs);
@@ -21,4 +21,6 @@ plugins {
 dependencies {
     implementation(project(":theta-common"))
     implementation(project(":theta-core"))
+    implementation(project(":theta-solver"))
+    testImplementation(project(":theta-solver-z3-legacy"))
 }
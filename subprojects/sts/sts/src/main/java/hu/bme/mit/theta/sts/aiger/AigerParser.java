@@ -15,13 +15,15 @@
  */
 package hu.bme.mit.theta.sts.aiger;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static java.lang.Integer.parseInt;
 
-import java.io.BufferedReader;
+import java.io.BufferedInputStream;
+import java.io.EOFException;
 import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -35,7 +37,7 @@ import hu.bme.mit.theta.sts.aiger.elements.Latch;
 import hu.bme.mit.theta.sts.aiger.elements.OutputVar;
 
 /**
- * Parser for textual (.aag) AIGER files.
+ * Parser for textual (.aag) and binary (.aig) AIGER files.
  */
 public final class AigerParser {
 
@@ -43,24 +45,24 @@ public final class AigerParser {
     }
 
     /**
-     * Parse a textual AIGER file (*.aag) to our internal representation.
+     * Parse a textual (*.aag) or binary (*.aig) AIGER file to our internal representation. The
+     * format is determined by the header of the file.
      *
      * @param fileName Path of the AIGER file
      * @return AIGER system internal representation
      * @throws IOException
      */
     public static AigerSystem parse(final String fileName) throws IOException {
-        final BufferedReader br = new BufferedReader(
-                new InputStreamReader(new FileInputStream(fileName)));
-
-        try {
+        try (InputStream in = new BufferedInputStream(new FileInputStream(fileName))) {
             int nNodes;
             int nInputs;
             int nLatches;
             int nOutputs;
             int nAndGates;
             // Parse header
-            final String[] header = checkNotNull(br.readLine(), "Header expected").split(" ");
+            final String[] header = checkNotNull(readLine(in), "Header expected").split(" ");
+            final boolean binary = header[0].equals("aig");
+            checkArgument(binary || header[0].equals("aag"), "Unknown AIGER format: " + header[0]);
             nNodes = parseInt(header[1]);
             nInputs = parseInt(header[2]);
             nLatches = parseInt(header[3]);
@@ -75,40 +77,48 @@ public final class AigerParser {
             final AigerNode[] nodes = new AigerNode[nNodes + 1];
             nodes[0] = new FalseConst();
 
-            // Read inputs
+            // Read inputs (implicit in the binary format)
             for (int i = 0; i < nInputs; ++i) {
-                final String tokens[] = checkNotNull(br.readLine(), "Input expected").split(" ");
-                final int varId = parseInt(tokens[0]) / 2;
+                final int varId = binary ? i + 1
+                        : parseInt(checkNotNull(readLine(in), "Input expected").split(" ")[0]) / 2;
                 nodes[varId] = new InputVar(i + 1, varId);
             }
 
-            // Read latches
+            // Read latches (the literal of the latch is implicit in the binary format)
             final List<Latch> latches = new ArrayList<>(nLatches);
-            final List<Integer> latchInputs = new ArrayList<>(nLatches);
+            final int[] latchInputs = new int[nLatches];
             for (int i = 0; i < nLatches; ++i) {
-                final String tokens[] = checkNotNull(br.readLine(), "Latch expected").split(" ");
-                final int varId = parseInt(tokens[0]) / 2;
+                final String[] tokens = checkNotNull(readLine(in), "Latch expected").split(" ");
+                final int varId = binary ? nInputs + i + 1 : parseInt(tokens[0]) / 2;
                 final Latch latch = new Latch(i + 1, varId);
                 latches.add(latch);
-                latchInputs.add(parseInt(tokens[1]));
+                latchInputs[i] = parseInt(tokens[binary ? 0 : 1]);
                 nodes[varId] = latch;
             }
 
             // Read output
             final OutputVar outputVar = new OutputVar(1);
-            final int outputVarInput = parseInt(br.readLine());
+            final int outputVarInput = parseInt(checkNotNull(readLine(in), "Output expected").trim());
 
-            // Read and gates
+            // Read and gates (delta encoded in the binary format)
             final List<AndGate> andGates = new ArrayList<>(nAndGates);
-            final List<Integer> andGateInputs1 = new ArrayList<>(nAndGates);
-            final List<Integer> andGateInputs2 = new ArrayList<>(nAndGates);
+            final int[] andGateInputs1 = new int[nAndGates];
+            final int[] andGateInputs2 = new int[nAndGates];
             for (int i = 0; i < nAndGates; ++i) {
-                final String tokens[] = checkNotNull(br.readLine(), "And gate expected").split(" ");
-                final int varId = parseInt(tokens[0]) / 2;
+                final int lhs;
+                if (binary) {
+                    lhs = 2 * (nInputs + nLatches + i + 1);
+                    andGateInputs1[i] = lhs - readDelta(in);
+                    andGateInputs2[i] = andGateInputs1[i] - readDelta(in);
+                } else {
+                    final String[] tokens = checkNotNull(readLine(in), "And gate expected").split(" ");
+                    lhs = parseInt(tokens[0]);
+                    andGateInputs1[i] = parseInt(tokens[1]);
+                    andGateInputs2[i] = parseInt(tokens[2]);
+                }
+                final int varId = lhs / 2;
                 final AndGate andGate = new AndGate(i + 1, varId);
                 andGates.add(andGate);
-                andGateInputs1.add(parseInt(tokens[1]));
-                andGateInputs2.add(parseInt(tokens[2]));
                 nodes[varId] = andGate;
             }
 
@@ -119,8 +129,8 @@ public final class AigerParser {
             // Create connections for latches
             for (int i = 0; i < latches.size(); i++) {
                 final Latch latch = latches.get(i);
-                final AigerNode source = nodes[latchInputs.get(i) / 2];
-                final AigerWire wire = new AigerWire(source, latch, latchInputs.get(i) % 2 == 0);
+                final AigerNode source = nodes[latchInputs[i] / 2];
+                final AigerWire wire = new AigerWire(source, latch, latchInputs[i] % 2 == 0);
                 latch.setInWire(wire);
                 source.addOutWire(wire);
             }
@@ -136,25 +146,60 @@ public final class AigerParser {
             // Create connections for and gates
             for (int i = 0; i < andGates.size(); i++) {
                 final AndGate andGate = andGates.get(i);
-                final AigerNode source1 = nodes[andGateInputs1.get(i) / 2];
-                final AigerNode source2 = nodes[andGateInputs2.get(i) / 2];
-                final AigerWire wire1 = new AigerWire(source1, andGate,
-                        andGateInputs1.get(i) % 2 == 0);
-                final AigerWire wire2 = new AigerWire(source2, andGate,
-                        andGateInputs2.get(i) % 2 == 0);
+                final AigerNode source1 = nodes[andGateInputs1[i] / 2];
+                final AigerNode source2 = nodes[andGateInputs2[i] / 2];
+                final AigerWire wire1 = new AigerWire(source1, andGate, andGateInputs1[i] % 2 == 0);
+                final AigerWire wire2 = new AigerWire(source2, andGate, andGateInputs2[i] % 2 == 0);
                 andGate.setInWire1(wire1);
                 andGate.setInWire2(wire2);
                 source1.addOutWire(wire1);
                 source2.addOutWire(wire2);
             }
 
-            final List<AigerNode> nodeList = new ArrayList<>();
+            final List<AigerNode> nodeList = new ArrayList<>(nodes.length);
             for (final AigerNode node : nodes) {
                 nodeList.add(node);
             }
             return new AigerSystem(nodeList, outputVar);
-        } finally {
-            br.close();
         }
     }
+
+    /**
+     * Read a line of the header part of the file (which is textual in both formats).
+     *
+     * @return The line without the line terminator, or null at the end of the file
+     */
+    private static String readLine(final InputStream in) throws IOException {
+        final StringBuilder sb = new StringBuilder();
+        int c = in.read();
+        if (c < 0) {
+            return null;
+        }
+        while (c >= 0 && c != '\n') {
+            if (c != '\r') {
+                sb.append((char) c);
+            }
+            c = in.read();
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Read a delta of the binary format, which is encoded in 7 bit chunks, least significant
+     * chunk first, where the highest bit of each byte marks if further chunks follow.
+     */
+    private static int readDelta(final InputStream in) throws IOException {
+        int result = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.read();
+            if (b < 0) {
+                throw new EOFException("And gate expected");
+            }
+            result |= (b & 0x7f) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return result;
+    }
 }
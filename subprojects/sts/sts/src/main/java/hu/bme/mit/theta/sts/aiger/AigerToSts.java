@@ -17,6 +17,7 @@ package hu.bme.mit.theta.sts.aiger;
 
 import static hu.bme.mit.theta.core.type.booltype.BoolExprs.And;
 import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Bool;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.False;
 import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Iff;
 import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Not;
 
@@ -40,10 +41,15 @@ import hu.bme.mit.theta.sts.aiger.elements.InputVar;
 import hu.bme.mit.theta.sts.aiger.elements.Latch;
 
 /**
- * A converter from out internal AIGER representation to STSs.
+ * A converter from out internal AIGER representation to STSs. The logic of AND gates is emitted as
+ * nested expressions: gates with a single fanout are inlined into their user, while gates with
+ * multiple fanouts (or exceeding a maximal nesting depth) get their own variable to avoid an
+ * exponential blowup of the expressions.
  */
 public final class AigerToSts {
 
+    private static final int MAX_INLINE_DEPTH = 64;
+
     private AigerToSts() {
     }
 
@@ -56,64 +62,73 @@ public final class AigerToSts {
     public static STS createSts(final AigerSystem aigerSys) {
         final Builder builder = STS.builder();
 
-        final Map<AigerNode, VarDecl<BoolType>> vars = Containers.createMap();
-        aigerSys.getNodes().forEach(n -> vars.put(n, Decls.Var(n.getName(), Bool())));
-
+        final Map<AigerNode, Expr<BoolType>> exprs = Containers.createMap();
+        final Map<AigerNode, Integer> depths = Containers.createMap();
         for (final AigerNode node : aigerSys.getNodes()) {
-            if (node instanceof InputVar) {
-                // Do nothing
+            if (node instanceof InputVar || node instanceof Latch) {
+                exprs.put(node, Decls.Var(node.getName(), Bool()).getRef());
+                depths.put(node, 0);
             } else if (node instanceof FalseConst) {
-                transformFalseConst(builder, vars, (FalseConst) node);
-            } else if (node instanceof Latch) {
-                transformLatch(builder, vars, (Latch) node);
-            } else if (node instanceof AndGate) {
-                transformAndGate(builder, vars, (AndGate) node);
-            } else {
+                exprs.put(node, False());
+                depths.put(node, 0);
+            } else if (!(node instanceof AndGate)) {
                 throw new UnsupportedOperationException(
                         "Unknown node: " + node.getClass().getName());
             }
         }
 
+        for (final AndGate andGate : aigerSys.getAndGatesInTopologicalOrder()) {
+            transformAndGate(builder, exprs, depths, andGate);
+        }
+
+        for (final AigerNode node : aigerSys.getNodes()) {
+            if (node instanceof Latch) {
+                transformLatch(builder, exprs, (Latch) node);
+            }
+        }
+
         final AigerWire outputWire = aigerSys.getOutput().getInWire();
         if (outputWire.isPonated()) {
-            builder.setProp(Not(vars.get(outputWire.getSource()).getRef()));
+            builder.setProp(Not(exprs.get(outputWire.getSource())));
         } else {
-            builder.setProp(vars.get(outputWire.getSource()).getRef());
+            builder.setProp(exprs.get(outputWire.getSource()));
         }
         return builder.build();
     }
 
-    private static void transformFalseConst(final Builder builder,
-                                            final Map<AigerNode, VarDecl<BoolType>> vars,
-                                            final FalseConst falseConst) {
-        builder.addInvar(Not(vars.get(falseConst).getRef()));
+    private static Expr<BoolType> getExpr(final Map<AigerNode, Expr<BoolType>> exprs,
+                                          final AigerWire wire) {
+        final Expr<BoolType> expr = exprs.get(wire.getSource());
+        return wire.isPonated() ? expr : Not(expr);
     }
 
     private static void transformLatch(final Builder builder,
-                                       final Map<AigerNode, VarDecl<BoolType>> vars,
+                                       final Map<AigerNode, Expr<BoolType>> exprs,
                                        final Latch latch) {
-        builder.addInit(Not(vars.get(latch).getRef()));
-        final AigerWire inWire = latch.getInWire();
-        final AigerNode source = inWire.getSource();
-        final Expr<BoolType> lhs = Exprs.Prime(vars.get(latch).getRef());
-        final Expr<BoolType> rhs =
-                inWire.isPonated() ? vars.get(source).getRef() : Not(vars.get(source).getRef());
+        builder.addInit(Not(exprs.get(latch)));
+        final Expr<BoolType> lhs = Exprs.Prime(exprs.get(latch));
+        final Expr<BoolType> rhs = getExpr(exprs, latch.getInWire());
         builder.addTrans(Iff(lhs, rhs));
     }
 
     private static void transformAndGate(final Builder builder,
-                                         final Map<AigerNode, VarDecl<BoolType>> vars,
+                                         final Map<AigerNode, Expr<BoolType>> exprs,
+                                         final Map<AigerNode, Integer> depths,
                                          final AndGate andGate) {
         final AigerWire inWire1 = andGate.getInWire1();
         final AigerWire inWire2 = andGate.getInWire2();
-        final AigerNode source1 = inWire1.getSource();
-        final AigerNode source2 = inWire2.getSource();
-        final Expr<BoolType> lhs = vars.get(andGate).getRef();
-        final Expr<BoolType> rhs1 =
-                inWire1.isPonated() ? vars.get(source1).getRef() : Not(vars.get(source1).getRef());
-        final Expr<BoolType> rhs2 =
-                inWire2.isPonated() ? vars.get(source2).getRef() : Not(vars.get(source2).getRef());
-        builder.addInvar(Iff(lhs, And(rhs1, rhs2)));
+        final Expr<BoolType> expr = And(getExpr(exprs, inWire1), getExpr(exprs, inWire2));
+        final int depth = 1 + Math.max(depths.get(inWire1.getSource()),
+                depths.get(inWire2.getSource()));
+        if (andGate.getOutWires().size() > 1 || depth > MAX_INLINE_DEPTH) {
+            final VarDecl<BoolType> var = Decls.Var(andGate.getName(), Bool());
+            builder.addInvar(Iff(var.getRef(), expr));
+            exprs.put(andGate, var.getRef());
+            depths.put(andGate, 0);
+        } else {
+            exprs.put(andGate, expr);
+            depths.put(andGate, depth);
+        }
     }
 
 }
@@ -15,7 +15,13 @@
  */
 package hu.bme.mit.theta.sts.aiger.elements;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import java.util.Map;
+
+import hu.bme.mit.theta.common.container.Containers;
 
 /**
  * Represents an AIGER system, which is a collection of @link {@link AigerNode}s (connected with
@@ -40,4 +46,42 @@ public class AigerSystem {
         return output;
     }
 
+    /**
+     * Get the AND gates of the system in topological order, i.e., each gate comes after the gates
+     * that it depends on.
+     */
+    public List<AndGate> getAndGatesInTopologicalOrder() {
+        final List<AndGate> order = new ArrayList<>();
+        final Map<AigerNode, Integer> pendingInputs = Containers.createMap();
+        final Deque<AndGate> ready = new ArrayDeque<>();
+        for (final AigerNode node : nodes) {
+            if (node instanceof AndGate gate) {
+                final int pending = (int) gate.getInWires().stream()
+                        .filter(w -> w.getSource() instanceof AndGate).count();
+                if (pending == 0) {
+                    ready.add(gate);
+                } else {
+                    pendingInputs.put(gate, pending);
+                }
+            }
+        }
+        while (!ready.isEmpty()) {
+            final AndGate gate = ready.remove();
+            order.add(gate);
+            for (final AigerWire wire : gate.getOutWires()) {
+                final AigerNode target = wire.getTarget();
+                final Integer pending = pendingInputs.get(target);
+                if (pending != null) {
+                    if (pending == 1) {
+                        pendingInputs.remove(target);
+                        ready.add((AndGate) target);
+                    } else {
+                        pendingInputs.put(target, pending - 1);
+                    }
+                }
+            }
+        }
+        return order;
+    }
+
 }
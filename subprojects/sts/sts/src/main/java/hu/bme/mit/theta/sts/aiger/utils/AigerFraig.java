@@ -0,0 +1,352 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.sts.aiger.utils;
+
+import static hu.bme.mit.theta.core.decl.Decls.Const;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.And;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Bool;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.False;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Iff;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Not;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.True;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Xor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+import com.google.common.primitives.Longs;
+import hu.bme.mit.theta.common.container.Containers;
+import hu.bme.mit.theta.core.decl.ConstDecl;
+import hu.bme.mit.theta.core.model.Valuation;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.solver.Solver;
+import hu.bme.mit.theta.solver.SolverStatus;
+import hu.bme.mit.theta.solver.utils.WithPushPop;
+import hu.bme.mit.theta.sts.aiger.elements.AigerNode;
+import hu.bme.mit.theta.sts.aiger.elements.AigerSystem;
+import hu.bme.mit.theta.sts.aiger.elements.AigerWire;
+import hu.bme.mit.theta.sts.aiger.elements.AndGate;
+import hu.bme.mit.theta.sts.aiger.elements.FalseConst;
+
+/**
+ * Functionally reduced AIG (FRAIG) construction by SAT sweeping. The nodes of the system are
+ * simulated with random input and latch values, and nodes with the same signature (up to
+ * negation) form the candidate classes of equivalence. An AND gate is compared with each earlier
+ * node of its class with a solver, treating inputs and latches as free variables, and it is merged
+ * into the first one proven equivalent. If the solver finds a distinguishing assignment instead,
+ * it is added to a batch of pending simulation patterns. Candidates that disagree with the gate on
+ * a pending pattern are skipped without the solver, so the remaining comparisons only involve nodes
+ * that agree on all counterexamples found so far. The pending values of a node are only computed
+ * when it is compared, and a full batch (one word of patterns) is simulated bit-parallel on all
+ * nodes at once, which splits the classes.
+ */
+public final class AigerFraig {
+
+    private static final int SIMULATION_WORDS = 4;
+    private static final long SEED = 0;
+
+    private AigerFraig() {
+    }
+
+    /**
+     * Merge functionally equivalent nodes of the system. Structural hashing is applied before and
+     * after the merging. The parameter is modified.
+     *
+     * @param system
+     * @param solver Solver used for proving equivalences (its assertions are left unchanged)
+     * @return Number of merged AND gates
+     */
+    public static int apply(final AigerSystem system, final Solver solver) {
+        AigerStrash.apply(system);
+
+        final Optional<AigerNode> falseOpt = system.getNodes().stream()
+                .filter(n -> n instanceof FalseConst).findFirst();
+        final FalseConst falseConst = (FalseConst) falseOpt.orElseGet(FalseConst::new);
+
+        // The false constant, inputs and latches come first, then gates in topological order
+        final List<AigerNode> order = new ArrayList<>();
+        order.add(falseConst);
+        system.getNodes().stream().filter(n -> !(n instanceof FalseConst || n instanceof AndGate))
+                .forEach(order::add);
+        order.addAll(system.getAndGatesInTopologicalOrder());
+
+        final List<AigerNode> merged;
+        try (WithPushPop wp = new WithPushPop(solver)) {
+            merged = new Sweeper(solver).sweep(order);
+        }
+
+        if (!merged.isEmpty()) {
+            system.getNodes().removeAll(merged);
+            if (!falseConst.getOutWires().isEmpty() && !system.getNodes().contains(falseConst)) {
+                system.getNodes().add(0, falseConst);
+            }
+            AigerStrash.apply(system);
+        }
+        return merged.size();
+    }
+
+    private static final class Sweeper {
+        private final Solver solver;
+        private final Random random;
+        // Nodes kept so far, in topological order
+        private final List<AigerNode> nodes;
+        private final Map<AigerNode, long[]> signatures;
+        private final Map<AigerNode, Boolean> phases;
+        private final Map<AigerNode, Expr<BoolType>> exprs;
+        private final Map<AigerNode, ConstDecl<BoolType>> sources;
+        private Map<List<Long>, List<AigerNode>> classes;
+        // Counterexamples not yet simulated on all nodes: the values of the sources, and the values of
+        // the nodes computed so far (for the first pendingCounts patterns)
+        private final Map<AigerNode, Long> pendingSources;
+        private final Map<AigerNode, Long> pendingWords;
+        private final Map<AigerNode, Integer> pendingCounts;
+        private int pendingPatterns;
+
+        private Sweeper(final Solver solver) {
+            this.solver = solver;
+            this.random = new Random(SEED);
+            this.nodes = new ArrayList<>();
+            this.signatures = Containers.createMap();
+            this.phases = Containers.createMap();
+            this.exprs = Containers.createMap();
+            this.sources = Containers.createMap();
+            this.classes = Containers.createMap();
+            this.pendingSources = Containers.createMap();
+            this.pendingWords = Containers.createMap();
+            this.pendingCounts = Containers.createMap();
+            this.pendingPatterns = 0;
+        }
+
+        private List<AigerNode> sweep(final List<AigerNode> order) {
+            final List<AigerNode> merged = new ArrayList<>();
+            for (final AigerNode node : order) {
+                define(node);
+                nodes.add(node);
+                if (node instanceof AndGate && merge(node)) {
+                    nodes.remove(nodes.size() - 1);
+                    merged.add(node);
+                } else {
+                    classes.computeIfAbsent(getKey(node), k -> new ArrayList<>()).add(node);
+                }
+            }
+            return merged;
+        }
+
+        private void define(final AigerNode node) {
+            final long[] signature;
+            if (node instanceof AndGate gate) {
+                final long[] signature1 = getSignature(gate.getInWire1());
+                final long[] signature2 = getSignature(gate.getInWire2());
+                signature = new long[signature1.length];
+                for (int i = 0; i < signature.length; i++) {
+                    signature[i] = signature1[i] & signature2[i];
+                }
+                final Expr<BoolType> expr = Const(node.getName(), Bool()).getRef();
+                solver.add(Iff(expr, And(getExpr(gate.getInWire1()), getExpr(gate.getInWire2()))));
+                exprs.put(node, expr);
+            } else if (node instanceof FalseConst) {
+                signature = new long[SIMULATION_WORDS];
+                exprs.put(node, False());
+            } else {
+                // Inputs and latches are only defined before any counterexample is found
+                assert pendingPatterns == 0 && classes.values().stream().allMatch(c -> c.size() == 1);
+                signature = new long[SIMULATION_WORDS];
+                for (int i = 0; i < SIMULATION_WORDS; i++) {
+                    signature[i] = random.nextLong();
+                }
+                final ConstDecl<BoolType> decl = Const(node.getName(), Bool());
+                sources.put(node, decl);
+                exprs.put(node, decl.getRef());
+            }
+            signatures.put(node, signature);
+            // Signatures are normalized by the first (random) bit so that complemented nodes fall into the
+            // same class, later patterns do not change the phase
+            phases.put(node, (signature[0] & 1) != 0);
+        }
+
+        /**
+         * Compares the gate with the nodes of its class until one is proven equivalent (and the gate
+         * is merged into it) or no candidates remain. Candidates distinguished from the gate by a
+         * pending counterexample are skipped, and each new counterexample becomes pending.
+         */
+        private boolean merge(final AigerNode node) {
+            while (true) {
+                final long pending = getNormalizedPendingWord(node);
+                boolean refuted = false;
+                for (final AigerNode candidate : classes.getOrDefault(getKey(node), List.of())) {
+                    if (getNormalizedPendingWord(candidate) != pending) {
+                        continue;
+                    }
+                    final boolean invert = !phases.get(node).equals(phases.get(candidate));
+                    final Expr<BoolType> candidateExpr = invert ? Not(exprs.get(candidate)) : exprs.get(candidate);
+                    try (WithPushPop wp = new WithPushPop(solver)) {
+                        solver.add(Xor(exprs.get(node), candidateExpr));
+                        final SolverStatus status = solver.check();
+                        if (status.isUnsat()) {
+                            AigerStrash.disconnect(node);
+                            AigerStrash.replace(node, candidate, invert);
+                            return true;
+                        } else if (!status.isSat()) {
+                            return false;
+                        }
+                        addPattern(solver.getModel());
+                    }
+                    refuted = true;
+                    break;
+                }
+                if (!refuted) {
+                    return false;
+                }
+            }
+        }
+
+        /**
+         * Adds the counterexample to the pending patterns, and simulates the batch once it is full.
+         */
+        private void addPattern(final Valuation model) {
+            final long bit = 1L << pendingPatterns;
+            for (final Map.Entry<AigerNode, ConstDecl<BoolType>> source : sources.entrySet()) {
+                if (model.eval(source.getValue()).map(True()::equals).orElse(false)) {
+                    pendingSources.merge(source.getKey(), bit, (word1, word2) -> word1 | word2);
+                }
+            }
+            pendingPatterns++;
+            if (pendingPatterns == Long.SIZE) {
+                simulate();
+            }
+        }
+
+        /**
+         * Appends the word of pending patterns to the signatures of all nodes, and splits the classes
+         * with more than one node accordingly.
+         */
+        private void simulate() {
+            for (final AigerNode node : nodes) {
+                final long[] signature = signatures.get(node);
+                final long[] newSignature = Arrays.copyOf(signature, signature.length + 1);
+                newSignature[signature.length] = getPendingWord(node);
+                signatures.put(node, newSignature);
+            }
+            pendingSources.clear();
+            pendingWords.clear();
+            pendingCounts.clear();
+            pendingPatterns = 0;
+
+            final Map<List<Long>, List<AigerNode>> newClasses = Containers.createMap();
+            for (final List<AigerNode> nodesOfClass : classes.values()) {
+                if (nodesOfClass.size() == 1) {
+                    newClasses.put(getKey(nodesOfClass.get(0)), nodesOfClass);
+                } else {
+                    for (final AigerNode node : nodesOfClass) {
+                        newClasses.computeIfAbsent(getKey(node), k -> new ArrayList<>()).add(node);
+                    }
+                }
+            }
+            classes = newClasses;
+        }
+
+        /**
+         * Returns the values of the node for the pending patterns, computing the missing ones from
+         * the fan-in (iteratively, as the cones can be deep).
+         */
+        private long getPendingWord(final AigerNode node) {
+            final Deque<AigerNode> stack = new ArrayDeque<>();
+            stack.push(node);
+            while (!stack.isEmpty()) {
+                final AigerNode top = stack.peek();
+                if (isPendingComputed(top)) {
+                    stack.pop();
+                    continue;
+                }
+                final long word;
+                if (top instanceof AndGate gate) {
+                    final AigerNode source1 = gate.getInWire1().getSource();
+                    final AigerNode source2 = gate.getInWire2().getSource();
+                    if (!isPendingComputed(source1) || !isPendingComputed(source2)) {
+                        if (!isPendingComputed(source1)) {
+                            stack.push(source1);
+                        }
+                        if (!isPendingComputed(source2)) {
+                            stack.push(source2);
+                        }
+                        continue;
+                    }
+                    word = getPendingWord(gate.getInWire1()) & getPendingWord(gate.getInWire2());
+                } else if (top instanceof FalseConst) {
+                    word = 0;
+                } else {
+                    word = pendingSources.getOrDefault(top, 0L);
+                }
+                pendingWords.put(top, word & getPendingMask());
+                pendingCounts.put(top, pendingPatterns);
+                stack.pop();
+            }
+            return pendingWords.get(node);
+        }
+
+        private boolean isPendingComputed(final AigerNode node) {
+            return pendingCounts.getOrDefault(node, -1) == pendingPatterns;
+        }
+
+        private long getPendingWord(final AigerWire wire) {
+            final long word = pendingWords.get(wire.getSource());
+            return wire.isPonated() ? word : ~word;
+        }
+
+        private long getNormalizedPendingWord(final AigerNode node) {
+            final long word = getPendingWord(node);
+            return phases.get(node) ? ~word & getPendingMask() : word;
+        }
+
+        private long getPendingMask() {
+            return pendingPatterns == Long.SIZE ? -1L : (1L << pendingPatterns) - 1;
+        }
+
+        private List<Long> getKey(final AigerNode node) {
+            final long[] normalized = signatures.get(node).clone();
+            if (phases.get(node)) {
+                for (int i = 0; i < normalized.length; i++) {
+                    normalized[i] = ~normalized[i];
+                }
+            }
+            return Longs.asList(normalized);
+        }
+
+        private long[] getSignature(final AigerWire wire) {
+            final long[] signature = signatures.get(wire.getSource());
+            if (wire.isPonated()) {
+                return signature;
+            }
+            final long[] inverted = new long[signature.length];
+            for (int i = 0; i < signature.length; i++) {
+                inverted[i] = ~signature[i];
+            }
+            return inverted;
+        }
+
+        private Expr<BoolType> getExpr(final AigerWire wire) {
+            final Expr<BoolType> expr = exprs.get(wire.getSource());
+            return wire.isPonated() ? expr : Not(expr);
+        }
+    }
+}
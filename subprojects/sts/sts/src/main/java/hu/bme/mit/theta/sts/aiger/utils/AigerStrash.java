@@ -0,0 +1,200 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.sts.aiger.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import hu.bme.mit.theta.common.container.Containers;
+import hu.bme.mit.theta.sts.aiger.elements.AigerNode;
+import hu.bme.mit.theta.sts.aiger.elements.AigerSystem;
+import hu.bme.mit.theta.sts.aiger.elements.AigerWire;
+import hu.bme.mit.theta.sts.aiger.elements.AndGate;
+import hu.bme.mit.theta.sts.aiger.elements.FalseConst;
+import hu.bme.mit.theta.sts.aiger.elements.Latch;
+
+/**
+ * Structural hashing (strash) for AIGER systems. AND gates are visited in topological order and
+ * each gate is either simplified using (x AND false == false), (x AND true == x), (x AND x == x),
+ * (x AND !x == false) or merged into an earlier gate with the same inputs. Latches with a constant
+ * false next state (or with themselves as next state) are replaced by the false constant. This
+ * subsumes {@link AigerConstProp}, but it does not remove gates that become unused, for which
+ * {@link AigerCoi} can be applied afterwards.
+ */
+public final class AigerStrash {
+
+    private AigerStrash() {
+    }
+
+    /**
+     * Apply structural hashing and constant propagation to the system until a fixpoint is
+     * reached. The parameter is modified.
+     *
+     * @param system
+     * @return Number of removed nodes
+     */
+    public static int apply(final AigerSystem system) {
+        final Strash strash = new Strash(system);
+        int removed = 0;
+        int removedInIteration;
+        do {
+            removedInIteration = strash.hashGates() + strash.propagateLatches();
+            removed += removedInIteration;
+        } while (removedInIteration > 0);
+        strash.createFalseConstIfNeeded();
+        return removed;
+    }
+
+    /**
+     * Redirect all the outgoing wires of a node to a new source, inverting them if needed.
+     */
+    static void replace(final AigerNode node, final AigerNode newSource, final boolean invert) {
+        final List<AigerWire> redirectedWires = new ArrayList<>(node.getOutWires());
+        for (final AigerWire wire : redirectedWires) {
+            wire.modifySource(newSource);
+            if (invert) {
+                wire.invert();
+            }
+        }
+    }
+
+    /**
+     * Disconnect the incoming wires of a node from their sources.
+     */
+    static void disconnect(final AigerNode node) {
+        for (final AigerWire wire : node.getInWires()) {
+            wire.getSource().getOutWires().remove(wire);
+        }
+    }
+
+    private static final class Strash {
+        private final AigerSystem system;
+        private final Map<AigerNode, Integer> ids;
+        private FalseConst falseConst;
+        private boolean falseConstUsed;
+
+        private Strash(final AigerSystem system) {
+            this.system = system;
+            this.ids = Containers.createMap();
+            final Optional<AigerNode> falseOpt = system.getNodes().stream()
+                    .filter(n -> n instanceof FalseConst).findFirst();
+            this.falseConst = (FalseConst) falseOpt.orElse(null);
+            this.falseConstUsed = false;
+        }
+
+        private FalseConst getFalseConst() {
+            if (falseConst == null) {
+                falseConst = new FalseConst();
+            }
+            falseConstUsed = true;
+            return falseConst;
+        }
+
+        private void createFalseConstIfNeeded() {
+            if (falseConstUsed && !system.getNodes().contains(falseConst)) {
+                system.getNodes().add(0, falseConst);
+            }
+        }
+
+        private int getId(final AigerNode node) {
+            return ids.computeIfAbsent(node, n -> ids.size());
+        }
+
+        private long getLiteral(final AigerWire wire) {
+            return 2L * getId(wire.getSource()) + (wire.isPonated() ? 0 : 1);
+        }
+
+        private int hashGates() {
+            final Map<Long, AndGate> hashTable = new HashMap<>();
+            final Set<AigerNode> removed = Containers.createSet();
+            for (final AndGate gate : system.getAndGatesInTopologicalOrder()) {
+                final AigerWire wire1 = gate.getInWire1();
+                final AigerWire wire2 = gate.getInWire2();
+                if (simplify(gate, wire1, wire2) || simplify(gate, wire2, wire1)) {
+                    removed.add(gate);
+                    continue;
+                }
+                final long lit1 = getLiteral(wire1);
+                final long lit2 = getLiteral(wire2);
+                final long key = lit1 < lit2 ? (lit1 << 32) | lit2 : (lit2 << 32) | lit1;
+                final AndGate existing = hashTable.putIfAbsent(key, gate);
+                if (existing != null) {
+                    disconnect(gate);
+                    replace(gate, existing, false);
+                    removed.add(gate);
+                }
+            }
+            system.getNodes().removeIf(removed::contains);
+            return removed.size();
+        }
+
+        /**
+         * Try to simplify a gate based on one of its inputs.
+         *
+         * @return True, if the gate was replaced
+         */
+        private boolean simplify(final AndGate gate, final AigerWire wire, final AigerWire other) {
+            final AigerNode source = wire.getSource();
+            final AigerNode otherSource = other.getSource();
+            if (source instanceof FalseConst) {
+                disconnect(gate);
+                if (wire.isPonated()) {
+                    // false AND x == false
+                    replace(gate, getFalseConst(), false);
+                } else {
+                    // true AND x == x
+                    replace(gate, otherSource, !other.isPonated());
+                }
+                return true;
+            } else if (source == otherSource) {
+                disconnect(gate);
+                if (wire.isPonated() == other.isPonated()) {
+                    // x AND x == x
+                    replace(gate, source, !wire.isPonated());
+                } else {
+                    // x AND !x == false
+                    replace(gate, getFalseConst(), false);
+                }
+                return true;
+            } else {
+                return false;
+            }
+        }
+
+        private int propagateLatches() {
+            final Set<AigerNode> removed = Containers.createSet();
+            for (final AigerNode node : system.getNodes()) {
+                if (node instanceof Latch latch) {
+                    final AigerWire wire = latch.getInWire();
+                    final AigerNode source = wire.getSource();
+                    // The initial value is false, so the latch remains false if its next state
+                    // is either false or its own value
+                    if (wire.isPonated() && (source instanceof FalseConst || source == latch)) {
+                        disconnect(latch);
+                        replace(latch, getFalseConst(), false);
+                        removed.add(latch);
+                    }
+                }
+            }
+            system.getNodes().removeIf(removed::contains);
+            return removed.size();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.sts.aiger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import hu.bme.mit.theta.solver.Solver;
+import hu.bme.mit.theta.solver.z3legacy.Z3LegacySolverFactory;
+import hu.bme.mit.theta.sts.aiger.elements.AigerSystem;
+import hu.bme.mit.theta.sts.aiger.elements.AigerWire;
+import hu.bme.mit.theta.sts.aiger.utils.AigerCoi;
+import hu.bme.mit.theta.sts.aiger.utils.AigerFraig;
+
+public class AigerFraigTest {
+
+    @Test
+    public void testEquivalentNodes() throws Exception {
+        // Output: (a AND NOT b) OR c, where a and b are the conjunction of the 10 inputs with different
+        // association, and c is the conjunction of the first 9 inputs and the negated 10th. The simulation
+        // signatures of a, b, c and the false constant all coincide.
+        final AigerSystem system = AigerParser.parse("src/test/resources/fraig1.aag");
+        try (Solver solver = Z3LegacySolverFactory.getInstance().createSolver()) {
+            // b is merged into a, then (a AND NOT a) into false, then the output gate into NOT c
+            Assert.assertEquals(3, AigerFraig.apply(system, solver));
+            Assert.assertTrue(solver.getAssertions().isEmpty());
+        }
+        AigerCoi.apply(system);
+        final AigerWire outWire = system.getOutput().getInWire();
+        Assert.assertEquals("AND19_v29", outWire.getSource().getName());
+        Assert.assertTrue(outWire.isPonated());
+        Assert.assertEquals(19, system.getNodes().size());
+    }
+
+    @Test
+    public void testNonEquivalentNodes() throws Exception {
+        // Output: a OR c, where a is the conjunction of the 10 inputs, and c is the conjunction of inputs 3 to 10
+        // and the negated first input. The gates with coinciding signatures are pairwise non-equivalent.
+        final AigerSystem system = AigerParser.parse("src/test/resources/fraig2.aag");
+        final int size = system.getNodes().size();
+        try (Solver solver = Z3LegacySolverFactory.getInstance().createSolver()) {
+            Assert.assertEquals(0, AigerFraig.apply(system, solver));
+        }
+        Assert.assertEquals(size, system.getNodes().size());
+    }
+
+}
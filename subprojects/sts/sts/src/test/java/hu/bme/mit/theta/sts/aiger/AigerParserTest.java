@@ -0,0 +1,54 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.sts.aiger;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import hu.bme.mit.theta.sts.aiger.elements.AigerNode;
+import hu.bme.mit.theta.sts.aiger.elements.AigerSystem;
+import hu.bme.mit.theta.sts.aiger.elements.AndGate;
+
+public class AigerParserTest {
+
+    @Test
+    public void testBinary() throws IOException {
+        final AigerSystem textual = AigerParser.parse("src/test/resources/binary.aag");
+        final AigerSystem binary = AigerParser.parse("src/test/resources/binary.aig");
+        Assert.assertEquals(104, binary.getNodes().size());
+        Assert.assertEquals(describe(textual), describe(binary));
+        Assert.assertEquals(AigerToSts.createSts(textual).toString(),
+                AigerToSts.createSts(binary).toString());
+    }
+
+    private static List<String> describe(final AigerSystem system) {
+        return system.getNodes().stream().map(AigerParserTest::describe).collect(Collectors.toList());
+    }
+
+    private static String describe(final AigerNode node) {
+        final StringBuilder sb = new StringBuilder(node.getName());
+        if (node instanceof AndGate) {
+            node.getInWires().forEach(w -> sb.append(w.isPonated() ? " " : " !")
+                    .append(w.getSource().getName()));
+        }
+        return sb.toString();
+    }
+
+}
@@ -28,17 +28,46 @@ import hu.bme.mit.theta.xcfa.model.XCFA
 import org.antlr.v4.runtime.BailErrorStrategy
 import org.antlr.v4.runtime.CharStreams
 import org.antlr.v4.runtime.CommonTokenStream
+import org.antlr.v4.runtime.ConsoleErrorListener
+import org.antlr.v4.runtime.atn.PredictionMode
+import org.antlr.v4.runtime.misc.ParseCancellationException
 import java.io.InputStream
 
-fun getXcfaFromC(stream: InputStream, parseContext: ParseContext, collectStatistics: Boolean,
-    checkOverflow: Boolean, warningLogger: Logger): Triple<XCFA, CStatistics?, Pair<XcfaStatistics, XcfaStatistics>?> {
+/**
+ * Parses a C compilation unit. Parsing is first attempted in the faster SLL prediction mode, and the input is only
+ * re-parsed in full LL mode if that fails (either due to an SLL conflict or a genuine syntax error).
+ *
+ * The DFA built during prediction is kept in the static cache of the generated parser, so it is shared by every file
+ * parsed in the same JVM, and later files of a batch run are predicted mostly from the cache.
+ */
+fun parseCompilationUnit(stream: InputStream): CParser.CompilationUnitContext {
     val input = CharStreams.fromStream(stream)
     val lexer = CLexer(input)
     val tokens = CommonTokenStream(lexer)
     val parser = CParser(tokens)
     parser.errorHandler = BailErrorStrategy()
-    val context = parser.compilationUnit()
+    parser.removeErrorListeners()
+    parser.interpreter.predictionMode = PredictionMode.SLL
+    return try {
+        parser.compilationUnit()
+    } catch (e: ParseCancellationException) {
+        parser.reset()
+        parser.addErrorListener(ConsoleErrorListener.INSTANCE)
+        parser.interpreter.predictionMode = PredictionMode.LL
+        parser.compilationUnit()
+    }
+}
 
+fun getXcfaFromC(stream: InputStream, parseContext: ParseContext, collectStatistics: Boolean,
+    checkOverflow: Boolean, warningLogger: Logger): Triple<XCFA, CStatistics?, Pair<XcfaStatistics, XcfaStatistics>?> =
+    getXcfaFromC(parseCompilationUnit(stream), parseContext, collectStatistics, checkOverflow, warningLogger)
+
+/**
+ * Builds an XCFA from an already parsed compilation unit. The parse tree is not modified, so it can be reused, e.g.,
+ * when retrying the transformation with a different arithmetic.
+ */
+fun getXcfaFromC(context: CParser.CompilationUnitContext, parseContext: ParseContext, collectStatistics: Boolean,
+    checkOverflow: Boolean, warningLogger: Logger): Triple<XCFA, CStatistics?, Pair<XcfaStatistics, XcfaStatistics>?> {
     val program = context.accept(FunctionVisitor(parseContext, warningLogger))
     check(program is CProgram)
 
@@ -66,4 +95,4 @@ fun getXcfaFromC(stream: InputStream, parseContext: ParseContext, collectStatist
     }
 
     return Triple(xcfa, null, null)
-}
\ No newline at end of file
+}
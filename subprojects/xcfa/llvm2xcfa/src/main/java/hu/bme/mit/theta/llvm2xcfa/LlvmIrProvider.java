@@ -20,19 +20,36 @@ import hu.bme.mit.theta.common.Tuple2;
 import hu.bme.mit.theta.common.Tuple3;
 import hu.bme.mit.theta.common.Tuple4;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * Provides the SSA form of a program processed by the native LLVM library. After parsing, the whole module is fetched
+ * in a single JNI call as a binary buffer (a string table followed by integer records, see ModuleSerializer.h in the
+ * native library), and is decoded eagerly, so later queries do not cross the JNI boundary.
+ */
 public class LlvmIrProvider implements SSAProvider {
     static {
         System.loadLibrary("theta-llvm");
     }
 
-    private final Map<Tuple2<String, String>, Integer> bbNamefuncIndexLut; // key: BasicBlock name, value: index of function in module
+    private static final int MAGIC = 0x54484c49;
+    private static final int VERSION = 1;
+
+    private final List<Tuple3<String, String, String>> globalVariables = new ArrayList<>();
+    private final List<Tuple3<String, Optional<String>, List<Tuple2<String, String>>>> functions = new ArrayList<>();
+    private final Map<String, List<String>> blocks = new HashMap<>(); // key: function name, value: block names
+    private final Map<Tuple2<String, String>, List<Tuple4<String, Optional<Tuple2<String, String>>, List<Tuple2<Optional<String>, String>>, Integer>>> instructions = new HashMap<>(); // key: function and block name
 
     public LlvmIrProvider(String irFilename) {
         this(irFilename, true, true, true, true);
@@ -53,19 +70,11 @@ public class LlvmIrProvider implements SSAProvider {
         }
 
         JniParseIr(irFilename);
-        bbNamefuncIndexLut = new HashMap<>();
-
-        int numOfFunctions = JniGetFunctionsNum();
-
-        for (int f = 0; f < numOfFunctions; f++) {
-            String functionName = JniGetFunctionName(f);
-            int numOfBasicBlocks = JniGetNumOfBasicBlocks(f);
-
-            for (int b = 0; b < numOfBasicBlocks; b++) {
-                bbNamefuncIndexLut.put(Tuple2.of(functionName, JniGetBlockName(f, b)), f);
-            }
+        try {
+            decodeModule(JniExportModule().order(ByteOrder.nativeOrder()));
+        } finally {
+            JniReleaseModuleExport();
         }
-
     }
 
     private native void JniParseIr(String irFilename);
@@ -78,58 +87,42 @@ public class LlvmIrProvider implements SSAProvider {
 
     private native void JniDisablePrintDebugIr();
 
-    private native int JniGetGlobalVariablesNum();
-
-    private native String JniGetGlobalVariableName(int gvIndex);
+    private native ByteBuffer JniExportModule();
 
-    private native String JniGetGlobalVariableType(int gvIndex);
+    private native void JniReleaseModuleExport();
 
-    private native String JniGetGlobalVariableValue(int gvIndex);
+    private void decodeModule(ByteBuffer buffer) {
+        checkState(buffer.getInt() == MAGIC, "Invalid module export from the native library");
+        checkState(buffer.getInt() == VERSION, "Unsupported module export version");
 
-    // Format: Tuple3<Name, Type, Initial Value>
-    @Override
-    public Collection<Tuple3<String, String, String>> getGlobalVariables() {
-        int numOfGlobalVar = JniGetGlobalVariablesNum();
-        Tuple3<String, String, String> globalVar;
-        ArrayList<Tuple3<String, String, String>> globalVarList = new ArrayList<Tuple3<String, String, String>>();
-
-        for (int i = 0; i < numOfGlobalVar; i++) {
-            globalVar = Tuple3.of(
-                    JniGetGlobalVariableName(i),
-                    JniGetGlobalVariableType(i),
-                    JniGetGlobalVariableValue(i)
-            );
-            globalVarList.add(globalVar);
+        String[] strings = new String[buffer.getInt()];
+        byte[] bytes = new byte[0];
+        for (int i = 0; i < strings.length; i++) {
+            int length = buffer.getInt();
+            if (bytes.length < length) {
+                bytes = new byte[length];
+            }
+            buffer.get(bytes, 0, length);
+            strings[i] = new String(bytes, 0, length, StandardCharsets.UTF_8);
         }
-        return globalVarList;
-    }
-
-    private native int JniGetFunctionsNum();
 
-    private native String JniGetFunctionRetType(int funcIndex);
-
-    private native String JniGetFunctionName(int funcIndex);
-
-    private native int JniGetNumOfFunctionParameters(int funcIndex);
-
-    private native String JniGetParameterType(int funcIndex, int paramIndex);
-
-    private native String JniGetParameterName(int funcIndex, int paramIndex);
-
-    @Override
-    public Collection<Tuple3<String, Optional<String>, List<Tuple2<String, String>>>> getFunctions() {
-        int numOfFunctions = JniGetFunctionsNum();
-        ArrayList<Tuple3<String, Optional<String>, List<Tuple2<String, String>>>> functions = new ArrayList<>();
+        int numOfGlobalVars = buffer.getInt();
+        for (int g = 0; g < numOfGlobalVars; g++) {
+            String name = strings[buffer.getInt()];
+            String type = strings[buffer.getInt()];
+            String value = strings[buffer.getInt()];
+            globalVariables.add(Tuple3.of(name, type, value));
+        }
 
+        int numOfFunctions = buffer.getInt();
         for (int f = 0; f < numOfFunctions; f++) {
-            String functionName = JniGetFunctionName(f);
-            String retType = JniGetFunctionRetType(f); // TODO make this really optional? (->when void)
-            int numOfParams = JniGetNumOfFunctionParameters(f);
-
-            ArrayList<Tuple2<String, String>> parameters = new ArrayList<>();
+            String functionName = strings[buffer.getInt()];
+            String retType = strings[buffer.getInt()]; // TODO make this really optional? (->when void)
+            int numOfParams = buffer.getInt();
+            List<Tuple2<String, String>> parameters = new ArrayList<>(numOfParams);
             for (int p = 0; p < numOfParams; p++) {
-                String paramType = JniGetParameterType(f, p);
-                String paramName = JniGetParameterName(f, p);
+                String paramType = strings[buffer.getInt()];
+                String paramName = strings[buffer.getInt()];
                 parameters.add(Tuple2.of(paramType, paramName));
             }
             if (retType.equals("void")) {
@@ -137,62 +130,33 @@ public class LlvmIrProvider implements SSAProvider {
             } else {
                 functions.add(Tuple3.of(functionName, Optional.of(retType), parameters));
             }
-        }
-        return functions;
-    }
-
-    private native int JniGetNumOfBasicBlocks(int funcIndex);
 
-    private native int JniGetFunctionIndex(String funcName);
-
-    private native String JniGetBlockName(int funcIndex, int BasicBlockIndex);
-
-    @Override
-    public List<String> getBlocks(String funcName) {
-        int f = JniGetFunctionIndex(funcName);
-        int numOfBasicBlocks = JniGetNumOfBasicBlocks(f);
-        ArrayList<String> blocks = new ArrayList<>();
-        for (int b = 0; b < numOfBasicBlocks; b++) {
-            blocks.add(JniGetBlockName(f, b));
+            int numOfBasicBlocks = buffer.getInt();
+            List<String> blockNames = new ArrayList<>(numOfBasicBlocks);
+            for (int b = 0; b < numOfBasicBlocks; b++) {
+                String blockName = strings[buffer.getInt()];
+                blockNames.add(blockName);
+                List<Tuple4<String, Optional<Tuple2<String, String>>, List<Tuple2<Optional<String>, String>>, Integer>> blockInstructions = decodeInstructions(buffer, strings);
+                instructions.putIfAbsent(Tuple2.of(functionName, blockName), blockInstructions);
+            }
+            blocks.putIfAbsent(functionName, blockNames);
         }
-        return blocks;
+        checkState(!buffer.hasRemaining(), "Trailing data in module export");
     }
 
-    private native int JniGetBlockIndex(int functionIndex, String blockName);
-
-    private native int JniGetNumOfInstructions(int functionIndex, int basicBlockIndex);
-
-    private native int JniGetInstructionLineNumber(int functionIndex, int basicBlockIndex, int i);
-
-    private native String JniGetInstructionOpcode(int functionIndex, int basicBlockIndex, int i);
-
-    private native String JniGetInstructionRetType(int functionIndex, int basicBlockIndex, int i);
-
-    private native String JniGetInstructionRetName(int functionIndex, int basicBlockIndex, int i);
-
-    private native int JniGetInstructionNumOfOperands(int functionIndex, int basicBlockIndex, int i);
-
-    private native String JniGetInstructionOperandVarType(int functionIndex, int basicBlockIndex, int i, int o);
-
-    private native String JniGetInstructionOperandVarName(int functionIndex, int basicBlockIndex, int i, int o);
-
-    @Override
-    public List<Tuple4<String, Optional<Tuple2<String, String>>, List<Tuple2<Optional<String>, String>>, Integer>> getInstructions(String funcName, String blockName) {
-        int functionIndex = bbNamefuncIndexLut.get(Tuple2.of(funcName, blockName));
-        int basicBlockIndex = JniGetBlockIndex(functionIndex, blockName);
-        int numOfInstructions = JniGetNumOfInstructions(functionIndex, basicBlockIndex);
-
-        ArrayList<Tuple4<String, Optional<Tuple2<String, String>>, List<Tuple2<Optional<String>, String>>, Integer>> instructions = new ArrayList<>();
+    private static List<Tuple4<String, Optional<Tuple2<String, String>>, List<Tuple2<Optional<String>, String>>, Integer>> decodeInstructions(ByteBuffer buffer, String[] strings) {
+        int numOfInstructions = buffer.getInt();
+        List<Tuple4<String, Optional<Tuple2<String, String>>, List<Tuple2<Optional<String>, String>>, Integer>> instructions = new ArrayList<>(numOfInstructions);
         for (int i = 0; i < numOfInstructions; i++) {
-            int lineNumber = JniGetInstructionLineNumber(functionIndex, basicBlockIndex, i);
-            String opcode = JniGetInstructionOpcode(functionIndex, basicBlockIndex, i);
-            String retType = JniGetInstructionRetType(functionIndex, basicBlockIndex, i);
-            String retVar = JniGetInstructionRetName(functionIndex, basicBlockIndex, i);
-            int numOfOperands = JniGetInstructionNumOfOperands(functionIndex, basicBlockIndex, i);
-            ArrayList<Tuple2<Optional<String>, String>> instructionOperands = new ArrayList<>();
+            String opcode = strings[buffer.getInt()];
+            String retType = strings[buffer.getInt()];
+            String retVar = strings[buffer.getInt()];
+            int lineNumber = buffer.getInt();
+            int numOfOperands = buffer.getInt();
+            List<Tuple2<Optional<String>, String>> instructionOperands = new ArrayList<>(numOfOperands);
             for (int o = 0; o < numOfOperands; o++) {
-                String varType = JniGetInstructionOperandVarType(functionIndex, basicBlockIndex, i, o);
-                String varName = JniGetInstructionOperandVarName(functionIndex, basicBlockIndex, i, o);
+                String varType = strings[buffer.getInt()];
+                String varName = strings[buffer.getInt()];
                 if (varType.equals("constant")) {
                     instructionOperands.add(Tuple2.of(Optional.empty(), varName));
                 } else {
@@ -206,10 +170,30 @@ public class LlvmIrProvider implements SSAProvider {
                 instructions.add(Tuple4.of(opcode, Optional.of(Tuple2.of(retType, retVar)), instructionOperands, lineNumber));
             }
         }
-
         return instructions;
     }
 
+    // Format: Tuple3<Name, Type, Initial Value>
+    @Override
+    public Collection<Tuple3<String, String, String>> getGlobalVariables() {
+        return Collections.unmodifiableList(globalVariables);
+    }
+
+    @Override
+    public Collection<Tuple3<String, Optional<String>, List<Tuple2<String, String>>>> getFunctions() {
+        return Collections.unmodifiableList(functions);
+    }
+
+    @Override
+    public List<String> getBlocks(String funcName) {
+        return Collections.unmodifiableList(blocks.get(funcName));
+    }
+
+    @Override
+    public List<Tuple4<String, Optional<Tuple2<String, String>>, List<Tuple2<Optional<String>, String>>, Integer>> getInstructions(String funcName, String blockName) {
+        return Collections.unmodifiableList(instructions.get(Tuple2.of(funcName, blockName)));
+    }
+
     private native boolean JniGetStructAnalysisResult();
 
     @Override
@@ -224,4 +208,4 @@ public class LlvmIrProvider implements SSAProvider {
         return JniGetBitwiseArithmeticAnalysisResult();
     }
 
-}
\ No newline at end of file
+}
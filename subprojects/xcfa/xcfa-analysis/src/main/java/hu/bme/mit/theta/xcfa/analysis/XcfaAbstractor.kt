@@ -26,6 +26,7 @@ import hu.bme.mit.theta.analysis.algorithm.cegar.AbstractorResult
 import hu.bme.mit.theta.analysis.algorithm.cegar.BasicAbstractor
 import hu.bme.mit.theta.analysis.algorithm.cegar.abstractor.StopCriterion
 import hu.bme.mit.theta.analysis.reachedset.Partition
+import hu.bme.mit.theta.analysis.runtimemonitor.MonitorCheckpoint
 import hu.bme.mit.theta.analysis.waitlist.Waitlist
 import hu.bme.mit.theta.common.logging.Logger
 import java.util.function.Function
@@ -49,10 +50,12 @@ class XcfaAbstractor<S : State, A : Action, P : Prec>(
 
         assert(arg.isInitialized)
 
-        logger.write(
-            Logger.Level.INFO, "|  |  Starting ARG: %d nodes, %d incomplete, %d unsafe%n", arg.nodes.count(),
-            arg.incompleteNodes.count(), arg.unsafeNodes.count()
-        )
+        if (logger.isEnabled(Logger.Level.INFO)) {
+            logger.write(
+                Logger.Level.INFO, "|  |  Starting ARG: %d nodes, %d incomplete, %d unsafe%n", arg.nodes.count(),
+                arg.incompleteNodes.count(), arg.unsafeNodes.count()
+            )
+        }
         logger.write(Logger.Level.SUBSTEP, "|  |  Building ARG...")
 
         val reachedSet: Partition<ArgNode<S, A>, *> = Partition.of { n: ArgNode<S, A> ->
@@ -77,16 +80,19 @@ class XcfaAbstractor<S : State, A : Action, P : Prec>(
                     newNodes = argBuilder.expand(node, prec)
                     reachedSet.addAll(newNodes)
                     waitlist.addAll(newNodes)
+                    MonitorCheckpoint.execute("BasicAbstractor.expandedNode")
                 }
                 if (stopCriterion.canStop(arg, newNodes)) break
             }
         }
 
         logger.write(Logger.Level.SUBSTEP, "done%n")
-        logger.write(
-            Logger.Level.INFO, "|  |  Finished ARG: %d nodes, %d incomplete, %d unsafe%n", arg.nodes.count(),
-            arg.incompleteNodes.count(), arg.unsafeNodes.count()
-        )
+        if (logger.isEnabled(Logger.Level.INFO)) {
+            logger.write(
+                Logger.Level.INFO, "|  |  Finished ARG: %d nodes, %d incomplete, %d unsafe%n", arg.nodes.count(),
+                arg.incompleteNodes.count(), arg.unsafeNodes.count()
+            )
+        }
 
         waitlist.clear() // Optimization
 
@@ -104,12 +110,14 @@ class XcfaAbstractor<S : State, A : Action, P : Prec>(
         }
         for (candidate in candidates) {
             if (candidate.mayCover(node)) {
-                var onlyStackCovers = false
-                (node.state as XcfaState<*>).processes.forEach { (pid: Int, proc: XcfaProcessState) ->
-                    if (proc != (candidate.state as XcfaState<*>).processes[pid]) {
-                        if (popCovered) proc.popped = proc.locs.pop()
-                        onlyStackCovers = true
-                    }
+                val state = node.state as XcfaState<*>
+                val differingPids = state.processes.filter { (pid: Int, proc: XcfaProcessState) ->
+                    proc != (candidate.state as XcfaState<*>).processes[pid]
+                }.keys
+                val onlyStackCovers = differingPids.isNotEmpty()
+                if (popCovered && onlyStackCovers) {
+                    @Suppress("UNCHECKED_CAST")
+                    node.state = state.popLocs(differingPids) as S
                 }
                 if (!onlyStackCovers) {
                     node.cover(candidate)
@@ -26,6 +26,7 @@ import hu.bme.mit.theta.analysis.expr.refinement.*
 import hu.bme.mit.theta.analysis.ptr.PtrState
 import hu.bme.mit.theta.analysis.ptr.WriteTriples
 import hu.bme.mit.theta.analysis.ptr.patch
+import hu.bme.mit.theta.analysis.runtimemonitor.MonitorCheckpoint
 import hu.bme.mit.theta.common.logging.Logger
 import java.util.*
 
@@ -89,6 +90,7 @@ class XcfaSingleExprTraceRefiner<S : ExprState, A : ExprAction, P : Prec, R : Re
         logger.write(Logger.Level.SUBSTEP, "|  |  Checking trace...")
         val cexStatus = exprTraceChecker.check(traceToConcretize)
         logger.write(Logger.Level.SUBSTEP, "done, result: %s%n", cexStatus)
+        MonitorCheckpoint.execute("SingleExprTraceRefiner.checkedTrace")
         assert(cexStatus.isFeasible() || cexStatus.isInfeasible()) { "Unknown CEX status" }
         return if (cexStatus.isFeasible()) {
             RefinerResult.unsafe(traceToConcretize)
@@ -17,6 +17,7 @@
 package hu.bme.mit.theta.xcfa.analysis
 
 import hu.bme.mit.theta.analysis.expr.ExprState
+import hu.bme.mit.theta.common.container.PersistentArrayMap
 import hu.bme.mit.theta.core.decl.Decls.Var
 import hu.bme.mit.theta.core.decl.VarDecl
 import hu.bme.mit.theta.core.stmt.Stmts.Assign
@@ -41,6 +42,24 @@ data class XcfaState<S : ExprState> @JvmOverloads constructor(
     val bottom: Boolean = false,
 ) : ExprState {
 
+    /**
+     * Successor states are derived from their parents through persistent maps (see [PersistentArrayMap]) instead of
+     * copying [processes] and [mutexes] into new hash maps on every transition.
+     */
+    private val persistentProcesses: PersistentArrayMap<Int, XcfaProcessState>
+        get() = PersistentArrayMap.copyOf(processes)
+
+    private val persistentMutexes: PersistentArrayMap<String, Int>
+        get() = PersistentArrayMap.copyOf(mutexes)
+
+    private var cachedHashCode = 0
+
+    override fun hashCode(): Int {
+        if (cachedHashCode == 0) {
+            cachedHashCode = Objects.hash(xcfa, processes, sGlobal, mutexes, threadLookup, bottom)
+        }
+        return cachedHashCode
+    }
 
     override fun isBottom(): Boolean {
         return bottom || sGlobal.isBottom
@@ -58,44 +77,32 @@ data class XcfaState<S : ExprState> @JvmOverloads constructor(
         val processState = processes[a.pid]
         checkNotNull(processState)
         check(processState.locs.peek() == a.source)
-        val newProcesses: MutableMap<Int, XcfaProcessState> = LinkedHashMap(processes)
-        newProcesses[a.pid] = checkNotNull(processes[a.pid]?.withNewLoc(a.target))
-        if (processes != newProcesses) {
+        val newProcesses = persistentProcesses.with(a.pid, processState.withNewLoc(a.target))
+        if (processes !== newProcesses) {
             changes.add { state -> state.withProcesses(newProcesses) }
         }
 
         val newLabels = a.edge.getFlatLabels().filter {
             when (it) {
-                is FenceLabel -> it.labels.forEach { label ->
-                    when (label) {
-                        "ATOMIC_BEGIN" -> changes.add { it.enterMutex("", a.pid) }
-                        "ATOMIC_END" -> changes.add { it.exitMutex("", a.pid) }
-                        in Regex("mutex_lock\\((.*)\\)") -> changes.add { state ->
-                            state.enterMutex(label.substring("mutex_lock".length + 1, label.length - 1), a.pid)
-                        }
-
-                        in Regex("mutex_unlock\\((.*)\\)") -> changes.add { state ->
-                            state.exitMutex(label.substring("mutex_unlock".length + 1, label.length - 1), a.pid)
-                        }
-
-                        in Regex("start_cond_wait\\((.*)\\)") -> {
-                            val args = label.substring("start_cond_wait".length + 1, label.length - 1).split(",")
-                            changes.add { state -> state.enterMutex(args[0], -1) }
-                            changes.add { state -> state.exitMutex(args[1], a.pid) }
-                        }
-
-                        in Regex("cond_wait\\((.*)\\)") -> {
-                            val args = label.substring("cond_wait".length + 1, label.length - 1).split(",")
-                            changes.add { state -> state.enterMutex(args[0], a.pid) }
-                            changes.add { state -> state.exitMutex(args[0], a.pid) }
-                            changes.add { state -> state.enterMutex(args[1], a.pid) }
+                is FenceLabel -> it.operations.forEach { op ->
+                    when (op) {
+                        FenceOperation.AtomicBegin -> changes.add { it.enterMutex("", a.pid) }
+                        FenceOperation.AtomicEnd -> changes.add { it.exitMutex("", a.pid) }
+                        is FenceOperation.MutexLock -> changes.add { state -> state.enterMutex(op.mutex, a.pid) }
+                        is FenceOperation.MutexUnlock -> changes.add { state -> state.exitMutex(op.mutex, a.pid) }
+                        is FenceOperation.StartCondWait -> {
+                            changes.add { state -> state.enterMutex(op.cond, -1) }
+                            changes.add { state -> state.exitMutex(op.mutex, a.pid) }
                         }
 
-                        in Regex("cond_signal\\((.*)\\)") -> changes.add { state ->
-                            state.exitMutex(label.substring("cond_signal".length + 1, label.length - 1), -1)
+                        is FenceOperation.CondWait -> {
+                            changes.add { state -> state.enterMutex(op.cond, a.pid) }
+                            changes.add { state -> state.exitMutex(op.cond, a.pid) }
+                            changes.add { state -> state.enterMutex(op.mutex, a.pid) }
                         }
 
-                        else -> error("Unknown fence label $label")
+                        is FenceOperation.CondSignal -> changes.add { state -> state.exitMutex(op.cond, -1) }
+                        is FenceOperation.Other -> error("Unknown fence label $op")
                     }
                 }.let { false }
 
@@ -140,7 +147,6 @@ data class XcfaState<S : ExprState> @JvmOverloads constructor(
     }
 
     private fun start(startLabel: StartLabel): XcfaState<S> {
-        val newProcesses: MutableMap<Int, XcfaProcessState> = LinkedHashMap(processes)
         val newThreadLookup: MutableMap<VarDecl<*>, Int> = LinkedHashMap(threadLookup)
 
         val procedure = checkNotNull(xcfa?.procedures?.find { it.name == startLabel.name })
@@ -161,7 +167,8 @@ data class XcfaState<S : ExprState> @JvmOverloads constructor(
         val pid = pidCnt++
         val lookup = XcfaProcessState.createLookup(procedure, "T$pid", "")
         newThreadLookup[startLabel.pidVar] = pid
-        newProcesses[pid] = XcfaProcessState(LinkedList(listOf(procedure.initLoc)), prefix = "T$pid",
+        val newProcesses = persistentProcesses.with(pid, XcfaProcessState(LinkedList(listOf(procedure.initLoc)),
+            prefix = "T$pid",
             varLookup = LinkedList(listOf(lookup)), returnStmts = LinkedList(listOf(returnStmt)),
             paramStmts = LinkedList(listOf(Pair(
                 /* init */
@@ -174,46 +181,47 @@ data class XcfaState<S : ExprState> @JvmOverloads constructor(
                     StmtLabel(Assign(cast(it.key.changeVars(tempLookup), it.key.type),
                         cast(it.key.changeVars(lookup).ref, it.key.type)))
                 }),
-            ))))
-        val newMutexes = LinkedHashMap(mutexes)
-        newMutexes["$pid"] = pid
+            )))))
+        val newMutexes = persistentMutexes.with("$pid", pid)
 
         return copy(processes = newProcesses, threadLookup = newThreadLookup, mutexes = newMutexes)
     }
 
     private fun endProcess(pid: Int): XcfaState<S> {
-        val newProcesses: MutableMap<Int, XcfaProcessState> = LinkedHashMap(processes)
-        newProcesses.remove(pid)
-        val newMutexes = LinkedHashMap(mutexes)
-        newMutexes.remove("$pid")
-        return copy(processes = newProcesses, mutexes = newMutexes)
+        return copy(processes = persistentProcesses.without(pid), mutexes = persistentMutexes.without("$pid"))
     }
 
     private fun invokeFunction(pid: Int, proc: XcfaProcedure, returnStmt: XcfaLabel,
         paramList: Map<VarDecl<*>, ParamDirection>, tempLookup: Map<VarDecl<*>, VarDecl<*>>): XcfaState<S> {
-        val newProcesses: MutableMap<Int, XcfaProcessState> = LinkedHashMap(processes)
-        newProcesses[pid] = checkNotNull(processes[pid]?.enterFunction(proc, returnStmt, paramList, tempLookup))
-        return copy(processes = newProcesses)
+        val newProcess = checkNotNull(processes[pid]?.enterFunction(proc, returnStmt, paramList, tempLookup))
+        return copy(processes = persistentProcesses.with(pid, newProcess))
     }
 
     private fun returnFromFunction(pid: Int): XcfaState<S> {
-        val newProcesses: MutableMap<Int, XcfaProcessState> = LinkedHashMap(processes)
-        newProcesses[pid] = checkNotNull(processes[pid]?.exitFunction())
-        return copy(processes = newProcesses)
+        return copy(processes = persistentProcesses.with(pid, checkNotNull(processes[pid]?.exitFunction())))
     }
 
     fun enterMutex(key: String, pid: Int): XcfaState<S> {
-        if (mutexes.keys.any { it == key && mutexes[it] != pid }) return copy(bottom = true)
+        val holder = mutexes[key]
+        if (holder != null && holder != pid) return copy(bottom = true)
+        if (holder == pid) return this
 
-        val newMutexes = LinkedHashMap(mutexes)
-        newMutexes[key] = pid
-        return copy(mutexes = newMutexes)
+        return copy(mutexes = persistentMutexes.with(key, pid))
     }
 
     fun exitMutex(key: String, pid: Int): XcfaState<S> {
-        val newMutexes = LinkedHashMap(mutexes)
-        newMutexes.remove(key, pid)
-        return copy(mutexes = newMutexes)
+        val newMutexes = persistentMutexes.without(key, pid)
+        return if (newMutexes === mutexes) this else copy(mutexes = newMutexes)
+    }
+
+    /**
+     * Returns the state where the location stacks of the given processes are popped (used by abstract stack covering).
+     */
+    fun popLocs(pids: Collection<Int>): XcfaState<S> {
+        if (pids.isEmpty()) return this
+        var newProcesses = persistentProcesses
+        pids.forEach { pid -> newProcesses = newProcesses.with(pid, checkNotNull(processes[pid]).withPoppedLoc()) }
+        return copy(processes = newProcesses)
     }
 
 
@@ -237,6 +245,8 @@ data class XcfaProcessState(val locs: LinkedList<XcfaLocation>, val varLookup: L
 
     internal var popped: XcfaLocation? = null // stores if the stack was popped due to abstract stack covering
 
+    private var cachedHashCode = 0
+
     fun withNewLoc(l: XcfaLocation): XcfaProcessState {
         val deque: LinkedList<XcfaLocation> = LinkedList(locs)
         deque.pop()
@@ -244,6 +254,12 @@ data class XcfaProcessState(val locs: LinkedList<XcfaLocation>, val varLookup: L
         return copy(locs = deque, paramsInitialized = true)
     }
 
+    fun withPoppedLoc(): XcfaProcessState {
+        val deque: LinkedList<XcfaLocation> = LinkedList(locs)
+        val top = deque.pop()
+        return copy(locs = deque).also { it.popped = top }
+    }
+
     override fun toString(): String = when (locs.size) {
         0 -> ""
         1 -> locs.peek()!!.toString() + " initialized=$paramsInitialized"
@@ -301,9 +317,12 @@ data class XcfaProcessState(val locs: LinkedList<XcfaLocation>, val varLookup: L
     }
 
     override fun hashCode(): Int {
-        var result = locs.hashCode()
-        result = 31 * result + paramsInitialized.hashCode()
-        return result
+        if (cachedHashCode == 0) {
+            var result = locs.hashCode()
+            result = 31 * result + paramsInitialized.hashCode()
+            cachedHashCode = result
+        }
+        return cachedHashCode
     }
 
     companion object {
@@ -21,6 +21,7 @@ import hu.bme.mit.theta.analysis.Prec
 import hu.bme.mit.theta.analysis.TransFunc
 import hu.bme.mit.theta.analysis.expr.ExprState
 import hu.bme.mit.theta.analysis.ptr.PtrState
+import hu.bme.mit.theta.common.RunLocal
 import hu.bme.mit.theta.core.decl.VarDecl
 import hu.bme.mit.theta.core.stmt.AssignStmt
 import hu.bme.mit.theta.core.stmt.HavocStmt
@@ -36,7 +37,14 @@ import hu.bme.mit.theta.xcfa.model.*
 import java.util.*
 import kotlin.math.min
 
-lateinit var ConeOfInfluence: XcfaCoi
+private val runConeOfInfluence = RunLocal.withInitial<XcfaCoi?> { null }
+
+/**
+ * The cone of influence of the current run (each run, e.g., a job of the server mode, has its own).
+ */
+var ConeOfInfluence: XcfaCoi
+    get() = checkNotNull(runConeOfInfluence.get()) { "ConeOfInfluence has not been initialized" }
+    set(value) = runConeOfInfluence.set(value)
 
 internal typealias S = XcfaState<out PtrState<out ExprState>>
 internal typealias A = XcfaAction
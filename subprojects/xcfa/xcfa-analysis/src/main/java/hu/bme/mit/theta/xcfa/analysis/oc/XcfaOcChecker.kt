@@ -251,7 +251,8 @@ class XcfaOcChecker(xcfa: XCFA, decisionProcedure: OcDecisionProcedureType, priv
                         }
 
                         is FenceLabel -> {
-                            if (label.labels.size > 1 || label.labels.firstOrNull()?.contains("ATOMIC") != true) {
+                            val op = label.operations.singleOrNull()
+                            if (op != FenceOperation.AtomicBegin && op != FenceOperation.AtomicEnd) {
                                 error("Untransformed fence label: $label")
                             }
                             if (label.isAtomicBegin) atomicEntered = false
@@ -15,16 +15,19 @@
  */
 package hu.bme.mit.theta.xcfa.analysis.por
 
+import hu.bme.mit.theta.common.RunLocal
 import java.util.*
 import kotlin.properties.ReadWriteProperty
 import kotlin.reflect.KProperty
 
+// the values are stored per run, so concurrent runs in the same JVM neither share nor retain each other's entries
 fun <R, T> extension() = ExtensionProperty<R, T>()
 fun <R, T> nullableExtension() = NullableExtensionProperty<R, T?>()
 
 class ExtensionProperty<R, T> : ReadWriteProperty<R, T> {
 
-    private val map = IdentityHashMap<R, T>()
+    private val runMap = RunLocal.withInitial { IdentityHashMap<R, T>() }
+    private val map: IdentityHashMap<R, T> get() = runMap.get()
     override fun getValue(thisRef: R, property: KProperty<*>) = checkNotNull(map[thisRef])
     override fun setValue(thisRef: R, property: KProperty<*>, value: T) {
         map[thisRef] = value
@@ -33,7 +36,8 @@ class ExtensionProperty<R, T> : ReadWriteProperty<R, T> {
 
 open class NullableExtensionProperty<R, T> : ReadWriteProperty<R, T?> {
 
-    protected val map = IdentityHashMap<R, T?>()
+    private val runMap = RunLocal.withInitial { IdentityHashMap<R, T?>() }
+    protected val map: IdentityHashMap<R, T?> get() = runMap.get()
     override fun getValue(thisRef: R, property: KProperty<*>) = map[thisRef]
     override fun setValue(thisRef: R, property: KProperty<*>, value: T?) {
         map[thisRef] = value
@@ -23,6 +23,7 @@ import hu.bme.mit.theta.analysis.algorithm.arg.ArgNode
 import hu.bme.mit.theta.analysis.expr.ExprState
 import hu.bme.mit.theta.analysis.ptr.PtrState
 import hu.bme.mit.theta.analysis.waitlist.Waitlist
+import hu.bme.mit.theta.common.RunLocal
 import hu.bme.mit.theta.xcfa.analysis.XcfaAction
 import hu.bme.mit.theta.xcfa.analysis.XcfaState
 import hu.bme.mit.theta.xcfa.analysis.getXcfaLts
@@ -76,8 +77,12 @@ open class XcfaDporLts(private val xcfa: XCFA) : LTS<S, A> {
 
     companion object {
 
-        var random: Random =
-            Random.Default // use Random(seed) with a seed or Random.Default without seed
+        private val runRandom = RunLocal.withInitial<Random> { Random.Default }
+
+        // use Random(seed) with a seed or Random.Default without seed (local to the current run)
+        var random: Random
+            get() = runRandom.get()
+            set(value) = runRandom.set(value)
 
         /**
          * Simple LTS that returns the enabled actions in a state.
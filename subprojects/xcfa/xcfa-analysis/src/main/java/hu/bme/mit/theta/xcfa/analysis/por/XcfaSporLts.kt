@@ -19,6 +19,8 @@ import hu.bme.mit.theta.analysis.LTS
 import hu.bme.mit.theta.analysis.expl.ExplState
 import hu.bme.mit.theta.analysis.expr.ExprState
 import hu.bme.mit.theta.analysis.ptr.PtrState
+import hu.bme.mit.theta.common.RunLocal
+import hu.bme.mit.theta.common.RunResources
 import hu.bme.mit.theta.core.decl.Decls
 import hu.bme.mit.theta.core.decl.VarDecl
 import hu.bme.mit.theta.core.type.Expr
@@ -51,8 +53,15 @@ open class XcfaSporLts(protected val xcfa: XCFA) : LTS<XcfaState<out PtrState<ou
 
     companion object {
 
-        private val dependencySolver: Solver = Z3SolverFactory.getInstance().createSolver()
-        var random: Random = Random.Default
+        // the random generator is local to the current run, and each thread of a run has its own solver, closed when
+        // the run ends
+        private val runDependencySolver = RunResources.perThread<Solver> { Z3SolverFactory.getInstance().createSolver() }
+        private val runRandom = RunLocal.withInitial<Random> { Random.Default }
+
+        private val dependencySolver: Solver get() = runDependencySolver.get()
+        var random: Random
+            get() = runRandom.get()
+            set(value) = runRandom.set(value)
     }
 
     protected var simpleXcfaLts = getXcfaLts()
@@ -152,9 +161,8 @@ open class XcfaSporLts(protected val xcfa: XCFA) : LTS<XcfaState<out PtrState<ou
         }
         disabledOutEdges.forEach { edge ->
             edge.getFlatLabels().filterIsInstance<FenceLabel>().forEach { fence ->
-                fence.labels.filter { it.startsWith("mutex_lock") }.forEach { lock ->
-                    val mutex = lock.substringAfter('(').substringBefore(')')
-                    state.mutexes[mutex]?.let { pid2 ->
+                fence.operations.filterIsInstance<FenceOperation.MutexLock>().forEach { lock ->
+                    state.mutexes[lock.mutex]?.let { pid2 ->
                         if (pid2 !in firstProcesses) {
                             firstProcesses.add(pid2)
                             checkMutexBlocks(state, pid2, firstProcesses, enabledActionsByProcess)
@@ -259,9 +267,14 @@ open class XcfaSporLts(protected val xcfa: XCFA) : LTS<XcfaState<out PtrState<ou
         val globalVars = xcfa.vars.map(XcfaGlobalVar::wrappedVar)
         return edge.getFlatLabels().flatMap { label ->
             label.collectVars().filter { it in globalVars } union
-                ((label as? FenceLabel)?.labels
-                    ?.filter { it.startsWith("start_cond_wait") || it.startsWith("cond_signal") }
-                    ?.map { it.substringAfter("(").substringBefore(")").split(",")[0] }
+                ((label as? FenceLabel)?.operations
+                    ?.mapNotNull {
+                        when (it) {
+                            is FenceOperation.StartCondWait -> it.cond
+                            is FenceOperation.CondSignal -> it.cond
+                            else -> null
+                        }
+                    }
                     ?.map { it.fenceVar } ?: listOf())
         }.toSet() union edge.acquiredEmbeddedFenceVars.let { mutexes ->
             if (mutexes.size <= 1) setOf() else mutexes.map { it.fenceVar }
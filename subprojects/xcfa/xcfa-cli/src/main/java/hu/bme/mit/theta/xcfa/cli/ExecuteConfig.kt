@@ -36,6 +36,7 @@ import hu.bme.mit.theta.cat.dsl.CatDslManager
 import hu.bme.mit.theta.common.logging.Logger
 import hu.bme.mit.theta.common.logging.Logger.Level.INFO
 import hu.bme.mit.theta.common.logging.Logger.Level.RESULT
+import hu.bme.mit.theta.common.metrics.Metrics
 import hu.bme.mit.theta.common.visualization.Graph
 import hu.bme.mit.theta.common.visualization.writer.GraphvizWriter
 import hu.bme.mit.theta.common.visualization.writer.WebDebuggerLogger
@@ -77,7 +78,7 @@ fun runConfig(
 
     validateInputOptions(config, logger, uniqueLogger)
 
-    val (xcfa, mcm, parseContext) = frontend(config, logger, uniqueLogger)
+    val (xcfa, mcm, parseContext) = frontend(config, logger, uniqueLogger, throwDontExit)
 
     preVerificationLogging(xcfa, mcm, parseContext, config, logger, uniqueLogger)
 
@@ -85,6 +86,8 @@ fun runConfig(
 
     postVerificationLogging(result, mcm, parseContext, config, logger, uniqueLogger)
 
+    config.outputConfig.metricsFile?.let(Metrics::writeJson)
+
     return result
 }
 
@@ -133,7 +136,10 @@ private fun validateInputOptions(config: XcfaConfig<*, *>, logger: Logger, uniqu
     }
 }
 
-fun frontend(config: XcfaConfig<*, *>, logger: Logger, uniqueLogger: Logger): Triple<XCFA, MCM, ParseContext> {
+fun frontend(
+    config: XcfaConfig<*, *>, logger: Logger, uniqueLogger: Logger,
+    throwDontExit: Boolean = false
+): Triple<XCFA, MCM, ParseContext> {
     if (config.inputConfig.xcfaWCtx != null) {
         val xcfa = config.inputConfig.xcfaWCtx!!.first
         ConeOfInfluence = if (config.inputConfig.xcfaWCtx!!.third.multiThreading) {
@@ -158,7 +164,7 @@ fun frontend(config: XcfaConfig<*, *>, logger: Logger, uniqueLogger: Logger): Tr
         parseContext.architecture = cConfig.architecture
     }
 
-    val xcfa = getXcfa(config, parseContext, logger, uniqueLogger)
+    val xcfa = getXcfa(config, parseContext, logger, uniqueLogger, throwDontExit)
 
     val mcm = if (config.inputConfig.catFile != null) {
         CatDslManager.createMCM(config.inputConfig.catFile!!)
@@ -181,8 +187,9 @@ fun frontend(config: XcfaConfig<*, *>, logger: Logger, uniqueLogger: Logger): Tr
     )
 
     logger.write(RESULT, "ParsingResult Success\n")
-    logger.write(RESULT,
-        "Alias graph size: ${xcfa.pointsToGraph.size} -> ${xcfa.pointsToGraph.values.map { it.size }.toList()}\n")
+    logger.write(RESULT) {
+        "Alias graph size: ${xcfa.pointsToGraph.size} -> ${xcfa.pointsToGraph.values.map { it.size }.toList()}\n"
+    }
 
     return Triple(xcfa, mcm, parseContext)
 }
@@ -44,29 +44,22 @@ class XcfaCli(private val args: Array<String>) {
     @Parameter
     var remainingFlags: MutableList<String> = ArrayList()
 
+    @Parameter(names = ["--server"],
+        description = "Run as a verification server that accepts jobs on the standard input (see XcfaServer)")
+    var server = false
+
+    @Parameter(names = ["--server-port"],
+        description = "Accept jobs on this port of the loopback interface instead of the standard input")
+    var serverPort: Int? = null
+
+    @Parameter(names = ["--server-jobs"], description = "Maximum number of jobs running at the same time in server mode")
+    var serverJobs: Int = Runtime.getRuntime().availableProcessors()
+
     private fun run() {
         lateinit var config: XcfaConfig<*, *>
         /// Checking flags
         try {
-            JCommander.newBuilder().addObject(this).programName(JAR_NAME).build().parse(*args)
-            val configFile = this.configFile
-            if (configFile != null) {
-                config = getGson().fromJson(FileReader(configFile), XcfaConfig::class.java)
-            } else {
-                config = XcfaConfig<SpecFrontendConfig, SpecBackendConfig>()
-            }
-            while (remainingFlags.isNotEmpty()) {
-                val nextArgs = remainingFlags.toTypedArray()
-                remainingFlags.clear()
-                val builder = JCommander.newBuilder().addObject(this)
-                for (obj in config.getObjects()) {
-                    builder.addObject(obj)
-                }
-                builder.programName(JAR_NAME).build().parse(*nextArgs)
-                if (!config.update() && remainingFlags.isNotEmpty()) {
-                    throw ParameterException("Extraneous parameters: $remainingFlags")
-                }
-            }
+            config = parseConfig()
         } catch (ex: ParameterException) {
             println("Invalid parameters, details:")
             ex.printStackTrace()
@@ -98,12 +91,44 @@ class XcfaCli(private val args: Array<String>) {
             return
         }
 
+        /// server mode
+        if (server) {
+            XcfaServer(config, serverJobs).run(serverPort)
+            return
+        }
+
         val logger = ConsoleLogger(config.debugConfig.logLevel)
         val uniqueLogger = UniqueWarningLogger(logger)
 
         runConfig(config, logger, uniqueLogger, false)
     }
 
+    /**
+     * Parses the arguments (and the configuration file, if given) into a configuration.
+     */
+    internal fun parseConfig(): XcfaConfig<*, *> {
+        JCommander.newBuilder().addObject(this).programName(JAR_NAME).build().parse(*args)
+        val configFile = this.configFile
+        val config: XcfaConfig<*, *> = if (configFile != null) {
+            getGson().fromJson(FileReader(configFile), XcfaConfig::class.java)
+        } else {
+            XcfaConfig<SpecFrontendConfig, SpecBackendConfig>()
+        }
+        while (remainingFlags.isNotEmpty()) {
+            val nextArgs = remainingFlags.toTypedArray()
+            remainingFlags.clear()
+            val builder = JCommander.newBuilder().addObject(this)
+            for (obj in config.getObjects()) {
+                builder.addObject(obj)
+            }
+            builder.programName(JAR_NAME).build().parse(*nextArgs)
+            if (!config.update() && remainingFlags.isNotEmpty()) {
+                throw ParameterException("Extraneous parameters: $remainingFlags")
+            }
+        }
+        return config
+    }
+
 
     companion object {
 
@@ -0,0 +1,182 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.xcfa.cli
+
+import com.beust.jcommander.ParameterException
+import com.google.common.base.Stopwatch
+import com.google.gson.JsonObject
+import com.google.gson.JsonParseException
+import com.google.gson.JsonParser
+import hu.bme.mit.theta.common.RunResources
+import hu.bme.mit.theta.common.logging.BaseLogger
+import hu.bme.mit.theta.common.logging.Logger
+import hu.bme.mit.theta.common.logging.Logger.Level.INFO
+import hu.bme.mit.theta.common.logging.UniqueWarningLogger
+import hu.bme.mit.theta.xcfa.cli.params.ErrorCodeException
+import hu.bme.mit.theta.xcfa.cli.params.ExitCodes
+import hu.bme.mit.theta.xcfa.cli.params.InputType
+import hu.bme.mit.theta.xcfa.cli.params.XcfaConfig
+import hu.bme.mit.theta.xcfa.cli.utils.registerSharedSolverManagers
+import java.io.BufferedReader
+import java.io.PrintStream
+import java.io.PrintWriter
+import java.net.InetAddress
+import java.net.ServerSocket
+import java.util.concurrent.Phaser
+import java.util.concurrent.Semaphore
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import kotlin.concurrent.thread
+
+/**
+ * Verification server that runs many jobs in a single, warm JVM, so that the JVM and solver startup is only paid once.
+ *
+ * Jobs are read line by line, each line being a JSON object with an identifier and the usual command line arguments of
+ * [XcfaCli], e.g., `{"id": "job1", "args": ["--input", "program.c", "--backend", "BOUNDED"]}`. When a job finishes, a
+ * single line is written back (in the order of completion), e.g.,
+ * `{"id": "job1", "result": "UNSAFE", "exitCode": 0, "timeMs": 1234}`, where the result is `SAFE`, `UNSAFE`,
+ * `UNKNOWN` or `ERROR` (the latter with one of the [ExitCodes] and an error message). Each job writes its output files
+ * to its own subdirectory (`<number>-<id>`) of the given output directory, reported as `outputDirectory`. The logs of
+ * the jobs are written to the standard error, prefixed with their identifiers.
+ *
+ * Every job runs on a fresh thread, at most [maxJobs] at the same time. The configuration of the passes and analyses is
+ * local to these threads (see [hu.bme.mit.theta.common.RunLocal]), and the solver managers are registered only once,
+ * with the solver home of the server. The solvers held by the passes and analyses of a job are closed when it finishes
+ * (see [RunResources]). LLVM inputs are rejected, as the native LLVM frontend is not reentrant, and so are metrics
+ * files, as the metrics are shared by the whole JVM (see [hu.bme.mit.theta.common.metrics.Metrics]) and would mix the
+ * counters of all jobs.
+ */
+class XcfaServer(private val serverConfig: XcfaConfig<*, *>, private val maxJobs: Int) {
+
+    private val logger: Logger = PrefixedLogger("server", serverConfig.debugConfig.logLevel)
+    private val slots = Semaphore(maxJobs)
+    private val jobCounter = AtomicInteger()
+
+    /**
+     * Serves jobs from the standard input, or from connections to the given port of the loopback interface.
+     */
+    fun run(port: Int?) {
+        val responses = PrintWriter(System.out, true)
+        System.setOut(System.err) // stray output of the jobs must not corrupt the responses
+        registerSharedSolverManagers(serverConfig.backendConfig.solverHome, logger)
+        if (port == null) {
+            logger.write(INFO, "Accepting jobs on the standard input (at most $maxJobs at the same time)\n")
+            serve(System.`in`.bufferedReader(), responses)
+        } else {
+            ServerSocket(port, 0, InetAddress.getLoopbackAddress()).use { serverSocket ->
+                logger.write(INFO,
+                    "Accepting jobs on ${serverSocket.localSocketAddress} (at most $maxJobs at the same time)\n")
+                while (true) {
+                    val socket = serverSocket.accept()
+                    thread(name = "xcfa-server-connection") {
+                        socket.use { serve(it.getInputStream().bufferedReader(), PrintWriter(it.getOutputStream(), true)) }
+                    }
+                }
+            }
+        }
+    }
+
+    internal fun serve(input: BufferedReader, output: PrintWriter) {
+        val running = Phaser(1)
+        input.lineSequence().filter { it.isNotBlank() }.forEach { line ->
+            slots.acquire()
+            running.register()
+            // the job does not inherit anything run-local from the thread accepting it
+            Thread(null, {
+                try {
+                    val response = runJob(line)
+                    synchronized(output) { output.println(response) }
+                } finally {
+                    slots.release()
+                    running.arriveAndDeregister()
+                }
+            }, "xcfa-server-job", 0, false).start()
+        }
+        running.arriveAndAwaitAdvance()
+    }
+
+    private fun runJob(line: String): JsonObject {
+        val stopwatch = Stopwatch.createStarted()
+        val response = JsonObject()
+        RunResources.begin()
+        try {
+            val request = JsonParser.parseString(line).asJsonObject
+            val jobNumber = jobCounter.incrementAndGet()
+            val id = request.get("id")?.asString ?: "job$jobNumber"
+            response.addProperty("id", id)
+            val args = request.getAsJsonArray("args")?.map { it.asString }?.toTypedArray()
+                ?: throw ParameterException("Missing arguments")
+            val config = XcfaCli(args).parseConfig()
+            if (config.debugConfig.argdebug) {
+                throw ParameterException("ARG debugging is not supported in server mode")
+            }
+            if (config.frontendConfig.inputType == InputType.LLVM) {
+                throw ParameterException("LLVM input is not supported in server mode")
+            }
+            if (config.outputConfig.metricsFile != null) {
+                throw ParameterException("Metrics files are not supported in server mode")
+            }
+            val outputDirectory = config.outputConfig.resultFolder.resolve(
+                "$jobNumber-${id.replace(Regex("[^A-Za-z0-9._-]"), "_")}")
+            config.outputConfig.resultFolder = outputDirectory
+            response.addProperty("outputDirectory", outputDirectory.path)
+            val jobLogger = PrefixedLogger(id, config.debugConfig.logLevel)
+            val result = runConfig(config, jobLogger, UniqueWarningLogger(jobLogger), true)
+            response.addProperty("result", when {
+                result.isSafe -> "SAFE"
+                result.isUnsafe -> "UNSAFE"
+                else -> "UNKNOWN"
+            })
+            response.addProperty("exitCode", 0)
+        } catch (e: ErrorCodeException) {
+            response.addError(e.code, e)
+        } catch (e: ParameterException) {
+            response.addError(ExitCodes.INVALID_PARAM.code, e)
+        } catch (e: JsonParseException) {
+            response.addError(ExitCodes.INVALID_PARAM.code, e)
+        } catch (e: OutOfMemoryError) {
+            response.addError(ExitCodes.OUT_OF_MEMORY.code, e)
+        } catch (e: Throwable) {
+            response.addError(ExitCodes.GENERIC_ERROR.code, e)
+        } finally {
+            try {
+                RunResources.closeAll()
+            } catch (e: Exception) {
+                logger.write(INFO, "Could not release the resources of a job: ${e.message ?: e.javaClass.simpleName}\n")
+            }
+        }
+        response.addProperty("timeMs", stopwatch.elapsed(TimeUnit.MILLISECONDS))
+        return response
+    }
+
+    private fun JsonObject.addError(code: Int, e: Throwable) {
+        addProperty("result", "ERROR")
+        addProperty("exitCode", code)
+        addProperty("error", e.message ?: e.javaClass.simpleName)
+    }
+
+    private class PrefixedLogger(private val prefix: String, minLevel: Logger.Level) : BaseLogger(minLevel) {
+
+        override fun writeStr(str: String) {
+            console.print("[$prefix] $str")
+        }
+
+        companion object {
+
+            private val console: PrintStream = System.err
+        }
+    }
+}
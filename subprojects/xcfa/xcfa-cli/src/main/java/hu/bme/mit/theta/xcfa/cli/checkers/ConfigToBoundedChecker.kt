@@ -19,7 +19,9 @@ package hu.bme.mit.theta.xcfa.cli.checkers
 import hu.bme.mit.theta.analysis.Trace
 import hu.bme.mit.theta.analysis.algorithm.EmptyWitness
 import hu.bme.mit.theta.analysis.algorithm.SafetyChecker
+import hu.bme.mit.theta.analysis.algorithm.Witness
 import hu.bme.mit.theta.analysis.algorithm.bounded.BoundedChecker
+import hu.bme.mit.theta.analysis.algorithm.bounded.PdrChecker
 import hu.bme.mit.theta.analysis.ptr.PtrState
 import hu.bme.mit.theta.common.logging.Logger
 import hu.bme.mit.theta.graphsolver.patterns.constraints.MCM
@@ -32,20 +34,36 @@ import hu.bme.mit.theta.xcfa.model.XCFA
 
 fun getBoundedChecker(xcfa: XCFA, mcm: MCM,
     config: XcfaConfig<*, *>,
-    logger: Logger): SafetyChecker<EmptyWitness, Trace<XcfaState<PtrState<*>>, XcfaAction>, XcfaPrec<*>> {
+    logger: Logger): SafetyChecker<out Witness, Trace<XcfaState<PtrState<*>>, XcfaAction>, XcfaPrec<*>> {
 
     val boundedConfig = config.backendConfig.specConfig as BoundedConfig
 
+    if (boundedConfig.pdrConfig.enable) {
+        return PdrChecker(
+            monolithicExpr = xcfa.toMonolithicExpr(),
+            solverFactory = getSolver(boundedConfig.pdrConfig.pdrSolver, boundedConfig.pdrConfig.validatePdrSolver),
+            valToState = { xcfa.valToState(it) },
+            biValToAction = { val1, val2 -> xcfa.valToAction(val1, val2) },
+            logger = logger
+        ) as SafetyChecker<Witness, Trace<XcfaState<PtrState<*>>, XcfaAction>, XcfaPrec<*>>
+    }
+
+    val bmcSolver = tryGetSolver(boundedConfig.bmcConfig.bmcSolver,
+        boundedConfig.bmcConfig.validateBMCSolver)?.createSolver()
+    // BMC and induction share the unrolled path if they use the same solver
+    val shareBmcSolver = !boundedConfig.indConfig.disable &&
+        boundedConfig.bmcConfig.bmcSolver == boundedConfig.indConfig.indSolver &&
+        boundedConfig.bmcConfig.validateBMCSolver == boundedConfig.indConfig.validateIndSolver
+
     return BoundedChecker(
         monolithicExpr = xcfa.toMonolithicExpr(),
-        bmcSolver = tryGetSolver(boundedConfig.bmcConfig.bmcSolver,
-            boundedConfig.bmcConfig.validateBMCSolver)?.createSolver(),
+        bmcSolver = bmcSolver,
         bmcEnabled = { !boundedConfig.bmcConfig.disable },
         lfPathOnly = { !boundedConfig.bmcConfig.nonLfPath },
         itpSolver = tryGetSolver(boundedConfig.itpConfig.itpSolver,
             boundedConfig.itpConfig.validateItpSolver)?.createItpSolver(),
         imcEnabled = { !boundedConfig.itpConfig.disable },
-        indSolver = tryGetSolver(boundedConfig.indConfig.indSolver,
+        indSolver = if (shareBmcSolver) bmcSolver else tryGetSolver(boundedConfig.indConfig.indSolver,
             boundedConfig.indConfig.validateIndSolver)?.createSolver(),
         kindEnabled = { !boundedConfig.indConfig.disable },
         valToState = { xcfa.valToState(it) },
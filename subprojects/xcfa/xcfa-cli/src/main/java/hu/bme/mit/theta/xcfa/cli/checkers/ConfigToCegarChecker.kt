@@ -22,6 +22,7 @@ import hu.bme.mit.theta.analysis.Trace
 import hu.bme.mit.theta.analysis.algorithm.arg.ArgNode
 import hu.bme.mit.theta.analysis.algorithm.SafetyChecker
 import hu.bme.mit.theta.analysis.algorithm.SafetyResult
+import hu.bme.mit.theta.analysis.algorithm.Statistics
 import hu.bme.mit.theta.analysis.algorithm.arg.ARG
 import hu.bme.mit.theta.analysis.algorithm.cegar.Abstractor
 import hu.bme.mit.theta.analysis.algorithm.cegar.CegarChecker
@@ -32,6 +33,8 @@ import hu.bme.mit.theta.analysis.expr.refinement.*
 import hu.bme.mit.theta.analysis.ptr.PtrState
 import hu.bme.mit.theta.analysis.runtimemonitor.CexMonitor
 import hu.bme.mit.theta.analysis.runtimemonitor.MonitorCheckpoint
+import hu.bme.mit.theta.analysis.runtimemonitor.ReleasableResources
+import hu.bme.mit.theta.analysis.runtimemonitor.ResourceMonitor
 import hu.bme.mit.theta.analysis.waitlist.PriorityWaitlist
 import hu.bme.mit.theta.common.logging.Logger
 import hu.bme.mit.theta.core.decl.VarDecl
@@ -40,6 +43,7 @@ import hu.bme.mit.theta.solver.SolverFactory
 import hu.bme.mit.theta.xcfa.analysis.*
 import hu.bme.mit.theta.xcfa.analysis.por.XcfaDporLts
 import hu.bme.mit.theta.xcfa.cli.params.*
+import hu.bme.mit.theta.xcfa.cli.utils.PrecisionCache
 import hu.bme.mit.theta.xcfa.cli.utils.getSolver
 import hu.bme.mit.theta.xcfa.model.XCFA
 
@@ -68,6 +72,7 @@ fun getCegarChecker(xcfa: XCFA, mcm: MCM,
     val corePartialOrd: PartialOrd<XcfaState<PtrState<ExprState>>> =
         if (xcfa.isInlined) getPartialOrder(globalStatePartialOrd)
         else getStackPartialOrder(globalStatePartialOrd)
+    val componentStatistics = mutableListOf<Statistics>()
     val abstractor: Abstractor<ExprState, ExprAction, Prec> = cegarConfig.abstractorConfig.domain.abstractor(
         xcfa,
         abstractionSolverInstance,
@@ -82,7 +87,8 @@ fun getCegarChecker(xcfa: XCFA, mcm: MCM,
         } else {
             corePartialOrd
         },
-        cegarConfig.abstractorConfig.havocMemory
+        cegarConfig.abstractorConfig.havocMemory,
+        componentStatistics
     ) as Abstractor<ExprState, ExprAction, Prec>
 
     val ref: ExprTraceChecker<Refutation> =
@@ -106,14 +112,17 @@ fun getCegarChecker(xcfa: XCFA, mcm: MCM,
             else
                 XcfaSingleExprTraceRefiner.create(ref, precRefiner, cegarConfig.refinerConfig.pruneStrategy, logger)
 
-    val cegarChecker = if (cegarConfig.porLevel == POR.AASPOR)
-        CegarChecker.create(
-            abstractor,
-            AasporRefiner.create(refiner, cegarConfig.refinerConfig.pruneStrategy, ignoredVarRegistry),
-            logger
-        )
-    else
-        CegarChecker.create(abstractor, refiner, logger)
+    val precCache = cegarConfig.precCache?.let { PrecisionCache(it, xcfa, logger) }
+    var lastPrec: Prec? = null
+    val checkedRefiner: Refiner<ExprState, ExprAction, Prec> =
+        if (cegarConfig.porLevel == POR.AASPOR)
+            AasporRefiner.create(refiner, cegarConfig.refinerConfig.pruneStrategy, ignoredVarRegistry)
+        else
+            refiner
+    val trackingRefiner = if (precCache == null) checkedRefiner else Refiner<ExprState, ExprAction, Prec> { arg, prec ->
+        checkedRefiner.refine(arg, prec).also { if (it.isSpurious) lastPrec = it.asSpurious().refinedPrec }
+    }
+    val cegarChecker = CegarChecker.create(abstractor, trackingRefiner, logger, componentStatistics)
 
     // initialize monitors
     MonitorCheckpoint.reset()
@@ -121,13 +130,33 @@ fun getCegarChecker(xcfa: XCFA, mcm: MCM,
         val cm = CexMonitor(logger, cegarChecker.arg)
         MonitorCheckpoint.register(cm, "CegarChecker.unsafeARG")
     }
+    if (cegarConfig.resourceMonitor != ResourceMonitorOptions.DISABLE) {
+        val rm = ResourceMonitor(logger).on("switching to full pruning and releasing caches",
+            { it.heapOccupancy >= cegarConfig.heapAdaptThreshold }) {
+            when (refiner) {
+                is SingleExprTraceRefiner<*, *, *, *> -> refiner.setPruneStrategy(PruneStrategy.FULL)
+                is MultiExprTraceRefiner<*, *, *, *> -> refiner.setPruneStrategy(PruneStrategy.FULL)
+            }
+            ReleasableResources.releaseAll()
+        }
+        if (cegarConfig.resourceMonitor == ResourceMonitorOptions.ABORT) {
+            rm.abortWhen {
+                it.heapOccupancy >= cegarConfig.heapAbortThreshold || it.gcOverhead >= cegarConfig.gcAbortThreshold ||
+                    (cegarConfig.softTimeoutMs > 0 && it.elapsedMs >= cegarConfig.softTimeoutMs)
+            }
+        }
+        ResourceMonitor.CHECKPOINTS.forEach { MonitorCheckpoint.register(rm, it) }
+    }
 
     return object :
         SafetyChecker<ARG<XcfaState<*>, XcfaAction>, Trace<XcfaState<PtrState<*>>, XcfaAction>, XcfaPrec<*>> {
         override fun check(
             prec: XcfaPrec<*>?): SafetyResult<ARG<XcfaState<*>, XcfaAction>, Trace<XcfaState<PtrState<*>>, XcfaAction>> {
-            return cegarChecker.check(
-                prec) as SafetyResult<ARG<XcfaState<*>, XcfaAction>, Trace<XcfaState<PtrState<*>>, XcfaAction>>
+            val initPrec = if (precCache != null && prec != null) precCache.seed(prec) else prec
+            lastPrec = initPrec
+            val result = cegarChecker.check(initPrec)
+            if (result.isSafe) lastPrec?.let { precCache?.store(it) }
+            return result as SafetyResult<ARG<XcfaState<*>, XcfaAction>, Trace<XcfaState<PtrState<*>>, XcfaAction>>
         }
 
         override fun check(): SafetyResult<ARG<XcfaState<*>, XcfaAction>, Trace<XcfaState<PtrState<*>>, XcfaAction>> {
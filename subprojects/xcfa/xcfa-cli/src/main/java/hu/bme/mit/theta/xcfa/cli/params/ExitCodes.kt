@@ -18,6 +18,7 @@ package hu.bme.mit.theta.xcfa.cli.params
 
 import com.microsoft.z3.Z3Exception
 import hu.bme.mit.theta.common.exception.NotSolvableException
+import hu.bme.mit.theta.common.exception.ResourceExhaustedException
 import hu.bme.mit.theta.solver.UnknownSolverStatusException
 import hu.bme.mit.theta.solver.javasmt.JavaSMTSolverException
 import hu.bme.mit.theta.solver.smtlib.solver.SmtLibSolverException
@@ -31,6 +32,7 @@ enum class ExitCodes(val code: Int) {
     TIMEOUT(201),
     SERVER_ERROR(202),
     PORTFOLIO_ERROR(203),
+    RESOURCE_EXHAUSTED(204),
 
     FRONTEND_FAILED(210),
     INVALID_PARAM(211),
@@ -80,6 +82,9 @@ fun <T> exitOnError(stacktrace: Boolean, throwDontExit: Boolean, body: () -> T):
     } catch (e: NotSolvableException) {
         e.printCauseAndTrace(stacktrace)
         exitProcess(throwDontExit, e, ExitCodes.VERIFICATION_STUCK.code);
+    } catch (e: ResourceExhaustedException) {
+        e.printCauseAndTrace(stacktrace)
+        exitProcess(throwDontExit, e, ExitCodes.RESOURCE_EXHAUSTED.code);
     } catch (e: OutOfMemoryError) {
         e.printCauseAndTrace(stacktrace)
         exitProcess(throwDontExit, e, ExitCodes.OUT_OF_MEMORY.code);
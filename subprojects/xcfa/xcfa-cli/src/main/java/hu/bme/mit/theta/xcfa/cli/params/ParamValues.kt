@@ -20,6 +20,7 @@ import com.google.gson.reflect.TypeToken
 import hu.bme.mit.theta.analysis.LTS
 import hu.bme.mit.theta.analysis.PartialOrd
 import hu.bme.mit.theta.analysis.Prec
+import hu.bme.mit.theta.analysis.algorithm.Statistics
 import hu.bme.mit.theta.analysis.algorithm.arg.ArgNode
 import hu.bme.mit.theta.analysis.algorithm.arg.ArgNodeComparators
 import hu.bme.mit.theta.analysis.algorithm.arg.ArgNodeComparators.ArgNodeComparator
@@ -105,7 +106,8 @@ enum class Domain(
         lts: LTS<XcfaState<out PtrState<out ExprState>>, XcfaAction>,
         errorDetectionType: ErrorDetection,
         partialOrd: PartialOrd<out XcfaState<out PtrState<out ExprState>>>,
-        isHavoc: Boolean
+        isHavoc: Boolean,
+        componentStatistics: MutableCollection<Statistics>
     ) -> Abstractor<out ExprState, out ExprAction, out Prec>,
     val itpPrecRefiner: (exprSplitter: ExprSplitter) -> PrecRefiner<out ExprState, out ExprAction, out Prec, out Refutation>,
     val initPrec: (XCFA, InitPrec) -> XcfaPrec<out PtrPrec<*>>,
@@ -115,7 +117,7 @@ enum class Domain(
 ) {
 
     EXPL(
-        abstractor = { a, b, c, d, e, f, g, h, i, j ->
+        abstractor = { a, b, c, d, e, f, g, h, i, j, _ ->
             getXcfaAbstractor(ExplXcfaAnalysis(a, b, c, i as PartialOrd<XcfaState<PtrState<ExplState>>>, j), d,
                 e, f, g, h)
         },
@@ -128,8 +130,9 @@ enum class Domain(
         stateType = TypeToken.get(ExplState::class.java).type
     ),
     PRED_BOOL(
-        abstractor = { a, b, c, d, e, f, g, h, i, j ->
-            getXcfaAbstractor(PredXcfaAnalysis(a, b, PredAbstractors.booleanAbstractor(b),
+        abstractor = { a, b, c, d, e, f, g, h, i, j, componentStatistics ->
+            getXcfaAbstractor(PredXcfaAnalysis(a, b,
+                registerStatistics(PredAbstractors.booleanAbstractor(b), componentStatistics),
                 i as PartialOrd<XcfaState<PtrState<PredState>>>, j), d, e, f, g, h)
         },
         itpPrecRefiner = { a ->
@@ -141,8 +144,9 @@ enum class Domain(
         stateType = TypeToken.get(PredState::class.java).type
     ),
     PRED_CART(
-        abstractor = { a, b, c, d, e, f, g, h, i, j ->
-            getXcfaAbstractor(PredXcfaAnalysis(a, b, PredAbstractors.cartesianAbstractor(b),
+        abstractor = { a, b, c, d, e, f, g, h, i, j, componentStatistics ->
+            getXcfaAbstractor(PredXcfaAnalysis(a, b,
+                registerStatistics(PredAbstractors.cartesianAbstractor(b), componentStatistics),
                 i as PartialOrd<XcfaState<PtrState<PredState>>>, j), d, e, f, g, h)
         },
         itpPrecRefiner = { a ->
@@ -154,8 +158,23 @@ enum class Domain(
         stateType = TypeToken.get(PredState::class.java).type
     ),
     PRED_SPLIT(
-        abstractor = { a, b, c, d, e, f, g, h, i, j ->
-            getXcfaAbstractor(PredXcfaAnalysis(a, b, PredAbstractors.booleanSplitAbstractor(b),
+        abstractor = { a, b, c, d, e, f, g, h, i, j, componentStatistics ->
+            getXcfaAbstractor(PredXcfaAnalysis(a, b,
+                registerStatistics(PredAbstractors.booleanSplitAbstractor(b), componentStatistics),
+                i as PartialOrd<XcfaState<PtrState<PredState>>>, j), d, e, f, g, h)
+        },
+        itpPrecRefiner = { a ->
+            XcfaPrecRefiner<PtrState<PredState>, PredPrec, ItpRefutation>(ItpRefToPtrPrec(ItpRefToPredPrec(a)))
+        },
+        initPrec = { x, ip -> ip.predPrec(x) },
+        partialOrd = { solver -> PredOrd.create(solver).getPtrPartialOrd() },
+        nodePruner = AtomicNodePruner<XcfaState<PtrState<PredState>>, XcfaAction>(),
+        stateType = TypeToken.get(PredState::class.java).type
+    ),
+    PRED_CUBE(
+        abstractor = { a, b, c, d, e, f, g, h, i, j, componentStatistics ->
+            getXcfaAbstractor(PredXcfaAnalysis(a, b,
+                registerStatistics(PredAbstractors.booleanCubeAbstractor(b), componentStatistics),
                 i as PartialOrd<XcfaState<PtrState<PredState>>>, j), d, e, f, g, h)
         },
         itpPrecRefiner = { a ->
@@ -168,6 +187,10 @@ enum class Domain(
     ),
 }
 
+private fun registerStatistics(abstractor: PredAbstractors.PredAbstractor,
+    componentStatistics: MutableCollection<Statistics>): PredAbstractors.PredAbstractor =
+    abstractor.also { it.statistics.ifPresent { statistics -> componentStatistics.add(statistics) } }
+
 enum class Refinement(
     val refiner: (solverFactory: SolverFactory, monitorOption: CexMonitorOptions) -> ExprTraceChecker<out Refutation>,
     val stopCriterion: StopCriterion<XcfaState<PtrState<ExprState>>, XcfaAction>,
@@ -361,3 +384,10 @@ enum class CexMonitorOptions {
     CHECK,
     DISABLE
 }
+
+enum class ResourceMonitorOptions {
+
+    DISABLE,
+    ADAPT,
+    ABORT
+}
@@ -190,6 +190,30 @@ data class CegarConfig(
     @Parameter(names = ["--cex-monitor"], description = "Option to enable(CHECK)/disable(DISABLE) the CexMonitor")
     var cexMonitor: CexMonitorOptions = CexMonitorOptions.CHECK,
 
+    @Parameter(names = ["--resource-monitor"],
+        description = "Option to adapt the analysis under memory pressure (ADAPT), and also to abort it under memory, GC or time pressure (ABORT)")
+    var resourceMonitor: ResourceMonitorOptions = ResourceMonitorOptions.DISABLE,
+
+    @Parameter(names = ["--heap-adapt-threshold"],
+        description = "Heap occupancy after GC (0-1) at which the resource monitor switches to full pruning and releases caches")
+    var heapAdaptThreshold: Double = 0.75,
+
+    @Parameter(names = ["--heap-abort-threshold"],
+        description = "Heap occupancy after GC (0-1) at which the resource monitor aborts the analysis")
+    var heapAbortThreshold: Double = 0.92,
+
+    @Parameter(names = ["--gc-abort-threshold"],
+        description = "Fraction of time spent with GC (0-1) at which the resource monitor aborts the analysis")
+    var gcAbortThreshold: Double = 0.5,
+
+    @Parameter(names = ["--soft-timeout"],
+        description = "Time in ms after which the resource monitor aborts the analysis (0: no limit)")
+    var softTimeoutMs: Long = 0,
+
+    @Parameter(names = ["--prec-cache"],
+        description = "File storing the precision of the last successful proof, used to seed the initial precision of later runs on (modified versions of) the same program")
+    var precCache: File? = null,
+
     val abstractorConfig: CegarAbstractorConfig = CegarAbstractorConfig(),
     val refinerConfig: CegarRefinerConfig = CegarRefinerConfig()
 ) : SpecBackendConfig {
@@ -260,14 +284,15 @@ data class BoundedConfig(
     val bmcConfig: BMCConfig = BMCConfig(),
     val indConfig: InductionConfig = InductionConfig(),
     val itpConfig: InterpolationConfig = InterpolationConfig(),
+    val pdrConfig: PdrConfig = PdrConfig(),
 ) : SpecBackendConfig {
 
     override fun getObjects(): Set<Config> {
-        return super.getObjects() union bmcConfig.getObjects() union indConfig.getObjects() union itpConfig.getObjects()
+        return super.getObjects() union bmcConfig.getObjects() union indConfig.getObjects() union itpConfig.getObjects() union pdrConfig.getObjects()
     }
 
     override fun update(): Boolean =
-        listOf(bmcConfig, indConfig, itpConfig).map { it.update() }.any { it }
+        listOf(bmcConfig, indConfig, itpConfig, pdrConfig).map { it.update() }.any { it }
 
 }
 
@@ -319,6 +344,18 @@ data class InterpolationConfig(
 
     ) : Config
 
+data class PdrConfig(
+    @Parameter(names = ["--pdr"], description = "Use IC3/PDR instead of the other bounded checks")
+    var enable: Boolean = false,
+
+    @Parameter(names = ["--pdr-solver"], description = "PDR solver name (must support unsat cores)")
+    var pdrSolver: String = "Z3",
+
+    @Parameter(names = ["--validate-pdr-solver"],
+        description = "Activates a wrapper, which validates the assertions in the solver in each (SAT) check. Filters some solver issues.")
+    var validatePdrSolver: Boolean = false,
+) : Config
+
 data class OcConfig(
     @Parameter(names = ["--oc-decision-procedure"], description = "Decision procedure for ordering-consistency check")
     var decisionProcedure: OcDecisionProcedureType = OcDecisionProcedureType.PROPAGATOR,
@@ -339,6 +376,11 @@ data class OutputConfig(
     @Parameter(names = ["--output-directory"], description = "Specify the directory where the result files are stored")
     var resultFolder: File = Paths.get("./").toFile(),
 
+    @Parameter(names = ["--metrics-file"],
+        description = "Write the hot-path metrics (e.g., solver calls, transfer functions, coverage checks) to a file as JSON" +
+            " (not supported in server mode, as the metrics are JVM-wide)")
+    var metricsFile: File? = null,
+
     val cOutputConfig: COutputConfig = COutputConfig(),
     val xcfaOutputConfig: XcfaOutputConfig = XcfaOutputConfig(),
     val chcOutputConfig: ChcOutputConfig = ChcOutputConfig(),
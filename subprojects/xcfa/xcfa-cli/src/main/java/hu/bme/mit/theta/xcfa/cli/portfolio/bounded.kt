@@ -30,7 +30,6 @@ import hu.bme.mit.theta.xcfa.cli.runConfig
 import hu.bme.mit.theta.xcfa.model.XCFA
 import hu.bme.mit.theta.xcfa.passes.LbePass
 import hu.bme.mit.theta.xcfa.passes.LoopUnrollPass
-import java.nio.file.Paths
 
 fun boundedPortfolio(
     xcfa: XCFA,
@@ -65,7 +64,7 @@ fun boundedPortfolio(
             )),
         outputConfig = OutputConfig(
             versionInfo = false,
-            resultFolder = Paths.get("./").toFile(), // cwd
+            resultFolder = portfolioConfig.outputConfig.resultFolder,
             cOutputConfig = COutputConfig(disable = true),
             witnessConfig = WitnessConfig(disable = false, concretizerSolver = "Z3", validateConcretizerSolver = false),
             argConfig = ArgConfig(disable = true),
@@ -108,6 +107,7 @@ fun boundedPortfolio(
         bmcEnabled: Boolean = false,
         indEnabled: Boolean = false,
         itpEnabled: Boolean = false,
+        pdrEnabled: Boolean = false,
         bmcSolver: String = "Z3",
         indSolver: String = "Z3",
         itpSolver: String = "cvc5:1.0.8",
@@ -121,6 +121,7 @@ fun boundedPortfolio(
                 bmcConfig = backendConfig.specConfig!!.bmcConfig.copy(disable = !bmcEnabled, bmcSolver = bmcSolver),
                 indConfig = backendConfig.specConfig!!.indConfig.copy(disable = !indEnabled, indSolver = indSolver),
                 itpConfig = backendConfig.specConfig!!.itpConfig.copy(disable = !itpEnabled, itpSolver = itpSolver),
+                pdrConfig = backendConfig.specConfig!!.pdrConfig.copy(enable = pdrEnabled),
             )
         ))
     }
@@ -170,6 +171,12 @@ fun boundedPortfolio(
                 itpEnabled = true,
                 timeoutMs = 0
             ), checker)
+        val configPdrZ3 = ConfigNode("PdrZ3-$inProcess",
+            baseConfig.adaptConfig(
+                inProcess = inProcess,
+                pdrEnabled = true,
+                timeoutMs = 0
+            ), checker)
 
         edges.add(Edge(configBmcZ3, configBmcMathsat, solverError))
         edges.add(Edge(configBmcZ3, configIndZ3,
@@ -185,6 +192,9 @@ fun boundedPortfolio(
 
         edges.add(Edge(configItpCvc5, configItpMathsat, anyError))
 
+        edges.add(Edge(configItpMathsat, configPdrZ3,
+            if (inProcess) timeoutOrNotSolvableError else anyError))
+
         return STM(configBmcZ3, edges)
     }
 
@@ -29,7 +29,6 @@ import hu.bme.mit.theta.xcfa.cli.runConfig
 import hu.bme.mit.theta.xcfa.model.XCFA
 import hu.bme.mit.theta.xcfa.passes.LbePass
 import hu.bme.mit.theta.xcfa.passes.LoopUnrollPass
-import java.nio.file.Paths
 
 fun complexPortfolio24(
     xcfa: XCFA,
@@ -62,6 +61,7 @@ fun complexPortfolio24(
                 porRandomSeed = -1,
                 coi = ConeOfInfluenceMode.NO_COI,
                 cexMonitor = CexMonitorOptions.CHECK,
+                resourceMonitor = ResourceMonitorOptions.ABORT,
                 abstractorConfig = CegarAbstractorConfig(
                     abstractionSolver = "Z3",
                     validateAbstractionSolver = false,
@@ -78,7 +78,7 @@ fun complexPortfolio24(
                 ))),
         outputConfig = OutputConfig(
             versionInfo = false,
-            resultFolder = Paths.get("./").toFile(), // cwd
+            resultFolder = portfolioConfig.outputConfig.resultFolder,
             cOutputConfig = COutputConfig(disable = true),
             witnessConfig = WitnessConfig(disable = false, concretizerSolver = "Z3", validateConcretizerSolver = false),
             argConfig = ArgConfig(disable = true),
@@ -26,7 +26,6 @@ import hu.bme.mit.theta.xcfa.cli.runConfig
 import hu.bme.mit.theta.xcfa.model.XCFA
 import hu.bme.mit.theta.xcfa.passes.LbePass
 import hu.bme.mit.theta.xcfa.passes.LoopUnrollPass
-import java.nio.file.Paths
 
 fun hornPortfolio(
     xcfa: XCFA,
@@ -59,7 +58,7 @@ fun hornPortfolio(
             )),
         outputConfig = OutputConfig(
             versionInfo = false,
-            resultFolder = Paths.get("./").toFile(), // cwd
+            resultFolder = portfolioConfig.outputConfig.resultFolder,
             cOutputConfig = COutputConfig(disable = true),
             witnessConfig = WitnessConfig(disable = false, concretizerSolver = "Z3", validateConcretizerSolver = false),
             argConfig = ArgConfig(disable = true),
@@ -0,0 +1,230 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package hu.bme.mit.theta.xcfa.cli.utils
+
+import com.google.gson.GsonBuilder
+import hu.bme.mit.theta.analysis.Prec
+import hu.bme.mit.theta.analysis.expl.ExplPrec
+import hu.bme.mit.theta.analysis.pred.PredPrec
+import hu.bme.mit.theta.analysis.ptr.PtrPrec
+import hu.bme.mit.theta.analysis.ptr.repatch
+import hu.bme.mit.theta.common.logging.Logger
+import hu.bme.mit.theta.core.decl.VarDecl
+import hu.bme.mit.theta.core.type.Expr
+import hu.bme.mit.theta.core.type.Type
+import hu.bme.mit.theta.core.type.anytype.Dereference
+import hu.bme.mit.theta.core.type.booltype.BoolType
+import hu.bme.mit.theta.core.utils.ExprUtils
+import hu.bme.mit.theta.grammar.dsl.expr.ExpressionWrapper
+import hu.bme.mit.theta.xcfa.analysis.XcfaPrec
+import hu.bme.mit.theta.xcfa.getSymbols
+import hu.bme.mit.theta.xcfa.model.XCFA
+import hu.bme.mit.theta.xcfa.model.XcfaLocation
+import hu.bme.mit.theta.xcfa.model.XcfaProcedure
+import java.io.File
+import java.security.MessageDigest
+
+/**
+ * Persists the precision of the last successful proof, so that a later run on a (modified version of
+ * the) same program can start from it instead of re-deriving the same predicates or variables.
+ *
+ * Each precision element is attributed to the procedures declaring the variables it refers to (or to
+ * the global scope), and it is only reused if none of these have changed structurally since it was
+ * stored (see [structuralFingerprint]). Elements of changed procedures are dropped, so mostly only
+ * they need to be refined again. Elements referring to variables generated by the frontend (e.g.,
+ * the temporary variables of calls) are also dropped when the generated names change, even in an
+ * unchanged procedure. Reusing an element is always sound, as the precision only affects the
+ * abstraction, not the correctness of the result.
+ */
+class PrecisionCache(private val file: File, private val xcfa: XCFA, private val logger: Logger) {
+
+    private data class Element(val kind: Kind, val value: String, val scopes: List<String>)
+    private data class Content(val fingerprints: Map<String, String>, val elements: List<Element>)
+    private enum class Kind { VAR, PRED }
+
+    private val gson = GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create()
+    private val fingerprints: Map<String, String> by lazy {
+        xcfa.procedures.associate { it.name to it.structuralFingerprint() } +
+            (GLOBAL_SCOPE to xcfa.globalFingerprint())
+    }
+    private val scopeOfVar: Map<VarDecl<*>, String> by lazy {
+        xcfa.procedures.flatMap { proc -> (proc.vars + proc.params.map { it.first }).map { it to proc.name } }
+            .toMap()
+    }
+
+    /**
+     * Extends the given initial precision with the still valid elements of the cache.
+     */
+    fun seed(initPrec: XcfaPrec<*>): XcfaPrec<*> {
+        val content = read() ?: return initPrec
+        val (scope, env) = xcfa.getSymbols()
+        var reused = 0
+        val valid = content.elements.filter { e ->
+            e.scopes.all { content.fingerprints[it] != null && content.fingerprints[it] == fingerprints[it] }
+        }
+        val seeded = when (val p = initPrec.p) {
+            is PtrPrec<*> -> when (val inner = p.innerPrec) {
+                is ExplPrec -> {
+                    val vars = valid.filter { it.kind == Kind.VAR }.mapNotNull { e ->
+                        scope.resolve(e.value).map { env.eval(it) as? VarDecl<*> }.orElse(null)
+                            .also { if (it == null) logDropped(e, "unknown variable") }
+                    }
+                    reused = vars.size
+                    XcfaPrec(PtrPrec(inner.join(ExplPrec.of(vars)), p.set, p.smth))
+                }
+
+                is PredPrec -> {
+                    val preds = valid.filter { it.kind == Kind.PRED }.mapNotNull { e ->
+                        try {
+                            @Suppress("UNCHECKED_CAST")
+                            ExpressionWrapper(scope, e.value).instantiate(env) as Expr<BoolType>
+                        } catch (ex: Exception) {
+                            logDropped(e, ex.message ?: ex.javaClass.simpleName)
+                            null
+                        }
+                    }
+                    reused = preds.size
+                    // dereferences are stored without their uniqueness index, restore it as the refiner would
+                    XcfaPrec(PtrPrec(inner.join(PredPrec.of(preds).repatch()), p.set, p.smth))
+                }
+
+                else -> initPrec
+            }
+
+            else -> initPrec
+        }
+        logger.write(Logger.Level.INFO) {
+            "Precision cache: reused $reused of ${content.elements.size} elements from $file\n"
+        }
+        return seeded
+    }
+
+    /**
+     * Stores the final precision of a successful proof. Elements of the other kind (e.g., predicates
+     * when storing an explicit precision) are kept if they are still valid.
+     */
+    fun store(prec: Prec) {
+        val inner = ((prec as? XcfaPrec<*>)?.p as? PtrPrec<*>)?.innerPrec ?: return
+        val elements = when (inner) {
+            is ExplPrec -> inner.vars.map { Element(Kind.VAR, it.name, listOf(scopeOf(it))) }
+            is PredPrec -> inner.preds.map { pred ->
+                Element(Kind.PRED, pred.withoutUniquenessIdx().toString(),
+                    ExprUtils.getVars(pred).map(::scopeOf).distinct().sorted())
+            }
+
+            else -> return
+        }
+        val kept = read()?.let { old ->
+            old.elements.filter { e ->
+                e.kind != elements.firstOrNull()?.kind && e.scopes.all { old.fingerprints[it] == fingerprints[it] }
+            }
+        } ?: emptyList()
+        file.absoluteFile.parentFile?.mkdirs()
+        file.writeText(gson.toJson(Content(fingerprints, kept + elements)))
+        logger.write(Logger.Level.INFO) { "Precision cache: stored ${elements.size} elements to $file\n" }
+    }
+
+    private fun scopeOf(v: VarDecl<*>) = scopeOfVar[v] ?: GLOBAL_SCOPE
+
+    private fun logDropped(e: Element, reason: String) =
+        logger.write(Logger.Level.INFO) { "Precision cache: dropped ${e.value} ($reason)\n" }
+
+    // the uniqueness index of dereferences is not part of the expression language
+    private fun <T : Type> Expr<T>.withoutUniquenessIdx(): Expr<T> =
+        if (this is Dereference<*, *, T>) {
+            Dereference.of(array.withoutUniquenessIdx(), offset.withoutUniquenessIdx(), type)
+        } else {
+            map { it.withoutUniquenessIdx() }
+        }
+
+    private fun read(): Content? =
+        if (file.exists()) {
+            try {
+                gson.fromJson(file.readText(), Content::class.java)
+            } catch (e: Exception) {
+                logger.write(Logger.Level.INFO, "Ignoring unreadable precision cache %s: %s%n", file, e.message)
+                null
+            }
+        } else null
+
+    companion object {
+
+        private const val GLOBAL_SCOPE = "<global>"
+    }
+}
+
+/**
+ * Fingerprint of the structure of a procedure: its signature, variables, and control flow.
+ * Generated location names are not stable between program versions, so locations are renumbered in
+ * the order they are discovered from the initial location. The names of generated variables contain
+ * global counters, which change with the rest of the program, so they are also renumbered in the
+ * order they appear in the procedure.
+ */
+fun XcfaProcedure.structuralFingerprint(): String {
+    val normalizer = GeneratedNameNormalizer()
+    val ids = LinkedHashMap<XcfaLocation, Int>()
+    val queue = ArrayDeque(listOf(initLoc))
+    ids[initLoc] = 0
+    val edgeDescriptions = ArrayList<String>()
+    while (queue.isNotEmpty()) {
+        val loc = queue.removeFirst()
+        for (edge in loc.outgoingEdges) {
+            if (edge.target !in ids) {
+                ids[edge.target] = ids.size
+                queue.addLast(edge.target)
+            }
+            edgeDescriptions.add(normalizer.normalize("${ids[loc]}->${ids[edge.target]}:${edge.label}"))
+        }
+    }
+    val description = listOf(
+        name,
+        normalizer.normalize(params.joinToString(",") { "${it.first.name}:${it.first.type}:${it.second}" }),
+        vars.map { normalizer.normalize("${it.name}:${it.type}") }.sorted().joinToString(","),
+        ids.entries.filter { it.key.error || it.key.final }.joinToString(",") { "${it.value}:${it.key.error}" },
+    ) + edgeDescriptions
+    return sha256(description.joinToString("\n"))
+}
+
+private fun XCFA.globalFingerprint(): String {
+    val normalizer = GeneratedNameNormalizer()
+    return sha256(vars.map {
+        normalizer.normalize("${it.wrappedVar.name}:${it.wrappedVar.type}=${it.initValue}:${it.threadLocal}")
+    }.sorted().joinToString("\n"))
+}
+
+/**
+ * Replaces the counters in the names of the variables generated by the frontend and the passes (the
+ * return values of calls and the temporaries of heap accesses) with the order of their first
+ * occurrence.
+ */
+private class GeneratedNameNormalizer {
+
+    private val ids = HashMap<String, Int>()
+
+    fun normalize(text: String): String =
+        GENERATED_NAME.replace(text) { match ->
+            "${match.groupValues[1]}#${ids.getOrPut(match.value) { ids.size }}"
+        }
+
+    companion object {
+
+        private val GENERATED_NAME = Regex("""\b(call_\w+?_ret|__THETA_heap_tmp_)\d+\b""")
+    }
+}
+
+private fun sha256(text: String): String =
+    MessageDigest.getInstance("SHA-256").digest(text.toByteArray()).joinToString("") { "%02x".format(it) }
@@ -32,7 +32,27 @@ fun getSolver(name: String, validate: Boolean): SolverFactory = if (validate) {
     SolverManager.resolveSolverFactory(name)
 }
 
+/**
+ * Set when the solver managers are shared by all runs of the JVM (see [registerSharedSolverManagers]).
+ */
+@Volatile
+private var sharedSolverManagers = false
+
+/**
+ * Registers the solver managers once for the whole JVM (e.g., in server mode). Later calls to
+ * [registerAllSolverManagers] will not close and re-register them, as that would close the solvers of concurrent runs.
+ */
+@Synchronized
+fun registerSharedSolverManagers(home: String, logger: Logger) {
+    sharedSolverManagers = false
+    registerAllSolverManagers(home, logger)
+    sharedSolverManagers = true
+}
+
 fun registerAllSolverManagers(home: String, logger: Logger) {
+    if (sharedSolverManagers) {
+        return
+    }
     SolverManager.closeAll()
     // register solver managers
     SolverManager.registerSolverManager(Z3SolverManager.create())
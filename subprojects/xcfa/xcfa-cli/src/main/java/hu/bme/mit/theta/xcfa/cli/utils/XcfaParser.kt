@@ -17,6 +17,7 @@
 package hu.bme.mit.theta.xcfa.cli.utils
 
 import hu.bme.mit.theta.c2xcfa.getXcfaFromC
+import hu.bme.mit.theta.c2xcfa.parseCompilationUnit
 import hu.bme.mit.theta.common.logging.Logger
 import hu.bme.mit.theta.frontend.ParseContext
 import hu.bme.mit.theta.frontend.chc.ChcFrontend
@@ -27,6 +28,7 @@ import hu.bme.mit.theta.llvm2xcfa.ArithmeticType
 import hu.bme.mit.theta.llvm2xcfa.XcfaUtils
 import hu.bme.mit.theta.xcfa.analysis.ErrorDetection
 import hu.bme.mit.theta.xcfa.cli.params.CHCFrontendConfig
+import hu.bme.mit.theta.xcfa.cli.params.ErrorCodeException
 import hu.bme.mit.theta.xcfa.cli.params.ExitCodes
 import hu.bme.mit.theta.xcfa.cli.params.InputType
 import hu.bme.mit.theta.xcfa.cli.params.XcfaConfig
@@ -41,7 +43,8 @@ import javax.script.ScriptEngineManager
 import kotlin.system.exitProcess
 
 
-fun getXcfa(config: XcfaConfig<*, *>, parseContext: ParseContext, logger: Logger, uniqueWarningLogger: Logger) =
+fun getXcfa(config: XcfaConfig<*, *>, parseContext: ParseContext, logger: Logger, uniqueWarningLogger: Logger,
+    throwDontExit: Boolean = false) =
     try {
         when (config.frontendConfig.inputType) {
             InputType.CHC -> {
@@ -73,21 +76,22 @@ fun getXcfa(config: XcfaConfig<*, *>, parseContext: ParseContext, logger: Logger
         if (config.debugConfig.stacktrace) e.printStackTrace()
         val location = e.stackTrace.filter { it.className.startsWith("hu.bme.mit.theta") }.first().toString()
         logger.write(Logger.Level.RESULT, "Frontend failed! ($location, $e)\n")
+        if (throwDontExit) throw ErrorCodeException(ExitCodes.FRONTEND_FAILED.code)
         exitProcess(ExitCodes.FRONTEND_FAILED.code)
     }
 
 private fun parseC(input: File, explicitProperty: ErrorDetection, parseContext: ParseContext, logger: Logger,
     uniqueWarningLogger: Logger): XCFA {
+    // the parse tree does not depend on the arithmetic, so only the transformation is repeated on a retry
+    val compilationUnit = FileInputStream(input).use { parseCompilationUnit(it) }
     val xcfaFromC = try {
-        val stream = FileInputStream(input)
-        getXcfaFromC(stream, parseContext, false,
+        getXcfaFromC(compilationUnit, parseContext, false,
             explicitProperty == ErrorDetection.OVERFLOW, uniqueWarningLogger).first
     } catch (e: Throwable) {
         if (parseContext.arithmetic == ArchitectureConfig.ArithmeticType.efficient) {
             parseContext.arithmetic = ArchitectureConfig.ArithmeticType.bitvector
             logger.write(Logger.Level.INFO, "Retrying parsing with bitvector arithmetic...\n")
-            val stream = FileInputStream(input)
-            val xcfa = getXcfaFromC(stream, parseContext, false,
+            val xcfa = getXcfaFromC(compilationUnit, parseContext, false,
                 explicitProperty == ErrorDetection.OVERFLOW, uniqueWarningLogger).first
             parseContext.addArithmeticTrait(ArithmeticTrait.BITWISE)
             xcfa
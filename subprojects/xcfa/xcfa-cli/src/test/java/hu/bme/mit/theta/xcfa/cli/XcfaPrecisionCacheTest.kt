@@ -0,0 +1,146 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.xcfa.cli
+
+import hu.bme.mit.theta.analysis.expl.ExplPrec
+import hu.bme.mit.theta.analysis.pred.PredPrec
+import hu.bme.mit.theta.analysis.ptr.PtrPrec
+import hu.bme.mit.theta.common.logging.NullLogger
+import hu.bme.mit.theta.core.type.Expr
+import hu.bme.mit.theta.core.type.anytype.Dereference
+import hu.bme.mit.theta.core.type.booltype.BoolType
+import hu.bme.mit.theta.core.type.inttype.IntExprs.Eq
+import hu.bme.mit.theta.core.type.inttype.IntExprs.Int
+import hu.bme.mit.theta.core.type.inttype.IntExprs.Lt
+import hu.bme.mit.theta.core.type.inttype.IntType
+import hu.bme.mit.theta.xcfa.analysis.XcfaPrec
+import hu.bme.mit.theta.xcfa.cli.utils.PrecisionCache
+import hu.bme.mit.theta.xcfa.cli.utils.structuralFingerprint
+import hu.bme.mit.theta.xcfa.collectVars
+import hu.bme.mit.theta.xcfa.model.ParamDirection.IN
+import hu.bme.mit.theta.xcfa.model.ParamDirection.OUT
+import hu.bme.mit.theta.xcfa.model.XCFA
+import hu.bme.mit.theta.xcfa.model.procedure
+import hu.bme.mit.theta.xcfa.model.xcfa
+import org.junit.Assert
+import org.junit.Test
+import java.io.File
+
+class XcfaPrecisionCacheTest {
+
+    private fun getXcfa(bound: Int) = xcfa("example") {
+        val proc1 = procedure("proc1") {
+            val a = "a" type Int() direction IN
+            val b = "b" type Int() direction OUT
+
+            (init to final) {
+                b assign a.ref
+            }
+        }
+        val main = procedure("main") {
+            val tmp = "tmp" type Int()
+            (init to "L1") {
+                proc1("1", tmp.ref)
+            }
+            ("L1" to final) {
+                assume("(<= tmp $bound)")
+            }
+            ("L1" to err) {
+                assume("(> tmp $bound)")
+            }
+        }
+
+        main.start()
+    }
+
+    // variable names as generated by the C frontend, with a pointer dereferenced on the edge
+    private fun getPtrXcfa() = xcfa("ptr") {
+        val main = procedure("main") {
+            val p = "main::p" type Int()
+            val x = "main::x" type Int()
+            (init to final) {
+                x assign Dereference.of(p.ref, Int(0), Int())
+            }
+        }
+
+        main.start()
+    }
+
+    // the return value of a call is named by the frontend with a global counter
+    private fun getCallXcfa(counter: Int) = xcfa("call") {
+        val main = procedure("main") {
+            "call_f_ret$counter" type Int()
+            (init to final) {
+                assume("(> call_f_ret$counter 0)")
+            }
+        }
+
+        main.start()
+    }
+
+    private fun XCFA.fingerprint(name: String) = procedures.first { it.name == name }.structuralFingerprint()
+
+    private fun XCFA.explPrec(vararg names: String) =
+        XcfaPrec(PtrPrec(ExplPrec.of(collectVars().filter { it.name in names }), emptySet()))
+
+    private fun XcfaPrec<*>.varNames() = usedVars.map { it.name }.toSet()
+
+    @Test
+    fun testFingerprint() {
+        Assert.assertEquals(getXcfa(1).fingerprint("main"), getXcfa(1).fingerprint("main"))
+        Assert.assertNotEquals(getXcfa(1).fingerprint("main"), getXcfa(2).fingerprint("main"))
+        Assert.assertEquals(getXcfa(1).fingerprint("proc1"), getXcfa(2).fingerprint("proc1"))
+    }
+
+    @Test
+    fun testFingerprintIgnoresGeneratedCounters() {
+        Assert.assertEquals(getCallXcfa(3).fingerprint("main"), getCallXcfa(42).fingerprint("main"))
+    }
+
+    @Test
+    fun testSeedFromUnchangedProcedures() {
+        val file = File.createTempFile("prec", ".json")
+        file.deleteOnExit()
+        val oldXcfa = getXcfa(1)
+        PrecisionCache(file, oldXcfa, NullLogger.getInstance()).store(oldXcfa.explPrec("a", "tmp"))
+
+        val sameXcfa = getXcfa(1)
+        val sameSeeded = PrecisionCache(file, sameXcfa, NullLogger.getInstance()).seed(sameXcfa.explPrec())
+        Assert.assertEquals(setOf("a", "tmp"), sameSeeded.varNames())
+
+        val changedXcfa = getXcfa(2)
+        val changedSeeded = PrecisionCache(file, changedXcfa, NullLogger.getInstance()).seed(changedXcfa.explPrec())
+        Assert.assertEquals(setOf("a"), changedSeeded.varNames())
+    }
+
+    @Test
+    fun testPredRoundTrip() {
+        val file = File.createTempFile("prec", ".json")
+        file.deleteOnExit()
+        val xcfa = getPtrXcfa()
+        val p = xcfa.collectVars().first { it.name == "main::p" }
+        val x = xcfa.collectVars().first { it.name == "main::x" }
+        // predicates of the refiner have their dereferences repatched with a uniqueness index
+        val deref = Dereference.of(p.ref as Expr<IntType>, Int(0), Int()).withUniquenessExpr(Int(0))
+        val preds = listOf<Expr<BoolType>>(Lt(deref, x.ref as Expr<IntType>), Eq(x.ref as Expr<IntType>, Int(1)))
+        PrecisionCache(file, xcfa, NullLogger.getInstance())
+            .store(XcfaPrec(PtrPrec(PredPrec.of(preds), emptySet())))
+
+        val seeded = PrecisionCache(file, xcfa, NullLogger.getInstance())
+            .seed(XcfaPrec(PtrPrec(PredPrec.of(), emptySet())))
+        Assert.assertEquals(preds.toSet(), ((seeded.p as PtrPrec<*>).innerPrec as PredPrec).preds)
+    }
+}
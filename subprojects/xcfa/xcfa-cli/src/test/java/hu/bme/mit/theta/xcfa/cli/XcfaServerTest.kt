@@ -0,0 +1,91 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.xcfa.cli
+
+import com.google.gson.JsonArray
+import com.google.gson.JsonObject
+import com.google.gson.JsonParser
+import hu.bme.mit.theta.xcfa.cli.params.ExitCodes
+import hu.bme.mit.theta.xcfa.cli.params.SpecBackendConfig
+import hu.bme.mit.theta.xcfa.cli.params.SpecFrontendConfig
+import hu.bme.mit.theta.xcfa.cli.params.XcfaConfig
+import org.junit.jupiter.api.Assertions
+import org.junit.jupiter.api.Test
+import java.io.File
+import java.io.PrintWriter
+import java.io.StringWriter
+import kotlin.io.path.createTempDirectory
+
+class XcfaServerTest {
+
+    private fun serve(vararg jobs: JsonObject, maxJobs: Int = 4): Map<String, JsonObject> {
+        val output = StringWriter()
+        XcfaServer(XcfaConfig<SpecFrontendConfig, SpecBackendConfig>(), maxJobs).serve(
+            jobs.joinToString("\n").reader().buffered(), PrintWriter(output, true))
+        return output.toString().lines().filter { it.isNotBlank() }
+            .map { JsonParser.parseString(it).asJsonObject }
+            .associateBy { it.get("id").asString }
+    }
+
+    private fun job(id: String, vararg args: String) = JsonObject().apply {
+        addProperty("id", id)
+        add("args", JsonArray().apply { args.forEach { add(it) } })
+    }
+
+    @Test
+    fun testConcurrentJobs() {
+        val outputDirectory = createTempDirectory("xcfa-server").toFile()
+        val inputs = mapOf(
+            "SAFE" to javaClass.getResource("/c/example-expl.c")!!.path,
+            "UNSAFE" to javaClass.getResource("/c/litmustest/singlethread/00assignment.c")!!.path,
+        )
+        // the same programs in parallel, with different loop unrolling and LBE settings, which are run-local
+        val jobs = (0 until 8).map { i ->
+            val expected = if (i % 2 == 0) "SAFE" else "UNSAFE"
+            job("$expected-$i",
+                "--input", inputs[expected]!!,
+                "--lbe", if (i % 4 < 2) "NO_LBE" else "LBE_SEQ",
+                "--unroll", "${i * 10}",
+                "--output-directory", outputDirectory.path)
+        }
+
+        val responses = serve(*jobs.toTypedArray())
+
+        Assertions.assertEquals(jobs.size, responses.size)
+        for ((id, response) in responses) {
+            Assertions.assertEquals(0, response.get("exitCode").asInt, response.toString())
+            Assertions.assertEquals(id.substringBefore('-'), response.get("result").asString)
+        }
+        val outputDirectories = responses.values.map { it.get("outputDirectory").asString }.toSet()
+        Assertions.assertEquals(jobs.size, outputDirectories.size)
+        outputDirectories.forEach { Assertions.assertEquals(outputDirectory.path, File(it).parent) }
+    }
+
+    @Test
+    fun testRejectedJobs() {
+        val responses = serve(
+            job("llvm", "--input-type", "LLVM", "--input", "program.ll"),
+            job("argdebug", "--input", "program.c", "--arg-debug"),
+            JsonObject().apply { addProperty("id", "noargs") },
+        )
+
+        Assertions.assertEquals(setOf("llvm", "argdebug", "noargs"), responses.keys)
+        for (response in responses.values) {
+            Assertions.assertEquals("ERROR", response.get("result").asString)
+            Assertions.assertEquals(ExitCodes.INVALID_PARAM.code, response.get("exitCode").asInt)
+        }
+    }
+}
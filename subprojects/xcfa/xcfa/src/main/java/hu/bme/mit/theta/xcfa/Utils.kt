@@ -129,34 +129,24 @@ private fun List<VarAccessMap>.mergeAndCollect(): VarAccessMap = this.fold(mapOf
 private operator fun VarAccessMap?.plus(other: VarAccessMap?): VarAccessMap =
     listOfNotNull(this, other).mergeAndCollect()
 
-inline val XcfaLabel.isAtomicBegin: Boolean get() = this is FenceLabel && "ATOMIC_BEGIN" in labels
-inline val XcfaLabel.isAtomicEnd: Boolean get() = this is FenceLabel && "ATOMIC_END" in labels
+inline val XcfaLabel.isAtomicBegin: Boolean
+    get() = this is FenceLabel && operations.any { it == FenceOperation.AtomicBegin }
+inline val XcfaLabel.isAtomicEnd: Boolean
+    get() = this is FenceLabel && operations.any { it == FenceOperation.AtomicEnd }
 
 /**
  * The set of mutexes acquired by the label.
  */
-inline val FenceLabel.acquiredMutexes: Set<String> get() = labels.mapNotNull { it.acquiredMutex }.toSet()
-
-inline val String.acquiredMutex: String?
-    get() = when {
-        this == "ATOMIC_BEGIN" -> ""
-        startsWith("mutex_lock") -> substringAfter('(').substringBefore(')')
-        startsWith("cond_wait") -> substring("cond_wait".length + 1, length - 1).split(",")[1]
-        else -> null
-    }
+inline val FenceLabel.acquiredMutexes: Set<String> get() = operations.flatMap { it.acquiredMutexes }.toSet()
+
+inline val String.acquiredMutex: String? get() = FenceOperation.fromString(this).acquiredMutexes.firstOrNull()
 
 /**
  * The set of mutexes released by the label.
  */
-inline val FenceLabel.releasedMutexes: Set<String> get() = labels.mapNotNull { it.releasedMutex }.toSet()
-
-inline val String.releasedMutex: String?
-    get() = when {
-        this == "ATOMIC_END" -> ""
-        startsWith("mutex_unlock") -> substringAfter('(').substringBefore(')')
-        startsWith("start_cond_wait") -> substring("start_cond_wait".length + 1, length - 1).split(",")[1]
-        else -> null
-    }
+inline val FenceLabel.releasedMutexes: Set<String> get() = operations.flatMap { it.releasedMutexes }.toSet()
+
+inline val String.releasedMutex: String? get() = FenceOperation.fromString(this).releasedMutexes.firstOrNull()
 
 /**
  * The set of mutexes acquired embedded into each other.
@@ -170,8 +160,8 @@ inline val XcfaEdge.acquiredEmbeddedFenceVars: Set<String>
             val newMutexes = mutexes.toMutableSet()
             acquired.addAll(visiting.getFlatLabels().flatMap { fence ->
                 if (fence !is FenceLabel) return@flatMap emptyList()
-                fence.acquiredMutexes + fence.labels.filter { it.startsWith("start_cond_wait") }
-                    .map { it.substring("start_cond_wait".length + 1, it.length - 1).split(",")[0] }
+                fence.acquiredMutexes + fence.operations.filterIsInstance<FenceOperation.StartCondWait>()
+                    .map { it.cond }
             })
             if (visiting.mutexOperations(newMutexes)) {
                 visiting.target.outgoingEdges.forEach { toVisit.add(it to newMutexes) }
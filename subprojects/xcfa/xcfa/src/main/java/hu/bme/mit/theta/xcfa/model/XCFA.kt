@@ -21,6 +21,7 @@ import hu.bme.mit.theta.core.type.Expr
 import hu.bme.mit.theta.core.type.LitExpr
 import hu.bme.mit.theta.xcfa.lazyPointsToGraph
 import java.util.*
+import java.util.concurrent.atomic.AtomicInteger
 
 class XCFA(
     val name: String,
@@ -120,8 +121,8 @@ data class XcfaLocation @JvmOverloads constructor(
 
     companion object {
 
-        private var cnt: Int = 0
-        fun uniqueCounter(): Int = cnt++
+        private val cnt = AtomicInteger()
+        fun uniqueCounter(): Int = cnt.getAndIncrement()
     }
 
     override fun toString(): String {
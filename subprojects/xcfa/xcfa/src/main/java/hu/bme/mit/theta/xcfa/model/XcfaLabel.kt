@@ -186,6 +186,12 @@ data class FenceLabel(
     override val metadata: MetaData = EmptyMetaData
 ) : XcfaLabel(metadata = metadata) {
 
+    /**
+     * The structured operations denoted by [labels], parsed once when the label is created (i.e., when the XCFA is
+     * built) so that analyses do not have to match the textual representation on every transition.
+     */
+    val operations: List<FenceOperation> = labels.map(FenceOperation::fromString)
+
     override fun toString(): String {
         return "F[${labels.joinToString(";")}]"
     }
@@ -199,6 +205,89 @@ data class FenceLabel(
     }
 }
 
+/**
+ * Structured representation of a single fence label. The textual form (see [toString]) is the one stored in
+ * [FenceLabel.labels].
+ */
+sealed class FenceOperation {
+
+    /**
+     * The mutexes acquired by the operation ("" denotes the global atomic mutex).
+     */
+    open val acquiredMutexes: List<String> get() = emptyList()
+
+    /**
+     * The mutexes released by the operation ("" denotes the global atomic mutex).
+     */
+    open val releasedMutexes: List<String> get() = emptyList()
+
+    object AtomicBegin : FenceOperation() {
+
+        override val acquiredMutexes get() = listOf("")
+        override fun toString() = "ATOMIC_BEGIN"
+    }
+
+    object AtomicEnd : FenceOperation() {
+
+        override val releasedMutexes get() = listOf("")
+        override fun toString() = "ATOMIC_END"
+    }
+
+    data class MutexLock(val mutex: String) : FenceOperation() {
+
+        override val acquiredMutexes get() = listOf(mutex)
+        override fun toString() = "mutex_lock($mutex)"
+    }
+
+    data class MutexUnlock(val mutex: String) : FenceOperation() {
+
+        override val releasedMutexes get() = listOf(mutex)
+        override fun toString() = "mutex_unlock($mutex)"
+    }
+
+    data class StartCondWait(val cond: String, val mutex: String) : FenceOperation() {
+
+        override val releasedMutexes get() = listOf(mutex)
+        override fun toString() = "start_cond_wait($cond,$mutex)"
+    }
+
+    data class CondWait(val cond: String, val mutex: String) : FenceOperation() {
+
+        override val acquiredMutexes get() = listOf(mutex)
+        override fun toString() = "cond_wait($cond,$mutex)"
+    }
+
+    data class CondSignal(val cond: String) : FenceOperation() {
+
+        override fun toString() = "cond_signal($cond)"
+    }
+
+    /**
+     * Any other fence (e.g., memory-model specific fences of litmus tests).
+     */
+    data class Other(val label: String) : FenceOperation() {
+
+        override fun toString() = label
+    }
+
+    companion object {
+
+        private fun String.args(name: String): List<String>? =
+            if (startsWith("$name(") && endsWith(")")) substring(name.length + 1, length - 1).split(",") else null
+
+        fun fromString(label: String): FenceOperation {
+            if (label == "ATOMIC_BEGIN") return AtomicBegin
+            if (label == "ATOMIC_END") return AtomicEnd
+            label.args("mutex_lock")?.let { return MutexLock(it.joinToString(",")) }
+            label.args("mutex_unlock")?.let { return MutexUnlock(it.joinToString(",")) }
+            label.args("start_cond_wait")?.let { if (it.size == 2) return StartCondWait(it[0], it[1]) }
+            label.args("cond_wait")?.let { if (it.size == 2) return CondWait(it[0], it[1]) }
+            label.args("cond_signal")?.let { return CondSignal(it.joinToString(",")) }
+            return Other(label)
+        }
+    }
+}
+
 data class SequenceLabel @JvmOverloads constructor(
     val labels: List<XcfaLabel>,
     override val metadata: MetaData = EmptyMetaData
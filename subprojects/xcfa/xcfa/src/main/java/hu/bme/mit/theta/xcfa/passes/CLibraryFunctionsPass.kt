@@ -120,7 +120,7 @@ class CLibraryFunctionsPass : ProcedurePass {
                             else -> error("Unsupported library function ${invokeLabel.name}")
                         }
                         edge.withLabel(SequenceLabel(labels)).splitIf { label ->
-                            label is FenceLabel && label.labels.any { l -> l.startsWith("start_cond_wait") }
+                            label is FenceLabel && label.operations.any { it is FenceOperation.StartCondWait }
                         }.forEach(builder::addEdge)
                     } else {
                         builder.addEdge(edge.withLabel(SequenceLabel(it.label.labels)))
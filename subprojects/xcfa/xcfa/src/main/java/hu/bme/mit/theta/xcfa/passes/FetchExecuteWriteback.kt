@@ -16,6 +16,7 @@
 
 package hu.bme.mit.theta.xcfa.passes
 
+import hu.bme.mit.theta.common.RunLocal
 import hu.bme.mit.theta.core.decl.Decls.Var
 import hu.bme.mit.theta.core.decl.VarDecl
 import hu.bme.mit.theta.core.stmt.AssignStmt
@@ -32,6 +33,7 @@ import hu.bme.mit.theta.core.utils.TypeUtils.cast
 import hu.bme.mit.theta.frontend.ParseContext
 import hu.bme.mit.theta.xcfa.*
 import hu.bme.mit.theta.xcfa.model.*
+import java.util.concurrent.atomic.AtomicInteger
 
 /**
  * Transforms derefs into variables if possible (in the entire XCFA, no derefs remain non-literal)
@@ -41,10 +43,13 @@ class FetchExecuteWriteback(val parseContext: ParseContext) : ProcedurePass {
 
     companion object {
 
-        var enabled = false
+        private val runEnabled = RunLocal.withInitial { false }
 
-        private var cnt = 0
-            get() = field++
+        var enabled: Boolean
+            get() = runEnabled.get()
+            set(value) = runEnabled.set(value)
+
+        private val cnt = AtomicInteger()
     }
 
     override fun run(builder: XcfaProcedureBuilder): XcfaProcedureBuilder {
@@ -96,7 +101,7 @@ class FetchExecuteWriteback(val parseContext: ParseContext) : ProcedurePass {
 
     private fun getDerefLut(dereferences: List<Dereference<*, *, *>>,
         builder: XcfaProcedureBuilder) = dereferences.associateWith {
-        val tmpVar = Var("__THETA_heap_tmp_$cnt", it.type)
+        val tmpVar = Var("__THETA_heap_tmp_${cnt.getAndIncrement()}", it.type)
         builder.addVar(tmpVar)
         tmpVar
     }
@@ -16,6 +16,7 @@
 package hu.bme.mit.theta.xcfa.passes
 
 import com.google.common.base.Preconditions
+import hu.bme.mit.theta.common.RunLocal
 import hu.bme.mit.theta.core.stmt.AssumeStmt
 import hu.bme.mit.theta.core.type.booltype.FalseExpr
 import hu.bme.mit.theta.frontend.ParseContext
@@ -40,10 +41,14 @@ class LbePass(val parseContext: ParseContext) : ProcedurePass {
 
     companion object {
 
+        private val runLevel = RunLocal.withInitial { LbeLevel.NO_LBE }
+
         /**
-         * The level of LBE that specifies which type of graph transformations to apply.
+         * The level of LBE that specifies which type of graph transformations to apply (local to the current run).
          */
-        var level = LbeLevel.NO_LBE
+        var level: LbeLevel
+            get() = runLevel.get()
+            set(value) = runLevel.set(value)
     }
 
     /**
@@ -306,8 +311,8 @@ class LbePass(val parseContext: ParseContext) : ProcedurePass {
         return !edge.getFlatLabels().all { label ->
             !(label is StartLabel || label is JoinLabel) && label.collectVars().all(builder.getVars()::contains) &&
                 !(label is StmtLabel && label.stmt is AssumeStmt && label.stmt.cond is FalseExpr) &&
-                !(label is FenceLabel && label.labels.any { name ->
-                    listOf("ATOMIC_BEGIN", "mutex_lock", "cond_wait").any { name.startsWith(it) }
+                !(label is FenceLabel && label.operations.any { op ->
+                    op == FenceOperation.AtomicBegin || op is FenceOperation.MutexLock || op is FenceOperation.CondWait
                 })
         }
     }
@@ -19,6 +19,8 @@ import hu.bme.mit.theta.analysis.expl.ExplPrec
 import hu.bme.mit.theta.analysis.expl.ExplState
 import hu.bme.mit.theta.analysis.expl.ExplStmtTransFunc
 import hu.bme.mit.theta.analysis.expr.StmtAction
+import hu.bme.mit.theta.common.RunLocal
+import hu.bme.mit.theta.common.RunResources
 import hu.bme.mit.theta.core.decl.VarDecl
 import hu.bme.mit.theta.core.model.ImmutableValuation
 import hu.bme.mit.theta.core.stmt.AssumeStmt
@@ -42,11 +44,24 @@ class LoopUnrollPass : ProcedurePass {
 
     companion object {
 
-        var UNROLL_LIMIT = 1000
-        var FORCE_UNROLL_LIMIT = -1
-        var FORCE_UNROLL_USED = false
-
-        private val solver: Solver = Z3SolverFactory.getInstance().createSolver()
+        // the limits are local to the current run, so that concurrent runs do not interfere, and each thread of a run
+        // has its own solver, closed when the run ends
+        private val runUnrollLimit = RunLocal.withInitial { 1000 }
+        private val runForceUnrollLimit = RunLocal.withInitial { -1 }
+        private val runForceUnrollUsed = RunLocal.withInitial { false }
+        private val runSolver = RunResources.perThread<Solver> { Z3SolverFactory.getInstance().createSolver() }
+
+        var UNROLL_LIMIT: Int
+            get() = runUnrollLimit.get()
+            set(value) = runUnrollLimit.set(value)
+        var FORCE_UNROLL_LIMIT: Int
+            get() = runForceUnrollLimit.get()
+            set(value) = runForceUnrollLimit.set(value)
+        var FORCE_UNROLL_USED: Boolean
+            get() = runForceUnrollUsed.get()
+            set(value) = runForceUnrollUsed.set(value)
+
+        private val solver: Solver get() = runSolver.get()
     }
 
     private val testedLoops = mutableSetOf<Loop>()
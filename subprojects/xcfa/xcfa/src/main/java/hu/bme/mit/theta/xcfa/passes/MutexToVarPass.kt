@@ -68,34 +68,26 @@ class MutexToVarPass : ProcedurePass {
             is FenceLabel -> {
                 val actions = mutableListOf<XcfaLabel>()
 
-                labels.forEach { l ->
-                    if (l == "ATOMIC_BEGIN") {
-                        actions.add(FenceLabel(setOf("ATOMIC_BEGIN")))
-                        return@forEach
-                    }
-                    if (l == "ATOMIC_END") {
-                        actions.add(FenceLabel(setOf("ATOMIC_END")))
-                        return@forEach
-                    }
+                operations.forEach { op ->
+                    when (op) {
+                        FenceOperation.AtomicBegin, FenceOperation.AtomicEnd -> {
+                            actions.add(FenceLabel(setOf(op.toString())))
+                            return@forEach
+                        }
 
-                    if (Regex("start_cond_wait\\((.*)\\)").matches(l)) {
-                        val args = l.substring("start_cond_wait".length + 1, l.length - 1).split(",")
-                        actions.add(StmtLabel(AssignStmt.of(args[0].signalFlag, False())))
-                    }
-                    if (Regex("cond_wait\\((.*)\\)").matches(l)) {
-                        val args = l.substring("cond_wait".length + 1, l.length - 1).split(",")
-                        actions.add(StmtLabel(AssumeStmt.of(args[0].signalFlag.ref)))
-                    }
-                    if (Regex("cond_signal\\((.*)\\)").matches(l)) {
-                        val arg = l.substring("cond_signal".length + 1, l.length - 1)
-                        actions.add(StmtLabel(AssignStmt.of(arg.signalFlag, True())))
+                        is FenceOperation.StartCondWait ->
+                            actions.add(StmtLabel(AssignStmt.of(op.cond.signalFlag, False())))
+
+                        is FenceOperation.CondWait -> actions.add(StmtLabel(AssumeStmt.of(op.cond.signalFlag.ref)))
+                        is FenceOperation.CondSignal -> actions.add(StmtLabel(AssignStmt.of(op.cond.signalFlag, True())))
+                        else -> {}
                     }
 
-                    l.acquiredMutex?.let {
+                    op.acquiredMutexes.forEach {
                         actions.add(StmtLabel(AssumeStmt.of(Not(it.mutexFlag.ref))))
                         actions.add(StmtLabel(AssignStmt.of(it.mutexFlag, True())))
                     }
-                    l.releasedMutex?.let {
+                    op.releasedMutexes.forEach {
                         actions.add(StmtLabel(AssignStmt.of(it.mutexFlag, False())))
                     }
                 }
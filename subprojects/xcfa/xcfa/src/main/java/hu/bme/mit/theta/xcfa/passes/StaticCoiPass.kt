@@ -15,6 +15,7 @@
  */
 package hu.bme.mit.theta.xcfa.passes
 
+import hu.bme.mit.theta.common.RunLocal
 import hu.bme.mit.theta.core.decl.VarDecl
 import hu.bme.mit.theta.core.stmt.AssignStmt
 import hu.bme.mit.theta.core.stmt.HavocStmt
@@ -25,7 +26,11 @@ class StaticCoiPass : ProcedurePass {
 
     companion object {
 
-        var enabled = false
+        private val runEnabled = RunLocal.withInitial { false }
+
+        var enabled: Boolean
+            get() = runEnabled.get()
+            set(value) = runEnabled.set(value)
     }
 
     private val directObservers: MutableMap<XcfaLabel, Set<XcfaLabel>> = mutableMapOf()
@@ -0,0 +1,56 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.xcfa.model
+
+import hu.bme.mit.theta.xcfa.acquiredMutexes
+import hu.bme.mit.theta.xcfa.releasedMutexes
+import org.junit.jupiter.api.Assertions
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.params.ParameterizedTest
+import org.junit.jupiter.params.provider.Arguments
+import org.junit.jupiter.params.provider.MethodSource
+
+class FenceOperationTest {
+
+    companion object {
+
+        @JvmStatic
+        fun getOperations(): List<Arguments> = listOf(
+            Arguments.of("ATOMIC_BEGIN", FenceOperation.AtomicBegin),
+            Arguments.of("ATOMIC_END", FenceOperation.AtomicEnd),
+            Arguments.of("mutex_lock(m)", FenceOperation.MutexLock("m")),
+            Arguments.of("mutex_unlock(m)", FenceOperation.MutexUnlock("m")),
+            Arguments.of("start_cond_wait(c,m)", FenceOperation.StartCondWait("c", "m")),
+            Arguments.of("cond_wait(c,m)", FenceOperation.CondWait("c", "m")),
+            Arguments.of("cond_signal(c)", FenceOperation.CondSignal("c")),
+            Arguments.of("dmb.ish", FenceOperation.Other("dmb.ish")),
+        )
+    }
+
+    @ParameterizedTest
+    @MethodSource("getOperations")
+    fun testParse(label: String, expected: FenceOperation) {
+        Assertions.assertEquals(expected, FenceOperation.fromString(label))
+        Assertions.assertEquals(label, expected.toString())
+    }
+
+    @Test
+    fun testMutexes() {
+        val fence = FenceLabel(setOf("mutex_lock(a)", "start_cond_wait(c,b)", "ATOMIC_BEGIN"))
+        Assertions.assertEquals(setOf("a", ""), fence.acquiredMutexes)
+        Assertions.assertEquals(setOf("b"), fence.releasedMutexes)
+    }
+}
@@ -21,9 +21,12 @@ import hu.bme.mit.theta.analysis.algorithm.arg.ARG;
 import hu.bme.mit.theta.analysis.algorithm.arg.ArgBuilder;
 import hu.bme.mit.theta.analysis.algorithm.arg.ArgNodeComparators;
 import hu.bme.mit.theta.analysis.algorithm.SafetyChecker;
+import hu.bme.mit.theta.analysis.algorithm.Statistics;
 import hu.bme.mit.theta.analysis.algorithm.cegar.Abstractor;
 import hu.bme.mit.theta.analysis.algorithm.cegar.BasicAbstractor;
 import hu.bme.mit.theta.analysis.algorithm.cegar.CegarChecker;
+import hu.bme.mit.theta.analysis.algorithm.cegar.MultiPropertyCegarChecker;
+import hu.bme.mit.theta.analysis.algorithm.cegar.PropertyTargets;
 import hu.bme.mit.theta.analysis.algorithm.cegar.Refiner;
 import hu.bme.mit.theta.analysis.algorithm.cegar.abstractor.StopCriterion;
 import hu.bme.mit.theta.analysis.algorithm.cegar.abstractor.StopCriterions;
@@ -48,6 +51,7 @@ import hu.bme.mit.theta.common.logging.Logger;
 import hu.bme.mit.theta.common.logging.NullLogger;
 import hu.bme.mit.theta.core.type.Expr;
 import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.utils.ExprUtils;
 import hu.bme.mit.theta.solver.ItpSolver;
 import hu.bme.mit.theta.solver.Solver;
 import hu.bme.mit.theta.solver.SolverFactory;
@@ -61,8 +65,12 @@ import hu.bme.mit.theta.xsts.analysis.initprec.*;
 import hu.bme.mit.theta.xsts.analysis.util.XstsCombineExtractUtilsKt;
 import hu.bme.mit.theta.xsts.analysis.util.XstsControlInitFuncKt;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -217,6 +225,8 @@ public class XstsConfigBuilder {
         ON, OFF
     }
 
+    private static final String UNSUPPORTED_MULTI_PROPERTY_REFINEMENT = "Refinement %s is not supported in multi-property mode";
+
     private Logger logger = NullLogger.getInstance();
     private final SolverFactory abstractionSolverFactory;
     private final SolverFactory refinementSolverFactory;
@@ -293,6 +303,26 @@ public class XstsConfigBuilder {
         throw new UnsupportedOperationException(domain + " domain is not supported.");
     }
 
+    /**
+     * Builds a configuration checking each top-level conjunct of the property of the XSTS as a
+     * separate property, sharing a single ARG and precision among them.
+     */
+    public XstsMultiPropertyConfig<? extends State, ? extends Action, ? extends Prec> buildMultiProperty(final XSTS xsts) {
+        checkState(refinement != Refinement.MULTI_SEQ, UNSUPPORTED_MULTI_PROPERTY_REFINEMENT, refinement);
+        if (domain == Domain.EXPL) {
+            return (new ExplStrategy(xsts)).buildMultiPropertyConfig();
+        }
+        if (domain == Domain.PRED_BOOL || domain == Domain.PRED_CART
+                || domain == Domain.PRED_SPLIT) {
+            return (new PredStrategy(xsts)).buildMultiPropertyConfig();
+        }
+        if (domain == Domain.EXPL_PRED_BOOL || domain == Domain.EXPL_PRED_CART
+                || domain == Domain.EXPL_PRED_SPLIT || domain == Domain.EXPL_PRED_COMBINED) {
+            return (new ProdStrategy(xsts)).buildMultiPropertyConfig();
+        }
+        throw new UnsupportedOperationException(domain + " domain is not supported.");
+    }
+
     public abstract class BuilderStrategy<S extends ExprState, P extends Prec> {
 
         protected static final String UNSUPPORTED_CONFIG_VALUE = "Builder strategy %s does not support configuration value %s as %s";
@@ -326,7 +356,11 @@ public class XstsConfigBuilder {
             return XstsLts.create(xsts, XstsStmtOptimizer.create(optimizer()));
         }
 
-        public abstract Predicate<XstsState<S>> getPredicate();
+        public Predicate<XstsState<S>> getPredicate() {
+            return getPredicate(negProp);
+        }
+
+        public abstract Predicate<XstsState<S>> getPredicate(Expr<BoolType> negProp);
 
         public abstract Analysis<S, StmtAction, ? super P> getDataAnalysis();
 
@@ -334,9 +368,20 @@ public class XstsConfigBuilder {
             return XstsAnalysis.create(getDataAnalysis());
         }
 
+        /**
+         * Statistics of the components created by this strategy, reported along with the CEGAR statistics.
+         */
+        public Collection<? extends Statistics> getComponentStatistics() {
+            return List.of();
+        }
+
         public abstract RefutationToPrec<P, ItpRefutation> getItpRefToPrec();
 
         public Refiner<XstsState<S>, XstsAction, P> getRefiner() {
+            return getRefiner(negProp);
+        }
+
+        public Refiner<XstsState<S>, XstsAction, P> getRefiner(final Expr<BoolType> negProp) {
             return refinement.createRefiner(
                     refinement.getItpExprTraceChecker(
                             xsts.getInitFormula(),
@@ -364,10 +409,31 @@ public class XstsConfigBuilder {
             final Refiner<XstsState<S>, XstsAction, P> refiner = getRefiner();
             final SafetyChecker<ARG<XstsState<S>, XstsAction>, Trace<XstsState<S>, XstsAction>, P> checker = CegarChecker.create(
                     abstractor, refiner,
-                    logger);
+                    logger, getComponentStatistics());
             return XstsConfig.create(checker, getInitPrec());
         }
 
+        XstsMultiPropertyConfig<XstsState<S>, XstsAction, P> buildMultiPropertyConfig() {
+            final Map<Expr<BoolType>, Predicate<XstsState<S>>> predicates = new LinkedHashMap<>();
+            final Map<Expr<BoolType>, Refiner<XstsState<S>, XstsAction, P>> refiners = new LinkedHashMap<>();
+            for (final Expr<BoolType> prop : ExprUtils.getConjuncts(xsts.getProp())) {
+                predicates.put(prop, getPredicate(Not(prop)));
+                refiners.put(prop, getRefiner(Not(prop)));
+            }
+            final PropertyTargets<XstsState<S>, Expr<BoolType>> target = PropertyTargets.create(predicates);
+            final ArgBuilder<XstsState<S>, XstsAction, P> argBuilder = ArgBuilder.create(
+                    getLts(), getAnalysis(), target,
+                    true);
+            final Abstractor<XstsState<S>, XstsAction, P> abstractor = BasicAbstractor.builder(
+                            argBuilder)
+                    .waitlist(PriorityWaitlist.create(search.comparator))
+                    .stopCriterion(refinement.getStopCriterion())
+                    .logger(logger).build();
+            final MultiPropertyCegarChecker<XstsState<S>, XstsAction, P, Expr<BoolType>> checker =
+                    MultiPropertyCegarChecker.create(abstractor, refiners, target, logger);
+            return XstsMultiPropertyConfig.create(checker, getInitPrec());
+        }
+
         public MultiAnalysisSide<XstsState<S>, S, XstsState<UnitState>, XstsAction, P, UnitPrec> getMultiSide() {
             return new MultiAnalysisSide<>(
                     getAnalysis(),
@@ -404,7 +470,7 @@ public class XstsConfigBuilder {
         }
 
         @Override
-        public Predicate<XstsState<ExplState>> getPredicate() {
+        public Predicate<XstsState<ExplState>> getPredicate(final Expr<BoolType> negProp) {
             return new XstsStatePredicate<>(new ExplStatePredicate(negProp, abstractionSolver));
         }
 
@@ -419,14 +485,14 @@ public class XstsConfigBuilder {
         }
 
         @Override
-        public Refiner<XstsState<ExplState>, XstsAction, ExplPrec> getRefiner() {
+        public Refiner<XstsState<ExplState>, XstsAction, ExplPrec> getRefiner(final Expr<BoolType> negProp) {
             if (refinement == Refinement.UNSAT_CORE) {
                 return SingleExprTraceRefiner.create(
                         ExprTraceUnsatCoreChecker.create(xsts.getInitFormula(), negProp,
                                 refinementSolverFactory.createUCSolver()),
                         JoiningPrecRefiner.create(new VarsRefToExplPrec()), pruneStrategy, logger);
             }
-            return super.getRefiner();
+            return super.getRefiner(negProp);
         }
 
         @Override
@@ -437,6 +503,9 @@ public class XstsConfigBuilder {
     }
 
     public class PredStrategy extends BuilderStrategy<PredState, PredPrec> {
+
+        private final List<Statistics> abstractorStatistics = new ArrayList<>();
+
         @Override
         Set<Domain> getSupportedDomains() {
             return new HashSet<>(List.of(Domain.PRED_CART, Domain.PRED_BOOL, Domain.PRED_SPLIT));
@@ -459,18 +528,25 @@ public class XstsConfigBuilder {
         }
 
         @Override
-        public Predicate<XstsState<PredState>> getPredicate() {
+        public Predicate<XstsState<PredState>> getPredicate(final Expr<BoolType> negProp) {
             return new XstsStatePredicate<>(new ExprStatePredicate(negProp, abstractionSolver));
         }
 
         @Override
         public Analysis<PredState, StmtAction, PredPrec> getDataAnalysis() {
+            final PredAbstractor predAbstractor = domain.predAbstractorFunction.apply(abstractionSolver);
+            predAbstractor.getStatistics().ifPresent(abstractorStatistics::add);
             return PredAnalysis.create(
                     abstractionSolver,
-                    domain.predAbstractorFunction.apply(abstractionSolver),
+                    predAbstractor,
                     xsts.getInitFormula());
         }
 
+        @Override
+        public Collection<? extends Statistics> getComponentStatistics() {
+            return abstractorStatistics;
+        }
+
         @Override
         public RefutationToPrec<PredPrec, ItpRefutation> getItpRefToPrec() {
             return new ItpRefToPredPrec(predSplit.splitter);
@@ -484,6 +560,8 @@ public class XstsConfigBuilder {
 
     public class ProdStrategy extends BuilderStrategy<Prod2State<ExplState, PredState>, Prod2Prec<ExplPrec, PredPrec>> {
 
+        private final List<Statistics> abstractorStatistics = new ArrayList<>();
+
         @Override
         Set<Domain> getSupportedDomains() {
             return new HashSet<>(List.of(Domain.EXPL_PRED_BOOL, Domain.EXPL_PRED_CART, Domain.EXPL_PRED_SPLIT, Domain.EXPL_PRED_COMBINED));
@@ -510,7 +588,7 @@ public class XstsConfigBuilder {
         }
 
         @Override
-        public Predicate<XstsState<Prod2State<ExplState, PredState>>> getPredicate() {
+        public Predicate<XstsState<Prod2State<ExplState, PredState>>> getPredicate(final Expr<BoolType> negProp) {
             return new XstsStatePredicate<>(
                     new ExprStatePredicate(negProp, abstractionSolver));
         }
@@ -520,6 +598,7 @@ public class XstsConfigBuilder {
             if (domain == Domain.EXPL_PRED_BOOL || domain == Domain.EXPL_PRED_CART
                     || domain == Domain.EXPL_PRED_SPLIT) {
                 final PredAbstractors.PredAbstractor predAbstractor = domain.predAbstractorFunction.apply(abstractionSolver);
+                predAbstractor.getStatistics().ifPresent(abstractorStatistics::add);
                 return Prod2Analysis.create(
                         ExplStmtAnalysis.create(abstractionSolver, xsts.getInitFormula(), maxEnum),
                         PredAnalysis.create(abstractionSolver, predAbstractor, xsts.getInitFormula()),
@@ -528,16 +607,23 @@ public class XstsConfigBuilder {
             } else {
                 final Prod2ExplPredAbstractors.Prod2ExplPredAbstractor prodAbstractor = Prod2ExplPredAbstractors.booleanAbstractor(
                         abstractionSolver);
+                final PredAbstractor predAbstractor = PredAbstractors.booleanAbstractor(abstractionSolver);
+                predAbstractor.getStatistics().ifPresent(abstractorStatistics::add);
                 return Prod2ExplPredAnalysis.create(
                         ExplAnalysis.create(abstractionSolver, xsts.getInitFormula()),
                         PredAnalysis.create(abstractionSolver,
-                                PredAbstractors.booleanAbstractor(abstractionSolver),
+                                predAbstractor,
                                 xsts.getInitFormula()),
                         Prod2ExplPredStrengtheningOperator.create(abstractionSolver),
                         prodAbstractor);
             }
         }
 
+        @Override
+        public Collection<? extends Statistics> getComponentStatistics() {
+            return abstractorStatistics;
+        }
+
         @Override
         public RefutationToPrec<Prod2Prec<ExplPrec, PredPrec>, ItpRefutation> getItpRefToPrec() {
             return AutomaticItpRefToProd2ExplPredPrec.create(
@@ -0,0 +1,50 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.xsts.analysis.config;
+
+import hu.bme.mit.theta.analysis.*;
+import hu.bme.mit.theta.analysis.algorithm.SafetyResult;
+import hu.bme.mit.theta.analysis.algorithm.arg.ARG;
+import hu.bme.mit.theta.analysis.algorithm.cegar.MultiPropertyCegarChecker;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+
+import java.util.Map;
+
+public final class XstsMultiPropertyConfig<S extends State, A extends Action, P extends Prec> {
+
+    private final MultiPropertyCegarChecker<S, A, P, Expr<BoolType>> checker;
+    private final P initPrec;
+
+    private XstsMultiPropertyConfig(final MultiPropertyCegarChecker<S, A, P, Expr<BoolType>> checker,
+                                    final P initPrec) {
+        this.checker = checker;
+        this.initPrec = initPrec;
+    }
+
+    public static <S extends State, A extends Action, P extends Prec> XstsMultiPropertyConfig<S, A, P> create(
+            final MultiPropertyCegarChecker<S, A, P, Expr<BoolType>> checker, final P initPrec) {
+        return new XstsMultiPropertyConfig<>(checker, initPrec);
+    }
+
+    /**
+     * Checks every property, mapping each of them to its own result.
+     */
+    public Map<Expr<BoolType>, SafetyResult<ARG<S, A>, Trace<S, A>>> check() {
+        return checker.check(initPrec);
+    }
+
+}
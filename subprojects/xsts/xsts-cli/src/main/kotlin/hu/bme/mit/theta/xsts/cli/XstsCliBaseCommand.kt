@@ -30,6 +30,7 @@ import hu.bme.mit.theta.analysis.algorithm.cegar.CegarStatistics
 import hu.bme.mit.theta.common.logging.ConsoleLogger
 import hu.bme.mit.theta.common.logging.Logger
 import hu.bme.mit.theta.common.logging.NullLogger
+import hu.bme.mit.theta.common.metrics.Metrics
 import hu.bme.mit.theta.common.table.BasicTableWriter
 import hu.bme.mit.theta.solver.SolverManager
 import hu.bme.mit.theta.solver.javasmt.JavaSMTSolverManager
@@ -92,6 +93,10 @@ abstract class XstsCliBaseCommand(name: String? = null, help: String = "") :
         SolverManager.registerSolverManager(JavaSMTSolverManager.create())
     }
 
+    protected fun writeMetrics() {
+        outputOptions.metricsFile?.let(Metrics::writeJson)
+    }
+
     protected fun writeCex(status: SafetyResult<*, *>, xsts: XSTS) {
         if (outputOptions.cexfile == null || status.isSafe) return
         val trace = status.asUnsafe().cex as Trace<XstsState<*>, XstsAction>
@@ -21,10 +21,12 @@ import com.github.ajalt.clikt.parameters.options.option
 import com.github.ajalt.clikt.parameters.types.enum
 import com.google.common.base.Stopwatch
 import hu.bme.mit.theta.analysis.Trace
-import hu.bme.mit.theta.analysis.algorithm.EmptyWitness
+import hu.bme.mit.theta.analysis.algorithm.SafetyChecker
 import hu.bme.mit.theta.analysis.algorithm.SafetyResult
+import hu.bme.mit.theta.analysis.algorithm.Witness
 import hu.bme.mit.theta.analysis.algorithm.bounded.*
 import hu.bme.mit.theta.analysis.expl.ExplState
+import hu.bme.mit.theta.analysis.unit.UnitPrec
 import hu.bme.mit.theta.common.logging.Logger
 import hu.bme.mit.theta.core.model.Valuation
 import hu.bme.mit.theta.solver.SolverFactory
@@ -42,7 +44,7 @@ typealias S = XstsState<ExplState>
 
 class XstsCliBounded : XstsCliBaseCommand(
     name = "BOUNDED",
-    help = "Bounded model checking algorithms (BMC, IMC, KINDUCTION). Use --variant to select the algorithm (by default BMC is selected)."
+    help = "Bounded model checking algorithms (BMC, IMC, KINDUCTION, PDR). Use --variant to select the algorithm (by default BMC is selected)."
 ) {
 
     enum class Variant {
@@ -60,10 +62,9 @@ class XstsCliBounded : XstsCliBaseCommand(
                 monolithicExpr: MonolithicExpr, solverFactory: SolverFactory,
                 valToState: (Valuation) -> S, biValToAction: (Valuation, Valuation) -> XstsAction,
                 logger: Logger
-            ) = buildKIND(
-                monolithicExpr, solverFactory.createSolver(), solverFactory.createSolver(), valToState, biValToAction,
-                logger
-            )
+            ) = solverFactory.createSolver().let { solver ->
+                buildKIND(monolithicExpr, solver, solver, valToState, biValToAction, logger)
+            }
         },
         IMC {
 
@@ -75,17 +76,25 @@ class XstsCliBounded : XstsCliBaseCommand(
                 monolithicExpr, solverFactory.createSolver(), solverFactory.createItpSolver(), valToState,
                 biValToAction, logger
             )
+        },
+        PDR {
+
+            override fun buildChecker(
+                monolithicExpr: MonolithicExpr, solverFactory: SolverFactory,
+                valToState: (Valuation) -> S, biValToAction: (Valuation, Valuation) -> XstsAction,
+                logger: Logger
+            ) = buildPDR(monolithicExpr, solverFactory, valToState, biValToAction, logger)
         };
 
         abstract fun buildChecker(
             monolithicExpr: MonolithicExpr, solverFactory: SolverFactory, valToState: (Valuation) -> S,
             biValToAction: (Valuation, Valuation) -> XstsAction, logger: Logger
-        ): BoundedChecker<S, XstsAction>
+        ): SafetyChecker<out Witness, Trace<S, XstsAction>, UnitPrec>
     }
 
     private val variant by option().enum<Variant>().default(Variant.BMC)
 
-    private fun printResult(status: SafetyResult<EmptyWitness, Trace<S, XstsAction>>, xsts: XSTS, totalTimeMs: Long) {
+    private fun printResult(status: SafetyResult<*, Trace<S, XstsAction>>, xsts: XSTS, totalTimeMs: Long) {
         if (!outputOptions.benchmarkMode) return
         printCommonResult(status, xsts, totalTimeMs)
         val stats = status.stats.orElse(BoundedStatistics(0)) as BoundedStatistics
@@ -118,6 +127,7 @@ class XstsCliBounded : XstsCliBaseCommand(
         sw.stop()
         printResult(result, xsts, sw.elapsed(TimeUnit.MILLISECONDS))
         writeCex(result, xsts)
+        writeMetrics()
     }
 
 }
\ No newline at end of file
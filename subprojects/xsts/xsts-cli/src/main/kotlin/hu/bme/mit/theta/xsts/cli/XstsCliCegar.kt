@@ -17,6 +17,7 @@
 package hu.bme.mit.theta.xsts.cli
 
 import com.github.ajalt.clikt.parameters.options.default
+import com.github.ajalt.clikt.parameters.options.flag
 import com.github.ajalt.clikt.parameters.options.option
 import com.github.ajalt.clikt.parameters.types.enum
 import com.github.ajalt.clikt.parameters.types.int
@@ -55,6 +56,10 @@ class XstsCliCegar : XstsCliBaseCommand(
     private val initprec: InitPrec by option().enum<InitPrec>().default(InitPrec.EMPTY)
     private val prunestrategy: PruneStrategy by option().enum<PruneStrategy>().default(PruneStrategy.LAZY)
     private val optimizestmts: OptimizeStmts by option().enum<OptimizeStmts>().default(OptimizeStmts.ON)
+    private val multiProperty: Boolean by option(
+        help = "Check each top-level conjunct of the property separately, reporting a result for each of them " +
+            "while sharing the explored state space"
+    ).flag()
 
     private fun printResult(status: SafetyResult<out ARG<*, *>?, out Trace<*, *>?>, xsts: XSTS, totalTimeMs: Long) {
         if (!outputOptions.benchmarkMode) return
@@ -95,16 +100,37 @@ class XstsCliCegar : XstsCliBaseCommand(
         val abstractionSolverFactory = SolverManager.resolveSolverFactory(abstractionSolver ?: solver)
         val refinementSolverFactory = SolverManager.resolveSolverFactory(refinementSolver ?: solver)
         val xsts = inputOptions.loadXsts()
-        val config =
+        val configBuilder =
             XstsConfigBuilder(domain, refinement, abstractionSolverFactory, refinementSolverFactory).maxEnum(maxenum)
                 .autoExpl(autoexpl).initPrec(initprec).pruneStrategy(prunestrategy).search(search).predSplit(predsplit)
-                .optimizeStmts(optimizestmts).logger(logger).build(xsts)
+                .optimizeStmts(optimizestmts).logger(logger)
+        if (multiProperty) {
+            doRunMultiProperty(configBuilder, xsts)
+            return
+        }
+        val config = configBuilder.build(xsts)
         val sw = Stopwatch.createStarted()
         val result = config.check()
         sw.stop()
         printResult(result, xsts, sw.elapsed(TimeUnit.MILLISECONDS))
         writeCex(result, xsts)
         writeVisualStatus(result)
+        writeMetrics()
+    }
+
+    private fun doRunMultiProperty(configBuilder: XstsConfigBuilder, xsts: XSTS) {
+        val config = configBuilder.buildMultiProperty(xsts)
+        val sw = Stopwatch.createStarted()
+        val results = config.check()
+        sw.stop()
+        if (outputOptions.benchmarkMode) {
+            results.forEach { (prop, status) ->
+                writer.cell(prop)
+                printCommonResult(status, xsts, sw.elapsed(TimeUnit.MILLISECONDS))
+                writer.newRow()
+            }
+        }
+        writeMetrics()
     }
 
 }
\ No newline at end of file
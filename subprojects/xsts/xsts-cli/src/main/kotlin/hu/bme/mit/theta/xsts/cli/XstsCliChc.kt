@@ -65,6 +65,7 @@ class XstsCliChc : XstsCliBaseCommand(
         val result = checker.check()
         sw.stop()
         printResult(result, xsts, sw.elapsed(TimeUnit.MILLISECONDS))
+        writeMetrics()
     }
 
 }
\ No newline at end of file
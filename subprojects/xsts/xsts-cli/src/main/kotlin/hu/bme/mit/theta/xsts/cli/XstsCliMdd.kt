@@ -87,6 +87,7 @@ class XstsCliMdd : XstsCliBaseCommand(
         }
         sw.stop()
         printResult(result, xsts, sw.elapsed(TimeUnit.MILLISECONDS))
+        writeMetrics()
     }
 
 }
\ No newline at end of file
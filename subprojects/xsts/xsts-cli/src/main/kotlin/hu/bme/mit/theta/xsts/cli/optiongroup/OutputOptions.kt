@@ -40,5 +40,8 @@ class OutputOptions : OptionGroup(
     val cexfile: File? by option(help = "Write concrete counterexample to a file").file()
     val stacktrace: Boolean by option(help = "Print stack trace of exceptions").flag()
     val visualize: File? by option(help = "Write proof or counterexample to file in dot format").file()
+    val metricsFile: File? by option(
+        help = "Write the hot-path metrics (e.g., solver calls, transfer functions, coverage checks) to a file as JSON"
+    ).file()
 
 }
\ No newline at end of file
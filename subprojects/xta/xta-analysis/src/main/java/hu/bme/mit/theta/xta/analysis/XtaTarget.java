@@ -0,0 +1,79 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.xta.analysis;
+
+import com.google.common.collect.ImmutableSet;
+import hu.bme.mit.theta.common.Utils;
+import hu.bme.mit.theta.core.model.Valuation;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.utils.ExprUtils;
+import hu.bme.mit.theta.xta.XtaProcess.Loc;
+
+import java.util.Collection;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.True;
+
+/**
+ * Reachability property of an XTA system. A state is a target if its location vector contains all the given
+ * locations and its data valuation satisfies the given condition.
+ */
+public final class XtaTarget {
+
+    private final Collection<Loc> locs;
+    private final Expr<BoolType> dataCond;
+
+    private XtaTarget(final Collection<Loc> locs, final Expr<BoolType> dataCond) {
+        this.locs = ImmutableSet.copyOf(checkNotNull(locs));
+        this.dataCond = checkNotNull(dataCond);
+    }
+
+    public static XtaTarget of(final Collection<Loc> locs, final Expr<BoolType> dataCond) {
+        return new XtaTarget(locs, dataCond);
+    }
+
+    public static XtaTarget of(final Collection<Loc> locs) {
+        return new XtaTarget(locs, True());
+    }
+
+    public Collection<Loc> getLocs() {
+        return locs;
+    }
+
+    public Expr<BoolType> getDataCond() {
+        return dataCond;
+    }
+
+    public boolean isTargetLocs(final List<Loc> locs) {
+        return locs.containsAll(this.locs);
+    }
+
+    public boolean isTargetData(final Valuation val) {
+        return ExprUtils.simplify(dataCond, val).equals(True());
+    }
+
+    public boolean isTarget(final List<Loc> locs, final Valuation val) {
+        return isTargetLocs(locs) && isTargetData(val);
+    }
+
+    @Override
+    public String toString() {
+        return Utils.lispStringBuilder(getClass().getSimpleName()).addAll(locs).add(dataCond).toString();
+    }
+
+}
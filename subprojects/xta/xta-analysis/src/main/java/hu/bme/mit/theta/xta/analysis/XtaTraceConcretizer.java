@@ -0,0 +1,182 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.xta.analysis;
+
+import com.google.common.collect.ImmutableList;
+import hu.bme.mit.theta.analysis.Trace;
+import hu.bme.mit.theta.analysis.expl.ExplState;
+import hu.bme.mit.theta.analysis.prod2.Prod2State;
+import hu.bme.mit.theta.analysis.zone.ZonePrec;
+import hu.bme.mit.theta.analysis.zone.ZoneState;
+import hu.bme.mit.theta.common.container.Containers;
+import hu.bme.mit.theta.core.clock.constr.ClockConstr;
+import hu.bme.mit.theta.core.clock.constr.UnitConstr;
+import hu.bme.mit.theta.core.clock.constr.UnitEqConstr;
+import hu.bme.mit.theta.core.clock.constr.UnitGeqConstr;
+import hu.bme.mit.theta.core.clock.constr.UnitGtConstr;
+import hu.bme.mit.theta.core.clock.constr.UnitLeqConstr;
+import hu.bme.mit.theta.core.clock.constr.UnitLtConstr;
+import hu.bme.mit.theta.core.clock.op.ResetOp;
+import hu.bme.mit.theta.core.decl.Decl;
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.model.ImmutableValuation;
+import hu.bme.mit.theta.core.model.Valuation;
+import hu.bme.mit.theta.core.type.rattype.RatLitExpr;
+import hu.bme.mit.theta.core.type.rattype.RatType;
+import hu.bme.mit.theta.xta.Update;
+import hu.bme.mit.theta.xta.XtaProcess.Edge;
+import hu.bme.mit.theta.xta.XtaSystem;
+import hu.bme.mit.theta.xta.analysis.zone.XtaZoneUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static hu.bme.mit.theta.core.type.rattype.RatExprs.Rat;
+
+/**
+ * Concretizes counterexamples of XTA systems. The input is a trace of forward reachable states, i.e., each zone is
+ * the strongest postcondition of the path leading to it. The zones are first refined backwards to the clock
+ * valuations from which the rest of the trace can be executed, and then a concrete timed run is selected forwards,
+ * always taking the smallest possible delay. In the resulting trace, the explicit part of each state contains the
+ * data valuation together with the clock valuation at the moment of taking the next action.
+ */
+public final class XtaTraceConcretizer {
+
+    private XtaTraceConcretizer() {
+    }
+
+    public static Trace<XtaState<Prod2State<ExplState, ZoneState>>, XtaAction> concretize(
+            final XtaSystem system, final Trace<XtaState<Prod2State<ExplState, ZoneState>>, XtaAction> trace) {
+        checkNotNull(system);
+        checkNotNull(trace);
+        final ZonePrec prec = ZonePrec.of(system.getClockVars());
+        final List<XtaState<Prod2State<ExplState, ZoneState>>> states = trace.getStates();
+        final List<XtaAction> actions = trace.getActions();
+        final int length = trace.length();
+
+        final ZoneState[] zones = new ZoneState[length + 1];
+        zones[length] = states.get(length).getState().getState2();
+        for (int i = length - 1; i >= 0; i--) {
+            final ZoneState preZone = XtaZoneUtils.pre(zones[i + 1], actions.get(i), prec);
+            zones[i] = ZoneState.intersection(states.get(i).getState().getState2(), preZone);
+            checkArgument(!zones[i].isBottom(), "Trace is infeasible");
+        }
+
+        final Map<VarDecl<RatType>, RatLitExpr> clockVal = Containers.createMap();
+        for (final VarDecl<RatType> clock : system.getClockVars()) {
+            clockVal.put(clock, Rat(0, 1));
+        }
+
+        final List<XtaState<Prod2State<ExplState, ZoneState>>> concrStates = new ArrayList<>();
+        for (int i = 0; i <= length; i++) {
+            final XtaState<Prod2State<ExplState, ZoneState>> state = states.get(i);
+            final RatLitExpr delay = getDelay(clockVal, zones[i]);
+            clockVal.replaceAll((clock, value) -> value.add(delay));
+
+            final ExplState concrState = ExplState.of(toValuation(state.getState().getState1(), clockVal));
+            concrStates.add(state.withState(Prod2State.of(concrState, zones[i])));
+
+            if (i < length) {
+                for (final Edge edge : getEdges(actions.get(i))) {
+                    applyResets(clockVal, edge);
+                }
+            }
+        }
+
+        return Trace.of(concrStates, actions);
+    }
+
+    private static RatLitExpr getDelay(final Map<VarDecl<RatType>, RatLitExpr> clockVal, final ZoneState zone) {
+        RatLitExpr lower = Rat(0, 1);
+        boolean lowerStrict = false;
+        RatLitExpr upper = null;
+        boolean upperStrict = false;
+
+        // Difference constraints are invariant under delay, so only the unit constraints bound the delay
+        for (final ClockConstr constr : zone.getConstrs()) {
+            if (constr instanceof UnitConstr unitConstr) {
+                final RatLitExpr bound = Rat(unitConstr.getBound(), 1).sub(clockVal.get(unitConstr.getVar()));
+                final boolean strict = constr instanceof UnitLtConstr || constr instanceof UnitGtConstr;
+                final boolean isLower = constr instanceof UnitGtConstr || constr instanceof UnitGeqConstr
+                        || constr instanceof UnitEqConstr;
+                final boolean isUpper = constr instanceof UnitLtConstr || constr instanceof UnitLeqConstr
+                        || constr instanceof UnitEqConstr;
+
+                if (isLower) {
+                    final int cmp = bound.compareTo(lower);
+                    if (cmp > 0 || (cmp == 0 && strict)) {
+                        lower = bound;
+                        lowerStrict = strict;
+                    }
+                }
+                if (isUpper) {
+                    final int cmp = upper == null ? -1 : bound.compareTo(upper);
+                    if (cmp < 0 || (cmp == 0 && strict)) {
+                        upper = bound;
+                        upperStrict = strict;
+                    }
+                }
+            }
+        }
+
+        assert upper == null || lower.compareTo(upper) < 0 || (lower.compareTo(upper) == 0 && !lowerStrict
+                && !upperStrict);
+
+        if (!lowerStrict) {
+            return lower;
+        } else if (upper != null) {
+            return lower.add(upper).div(Rat(2, 1));
+        } else {
+            return lower.add(Rat(1, 1));
+        }
+    }
+
+    private static List<Edge> getEdges(final XtaAction action) {
+        if (action.isBasic()) {
+            return ImmutableList.of(action.asBasic().getEdge());
+        } else if (action.isBinary()) {
+            return ImmutableList.of(action.asBinary().getEmitEdge(), action.asBinary().getRecvEdge());
+        } else if (action.isBroadcast()) {
+            return ImmutableList.<Edge>builder().add(action.asBroadcast().getEmitEdge())
+                    .addAll(action.asBroadcast().getRecvEdges()).build();
+        } else {
+            throw new AssertionError();
+        }
+    }
+
+    private static void applyResets(final Map<VarDecl<RatType>, RatLitExpr> clockVal, final Edge edge) {
+        for (final Update update : edge.getUpdates()) {
+            if (update.isClockUpdate()) {
+                final ResetOp op = (ResetOp) update.asClockUpdate().getClockOp();
+                clockVal.put(op.getVar(), Rat(op.getValue(), 1));
+            }
+        }
+    }
+
+    private static Valuation toValuation(final Valuation dataVal,
+                                         final Map<VarDecl<RatType>, RatLitExpr> clockVal) {
+        final ImmutableValuation.Builder builder = ImmutableValuation.builder();
+        for (final Decl<?> decl : dataVal.getDecls()) {
+            builder.put(decl, dataVal.eval(decl).get());
+        }
+        clockVal.forEach(builder::put);
+        return builder.build();
+    }
+
+}
@@ -22,6 +22,8 @@ import hu.bme.mit.theta.analysis.Analysis;
 import hu.bme.mit.theta.analysis.State;
 import hu.bme.mit.theta.analysis.algorithm.arg.ArgNode;
 import hu.bme.mit.theta.analysis.unit.UnitPrec;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
 import hu.bme.mit.theta.xta.analysis.XtaAction;
 import hu.bme.mit.theta.xta.analysis.lazy.LazyXtaStatistics.Builder;
 
@@ -39,4 +41,10 @@ interface AlgorithmStrategy<S1 extends State, S2 extends State> {
     void block(ArgNode<S1, XtaAction> node, final XtaAction action, final S1 succState,
                Collection<ArgNode<S1, XtaAction>> uncoveredNodes, final Builder stats);
 
+    /**
+     * Strengthens the abstraction of a node to exclude a data condition that its concrete state violates.
+     */
+    void blockData(ArgNode<S1, XtaAction> node, final Expr<BoolType> dataCond,
+                   Collection<ArgNode<S1, XtaAction>> uncoveredNodes, final Builder stats);
+
 }
@@ -23,12 +23,16 @@ import java.util.function.Function;
 import hu.bme.mit.theta.analysis.Analysis;
 import hu.bme.mit.theta.analysis.State;
 import hu.bme.mit.theta.analysis.algorithm.arg.ArgNode;
+import hu.bme.mit.theta.analysis.expl.ExplState;
 import hu.bme.mit.theta.analysis.impl.PrecMappingAnalysis;
 import hu.bme.mit.theta.analysis.prod2.Prod2Analysis;
 import hu.bme.mit.theta.analysis.prod2.Prod2Prec;
 import hu.bme.mit.theta.analysis.prod2.Prod2State;
 import hu.bme.mit.theta.analysis.unit.UnitPrec;
+import hu.bme.mit.theta.analysis.zone.ZoneState;
 import hu.bme.mit.theta.common.Tuple3;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
 import hu.bme.mit.theta.xta.XtaSystem;
 import hu.bme.mit.theta.xta.analysis.XtaAction;
 import hu.bme.mit.theta.xta.analysis.XtaAnalysis;
@@ -42,12 +46,18 @@ final class CombinedStrategy<S1 extends State, S2 extends State>
     private final AlgorithmStrategy<XtaState<Prod2State<S1, S2>>, S2> strategy2;
     private final Analysis<XtaState<Prod2State<S1, S2>>, XtaAction, UnitPrec> analysis;
     private final Function<XtaState<Prod2State<S1, S2>>, ?> projection;
+    private final Function<? super S1, ExplState> concretization1;
+    private final Function<? super S2, ZoneState> concretization2;
 
     public CombinedStrategy(final XtaSystem system,
                             final AlgorithmStrategy<XtaState<Prod2State<S1, S2>>, S1> strategy1,
-                            final AlgorithmStrategy<XtaState<Prod2State<S1, S2>>, S2> strategy2) {
+                            final AlgorithmStrategy<XtaState<Prod2State<S1, S2>>, S2> strategy2,
+                            final Function<? super S1, ExplState> concretization1,
+                            final Function<? super S2, ZoneState> concretization2) {
         this.strategy1 = checkNotNull(strategy1);
         this.strategy2 = checkNotNull(strategy2);
+        this.concretization1 = checkNotNull(concretization1);
+        this.concretization2 = checkNotNull(concretization2);
         this.analysis = createAnalysis(system);
         projection = s -> Tuple3.of(strategy1.getProjection().apply(s.getState().getState1()),
                 strategy2.getProjection().apply(s.getState().getState2()), s.getLocs());
@@ -63,6 +73,15 @@ final class CombinedStrategy<S1 extends State, S2 extends State>
         return projection;
     }
 
+    /**
+     * Returns the concrete part of a state, i.e., its data valuation and zone without abstraction.
+     */
+    public XtaState<Prod2State<ExplState, ZoneState>> concretize(final XtaState<Prod2State<S1, S2>> state) {
+        final Prod2State<S1, S2> prodState = state.getState();
+        return state.withState(Prod2State.of(concretization1.apply(prodState.getState1()),
+                concretization2.apply(prodState.getState2())));
+    }
+
     @Override
     public boolean mightCover(final ArgNode<XtaState<Prod2State<S1, S2>>, XtaAction> coveree,
                               final ArgNode<XtaState<Prod2State<S1, S2>>, XtaAction> coverer) {
@@ -99,6 +118,15 @@ final class CombinedStrategy<S1 extends State, S2 extends State>
         }
     }
 
+    @Override
+    public void blockData(final ArgNode<XtaState<Prod2State<S1, S2>>, XtaAction> node,
+                          final Expr<BoolType> dataCond,
+                          final Collection<ArgNode<XtaState<Prod2State<S1, S2>>, XtaAction>> uncoveredNodes,
+                          final Builder stats) {
+        strategy1.blockData(node, dataCond, uncoveredNodes, stats);
+        strategy2.blockData(node, dataCond, uncoveredNodes, stats);
+    }
+
     ////
 
     private Analysis<XtaState<Prod2State<S1, S2>>, XtaAction, UnitPrec> createAnalysis(
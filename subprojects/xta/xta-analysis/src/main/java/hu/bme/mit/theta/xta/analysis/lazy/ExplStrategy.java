@@ -25,6 +25,8 @@ import hu.bme.mit.theta.analysis.State;
 import hu.bme.mit.theta.analysis.algorithm.arg.ArgNode;
 import hu.bme.mit.theta.analysis.expl.ExplState;
 import hu.bme.mit.theta.analysis.unit.UnitPrec;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
 import hu.bme.mit.theta.xta.XtaSystem;
 import hu.bme.mit.theta.xta.analysis.XtaAction;
 import hu.bme.mit.theta.xta.analysis.expl.XtaExplAnalysis;
@@ -71,4 +73,9 @@ final class ExplStrategy<S extends State> implements AlgorithmStrategy<S, ExplSt
         assert lens.get(succState).isBottom();
     }
 
+    @Override
+    public void blockData(final ArgNode<S, XtaAction> node, final Expr<BoolType> dataCond,
+                          final Collection<ArgNode<S, XtaAction>> uncoveredNodes, final Builder stats) {
+    }
+
 }
@@ -96,6 +96,14 @@ abstract class ItpExplStrategy<S extends State> implements AlgorithmStrategy<S,
         stats.stopExpandExplRefinement();
     }
 
+    @Override
+    public final void blockData(final ArgNode<S, XtaAction> node, final Expr<BoolType> dataCond,
+                                final Collection<ArgNode<S, XtaAction>> uncoveredNodes, final Builder stats) {
+        stats.startExpandExplRefinement();
+        blockExpl(node, dataCond, uncoveredNodes, stats);
+        stats.stopExpandExplRefinement();
+    }
+
     ////
 
     protected abstract Valuation blockExpl(final ArgNode<S, XtaAction> node,
@@ -29,6 +29,8 @@ import hu.bme.mit.theta.analysis.impl.PrecMappingAnalysis;
 import hu.bme.mit.theta.analysis.unit.UnitPrec;
 import hu.bme.mit.theta.analysis.zone.ZonePrec;
 import hu.bme.mit.theta.analysis.zone.ZoneState;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
 import hu.bme.mit.theta.xta.XtaSystem;
 import hu.bme.mit.theta.xta.analysis.XtaAction;
 import hu.bme.mit.theta.xta.analysis.lazy.LazyXtaStatistics.Builder;
@@ -95,6 +97,11 @@ abstract class ItpZoneStrategy<S extends State> implements AlgorithmStrategy<S,
         stats.stopExpandZoneRefinement();
     }
 
+    @Override
+    public final void blockData(final ArgNode<S, XtaAction> node, final Expr<BoolType> dataCond,
+                                final Collection<ArgNode<S, XtaAction>> uncoveredNodes, final Builder stats) {
+    }
+
     ////
 
     protected abstract ZoneState blockZone(final ArgNode<S, XtaAction> node, final ZoneState zone,
@@ -19,69 +19,131 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.util.ArrayList;
 import java.util.Collection;
-
-import com.google.common.collect.Lists;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.function.Function;
 
 import hu.bme.mit.theta.analysis.State;
 import hu.bme.mit.theta.analysis.Trace;
 import hu.bme.mit.theta.analysis.algorithm.SafetyResult;
 import hu.bme.mit.theta.analysis.algorithm.arg.ARG;
 import hu.bme.mit.theta.analysis.algorithm.arg.ArgNode;
+import hu.bme.mit.theta.analysis.algorithm.arg.ArgNodeComparators;
+import hu.bme.mit.theta.analysis.algorithm.arg.ArgTrace;
 import hu.bme.mit.theta.analysis.algorithm.SafetyChecker;
 import hu.bme.mit.theta.analysis.algorithm.arg.SearchStrategy;
-import hu.bme.mit.theta.analysis.reachedset.Partition;
+import hu.bme.mit.theta.analysis.expl.ExplState;
+import hu.bme.mit.theta.analysis.prod2.Prod2State;
 import hu.bme.mit.theta.analysis.unit.UnitPrec;
+import hu.bme.mit.theta.analysis.waitlist.PriorityWaitlist;
 import hu.bme.mit.theta.analysis.waitlist.Waitlist;
+import hu.bme.mit.theta.analysis.zone.ZoneState;
 import hu.bme.mit.theta.xta.XtaSystem;
 import hu.bme.mit.theta.xta.analysis.XtaAction;
 import hu.bme.mit.theta.xta.analysis.XtaLts;
 import hu.bme.mit.theta.xta.analysis.XtaState;
+import hu.bme.mit.theta.xta.analysis.XtaTarget;
+import hu.bme.mit.theta.xta.analysis.XtaTraceConcretizer;
 
 final class LazyXtaChecker<S extends State> implements
-        SafetyChecker<ARG<XtaState<S>, XtaAction>, Trace<XtaState<S>, XtaAction>, UnitPrec> {
+        SafetyChecker<ARG<XtaState<S>, XtaAction>, Trace<XtaState<Prod2State<ExplState, ZoneState>>, XtaAction>, UnitPrec> {
 
+    private final XtaSystem system;
     private final XtaLts lts;
     private final AlgorithmStrategy<XtaState<S>, XtaState<S>> algorithmStrategy;
+    private final Function<XtaState<S>, XtaState<Prod2State<ExplState, ZoneState>>> concretizer;
     private final SearchStrategy searchStrategy;
+    private final boolean subsumption;
+    private final Optional<XtaTarget> target;
+    private final boolean guided;
 
     private LazyXtaChecker(final XtaSystem system,
                            final AlgorithmStrategy<XtaState<S>, XtaState<S>> algorithmStrategy,
-                           final SearchStrategy searchStrategy) {
-        checkNotNull(system);
+                           final Function<XtaState<S>, XtaState<Prod2State<ExplState, ZoneState>>> concretizer,
+                           final SearchStrategy searchStrategy, final boolean subsumption,
+                           final XtaTarget target, final boolean guided) {
+        this.system = checkNotNull(system);
         lts = XtaLts.create(system);
         this.algorithmStrategy = checkNotNull(algorithmStrategy);
+        this.concretizer = checkNotNull(concretizer);
         this.searchStrategy = checkNotNull(searchStrategy);
+        this.subsumption = subsumption;
+        this.target = Optional.ofNullable(target);
+        this.guided = guided;
     }
 
+    /**
+     * Creates a checker for the reachability of the target, or for the full exploration of the state space if the
+     * target is null. The concretizer maps states to their concrete (non-abstracted) parts, which are used for
+     * evaluating the target and for concretizing counterexamples.
+     * <p>
+     * If subsumption is enabled, the passed list only keeps the maximal nodes of each discrete state (see
+     * {@link PassedList}), and successors are closed as soon as they are created, so nodes subsumed at creation never
+     * enter the waiting list. A successor entering the waiting list covers the waiting nodes it subsumes, which are
+     * then removed from the waiting list (see {@link SubsumingWaitlist}) instead of being expanded. If guided search
+     * is enabled, the nodes closest to the target are expanded first (ties are broken in breadth-first order),
+     * otherwise the search strategy determines the order of expansion.
+     */
     public static <S extends State> LazyXtaChecker<S> create(final XtaSystem system,
                                                              final AlgorithmStrategy<XtaState<S>, XtaState<S>> algorithmStrategy,
-                                                             final SearchStrategy searchStrategy) {
-        return new LazyXtaChecker<>(system, algorithmStrategy, searchStrategy);
+                                                             final Function<XtaState<S>, XtaState<Prod2State<ExplState, ZoneState>>> concretizer,
+                                                             final SearchStrategy searchStrategy,
+                                                             final boolean subsumption,
+                                                             final XtaTarget target,
+                                                             final boolean guided) {
+        return new LazyXtaChecker<>(system, algorithmStrategy, concretizer, searchStrategy, subsumption, target,
+                guided);
     }
 
     @Override
-    public SafetyResult<ARG<XtaState<S>, XtaAction>, Trace<XtaState<S>, XtaAction>> check(final UnitPrec prec) {
+    public SafetyResult<ARG<XtaState<S>, XtaAction>, Trace<XtaState<Prod2State<ExplState, ZoneState>>, XtaAction>> check(
+            final UnitPrec prec) {
         return new CheckMethod().run();
     }
 
+    private boolean isTarget(final XtaState<S> state) {
+        if (target.isEmpty() || !target.get().isTargetLocs(state.getLocs())) {
+            return false;
+        }
+        return target.get().isTargetData(concretizer.apply(state).getState().getState1());
+    }
+
+    private Waitlist<ArgNode<XtaState<S>, XtaAction>> createWaitlist() {
+        if (guided) {
+            final TargetDistance distance = TargetDistance.create(target.get());
+            final Comparator<ArgNode<XtaState<S>, XtaAction>> comparator = Comparator.comparingInt(
+                    n -> distance.get(n.getState().getLocs()));
+            return PriorityWaitlist.create(comparator.thenComparing(ArgNodeComparators.bfs()));
+        } else {
+            return searchStrategy.createWaitlist();
+        }
+    }
+
     private final class CheckMethod {
 
         final ARG<XtaState<S>, XtaAction> arg;
         final LazyXtaStatistics.Builder stats;
-        final Partition<ArgNode<XtaState<S>, XtaAction>, ?> passed;
-        final Waitlist<ArgNode<XtaState<S>, XtaAction>> waiting;
+        final PassedList<ArgNode<XtaState<S>, XtaAction>> passed;
+        final SubsumingWaitlist<ArgNode<XtaState<S>, XtaAction>> waiting;
 
         public CheckMethod() {
             arg = ARG.create(algorithmStrategy.getAnalysis().getPartialOrd());
             stats = LazyXtaStatistics.builder(arg);
-            passed = Partition.of(n -> algorithmStrategy.getProjection().apply(n.getState()));
-            waiting = searchStrategy.createWaitlist();
+            passed = PassedList.create(n -> algorithmStrategy.getProjection().apply(n.getState()),
+                    algorithmStrategy::mightCover, subsumption);
+            waiting = SubsumingWaitlist.create(createWaitlist(),
+                    n -> algorithmStrategy.getProjection().apply(n.getState()));
         }
 
-        public SafetyResult<ARG<XtaState<S>, XtaAction>, Trace<XtaState<S>, XtaAction>> run() {
+        public SafetyResult<ARG<XtaState<S>, XtaAction>, Trace<XtaState<Prod2State<ExplState, ZoneState>>, XtaAction>> run() {
             stats.startAlgorithm();
 
             init();
+            final Optional<ArgNode<XtaState<S>, XtaAction>> initTarget = findTarget(arg.getInitNodes().toList());
+            if (initTarget.isPresent()) {
+                return unsafe(initTarget.get());
+            }
+
             waiting.addAll(arg.getInitNodes());
             while (!waiting.isEmpty()) {
                 final ArgNode<XtaState<S>, XtaAction> v = waiting.remove();
@@ -89,55 +151,133 @@ final class LazyXtaChecker<S extends State> implements
 
                 close(v);
                 if (!v.isCovered()) {
-                    expand(v);
+                    final Collection<ArgNode<XtaState<S>, XtaAction>> succNodes = expand(v);
+                    final Optional<ArgNode<XtaState<S>, XtaAction>> succTarget = findTarget(succNodes);
+                    if (succTarget.isPresent()) {
+                        return unsafe(succTarget.get());
+                    }
+                    if (subsumption) {
+                        for (final ArgNode<XtaState<S>, XtaAction> succNode : succNodes) {
+                            close(succNode);
+                            if (succNode.isCovered()) {
+                                stats.subsumeWaiting();
+                            } else {
+                                subsumeWaiting(succNode);
+                                waiting.add(succNode);
+                            }
+                        }
+                    } else {
+                        waiting.addAll(succNodes);
+                    }
                 }
             }
 
             stats.stopAlgorithm();
             final LazyXtaStatistics statistics = stats.build();
-            final SafetyResult<ARG<XtaState<S>, XtaAction>, Trace<XtaState<S>, XtaAction>> result = SafetyResult.safe(arg, statistics);
+            final SafetyResult<ARG<XtaState<S>, XtaAction>, Trace<XtaState<Prod2State<ExplState, ZoneState>>, XtaAction>> result = SafetyResult.safe(
+                    arg, statistics);
             return result;
         }
 
+        private SafetyResult<ARG<XtaState<S>, XtaAction>, Trace<XtaState<Prod2State<ExplState, ZoneState>>, XtaAction>> unsafe(
+                final ArgNode<XtaState<S>, XtaAction> targetNode) {
+            final Trace<XtaState<S>, XtaAction> argTrace = ArgTrace.to(targetNode).toTrace();
+            final Trace<XtaState<Prod2State<ExplState, ZoneState>>, XtaAction> concrTrace = Trace.of(
+                    argTrace.getStates().stream().map(concretizer).toList(), argTrace.getActions());
+            final Trace<XtaState<Prod2State<ExplState, ZoneState>>, XtaAction> cex = XtaTraceConcretizer.concretize(
+                    system, concrTrace);
+            stats.stopAlgorithm();
+            final LazyXtaStatistics statistics = stats.build();
+            return SafetyResult.unsafe(cex, arg, statistics);
+        }
+
+        private Optional<ArgNode<XtaState<S>, XtaAction>> findTarget(
+                final Collection<ArgNode<XtaState<S>, XtaAction>> nodes) {
+            return nodes.stream().filter(ArgNode::isTarget).findFirst();
+        }
+
         private void init() {
             final Collection<? extends XtaState<S>> initStates = algorithmStrategy.getAnalysis()
                     .getInitFunc()
                     .getInitStates(UnitPrec.getInstance());
-            initStates.forEach(s -> arg.createInitNode(s, false));
+            for (final XtaState<S> initState : initStates) {
+                blockTargetData(arg.createInitNode(initState, isTarget(initState)));
+            }
+        }
+
+        /**
+         * Nodes in the target locations violating the data condition of the target are blocked like disabled
+         * transitions, so that the abstract states of the nodes covering others also exclude the target.
+         */
+        private void blockTargetData(final ArgNode<XtaState<S>, XtaAction> node) {
+            if (target.isPresent() && !node.isTarget() && target.get().isTargetLocs(node.getState().getLocs())) {
+                final Collection<ArgNode<XtaState<S>, XtaAction>> uncoveredNodes = new ArrayList<>();
+                algorithmStrategy.blockData(node, target.get().getDataCond(), uncoveredNodes, stats);
+                waiting.addAll(uncoveredNodes);
+            }
         }
 
         private void close(final ArgNode<XtaState<S>, XtaAction> coveree) {
             stats.startClosing();
 
-            final Iterable<ArgNode<XtaState<S>, XtaAction>> candidates = Lists.reverse(
-                    passed.get(coveree));
+            final Iterable<ArgNode<XtaState<S>, XtaAction>> candidates = passed.getCandidates(coveree);
             for (final ArgNode<XtaState<S>, XtaAction> coverer : candidates) {
 
                 stats.checkCoverage();
-                if (algorithmStrategy.mightCover(coveree, coverer)) {
+                if (algorithmStrategy.mightCover(coveree, coverer) && cover(coveree, coverer)) {
+                    stats.stopClosing();
+                    return;
+                }
+            }
 
-                    stats.attemptCoverage();
+            stats.stopClosing();
+        }
 
-                    coveree.setCoveringNode(coverer);
-                    final Collection<ArgNode<XtaState<S>, XtaAction>> uncoveredNodes = new ArrayList<>();
-                    algorithmStrategy.cover(coveree, coverer, uncoveredNodes, stats);
+        /**
+         * Covers the waiting nodes that are subsumed by a node about to enter the waiting list, and removes them from
+         * the waiting list. If the coverer is strengthened later so that it no longer covers them, they are uncovered
+         * and added to the waiting list again.
+         */
+        private void subsumeWaiting(final ArgNode<XtaState<S>, XtaAction> coverer) {
+            stats.startClosing();
 
-                    waiting.addAll(uncoveredNodes.stream().filter(n -> !n.equals(coveree)));
+            int subsumed = 0;
+            for (final ArgNode<XtaState<S>, XtaAction> coveree : waiting.getCandidates(coverer)) {
 
-                    if (coveree.isCovered()) {
-                        stats.successfulCoverage();
-                        stats.stopClosing();
-                        return;
-                    }
+                stats.checkCoverage();
+                if (algorithmStrategy.mightCover(coveree, coverer) && cover(coveree, coverer)) {
+                    waiting.invalidate(coveree);
+                    subsumed++;
                 }
             }
 
             stats.stopClosing();
+            for (int i = 0; i < subsumed; ++i) {
+                stats.subsumeWaiting();
+            }
+        }
+
+        private boolean cover(final ArgNode<XtaState<S>, XtaAction> coveree,
+                              final ArgNode<XtaState<S>, XtaAction> coverer) {
+            stats.attemptCoverage();
+
+            coveree.setCoveringNode(coverer);
+            final Collection<ArgNode<XtaState<S>, XtaAction>> uncoveredNodes = new ArrayList<>();
+            algorithmStrategy.cover(coveree, coverer, uncoveredNodes, stats);
+
+            waiting.addAll(uncoveredNodes.stream().filter(n -> !n.equals(coveree)));
+
+            if (coveree.isCovered()) {
+                stats.successfulCoverage();
+                return true;
+            }
+            return false;
         }
 
-        private void expand(final ArgNode<XtaState<S>, XtaAction> node) {
+        private Collection<ArgNode<XtaState<S>, XtaAction>> expand(final ArgNode<XtaState<S>, XtaAction> node) {
             stats.startExpanding();
             final XtaState<S> state = node.getState();
+            final Collection<ArgNode<XtaState<S>, XtaAction>> succNodes = new ArrayList<>();
 
             for (final XtaAction action : lts.getEnabledActionsFor(state)) {
                 final Collection<? extends XtaState<S>> succStates = algorithmStrategy.getAnalysis()
@@ -152,14 +292,16 @@ final class LazyXtaChecker<S extends State> implements
                     } else {
                         final ArgNode<XtaState<S>, XtaAction> succNode = arg.createSuccNode(node,
                                 action, succState,
-                                false);
-                        waiting.add(succNode);
+                                isTarget(succState));
+                        blockTargetData(succNode);
+                        succNodes.add(succNode);
                     }
                 }
             }
 
-            passed.add(node);
+            stats.prunePassed(passed.add(node));
             stats.stopExpanding();
+            return succNodes;
         }
     }
 
@@ -15,14 +15,22 @@
  */
 package hu.bme.mit.theta.xta.analysis.lazy;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
+import hu.bme.mit.theta.analysis.State;
 import hu.bme.mit.theta.analysis.Trace;
 import hu.bme.mit.theta.analysis.algorithm.SafetyChecker;
 import hu.bme.mit.theta.analysis.algorithm.arg.ARG;
 import hu.bme.mit.theta.analysis.algorithm.arg.SearchStrategy;
+import hu.bme.mit.theta.analysis.prod2.Prod2State;
 import hu.bme.mit.theta.analysis.unit.UnitPrec;
 import hu.bme.mit.theta.xta.XtaSystem;
 import hu.bme.mit.theta.xta.analysis.XtaAction;
 import hu.bme.mit.theta.xta.analysis.XtaState;
+import hu.bme.mit.theta.xta.analysis.XtaTarget;
+import hu.bme.mit.theta.xta.analysis.expl.itp.ItpExplState;
+import hu.bme.mit.theta.xta.analysis.zone.itp.ItpZoneState;
+import hu.bme.mit.theta.xta.analysis.zone.lu.LuZoneState;
 
 public final class LazyXtaCheckerFactory {
 
@@ -31,11 +39,34 @@ public final class LazyXtaCheckerFactory {
 
     public static SafetyChecker<? extends ARG<? extends XtaState<?>, XtaAction>, ? extends Trace<? extends XtaState<?>, XtaAction>, UnitPrec> create(final XtaSystem system,
                                                                                                                                                      final DataStrategy dataStrategy, final ClockStrategy clockStrategy, final SearchStrategy searchStrategy) {
+        return create(system, dataStrategy, clockStrategy, searchStrategy, false);
+    }
+
+    public static SafetyChecker<? extends ARG<? extends XtaState<?>, XtaAction>, ? extends Trace<? extends XtaState<?>, XtaAction>, UnitPrec> create(final XtaSystem system,
+                                                                                                                                                     final DataStrategy dataStrategy, final ClockStrategy clockStrategy, final SearchStrategy searchStrategy,
+                                                                                                                                                     final boolean subsumption) {
+        return create(system, dataStrategy, clockStrategy, searchStrategy, subsumption, null, false);
+    }
+
+    /**
+     * Creates a checker for the reachability of the given target (or for full exploration, if the target is null).
+     * The search stops at the first target found and returns a concretized counterexample. Guided search explores
+     * the nodes closest to the target first.
+     */
+    public static SafetyChecker<? extends ARG<? extends XtaState<?>, XtaAction>, ? extends Trace<? extends XtaState<?>, XtaAction>, UnitPrec> create(final XtaSystem system,
+                                                                                                                                                     final DataStrategy dataStrategy, final ClockStrategy clockStrategy, final SearchStrategy searchStrategy,
+                                                                                                                                                     final boolean subsumption, final XtaTarget target, final boolean guided) {
+        checkArgument(target != null || !guided, "Guided search requires a target");
         final CombinedStrategy<?, ?> algorithmStrategy = combineStrategies(system, dataStrategy, clockStrategy);
-        final SafetyChecker<? extends ARG<? extends XtaState<?>, XtaAction>, ? extends Trace<? extends XtaState<?>, XtaAction>, UnitPrec> checker = LazyXtaChecker.create(
-                system,
-                algorithmStrategy, searchStrategy);
-        return checker;
+        return createChecker(system, algorithmStrategy, searchStrategy, subsumption, target, guided);
+    }
+
+    private static <S1 extends State, S2 extends State> LazyXtaChecker<Prod2State<S1, S2>> createChecker(
+            final XtaSystem system, final CombinedStrategy<S1, S2> algorithmStrategy,
+            final SearchStrategy searchStrategy, final boolean subsumption, final XtaTarget target,
+            final boolean guided) {
+        return LazyXtaChecker.create(system, algorithmStrategy, algorithmStrategy::concretize, searchStrategy,
+                subsumption, target, guided);
     }
 
     private static CombinedStrategy<?, ?> combineStrategies(final XtaSystem system,
@@ -49,15 +80,18 @@ public final class LazyXtaCheckerFactory {
                     case BWITP:
                         return new CombinedStrategy<>(system,
                                 DataStrategies.createBwItpStrategy(system),
-                                ClockStrategies.createBwItpStrategy(system));
+                                ClockStrategies.createBwItpStrategy(system),
+                                ItpExplState::getConcrState, ItpZoneState::getConcrState);
                     case FWITP:
                         return new CombinedStrategy<>(system,
                                 DataStrategies.createBwItpStrategy(system),
-                                ClockStrategies.createFwItpStrategy(system));
+                                ClockStrategies.createFwItpStrategy(system),
+                                ItpExplState::getConcrState, ItpZoneState::getConcrState);
                     case LU:
                         return new CombinedStrategy<>(system,
                                 DataStrategies.createBwItpStrategy(system),
-                                ClockStrategies.createLuStrategy(system));
+                                ClockStrategies.createLuStrategy(system),
+                                ItpExplState::getConcrState, LuZoneState::getZone);
                     default:
                         throw new AssertionError();
                 }
@@ -68,15 +102,18 @@ public final class LazyXtaCheckerFactory {
                     case BWITP:
                         return new CombinedStrategy<>(system,
                                 DataStrategies.createFwItpStrategy(system),
-                                ClockStrategies.createBwItpStrategy(system));
+                                ClockStrategies.createBwItpStrategy(system),
+                                ItpExplState::getConcrState, ItpZoneState::getConcrState);
                     case FWITP:
                         return new CombinedStrategy<>(system,
                                 DataStrategies.createFwItpStrategy(system),
-                                ClockStrategies.createFwItpStrategy(system));
+                                ClockStrategies.createFwItpStrategy(system),
+                                ItpExplState::getConcrState, ItpZoneState::getConcrState);
                     case LU:
                         return new CombinedStrategy<>(system,
                                 DataStrategies.createFwItpStrategy(system),
-                                ClockStrategies.createLuStrategy(system));
+                                ClockStrategies.createLuStrategy(system),
+                                ItpExplState::getConcrState, LuZoneState::getZone);
                     default:
                         throw new AssertionError();
                 }
@@ -87,15 +124,18 @@ public final class LazyXtaCheckerFactory {
                     case BWITP:
                         return new CombinedStrategy<>(system,
                                 DataStrategies.createExplStrategy(system),
-                                ClockStrategies.createBwItpStrategy(system));
+                                ClockStrategies.createBwItpStrategy(system),
+                                s -> s, ItpZoneState::getConcrState);
                     case FWITP:
                         return new CombinedStrategy<>(system,
                                 DataStrategies.createExplStrategy(system),
-                                ClockStrategies.createFwItpStrategy(system));
+                                ClockStrategies.createFwItpStrategy(system),
+                                s -> s, ItpZoneState::getConcrState);
                     case LU:
                         return new CombinedStrategy<>(system,
                                 DataStrategies.createExplStrategy(system),
-                                ClockStrategies.createLuStrategy(system));
+                                ClockStrategies.createLuStrategy(system),
+                                s -> s, LuZoneState::getZone);
                     default:
                         throw new AssertionError();
                 }
@@ -39,6 +39,8 @@ public final class LazyXtaStatistics extends Statistics {
     private final long coverageSuccesses;
     private final long explRefinementSteps;
     private final long zoneRefinementSteps;
+    private final long passedNodesPruned;
+    private final long waitingNodesSubsumed;
     private final long argDepth;
     private final long argNodes;
     private final long argNodesExpanded;
@@ -56,6 +58,8 @@ public final class LazyXtaStatistics extends Statistics {
         coverageSuccesses = builder.coverageSuccesses;
         explRefinementSteps = builder.explRefinementSteps;
         zoneRefinementSteps = builder.zoneRefinementSteps;
+        passedNodesPruned = builder.passedNodesPruned;
+        waitingNodesSubsumed = builder.waitingNodesSubsumed;
         argDepth = builder.arg.getDepth();
         argNodes = builder.arg.size();
         argNodesExpanded = builder.arg.getNodes().filter(n -> !n.isSubsumed()).count();
@@ -72,6 +76,8 @@ public final class LazyXtaStatistics extends Statistics {
         addStat("CoverageSuccesses", this::getCoverageSuccesses);
         addStat("ExplRefinementSteps", this::getExplRefinementSteps);
         addStat("ZoneRefinementSteps", this::getZoneRefinementSteps);
+        addStat("PassedNodesPruned", this::getPassedNodesPruned);
+        addStat("WaitingNodesSubsumed", this::getWaitingNodesSubsumed);
         addStat("ArgDepth", this::getArgDepth);
         addStat("ArgNodes", this::getArgNodes);
         addStat("ArgNodesExpanded", this::getArgNodesExpanded);
@@ -129,6 +135,14 @@ public final class LazyXtaStatistics extends Statistics {
         return zoneRefinementSteps;
     }
 
+    public long getPassedNodesPruned() {
+        return passedNodesPruned;
+    }
+
+    public long getWaitingNodesSubsumed() {
+        return waitingNodesSubsumed;
+    }
+
     public long getArgDepth() {
         return argDepth;
     }
@@ -154,6 +168,8 @@ public final class LazyXtaStatistics extends Statistics {
         writer.cell("CoverageSuccesses");
         writer.cell("ExplRefinementSteps");
         writer.cell("ZoneRefinementSteps");
+        writer.cell("PassedNodesPruned");
+        writer.cell("WaitingNodesSubsumed");
         writer.cell("ArgDepth");
         writer.cell("ArgNodes");
         writer.cell("ArgNodesExpanded");
@@ -173,6 +189,8 @@ public final class LazyXtaStatistics extends Statistics {
         writer.cell(coverageSuccesses);
         writer.cell(explRefinementSteps);
         writer.cell(zoneRefinementSteps);
+        writer.cell(passedNodesPruned);
+        writer.cell(waitingNodesSubsumed);
         writer.cell(argDepth);
         writer.cell(argNodes);
         writer.cell(argNodesExpanded);
@@ -200,6 +218,8 @@ public final class LazyXtaStatistics extends Statistics {
         private long coverageSuccesses;
         private long explRefinementSteps;
         private long zoneRefinementSteps;
+        private long passedNodesPruned;
+        private long waitingNodesSubsumed;
 
         private Builder(final ARG<?, ?> arg) {
             this.arg = checkNotNull(arg);
@@ -216,6 +236,8 @@ public final class LazyXtaStatistics extends Statistics {
             coverageSuccesses = 0;
             explRefinementSteps = 0;
             zoneRefinementSteps = 0;
+            passedNodesPruned = 0;
+            waitingNodesSubsumed = 0;
         }
 
         public void startAlgorithm() {
@@ -327,6 +349,16 @@ public final class LazyXtaStatistics extends Statistics {
             zoneRefinementSteps++;
         }
 
+        public void prunePassed(final int nodes) {
+            checkState(state == State.EXPANDING);
+            passedNodesPruned += nodes;
+        }
+
+        public void subsumeWaiting() {
+            checkState(state == State.RUNNING);
+            waitingNodesSubsumed++;
+        }
+
         public LazyXtaStatistics build() {
             checkState(state == State.STOPPED);
             state = State.BUILT;
@@ -30,6 +30,8 @@ import hu.bme.mit.theta.analysis.impl.PrecMappingAnalysis;
 import hu.bme.mit.theta.analysis.unit.UnitPrec;
 import hu.bme.mit.theta.analysis.zone.BoundFunc;
 import hu.bme.mit.theta.analysis.zone.ZonePrec;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
 import hu.bme.mit.theta.xta.XtaSystem;
 import hu.bme.mit.theta.xta.analysis.XtaAction;
 import hu.bme.mit.theta.xta.analysis.lazy.LazyXtaStatistics.Builder;
@@ -91,6 +93,11 @@ final class LuZoneStrategy<S extends State> implements AlgorithmStrategy<S, LuZo
         stats.stopExpandZoneRefinement();
     }
 
+    @Override
+    public void blockData(final ArgNode<S, XtaAction> node, final Expr<BoolType> dataCond,
+                          final Collection<ArgNode<S, XtaAction>> uncoveredNodes, final Builder stats) {
+    }
+
     ////
 
     private void propagateBounds(final ArgNode<S, XtaAction> node, final BoundFunc boundFunc,
@@ -0,0 +1,88 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.xta.analysis.lazy;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+import com.google.common.collect.Lists;
+
+import hu.bme.mit.theta.common.container.Containers;
+
+/**
+ * Passed list of expanded nodes, keyed by the discrete part of their states. The candidates for covering a node are
+ * the nodes with the same key, newest first. If subsumption is enabled, only the maximal nodes are kept for each key:
+ * adding a node removes the nodes that it might cover at that time.
+ * <p>
+ * This is a heuristic under lazy abstraction: the abstract state of the new node may be strengthened later (e.g., by
+ * blocking or covering), after which it may no longer cover a removed node. A node that could only have been covered
+ * by a removed node is then expanded instead of being covered, which costs performance but not soundness, as
+ * removed nodes stay in the ARG. Nodes in the waiting list are handled by the {@link SubsumingWaitlist}.
+ */
+final class PassedList<N> {
+
+    private final Function<? super N, ?> projection;
+    private final BiPredicate<? super N, ? super N> mightCover;
+    private final boolean subsumption;
+    private final Map<Object, List<N>> nodes;
+
+    private PassedList(final Function<? super N, ?> projection, final BiPredicate<? super N, ? super N> mightCover,
+                       final boolean subsumption) {
+        this.projection = checkNotNull(projection);
+        this.mightCover = checkNotNull(mightCover);
+        this.subsumption = subsumption;
+        this.nodes = Containers.createMap();
+    }
+
+    /**
+     * Creates a passed list, where mightCover tests if its first argument might be covered by its second argument.
+     */
+    public static <N> PassedList<N> create(final Function<? super N, ?> projection,
+                                           final BiPredicate<? super N, ? super N> mightCover,
+                                           final boolean subsumption) {
+        return new PassedList<>(projection, mightCover, subsumption);
+    }
+
+    /**
+     * Adds a node and returns the number of nodes removed because the new node subsumes them.
+     */
+    public int add(final N node) {
+        final List<N> partition = nodes.computeIfAbsent(projection.apply(node), k -> new ArrayList<>());
+        int removed = 0;
+        if (subsumption) {
+            final int sizeBefore = partition.size();
+            partition.removeIf(passed -> mightCover.test(passed, node));
+            removed = sizeBefore - partition.size();
+        }
+        partition.add(node);
+        return removed;
+    }
+
+    public Iterable<N> getCandidates(final N node) {
+        final List<N> partition = nodes.get(projection.apply(node));
+        if (partition == null) {
+            return Collections.emptyList();
+        }
+        return Lists.reverse(partition);
+    }
+
+}
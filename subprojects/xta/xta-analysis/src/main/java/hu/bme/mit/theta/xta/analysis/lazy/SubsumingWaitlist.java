@@ -0,0 +1,137 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.xta.analysis.lazy;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import hu.bme.mit.theta.analysis.waitlist.Waitlist;
+import hu.bme.mit.theta.common.container.Containers;
+
+/**
+ * Waiting list from which nodes can be removed when a node added later subsumes them. The waiting nodes are also kept
+ * in partitions keyed by the discrete part of their states (like in the {@link PassedList}), so the candidates for
+ * being subsumed by a node are found without scanning the whole list.
+ * <p>
+ * Removal is lazy: an invalidated node stays in the underlying waitlist, but it is not counted in the size and it is
+ * skipped when it is removed. Adding an invalidated node again (e.g., when it is uncovered) validates it, without
+ * adding it to the underlying waitlist a second time.
+ */
+final class SubsumingWaitlist<N> implements Waitlist<N> {
+
+    private final Waitlist<N> waitlist;
+    private final Function<? super N, ?> projection;
+    private final Set<N> queued;
+    private final Set<N> valid;
+    private final Map<Object, Set<N>> partitions;
+
+    private SubsumingWaitlist(final Waitlist<N> waitlist, final Function<? super N, ?> projection) {
+        this.waitlist = checkNotNull(waitlist);
+        this.projection = checkNotNull(projection);
+        this.queued = Containers.createSet();
+        this.valid = Containers.createSet();
+        this.partitions = Containers.createMap();
+    }
+
+    public static <N> SubsumingWaitlist<N> create(final Waitlist<N> waitlist,
+                                                  final Function<? super N, ?> projection) {
+        return new SubsumingWaitlist<>(waitlist, projection);
+    }
+
+    @Override
+    public void add(final N item) {
+        if (valid.add(item)) {
+            partitions.computeIfAbsent(projection.apply(item), k -> new LinkedHashSet<>()).add(item);
+            if (queued.add(item)) {
+                waitlist.add(item);
+            }
+        }
+    }
+
+    @Override
+    public void addAll(final Collection<? extends N> items) {
+        items.forEach(this::add);
+    }
+
+    @Override
+    public void addAll(final Stream<? extends N> items) {
+        items.forEach(this::add);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return valid.isEmpty();
+    }
+
+    @Override
+    public N remove() {
+        while (true) {
+            final N item = waitlist.remove();
+            queued.remove(item);
+            if (valid.contains(item)) {
+                invalidate(item);
+                return item;
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return valid.size();
+    }
+
+    @Override
+    public void clear() {
+        waitlist.clear();
+        queued.clear();
+        valid.clear();
+        partitions.clear();
+    }
+
+    /**
+     * Returns the waiting nodes with the same discrete part as the given node, i.e., the nodes it might subsume.
+     */
+    public Collection<N> getCandidates(final N node) {
+        final Set<N> partition = partitions.get(projection.apply(node));
+        if (partition == null) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(partition);
+    }
+
+    /**
+     * Removes a node from the waiting list, e.g., because a node added later subsumes it.
+     */
+    public void invalidate(final N node) {
+        if (valid.remove(node)) {
+            final Object key = projection.apply(node);
+            final Set<N> partition = partitions.get(key);
+            partition.remove(node);
+            if (partition.isEmpty()) {
+                partitions.remove(key);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,97 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.xta.analysis.lazy;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+import hu.bme.mit.theta.common.container.Containers;
+import hu.bme.mit.theta.xta.XtaProcess.Edge;
+import hu.bme.mit.theta.xta.XtaProcess.Loc;
+import hu.bme.mit.theta.xta.analysis.XtaTarget;
+
+/**
+ * Distance heuristic for guided search. The distance of a location vector is the sum of the distances of its
+ * locations from the target locations of their processes, where the distances are computed on the graphs of the
+ * processes, ignoring guards and synchronizations. The distance is {@link Integer#MAX_VALUE} if some target location
+ * is unreachable.
+ */
+final class TargetDistance {
+
+    private final Collection<Map<Loc, Integer>> distances;
+    private final Map<List<Loc>, Integer> cache;
+
+    private TargetDistance(final XtaTarget target) {
+        checkNotNull(target);
+        distances = new ArrayList<>();
+        for (final Loc targetLoc : target.getLocs()) {
+            distances.add(computeDistances(targetLoc));
+        }
+        cache = Containers.createMap();
+    }
+
+    public static TargetDistance create(final XtaTarget target) {
+        return new TargetDistance(target);
+    }
+
+    public int get(final List<Loc> locs) {
+        return cache.computeIfAbsent(locs, this::compute);
+    }
+
+    private int compute(final List<Loc> locs) {
+        long result = 0;
+        for (final Map<Loc, Integer> distance : distances) {
+            Integer locDistance = null;
+            for (final Loc loc : locs) {
+                locDistance = distance.get(loc);
+                if (locDistance != null) {
+                    break;
+                }
+            }
+            if (locDistance == null) {
+                return Integer.MAX_VALUE;
+            }
+            result += locDistance;
+        }
+        return (int) Math.min(result, Integer.MAX_VALUE);
+    }
+
+    private static Map<Loc, Integer> computeDistances(final Loc targetLoc) {
+        final Map<Loc, Integer> result = Containers.createMap();
+        final Queue<Loc> queue = new ArrayDeque<>();
+        result.put(targetLoc, 0);
+        queue.add(targetLoc);
+        while (!queue.isEmpty()) {
+            final Loc loc = queue.remove();
+            final int distance = result.get(loc);
+            for (final Edge edge : loc.getInEdges()) {
+                final Loc source = edge.getSource();
+                if (!result.containsKey(source)) {
+                    result.put(source, distance + 1);
+                    queue.add(source);
+                }
+            }
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,106 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.xta.analysis;
+
+import com.google.common.collect.ImmutableList;
+import hu.bme.mit.theta.analysis.Trace;
+import hu.bme.mit.theta.analysis.algorithm.SafetyChecker;
+import hu.bme.mit.theta.analysis.algorithm.SafetyResult;
+import hu.bme.mit.theta.analysis.algorithm.arg.ARG;
+import hu.bme.mit.theta.analysis.unit.UnitPrec;
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.type.inttype.IntType;
+import hu.bme.mit.theta.core.type.rattype.RatType;
+import hu.bme.mit.theta.xta.XtaProcess;
+import hu.bme.mit.theta.xta.XtaProcess.Loc;
+import hu.bme.mit.theta.xta.XtaProcess.LocKind;
+import hu.bme.mit.theta.xta.XtaSystem;
+import hu.bme.mit.theta.xta.analysis.lazy.ClockStrategy;
+import hu.bme.mit.theta.xta.analysis.lazy.DataStrategy;
+import hu.bme.mit.theta.xta.analysis.lazy.LazyXtaCheckerFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Optional;
+
+import static hu.bme.mit.theta.analysis.algorithm.arg.SearchStrategy.BFS;
+import static hu.bme.mit.theta.core.decl.Decls.Var;
+import static hu.bme.mit.theta.core.stmt.Stmts.Assign;
+import static hu.bme.mit.theta.core.type.abstracttype.AbstractExprs.Eq;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Int;
+import static hu.bme.mit.theta.core.type.rattype.RatExprs.Rat;
+import static org.junit.Assert.assertTrue;
+
+public final class LazyXtaCheckerTargetTest {
+
+    private XtaSystem system;
+    private VarDecl<IntType> n;
+    private Loc error;
+
+    @Before
+    public void initialize() {
+        // init -[n := 0]-> mid, init -[n := 1]-> mid, mid -> error: the error location is first reached with n = 0,
+        // and the node of mid reached with n = 1 must not be covered by the one reached with n = 0
+        system = XtaSystem.create();
+        final VarDecl<RatType> x = Var("x", Rat());
+        n = Var("n", Int());
+        system.addClockVar(x);
+        system.addDataVar(n, Int(0));
+
+        final XtaProcess proc = system.createProcess("P");
+        final Loc init = proc.createLoc("init", LocKind.NORMAL, ImmutableList.of());
+        final Loc mid = proc.createLoc("mid", LocKind.NORMAL, ImmutableList.of());
+        error = proc.createLoc("error", LocKind.NORMAL, ImmutableList.of());
+        proc.setInitLoc(init);
+
+        proc.createEdge(init, mid, ImmutableList.of(), Optional.empty(), ImmutableList.of(Assign(n, Int(0))));
+        proc.createEdge(init, mid, ImmutableList.of(), Optional.empty(), ImmutableList.of(Assign(n, Int(1))));
+        proc.createEdge(mid, error, ImmutableList.of(), Optional.empty(), ImmutableList.of());
+    }
+
+    @Test
+    public void testDataTargetReached() {
+        for (final DataStrategy dataStrategy : DataStrategy.values()) {
+            for (final ClockStrategy clockStrategy : ClockStrategy.values()) {
+                for (final boolean subsumption : new boolean[]{false, true}) {
+                    final SafetyResult<?, ?> result = check(dataStrategy, clockStrategy, subsumption, 1);
+                    assertTrue(dataStrategy + " " + clockStrategy + " " + subsumption, result.isUnsafe());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testDataTargetUnreachable() {
+        for (final DataStrategy dataStrategy : DataStrategy.values()) {
+            for (final ClockStrategy clockStrategy : ClockStrategy.values()) {
+                for (final boolean subsumption : new boolean[]{false, true}) {
+                    final SafetyResult<?, ?> result = check(dataStrategy, clockStrategy, subsumption, 2);
+                    assertTrue(dataStrategy + " " + clockStrategy + " " + subsumption, result.isSafe());
+                }
+            }
+        }
+    }
+
+    private SafetyResult<?, ?> check(final DataStrategy dataStrategy, final ClockStrategy clockStrategy,
+                                     final boolean subsumption, final int value) {
+        final SafetyChecker<? extends ARG<? extends XtaState<?>, XtaAction>, ? extends Trace<? extends XtaState<?>, XtaAction>, UnitPrec> checker = LazyXtaCheckerFactory.create(
+                system, dataStrategy, clockStrategy, BFS, subsumption,
+                XtaTarget.of(ImmutableList.of(error), Eq(n.getRef(), Int(value))), false);
+        return checker.check(UnitPrec.getInstance());
+    }
+
+}
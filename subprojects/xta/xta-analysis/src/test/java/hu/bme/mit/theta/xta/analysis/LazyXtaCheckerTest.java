@@ -72,9 +72,12 @@ public final class LazyXtaCheckerTest {
     @Parameter(2)
     public ClockStrategy clockStrategy;
 
+    @Parameter(3)
+    public boolean subsumption;
+
     private SafetyChecker<? extends ARG<? extends XtaState<?>, XtaAction>, ? extends Trace<? extends XtaState<?>, XtaAction>, UnitPrec> checker;
 
-    @Parameters(name = "model: {0}, discrete: {1}, clock: {2}")
+    @Parameters(name = "model: {0}, discrete: {1}, clock: {2}, subsumption: {3}")
     public static Collection<Object[]> data() {
         final Collection<Object[]> result = new ArrayList<>();
         for (final String model : MODELS) {
@@ -82,7 +85,8 @@ public final class LazyXtaCheckerTest {
                 for (final ClockStrategy clockStrategy : ClockStrategy.values()) {
                     if (!MODELS_WITH_UNKNOWN_SOLVER_STATUS.contains(model) || (clockStrategy
                             != LU)) {
-                        result.add(new Object[]{model, dataStrategy, clockStrategy});
+                        result.add(new Object[]{model, dataStrategy, clockStrategy, false});
+                        result.add(new Object[]{model, dataStrategy, clockStrategy, true});
                     }
                 }
             }
@@ -94,7 +98,7 @@ public final class LazyXtaCheckerTest {
     public void initialize() throws IOException {
         final InputStream inputStream = getClass().getResourceAsStream(filepath);
         final XtaSystem system = XtaDslManager.createSystem(inputStream);
-        checker = LazyXtaCheckerFactory.create(system, dataStrategy, clockStrategy, BFS);
+        checker = LazyXtaCheckerFactory.create(system, dataStrategy, clockStrategy, BFS, subsumption);
     }
 
     @Test
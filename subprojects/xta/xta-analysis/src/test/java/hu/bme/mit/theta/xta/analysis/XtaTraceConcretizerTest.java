@@ -0,0 +1,127 @@
+/*
+ *  Copyright 2024 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.xta.analysis;
+
+import com.google.common.collect.ImmutableList;
+import hu.bme.mit.theta.analysis.Trace;
+import hu.bme.mit.theta.analysis.algorithm.SafetyChecker;
+import hu.bme.mit.theta.analysis.algorithm.SafetyResult;
+import hu.bme.mit.theta.analysis.algorithm.arg.ARG;
+import hu.bme.mit.theta.analysis.expl.ExplState;
+import hu.bme.mit.theta.analysis.prod2.Prod2State;
+import hu.bme.mit.theta.analysis.unit.UnitPrec;
+import hu.bme.mit.theta.analysis.zone.ZoneState;
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.stmt.Stmt;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.Type;
+import hu.bme.mit.theta.core.type.inttype.IntType;
+import hu.bme.mit.theta.core.type.rattype.RatType;
+import hu.bme.mit.theta.xta.XtaProcess;
+import hu.bme.mit.theta.xta.XtaProcess.Loc;
+import hu.bme.mit.theta.xta.XtaProcess.LocKind;
+import hu.bme.mit.theta.xta.XtaSystem;
+import hu.bme.mit.theta.xta.analysis.lazy.ClockStrategy;
+import hu.bme.mit.theta.xta.analysis.lazy.DataStrategy;
+import hu.bme.mit.theta.xta.analysis.lazy.LazyXtaCheckerFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Optional;
+
+import static hu.bme.mit.theta.analysis.algorithm.arg.SearchStrategy.BFS;
+import static hu.bme.mit.theta.core.decl.Decls.Var;
+import static hu.bme.mit.theta.core.stmt.Stmts.Assign;
+import static hu.bme.mit.theta.core.type.abstracttype.AbstractExprs.Eq;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Int;
+import static hu.bme.mit.theta.core.type.rattype.RatExprs.Geq;
+import static hu.bme.mit.theta.core.type.rattype.RatExprs.Leq;
+import static hu.bme.mit.theta.core.type.rattype.RatExprs.Rat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public final class XtaTraceConcretizerTest {
+
+    private XtaSystem system;
+    private VarDecl<RatType> x;
+    private VarDecl<IntType> n;
+    private Loc error;
+
+    @Before
+    public void initialize() {
+        system = XtaSystem.create();
+        x = Var("x", Rat());
+        n = Var("n", Int());
+        system.addClockVar(x);
+        system.addDataVar(n, Int(0));
+
+        final XtaProcess proc = system.createProcess("P");
+        final Loc init = proc.createLoc("init", LocKind.NORMAL, ImmutableList.of());
+        final Loc wait = proc.createLoc("wait", LocKind.NORMAL, ImmutableList.of(Leq(x.getRef(), Rat(3, 1))));
+        final Loc idle = proc.createLoc("idle", LocKind.NORMAL, ImmutableList.of());
+        error = proc.createLoc("error", LocKind.NORMAL, ImmutableList.of());
+        proc.setInitLoc(init);
+
+        proc.createEdge(init, idle, ImmutableList.of(), Optional.empty(), ImmutableList.of());
+        proc.createEdge(init, wait, ImmutableList.of(Geq(x.getRef(), Rat(2, 1))), Optional.empty(),
+                ImmutableList.of(reset(x), Assign(n, Int(1))));
+        proc.createEdge(wait, error, ImmutableList.of(Geq(x.getRef(), Rat(1, 1))), Optional.empty(),
+                ImmutableList.of());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Stmt reset(final VarDecl<RatType> clock) {
+        return Assign((VarDecl<Type>) (VarDecl<?>) clock, (Expr<Type>) (Expr<?>) Int(0));
+    }
+
+    @Test
+    public void testTargetReached() {
+        for (final boolean guided : new boolean[]{false, true}) {
+            final SafetyChecker<? extends ARG<? extends XtaState<?>, XtaAction>, ? extends Trace<? extends XtaState<?>, XtaAction>, UnitPrec> checker = LazyXtaCheckerFactory.create(
+                    system, DataStrategy.NONE, ClockStrategy.LU, BFS, false,
+                    XtaTarget.of(ImmutableList.of(error), Eq(n.getRef(), Int(1))), guided);
+            final SafetyResult<?, ? extends Trace<? extends XtaState<?>, XtaAction>> result = checker.check(
+                    UnitPrec.getInstance());
+
+            assertTrue(result.isUnsafe());
+            @SuppressWarnings("unchecked") final Trace<XtaState<Prod2State<ExplState, ZoneState>>, XtaAction> cex =
+                    (Trace<XtaState<Prod2State<ExplState, ZoneState>>, XtaAction>) result.asUnsafe().getCex();
+            assertEquals(2, cex.length());
+            assertEquals(error, cex.getState(2).getLocs().get(0));
+
+            // Smallest delays: leave init at x = 2, then wait for 1 time unit in wait
+            assertEquals(Rat(2, 1), cex.getState(0).getState().getState1().eval(x).get());
+            assertEquals(Rat(1, 1), cex.getState(1).getState().getState1().eval(x).get());
+            assertEquals(Int(1), cex.getState(1).getState().getState1().eval(n).get());
+
+            // The zone of init is refined to the valuations from which error is reachable
+            final ZoneState initZone = ZoneState.zero(ImmutableList.of(x)).transform().up().build();
+            assertTrue(cex.getState(0).getState().getState2().isLeq(initZone));
+            assertFalse(initZone.isLeq(cex.getState(0).getState().getState2()));
+        }
+    }
+
+    @Test
+    public void testTargetUnreachable() {
+        final SafetyChecker<? extends ARG<? extends XtaState<?>, XtaAction>, ? extends Trace<? extends XtaState<?>, XtaAction>, UnitPrec> checker = LazyXtaCheckerFactory.create(
+                system, DataStrategy.NONE, ClockStrategy.LU, BFS, false,
+                XtaTarget.of(ImmutableList.of(error), Eq(n.getRef(), Int(2))), true);
+        final SafetyResult<?, ?> result = checker.check(UnitPrec.getInstance());
+        assertTrue(result.isSafe());
+    }
+
+}
@@ -16,6 +16,9 @@
 package hu.bme.mit.theta.xta.cli;
 
 import java.io.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 import com.beust.jcommander.JCommander;
 import com.beust.jcommander.Parameter;
@@ -36,13 +39,25 @@ import hu.bme.mit.theta.common.table.BasicTableWriter;
 import hu.bme.mit.theta.common.table.TableWriter;
 import hu.bme.mit.theta.common.visualization.Graph;
 import hu.bme.mit.theta.common.visualization.writer.GraphvizWriter;
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.type.inttype.IntType;
+import hu.bme.mit.theta.xta.XtaProcess;
+import hu.bme.mit.theta.xta.XtaProcess.Loc;
 import hu.bme.mit.theta.xta.XtaSystem;
+import hu.bme.mit.theta.xta.analysis.XtaTarget;
 import hu.bme.mit.theta.xta.analysis.lazy.ClockStrategy;
 import hu.bme.mit.theta.xta.analysis.lazy.DataStrategy;
 import hu.bme.mit.theta.xta.analysis.lazy.LazyXtaCheckerFactory;
 import hu.bme.mit.theta.xta.analysis.lazy.LazyXtaStatistics;
 import hu.bme.mit.theta.xta.dsl.XtaDslManager;
 
+import static hu.bme.mit.theta.core.type.abstracttype.AbstractExprs.Eq;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.And;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Bool;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Int;
+
 public final class XtaCli {
 
     private static final String JAR_NAME = "theta-xta.jar";
@@ -63,6 +78,16 @@ public final class XtaCli {
     @Parameter(names = {"--search", "-s"}, description = "Search strategy", required = true)
     SearchStrategy searchStrategy;
 
+    @Parameter(names = "--subsumption", description = "Keep only maximal zones in the passed list and drop covered successors eagerly")
+    boolean subsumption = false;
+
+    @Parameter(names = "--target", description = "Reachability target as a comma-separated list of locations"
+            + " (process.location) and data values (variable=value), e.g. P.error,x=1")
+    String targetSpec = null;
+
+    @Parameter(names = "--guided", description = "Expand the nodes closest to the target first (requires --target)")
+    boolean guided = false;
+
     @Parameter(names = {"--benchmark", "-b"}, description = "Benchmark mode (only print metrics)")
     Boolean benchmarkMode = false;
 
@@ -112,9 +137,10 @@ public final class XtaCli {
 
         try {
             final XtaSystem system = loadModel();
+            final XtaTarget target = targetSpec == null ? null : parseTarget(system, targetSpec);
             final SafetyChecker<?, ?, UnitPrec> checker = LazyXtaCheckerFactory.create(system,
                     dataStrategy,
-                    clockStrategy, searchStrategy);
+                    clockStrategy, searchStrategy, subsumption, target, guided);
             final SafetyResult<? extends ARG<?, ?>, ? extends Trace<? extends State, ? extends Action>> result = check(checker);
             printResult(result);
             if (dotfile != null) {
@@ -147,12 +173,62 @@ public final class XtaCli {
         }
     }
 
+    private XtaTarget parseTarget(final XtaSystem system, final String spec) {
+        final Collection<Loc> locs = new ArrayList<>();
+        final List<Expr<BoolType>> dataConds = new ArrayList<>();
+        for (final String term : spec.split(",")) {
+            final String trimmed = term.trim();
+            if (trimmed.contains("=")) {
+                final String[] parts = trimmed.split("=", 2);
+                dataConds.add(parseDataCond(system, parts[0].trim(), parts[1].trim()));
+            } else {
+                final int dot = trimmed.lastIndexOf('.');
+                if (dot < 0) {
+                    throw new IllegalArgumentException("Invalid target: " + trimmed);
+                }
+                locs.add(findLoc(system, trimmed.substring(0, dot), trimmed.substring(dot + 1)));
+            }
+        }
+        return XtaTarget.of(locs, And(dataConds));
+    }
+
+    private Loc findLoc(final XtaSystem system, final String procName, final String locName) {
+        for (final XtaProcess proc : system.getProcesses()) {
+            if (proc.getName().equals(procName)) {
+                for (final Loc loc : proc.getLocs()) {
+                    if (loc.getName().equals(locName)) {
+                        return loc;
+                    }
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unknown location: " + procName + "." + locName);
+    }
+
+    private Expr<BoolType> parseDataCond(final XtaSystem system, final String varName, final String value) {
+        for (final VarDecl<?> var : system.getDataVars()) {
+            if (var.getName().equals(varName)) {
+                if (var.getType() instanceof BoolType) {
+                    return Eq(var.getRef(), Bool(Boolean.parseBoolean(value)));
+                } else if (var.getType() instanceof IntType) {
+                    return Eq(var.getRef(), Int(Integer.parseInt(value)));
+                } else {
+                    throw new IllegalArgumentException("Unsupported type of variable: " + varName);
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unknown variable: " + varName);
+    }
+
     private void printResult(final SafetyResult<? extends ARG<?, ?>, ? extends Trace<?, ?>> result) {
         final LazyXtaStatistics stats = (LazyXtaStatistics) result.getStats().get();
         if (benchmarkMode) {
             stats.writeData(writer);
         } else {
             System.out.println(stats.toString());
+            if (result.isUnsafe()) {
+                System.out.println(result.asUnsafe().getCex());
+            }
         }
     }
 